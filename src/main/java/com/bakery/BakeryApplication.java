@@ -2,10 +2,12 @@ package com.bakery;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BakeryApplication {
     public static void main(String[] args) {
         SpringApplication.run(BakeryApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.bakery.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Second-level cache dan query cache Hibernate lewat JCache (provider Caffeine).
+ *
+ * Ukuran dan TTL tiap region diatur di {@code application.conf}. Entitas yang di-cache ditandai
+ * {@code @Cache(usage = READ_WRITE)}: perubahan lewat EntityManager memperbarui cache, UPDATE JPQL
+ * massal mengosongkan region entitasnya, dan UPDATE JDBC langsung harus di-evict sendiri
+ * (lihat {@link com.bakery.service.EntityCacheService#evictProducts}).
+ *
+ * Setiap application context memakai CacheManager sendiri (URI unik) yang ditutup bersama
+ * context-nya, sehingga beberapa SessionFactory dalam satu JVM (mis. context test yang berbeda)
+ * tidak berbagi atau saling menutup region cache.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String CACHING_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CACHING_PROVIDER);
+        return provider.getCacheManager(URI.create("bakery-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${bakery.cache.enabled:true}") boolean enabled, CacheManager secondLevelCacheManager) {
+        return properties -> apply(properties, enabled, secondLevelCacheManager);
+    }
+
+    static void apply(Map<String, Object> properties, boolean enabled, CacheManager cacheManager) {
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+        properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+        // Statistik hit/miss untuk /api/cache/stats
+        properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+        if (enabled) {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        }
+    }
+}
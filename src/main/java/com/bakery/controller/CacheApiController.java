@@ -0,0 +1,32 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CacheRegionStats;
+import com.bakery.service.EntityCacheService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheApiController {
+
+    private final EntityCacheService entityCacheService;
+
+    public CacheApiController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    // Hit/miss second-level cache (Product, User) dan query cache sejak aplikasi berjalan
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getStats(HttpSession session) {
+        if (session.getAttribute("userId") == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(entityCacheService.stats());
+    }
+}
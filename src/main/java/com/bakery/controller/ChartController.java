@@ -1,10 +1,16 @@
 package com.bakery.controller;
 
-import com.bakery.entity.Product;
-import com.bakery.service.ProductService;
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.DashboardSnapshot;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.service.DashboardSnapshotService;
+import com.bakery.service.DashboardSummaryService;
+import com.bakery.util.ConstUtil;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import jakarta.servlet.http.HttpSession;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -12,73 +18,88 @@ import java.util.stream.Collectors;
 @Controller
 public class ChartController {
 
-    private final ProductService productService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final DashboardSummaryService dashboardSummaryService;
 
-    public ChartController(ProductService productService) {
-        this.productService = productService;
+    public ChartController(DashboardSnapshotService dashboardSnapshotService,
+            DashboardSummaryService dashboardSummaryService) {
+        this.dashboardSnapshotService = dashboardSnapshotService;
+        this.dashboardSummaryService = dashboardSummaryService;
     }
 
     @GetMapping("/dashboard")
-    public String showDashboard(Model model, HttpSession session) {
+    public String showDashboard(Model model, HttpSession session,
+            @RequestParam(value = "top", required = false) Integer top,
+            @RequestParam(value = "period", required = false) String period) {
         UUID userId = (UUID) session.getAttribute("userId");
         if (userId == null) {
             return "redirect:/login";
         }
 
-        List<Product> userProducts = productService.getProductsByUserId(userId);
-
-        // Statistics
-        long totalProducts = userProducts.size();
-        long availableProducts = userProducts.stream()
-                .filter(p -> p.getIsAvailable() != null && p.getIsAvailable())
-                .count();
-        long lowStockProducts = userProducts.stream()
-                .filter(p -> p.getStock() != null && p.getStock() <= 10)
-                .count();
-        int totalSold = userProducts.stream()
-                .mapToInt(p -> p.getSoldCount() != null ? p.getSoldCount() : 0)
-                .sum();
-
-        model.addAttribute("totalProducts", totalProducts);
-        model.addAttribute("availableProducts", availableProducts);
-        model.addAttribute("lowStockProducts", lowStockProducts);
-        model.addAttribute("totalSold", totalSold);
-
-        // ========== HANYA 2 CHART DATA ==========
-
-        // 1. Best Selling Products (Top 5)
-        List<Product> bestSelling = userProducts.stream()
-                .sorted((p1, p2) -> {
-                    Integer sold1 = p1.getSoldCount() != null ? p1.getSoldCount() : 0;
-                    Integer sold2 = p2.getSoldCount() != null ? p2.getSoldCount() : 0;
-                    return sold2.compareTo(sold1);
-                })
-                .limit(5)
-                .collect(Collectors.toList());
-
-        model.addAttribute("bestSellingProducts", bestSelling);
-        model.addAttribute("bestSellingLabels",
-                bestSelling.stream().map(Product::getProductName).collect(Collectors.toList()));
-        model.addAttribute("bestSellingData",
-                bestSelling.stream()
-                        .map(p -> p.getSoldCount() != null ? p.getSoldCount() : 0)
-                        .collect(Collectors.toList()));
-
-        // 2. Low Stock Products (Stok ≤ 10)
+        SalesPeriod salesPeriod = SalesPeriod.from(period);
+        DashboardSnapshot snapshot = dashboardSnapshotService.getSnapshot(userId, resolveTopLimit(top), salesPeriod);
+        model.addAttribute("dashboardGeneratedAt", snapshot.generatedAt());
+
+        // Statistics (dibaca dari ringkasan per user yang dijaga saat produk berubah)
+        model.addAttribute("totalProducts", snapshot.totalProducts());
+        model.addAttribute("availableProducts", snapshot.availableProducts());
+        model.addAttribute("lowStockProducts", snapshot.lowStockCount());
+        model.addAttribute("totalSold", snapshot.totalSold());
+
+        // 1. Best Selling Products (Top 5/10/20)
+        model.addAttribute("bestSellingLimit", snapshot.bestSellingLimit());
+        model.addAttribute("bestSellingLimitOptions", ConstUtil.DASHBOARD_TOP_OPTIONS);
+        model.addAttribute("bestSellingProducts", snapshot.bestSellingProducts());
+        model.addAttribute("bestSellingLabels", snapshot.bestSellingSeries().labels());
+        model.addAttribute("bestSellingData", snapshot.bestSellingSeries().data());
+
         // 2. Low Stock Products (Stok <= 10)
-        List<Product> lowStock = userProducts.stream()
-                .filter(p -> p.getStock() != null && p.getStock() <= 10)
-                .sorted(Comparator.comparing(Product::getStock))
-                .collect(Collectors.toList());
-
-        model.addAttribute("lowStockProductsList", lowStock);
-        model.addAttribute("lowStockLabels",
-                lowStock.stream().map(Product::getProductName).collect(Collectors.toList()));
-        model.addAttribute("lowStockData",
-                lowStock.stream()
-                        .map(Product::getStock)
-                        .collect(Collectors.toList()));
+        model.addAttribute("lowStockLimit", snapshot.lowStockLimit());
+        model.addAttribute("lowStockProductsList", snapshot.lowStockList());
+        model.addAttribute("lowStockLabels", snapshot.lowStockSeries().labels());
+        model.addAttribute("lowStockData", snapshot.lowStockSeries().data());
+
+        // 3. Riwayat penjualan (hari ini / minggu ini / bulan ini) dari rollup
+        model.addAttribute("salesPeriod", salesPeriod.name().toLowerCase());
+        model.addAttribute("salesLabels", snapshot.salesSeries().labels());
+        model.addAttribute("salesData", snapshot.salesSeries().data());
+        model.addAttribute("salesCategories", snapshot.salesCategories());
+
+        // 4. Rincian per kategori
+        model.addAttribute("categoryBreakdown", snapshot.categoryBreakdown());
+
+        // 5. Produk terbaru
+        model.addAttribute("recentProducts", snapshot.recentProducts());
+
+        // Bagian yang melewati budget waktunya ditampilkan sebagai placeholder
+        model.addAttribute("unavailableSections", snapshot.unavailableSections().stream()
+                .map(DashboardSection::key)
+                .collect(Collectors.toSet()));
 
         return "dashboard";
     }
-}
\ No newline at end of file
+
+    // Nilai top di luar pilihan yang tersedia kembali ke default
+    static int resolveTopLimit(Integer top) {
+        if (top != null) {
+            for (int option : ConstUtil.DASHBOARD_TOP_OPTIONS) {
+                if (option == top) {
+                    return option;
+                }
+            }
+        }
+        return ConstUtil.DASHBOARD_TOP_LIMIT;
+    }
+
+    // Memeriksa ringkasan dashboard terhadap tabel products dan membangunnya ulang bila perlu
+    @PostMapping("/dashboard/summary/rebuild")
+    public String rebuildSummary(HttpSession session) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return "redirect:/login";
+        }
+
+        boolean consistent = dashboardSummaryService.verifyAndRepair(userId);
+        return consistent ? "redirect:/dashboard" : "redirect:/dashboard?summaryRebuilt=true";
+    }
+}
@@ -0,0 +1,52 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CheckoutRequest;
+import com.bakery.service.CheckoutException;
+import com.bakery.service.CheckoutService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/checkout")
+public class CheckoutApiController {
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutApiController(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    // Satu request untuk seluruh keranjang; 200 berisi struk, 400 keranjang tidak valid, 409 stok/produk bermasalah
+    @PostMapping
+    public ResponseEntity<Object> checkout(@RequestBody CheckoutRequest request, HttpSession session) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(checkoutService.checkout(userId, request.lines()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage(), List.of()));
+        } catch (CheckoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error(e.getMessage(), e.getProblems()));
+        }
+    }
+
+    private static Map<String, Object> error(String message, List<String> problems) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        body.put("problems", problems);
+        return body;
+    }
+}
@@ -0,0 +1,175 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.ChartSeries;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.dto.SectionStats;
+import com.bakery.service.DashboardSectionRunner;
+import com.bakery.service.DataVersionService;
+import com.bakery.service.ProductService;
+import com.bakery.service.SalesHistoryService;
+import com.bakery.util.ConstUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpSession;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardApiController {
+
+    private final ProductService productService;
+    private final DataVersionService dataVersionService;
+    private final SalesHistoryService salesHistoryService;
+    private final DashboardSectionRunner sectionRunner;
+
+    public DashboardApiController(ProductService productService, DataVersionService dataVersionService,
+            SalesHistoryService salesHistoryService, DashboardSectionRunner sectionRunner) {
+        this.productService = productService;
+        this.dataVersionService = dataVersionService;
+        this.salesHistoryService = salesHistoryService;
+        this.sectionRunner = sectionRunner;
+    }
+
+    // Data chart dashboard dalam JSON; polling dengan If-None-Match yang masih cocok dijawab 304
+    @GetMapping("/charts")
+    public ResponseEntity<Map<String, Object>> getChartData(HttpSession session, WebRequest request,
+            @RequestParam(value = "top", required = false) Integer top) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        // ETag dihitung sebelum membaca data (lihat DataVersionService)
+        int topLimit = ChartController.resolveTopLimit(top);
+        String etag = dataVersionService.etag(userId, "charts-top" + topLimit);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        ChartSeries bestSelling = ChartSeries.of(
+                productService.getBestSellingProducts(userId, topLimit),
+                p -> p.soldCount() != null ? p.soldCount() : 0);
+        ChartSeries lowStock = ChartSeries.of(
+                productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT),
+                p -> p.stock() != null ? p.stock() : 0);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("bestSellingLimit", topLimit);
+        body.put("bestSellingIds", bestSelling.ids());
+        body.put("bestSellingLabels", bestSelling.labels());
+        body.put("bestSellingData", bestSelling.data());
+        body.put("lowStockIds", lowStock.ids());
+        body.put("lowStockLabels", lowStock.labels());
+        body.put("lowStockData", lowStock.data());
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body);
+    }
+
+    // Seri penjualan per periode; tanggal ikut di ETag karena periode bergeser meski data tidak berubah
+    @GetMapping("/sales")
+    public ResponseEntity<Map<String, Object>> getSalesData(HttpSession session, WebRequest request,
+            @RequestParam(value = "period", required = false) String period) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SalesPeriod salesPeriod = SalesPeriod.from(period);
+        String etag = dataVersionService.etag(userId,
+                "sales-" + salesPeriod.name().toLowerCase() + "-" + LocalDate.now());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        SalesSeries series = salesHistoryService.getSeries(userId, salesPeriod);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("period", salesPeriod.name().toLowerCase());
+        body.put("labels", series.labels());
+        body.put("data", series.data());
+        body.put("categories", salesHistoryService.getCategoryTotals(userId, salesPeriod));
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body);
+    }
+
+    // Jumlah produk, unit terjual, stok dan pendapatan per kategori
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryBreakdown>> getCategoryBreakdown(HttpSession session, WebRequest request) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String etag = dataVersionService.etag(userId, "categories");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(productService.getCategoryBreakdown(userId));
+    }
+
+    // Waktu muat tiap bagian dashboard (jumlah, rata-rata, maksimum, timeout, gagal) sejak aplikasi berjalan
+    @GetMapping("/metrics")
+    public ResponseEntity<List<SectionStats>> getSectionMetrics(HttpSession session) {
+        if (session.getAttribute("userId") == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(sectionRunner.getStats());
+    }
+
+    // Daftar lengkap produk stok rendah per halaman, paling mendesak lebih dulu
+    @GetMapping("/low-stock")
+    public ResponseEntity<Map<String, Object>> getLowStockProducts(HttpSession session,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Page<ProductListItem> result = productService.getLowStockProductsPage(userId, Math.max(page, 0),
+                Math.min(Math.max(size, 1), ConstUtil.MAX_PAGE_SIZE));
+        List<Map<String, Object>> items = result.getContent().stream().map(product -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", product.id());
+            item.put("name", product.productName());
+            item.put("category", product.category());
+            item.put("stock", product.stock());
+            item.put("lowStockThreshold", product.lowStockThreshold());
+            return item;
+        }).toList();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", items);
+        body.put("page", result.getNumber());
+        body.put("size", result.getSize());
+        body.put("totalElements", result.getTotalElements());
+        body.put("totalPages", result.getTotalPages());
+        return ResponseEntity.ok(body);
+    }
+}
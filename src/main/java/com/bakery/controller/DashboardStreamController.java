@@ -0,0 +1,35 @@
+package com.bakery.controller;
+
+import com.bakery.service.DashboardStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.UUID;
+
+@Controller
+public class DashboardStreamController {
+
+    private final DashboardStreamService dashboardStreamService;
+
+    public DashboardStreamController(DashboardStreamService dashboardStreamService) {
+        this.dashboardStreamService = dashboardStreamService;
+    }
+
+    // Stream perubahan dashboard (SSE); dipakai dashboard.html untuk memperbarui chart tanpa refresh
+    @GetMapping(path = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(HttpSession session) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return dashboardStreamService.subscribe(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
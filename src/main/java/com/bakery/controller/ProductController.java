@@ -1,7 +1,16 @@
 package com.bakery.controller;
 
+import com.bakery.dto.ProductCursor;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSort;
 import com.bakery.entity.Product;
+import com.bakery.service.DashboardSummaryService;
+import com.bakery.service.ProductSearchService;
 import com.bakery.service.ProductService;
+import com.bakery.util.ConstUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -11,6 +20,7 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,19 +29,74 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService productService;
+    private final DashboardSummaryService dashboardSummaryService;
+    private final ProductSearchService productSearchService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, DashboardSummaryService dashboardSummaryService,
+            ProductSearchService productSearchService) {
         this.productService = productService;
+        this.dashboardSummaryService = dashboardSummaryService;
+        this.productSearchService = productSearchService;
     }
 
+    /**
+     * Daftar produk per halaman. Mode default memakai nomor halaman dan pilihan urutan;
+     * mode=keyset menelusuri produk terbaru dengan cursor (after) tanpa OFFSET.
+     * Bila q diisi, daftar berisi hasil pencarian teks yang diurutkan menurut relevansi.
+     */
     @GetMapping
-    public String listProducts(Model model, HttpSession session) {
+    public String listProducts(Model model, HttpSession session,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "q", required = false) String q) {
         UUID userId = (UUID) session.getAttribute("userId");
-
-        model.addAttribute("products", productService.getProductsByUserId(userId));
+        int pageSize = resolvePageSize(size);
+
+        // Statistik dari ringkasan per user, bukan dari produk di halaman ini saja
+        model.addAttribute("summary", dashboardSummaryService.getSummary(userId));
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("sortOptions", ProductSort.values());
+
+        if (q != null && !q.isBlank()) {
+            Page<ProductListItem> result = productSearchService.search(userId, q, PageRequest.of(Math.max(page, 0), pageSize));
+            model.addAttribute("products", result.getContent());
+            model.addAttribute("listMode", "search");
+            model.addAttribute("query", q.strip());
+            model.addAttribute("currentPage", result.getNumber());
+            model.addAttribute("totalPages", result.getTotalPages());
+            model.addAttribute("totalElements", result.getTotalElements());
+        } else if ("keyset".equals(mode)) {
+            Slice<ProductListItem> slice = productService.getProductsAfter(userId, ProductCursor.decode(after), pageSize);
+            List<ProductListItem> products = slice.getContent();
+            model.addAttribute("products", products);
+            model.addAttribute("listMode", "keyset");
+            model.addAttribute("sort", ProductSort.NEWEST.key());
+            model.addAttribute("nextCursor", slice.hasNext()
+                    ? ProductCursor.of(products.get(products.size() - 1)).encode() : null);
+        } else {
+            ProductSort productSort = ProductSort.from(sort);
+            Page<ProductListItem> result = productService.getProductsPage(userId, Math.max(page, 0), pageSize, productSort);
+            model.addAttribute("products", result.getContent());
+            model.addAttribute("listMode", "page");
+            model.addAttribute("sort", productSort.key());
+            model.addAttribute("currentPage", result.getNumber());
+            model.addAttribute("totalPages", result.getTotalPages());
+            model.addAttribute("totalElements", result.getTotalElements());
+        }
         return "products/list";
     }
 
+    // Ukuran halaman di luar 1..MAX_PAGE_SIZE kembali ke batas terdekat
+    static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return ConstUtil.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(Math.max(size, 1), ConstUtil.MAX_PAGE_SIZE);
+    }
+
     @GetMapping("/create")
     public String showCreateForm(Model model, HttpSession session) {
 
@@ -71,6 +136,7 @@ public class ProductController {
         Optional<Product> product = productService.getProductById(id);
         if (product.isPresent()) {
             model.addAttribute("product", product.get());
+            model.addAttribute("soldCount", productService.getSoldCount(product.get()));
             return "products/edit";
         }
         return "redirect:/products";
@@ -155,6 +221,7 @@ public class ProductController {
         Optional<Product> product = productService.getProductById(id);
         if (product.isPresent()) {
             model.addAttribute("product", product.get());
+            model.addAttribute("soldCount", productService.getSoldCount(product.get()));
             return "products/detail";
         }
         return "redirect:/products";
@@ -166,6 +233,7 @@ public class ProductController {
         Optional<Product> product = productService.getProductById(id);
         if (product.isPresent()) {
             model.addAttribute("product", product.get());
+            model.addAttribute("soldCount", productService.getSoldCount(product.get()));
             return "products/update-sales";
         }
         return "redirect:/products";
@@ -189,4 +257,14 @@ public class ProductController {
 
         return "redirect:/products?success=true";
     }
-}
\ No newline at end of file
+
+    // Mencatat penjualan N unit (relatif), berbeda dengan update-sales yang mengisi total terjual
+    @PostMapping("/record-sale/{id}")
+    public String recordSale(@PathVariable UUID id, @RequestParam Integer quantity, HttpSession session) {
+
+        if (productService.recordSale(id, quantity)) {
+            return "redirect:/products?success=true";
+        }
+        return "redirect:/products/update-sales/" + id + "?saleRejected=true";
+    }
+}
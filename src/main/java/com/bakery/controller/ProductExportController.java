@@ -0,0 +1,48 @@
+package com.bakery.controller;
+
+import com.bakery.service.ProductExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+@Controller
+@RequestMapping("/products/export")
+public class ProductExportController {
+
+    private final ProductExportService productExportService;
+
+    public ProductExportController(ProductExportService productExportService) {
+        this.productExportService = productExportService;
+    }
+
+    /**
+     * CSV ditulis langsung ke output stream response selagi produk dibaca, tanpa menampung
+     * seluruh isi file di memori.
+     */
+    @GetMapping
+    public void exportProducts(HttpSession session, HttpServletResponse response) throws IOException {
+        UUID userId = (UUID) session.getAttribute("userId");
+        String fileName = "produk-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".csv";
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        // BOM agar Excel membaca file sebagai UTF-8; CsvReader melewatinya saat import
+        writer.write('\uFEFF');
+        productExportService.writeCsv(userId, writer);
+        writer.flush();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ProductFilter;
+import com.bakery.dto.ProductFilterResult;
+import com.bakery.dto.ProductSort;
+import com.bakery.service.ProductService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/products/filter")
+public class ProductFilterApiController {
+
+    private final ProductService productService;
+
+    public ProductFilterApiController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Produk yang cocok dengan semua filter yang diisi (category, available, minPrice/maxPrice,
+     * minStock/maxStock, minSold/maxSold) per halaman, beserta facet kategori dan ketersediaan.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> filter(HttpSession session, @ModelAttribute ProductFilter filter,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ProductSort productSort = ProductSort.from(sort);
+        ProductFilterResult result = productService.filterProducts(userId, filter, Math.max(page, 0),
+                ProductController.resolvePageSize(size), productSort);
+        Page<?> products = result.products();
+
+        Map<String, Object> availability = new LinkedHashMap<>();
+        availability.put("available", result.available());
+        availability.put("unavailable", result.unavailable());
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("categories", result.categories());
+        facets.put("availability", availability);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", products.getContent());
+        body.put("page", products.getNumber());
+        body.put("size", products.getSize());
+        body.put("sort", productSort.key());
+        body.put("totalElements", products.getTotalElements());
+        body.put("totalPages", products.getTotalPages());
+        body.put("facets", facets);
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,36 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.service.ProductImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/products/import")
+public class ProductImportApiController {
+
+    private final ProductImportService productImportService;
+
+    public ProductImportApiController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    // Progres import milik user yang login; id import user lain dianggap tidak ada
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportProgress> getProgress(@PathVariable UUID id, HttpSession session) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return productImportService.progress(id, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,70 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.service.ProductImportService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+@Controller
+@RequestMapping("/products/import")
+public class ProductImportController {
+
+    private final ProductImportService productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    @GetMapping
+    public String showImportForm(@RequestParam(value = "job", required = false) UUID job, Model model) {
+        model.addAttribute("job", job);
+        return "products/import";
+    }
+
+    /**
+     * File disalin ke file sementara lalu diimport di background, sehingga request selesai
+     * sebelum semua baris tersimpan; halaman import memantau progresnya.
+     */
+    @PostMapping
+    public String importProducts(@RequestParam("file") MultipartFile file, HttpSession session) {
+        if (file == null || file.isEmpty()) {
+            return "redirect:/products/import?error=empty_file";
+        }
+        UUID userId = (UUID) session.getAttribute("userId");
+        Path temp = null;
+        try {
+            temp = createTempFile();
+            Files.copy(file.getInputStream(), temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            return "redirect:/products/import?error=upload_failed";
+        }
+        ImportProgress progress = productImportService.start(userId, temp);
+        return "redirect:/products/import?job=" + progress.id();
+    }
+
+    // Protected method for testability
+    protected Path createTempFile() throws IOException {
+        return Files.createTempFile("product-import-", ".csv");
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // File sementara ikut terhapus saat direktori temp dibersihkan
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ProductSuggestion;
+import com.bakery.service.ProductSuggestionService;
+import com.bakery.util.ConstUtil;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/products/suggest")
+public class ProductSuggestionApiController {
+
+    private final ProductSuggestionService productSuggestionService;
+
+    public ProductSuggestionApiController(ProductSuggestionService productSuggestionService) {
+        this.productSuggestionService = productSuggestionService;
+    }
+
+    // Saran nama produk per ketikan; tidak di-cache browser karena berubah setiap produk disimpan
+    @GetMapping
+    public ResponseEntity<List<ProductSuggestion>> suggest(HttpSession session,
+            @RequestParam(value = "q", defaultValue = "") String q,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        UUID userId = (UUID) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(productSuggestionService.suggest(userId, q, resolveLimit(limit)));
+    }
+
+    static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return ConstUtil.SUGGEST_DEFAULT_LIMIT;
+        }
+        return Math.min(Math.max(limit, 1), ConstUtil.SUGGEST_MAX_LIMIT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bakery.dto;
+
+/**
+ * Statistik satu region second-level cache (atau query cache) sejak aplikasi berjalan.
+ * {@code hitRatio} bernilai 0 bila region belum pernah dibaca.
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, double hitRatio) {
+
+    public static CacheRegionStats of(String region, long hits, long misses, long puts) {
+        long reads = hits + misses;
+        return new CacheRegionStats(region, hits, misses, puts, reads > 0 ? (double) hits / reads : 0.0);
+    }
+}
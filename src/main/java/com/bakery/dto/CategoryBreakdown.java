@@ -0,0 +1,8 @@
+package com.bakery.dto;
+
+/**
+ * Ringkasan satu kategori untuk chart dashboard. Pendapatan dihitung dari harga saat ini
+ * dikali jumlah terjual.
+ */
+public record CategoryBreakdown(String category, long products, long unitsSold, long stockOnHand, double revenue) {
+}
@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+/**
+ * Total penjualan satu kategori dalam satu periode.
+ */
+public record CategorySales(String category, Long quantity) {
+}
@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+/**
+ * Baris hasil GROUP BY category_code di tabel products.
+ */
+public record CategoryTotals(Short categoryCode, Long products, Long unitsSold, Long stockOnHand, Double revenue) {
+}
@@ -0,0 +1,19 @@
+package com.bakery.dto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Satu seri chart dashboard: id produk, label (nama produk) dan nilai, dengan urutan yang sama.
+ */
+public record ChartSeries(List<UUID> ids, List<String> labels, List<Integer> data) {
+
+    public static ChartSeries of(List<ProductListItem> products, ToIntFunction<ProductListItem> value) {
+        return new ChartSeries(
+                products.stream().map(ProductListItem::id).collect(Collectors.toList()),
+                products.stream().map(ProductListItem::productName).collect(Collectors.toList()),
+                products.stream().map(p -> value.applyAsInt(p)).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+import java.util.UUID;
+
+/** Satu baris keranjang checkout: produk dan jumlah unit yang dibeli. */
+public record CheckoutLine(UUID productId, Integer quantity) {
+}
@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+import java.util.List;
+
+/** Body JSON untuk POST /api/checkout. */
+public record CheckoutRequest(List<CheckoutLine> lines) {
+}
@@ -0,0 +1,25 @@
+package com.bakery.dto;
+
+/**
+ * Bagian-bagian halaman dashboard yang dimuat secara terpisah. {@code key} dipakai di template
+ * (placeholder) dan sebagai nama metrik.
+ */
+public enum DashboardSection {
+    SUMMARY("summary"),
+    BEST_SELLING("best-selling"),
+    LOW_STOCK("low-stock"),
+    SALES_HISTORY("sales-history"),
+    SALES_CATEGORIES("sales-categories"),
+    CATEGORY_BREAKDOWN("category-breakdown"),
+    RECENT_PRODUCTS("recent-products");
+
+    private final String key;
+
+    DashboardSection(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bakery.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Seluruh data halaman dashboard satu user pada satu titik waktu.
+ *
+ * List disalin saat dibuat dan isinya record yang tidak bisa diubah, jadi satu snapshot
+ * aman dipakai bersama oleh banyak request tanpa sinkronisasi. Bagian yang melewati
+ * budget-nya berisi nilai kosong dan tercatat di {@code unavailableSections}.
+ */
+public record DashboardSnapshot(
+        UUID userId,
+        LocalDateTime generatedAt,
+        long totalProducts,
+        long availableProducts,
+        long lowStockCount,
+        long totalSold,
+        int bestSellingLimit,
+        List<ProductListItem> bestSellingProducts,
+        ChartSeries bestSellingSeries,
+        int lowStockLimit,
+        List<ProductListItem> lowStockList,
+        ChartSeries lowStockSeries,
+        SalesSeries salesSeries,
+        List<CategorySales> salesCategories,
+        List<CategoryBreakdown> categoryBreakdown,
+        List<ProductListItem> recentProducts,
+        Set<DashboardSection> unavailableSections) {
+
+    public DashboardSnapshot {
+        bestSellingProducts = List.copyOf(bestSellingProducts);
+        lowStockList = List.copyOf(lowStockList);
+        salesCategories = List.copyOf(salesCategories);
+        categoryBreakdown = List.copyOf(categoryBreakdown);
+        recentProducts = List.copyOf(recentProducts);
+        unavailableSections = Set.copyOf(unavailableSections);
+    }
+
+    /** true bila semua bagian dimuat dalam budget-nya. */
+    public boolean isComplete() {
+        return unavailableSections.isEmpty();
+    }
+}
@@ -0,0 +1,19 @@
+package com.bakery.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Status satu import produk pada satu titik waktu. {@code imported} hanya menghitung baris yang
+ * sudah di-commit; {@code errors} berisi paling banyak {@code ConstUtil.IMPORT_MAX_ERRORS} baris
+ * pertama yang ditolak, sedangkan {@code rejected} menghitung semuanya. {@code failure} terisi bila
+ * import berhenti di tengah jalan (status FAILED); batch yang sudah di-commit tetap tersimpan.
+ */
+public record ImportProgress(UUID id, ImportStatus status, long rowsRead, long imported, long rejected,
+        List<ImportRowError> errors, String failure, LocalDateTime startedAt, LocalDateTime finishedAt) {
+
+    public ImportProgress {
+        errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,5 @@
+package com.bakery.dto;
+
+/** Baris CSV yang ditolak; {@code line} adalah nomor baris di file (header = baris 1). */
+public record ImportRowError(long line, String message) {
+}
@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,41 @@
+package com.bakery.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posisi terakhir pada daftar produk mode keyset (created_at DESC, id DESC). Halaman berikutnya
+ * dimulai tepat setelah posisi ini, jadi biayanya tidak bertambah seiring kedalaman halaman.
+ */
+public record ProductCursor(LocalDateTime createdAt, UUID id) {
+
+    public static ProductCursor of(ProductListItem product) {
+        return new ProductCursor(product.createdAt(), product.id());
+    }
+
+    /** Token yang aman dipakai di URL. */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Kebalikan {@link #encode()}; null untuk token kosong atau tidak valid (kembali ke halaman pertama). */
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                return null;
+            }
+            return new ProductCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
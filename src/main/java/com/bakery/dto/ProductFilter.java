@@ -0,0 +1,27 @@
+package com.bakery.dto;
+
+/**
+ * Kriteria filter daftar produk; setiap kolom yang null tidak membatasi hasil dan batas rentang
+ * bersifat inklusif. Nama kolom sama dengan parameter query /api/products/filter.
+ */
+public record ProductFilter(String category, Boolean available, Double minPrice, Double maxPrice,
+        Integer minStock, Integer maxStock, Integer minSold, Integer maxSold) {
+
+    public static ProductFilter none() {
+        return new ProductFilter(null, null, null, null, null, null, null, null);
+    }
+
+    /** Filter yang sama tanpa kategori, untuk menghitung facet kategori. */
+    public ProductFilter withoutCategory() {
+        return new ProductFilter(null, available, minPrice, maxPrice, minStock, maxStock, minSold, maxSold);
+    }
+
+    /** Filter yang sama tanpa ketersediaan, untuk menghitung facet ketersediaan. */
+    public ProductFilter withoutAvailable() {
+        return new ProductFilter(category, null, minPrice, maxPrice, minStock, maxStock, minSold, maxSold);
+    }
+
+    public boolean hasCategory() {
+        return category != null && !category.isBlank();
+    }
+}
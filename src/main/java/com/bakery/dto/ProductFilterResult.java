@@ -0,0 +1,15 @@
+package com.bakery.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Satu halaman hasil filter produk beserta facet-nya. {@code categories} berisi jumlah produk per
+ * nama kategori (terbanyak lebih dulu) dengan semua filter kecuali kategori; {@code available} dan
+ * {@code unavailable} dihitung dengan semua filter kecuali ketersediaan. Jadi setiap angka facet adalah
+ * jumlah hasil bila pilihan itu yang dipakai.
+ */
+public record ProductFilterResult(Page<ProductListItem> products, Map<String, Long> categories,
+        long available, long unavailable) {
+}
@@ -0,0 +1,22 @@
+package com.bakery.dto;
+
+import com.bakery.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Satu produk pada daftar produk dan dashboard. Diisi langsung dari query (constructor expression),
+ * jadi kolom description (CLOB) tidak ikut dibaca; entitas lengkap hanya dimuat di halaman detail/edit.
+ * {@code createdAt} dipakai untuk cursor mode keyset.
+ */
+public record ProductListItem(UUID id, String productName, String category, Double price, Integer stock,
+        Boolean isAvailable, Integer soldCount, String imageUrl, Boolean lowStock, Integer lowStockThreshold,
+        LocalDateTime createdAt) {
+
+    public static ProductListItem of(Product product) {
+        return new ProductListItem(product.getId(), product.getProductName(), product.getCategory(),
+                product.getPrice(), product.getStock(), product.getIsAvailable(), product.getSoldCount(),
+                product.getImageUrl(), product.getLowStock(), product.getLowStockThreshold(), product.getCreatedAt());
+    }
+}
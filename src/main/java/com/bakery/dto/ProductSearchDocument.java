@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+import java.util.UUID;
+
+/** Kolom produk yang diindeks untuk pencarian teks, dibaca langsung dari query tanpa entitas. */
+public record ProductSearchDocument(UUID id, UUID userId, String productName, String category, String description) {
+}
@@ -0,0 +1,50 @@
+package com.bakery.dto;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Urutan daftar produk. Setiap urutan diakhiri id sehingga posisi produk di antara halaman stabil
+ * walaupun nilai kolom utamanya sama.
+ */
+public enum ProductSort {
+    NEWEST("newest", "Terbaru", Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))),
+    NAME("name", "Nama (A-Z)", Sort.by(Sort.Order.asc("productName"), Sort.Order.asc("id"))),
+    PRICE_ASC("price-asc", "Harga Termurah", Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"))),
+    PRICE_DESC("price-desc", "Harga Termahal", Sort.by(Sort.Order.desc("price"), Sort.Order.asc("id"))),
+    STOCK("stock", "Stok Paling Sedikit", Sort.by(Sort.Order.asc("stock"), Sort.Order.asc("id"))),
+    SOLD("sold", "Terlaris", Sort.by(Sort.Order.desc("soldCount").nullsLast(), Sort.Order.asc("id")));
+
+    private final String key;
+    private final String label;
+    private final Sort sort;
+
+    ProductSort(String key, String label, Sort sort) {
+        this.key = key;
+        this.label = label;
+        this.sort = sort;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /** Nilai parameter query (newest/name/price-asc/...); nilai lain kembali ke NEWEST. */
+    public static ProductSort from(String value) {
+        if (value != null) {
+            for (ProductSort option : values()) {
+                if (option.key.equalsIgnoreCase(value)) {
+                    return option;
+                }
+            }
+        }
+        return NEWEST;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bakery.dto;
+
+import com.bakery.event.ProductSnapshot;
+
+import java.util.UUID;
+
+/** Satu saran nama produk untuk kotak pencarian/checkout; cukup untuk menampilkan dan memilih produk. */
+public record ProductSuggestion(UUID id, String productName, String category, Double price, Boolean isAvailable) {
+
+    public static ProductSuggestion of(ProductSnapshot snapshot) {
+        return new ProductSuggestion(snapshot.id(), snapshot.productName(), snapshot.category(), snapshot.price(),
+                snapshot.isAvailable());
+    }
+}
@@ -0,0 +1,8 @@
+package com.bakery.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Struk hasil checkout, baris-barisnya urut seperti di keranjang. */
+public record Receipt(List<ReceiptLine> lines, int totalQuantity, double total, LocalDateTime createdAt) {
+}
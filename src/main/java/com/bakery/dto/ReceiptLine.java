@@ -0,0 +1,7 @@
+package com.bakery.dto;
+
+import java.util.UUID;
+
+/** Satu baris struk; harga satuan diambil dari {@code Product.price} saat checkout. */
+public record ReceiptLine(UUID productId, String productName, int quantity, double unitPrice, double subtotal) {
+}
@@ -0,0 +1,9 @@
+package com.bakery.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Total penjualan dalam satu bucket waktu (hasil GROUP BY bucket_start).
+ */
+public record SalesBucket(LocalDateTime bucketStart, Long quantity) {
+}
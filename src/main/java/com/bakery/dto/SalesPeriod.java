@@ -0,0 +1,61 @@
+package com.bakery.dto;
+
+import com.bakery.entity.SalesGranularity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Periode chart penjualan di dashboard beserta ukuran bucket yang dipakai.
+ */
+public enum SalesPeriod {
+    TODAY(SalesGranularity.HOUR, "HH:00"),
+    WEEK(SalesGranularity.DAY, "dd/MM"),
+    MONTH(SalesGranularity.DAY, "dd/MM");
+
+    private final SalesGranularity granularity;
+    private final DateTimeFormatter labelFormat;
+
+    SalesPeriod(SalesGranularity granularity, String labelPattern) {
+        this.granularity = granularity;
+        this.labelFormat = DateTimeFormatter.ofPattern(labelPattern);
+    }
+
+    public SalesGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime start(LocalDateTime now) {
+        return switch (this) {
+            case TODAY -> now.toLocalDate().atStartOfDay();
+            case WEEK -> now.toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay();
+            case MONTH -> now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+
+    public LocalDateTime end(LocalDateTime now) {
+        LocalDateTime start = start(now);
+        return switch (this) {
+            case TODAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    public String label(LocalDateTime bucketStart) {
+        return labelFormat.format(bucketStart);
+    }
+
+    /** Nilai parameter query (today/week/month); nilai lain kembali ke TODAY. */
+    public static SalesPeriod from(String value) {
+        if (value != null) {
+            for (SalesPeriod period : values()) {
+                if (period.name().equalsIgnoreCase(value)) {
+                    return period;
+                }
+            }
+        }
+        return TODAY;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bakery.dto;
+
+import java.util.List;
+
+/**
+ * Seri chart penjualan satu periode: satu label dan satu total per bucket, termasuk bucket kosong.
+ */
+public record SalesSeries(SalesPeriod period, List<String> labels, List<Long> data) {
+}
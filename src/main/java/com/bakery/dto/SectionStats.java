@@ -0,0 +1,9 @@
+package com.bakery.dto;
+
+/**
+ * Waktu muat satu bagian dashboard sejak aplikasi berjalan. {@code timeouts} menghitung halaman
+ * yang menampilkan placeholder karena bagian ini melewati budget-nya.
+ */
+public record SectionStats(String section, long count, long timeouts, long failures,
+        double averageMillis, double maxMillis) {
+}
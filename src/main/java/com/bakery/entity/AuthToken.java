@@ -9,7 +9,7 @@ import java.util.UUID;
 public class AuthToken {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(nullable = false, unique = true)
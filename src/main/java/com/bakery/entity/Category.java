@@ -0,0 +1,34 @@
+package com.bakery.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Dimensi kategori produk. Produk menyimpan {@code code} (SMALLINT) di products.category_code
+ * sehingga filter dan GROUP BY kategori membandingkan angka kecil, bukan string.
+ */
+@Entity
+@Table(name = "categories")
+public class Category {
+    
+    @Id
+    @Column(nullable = false)
+    private Short code;
+    
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+    
+    public Category() {
+    }
+    
+    public Category(Short code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+    
+    // Getter and Setter
+    public Short getCode() { return code; }
+    public void setCode(Short code) { this.code = code; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
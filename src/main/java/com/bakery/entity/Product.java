@@ -1,17 +1,23 @@
 package com.bakery.entity;
 
+import com.bakery.util.ConstUtil;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(name = "user_id", nullable = false)
@@ -25,6 +31,10 @@ public class Product {
     @Column(nullable = false)
     private String category;
     
+    // Kode dari tabel categories, diisi oleh ProductService dari nama kategori
+    @Column(name = "category_code")
+    private Short categoryCode;
+    
     @NotNull(message = "Price is required")
     @Column(nullable = false)
     private Double price;
@@ -34,7 +44,7 @@ public class Product {
     private Integer stock;
     
     @Lob
-    @Column(columnDefinition = "TEXT")
+    @Column(columnDefinition = "CLOB")
     private String description;
     
     @Column(name = "image_url")
@@ -46,6 +56,15 @@ public class Product {
     @Column(name = "sold_count")
     private Integer soldCount;
     
+    // Batas stok minimum per produk (croissant dan kue pengantin butuh batas yang berbeda)
+    @Min(value = 0, message = "Batas stok minimum tidak boleh negatif")
+    @Column(name = "low_stock_threshold", nullable = false, columnDefinition = "INTEGER DEFAULT 10")
+    private Integer lowStockThreshold = ConstUtil.LOW_STOCK_THRESHOLD;
+    
+    // stock <= lowStockThreshold, disimpan agar query stok rendah memakai index (user_id, is_low_stock)
+    @Column(name = "is_low_stock", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean lowStock = false;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -65,6 +84,9 @@ public class Product {
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     
+    public Short getCategoryCode() { return categoryCode; }
+    public void setCategoryCode(Short categoryCode) { this.categoryCode = categoryCode; }
+    
     public Double getPrice() { return price; }
     public void setPrice(Double price) { this.price = price; }
     
@@ -83,6 +105,12 @@ public class Product {
     public Integer getSoldCount() { return soldCount; }
     public void setSoldCount(Integer soldCount) { this.soldCount = soldCount; }
     
+    public Integer getLowStockThreshold() { return lowStockThreshold; }
+    public void setLowStockThreshold(Integer lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
+    
+    public Boolean getLowStock() { return lowStock; }
+    public void setLowStock(Boolean lowStock) { this.lowStock = lowStock; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -93,10 +121,19 @@ public class Product {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshLowStock();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshLowStock();
+    }
+    
+    private void refreshLowStock() {
+        if (lowStockThreshold == null) {
+            lowStockThreshold = ConstUtil.LOW_STOCK_THRESHOLD;
+        }
+        lowStock = stock != null && stock <= lowStockThreshold;
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.bakery.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ringkasan dashboard per user yang dijaga secara inkremental oleh DashboardSummaryService,
+ * sehingga counter dashboard cukup dibaca dari satu baris.
+ */
+@Entity
+@Table(name = "product_summaries")
+public class ProductSummary {
+    
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Column(name = "total_products", nullable = false)
+    private long totalProducts;
+    
+    @Column(name = "available_products", nullable = false)
+    private long availableProducts;
+    
+    @Column(name = "low_stock_products", nullable = false)
+    private long lowStockProducts;
+    
+    @Column(name = "total_sold", nullable = false)
+    private long totalSold;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Getter and Setter
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    
+    public long getTotalProducts() { return totalProducts; }
+    public void setTotalProducts(long totalProducts) { this.totalProducts = totalProducts; }
+    
+    public long getAvailableProducts() { return availableProducts; }
+    public void setAvailableProducts(long availableProducts) { this.availableProducts = availableProducts; }
+    
+    public long getLowStockProducts() { return lowStockProducts; }
+    public void setLowStockProducts(long lowStockProducts) { this.lowStockProducts = lowStockProducts; }
+    
+    public long getTotalSold() { return totalSold; }
+    public void setTotalSold(long totalSold) { this.totalSold = totalSold; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public boolean sameCountersAs(ProductSummary other) {
+        return other != null
+                && totalProducts == other.totalProducts
+                && availableProducts == other.availableProducts
+                && lowStockProducts == other.lowStockProducts
+                && totalSold == other.totalSold;
+    }
+}
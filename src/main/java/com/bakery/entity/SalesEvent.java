@@ -0,0 +1,53 @@
+package com.bakery.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Satu perubahan jumlah terjual produk. Tabel ini hanya ditambah (append-only);
+ * chart membaca dari sales_rollups, bukan dari tabel ini.
+ */
+@Entity
+@Table(name = "sales_events")
+public class SalesEvent {
+    
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+    
+    @Column(nullable = false)
+    private String category;
+    
+    // Bisa negatif untuk koreksi jumlah terjual
+    @Column(nullable = false)
+    private int quantity;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    // Getter and Setter
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,27 @@
+package com.bakery.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Ukuran bucket rollup penjualan.
+ */
+public enum SalesGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    SalesGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** Awal bucket yang memuat waktu tersebut. */
+    public LocalDateTime bucketOf(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+}
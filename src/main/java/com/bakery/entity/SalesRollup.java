@@ -0,0 +1,59 @@
+package com.bakery.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Total penjualan satu produk dalam satu bucket jam atau hari, dijaga secara inkremental
+ * oleh SalesHistoryService. Total per kategori dihitung dengan GROUP BY category.
+ */
+@Entity
+@Table(name = "sales_rollups")
+public class SalesRollup {
+    
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+    
+    @Column(nullable = false)
+    private String category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private SalesGranularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false)
+    private long quantity;
+    
+    // Getter and Setter
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public SalesGranularity getGranularity() { return granularity; }
+    public void setGranularity(SalesGranularity granularity) { this.granularity = granularity; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+}
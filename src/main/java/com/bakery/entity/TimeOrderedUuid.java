@@ -0,0 +1,20 @@
+package com.bakery.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Primary key UUID yang urut menurut waktu (UUID v7), pengganti
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)}.
+ *
+ * Id lama (v4) tetap valid: kolomnya tetap bertipe UUID dan hanya baris baru yang memakai v7.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,12 @@
+package com.bakery.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Dipublikasikan saat startup bila UPDATE massal ProductService mengubah flag is_low_stock, satu event
+ * untuk semua user yang produknya berubah. UPDATE tersebut tidak melewati {@link ProductChangedEvent},
+ * jadi ringkasan dashboard user-user ini perlu dihitung ulang.
+ */
+public record LowStockFlagsRefreshedEvent(Set<UUID> userIds) {
+}
@@ -0,0 +1,72 @@
+package com.bakery.event;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Dipublikasikan oleh ProductService setiap kali data produk berubah.
+ * {@code before} bernilai null untuk produk baru, {@code after} bernilai null untuk produk yang dihapus.
+ * Snapshot tidak memuat deskripsi, jadi perubahan deskripsi dicatat sebagai flag tersendiri.
+ */
+public class ProductChangedEvent {
+
+    private final ProductSnapshot before;
+    private final ProductSnapshot after;
+    private final boolean descriptionChanged;
+
+    public ProductChangedEvent(ProductSnapshot before, ProductSnapshot after) {
+        this(before, after, false);
+    }
+
+    public ProductChangedEvent(ProductSnapshot before, ProductSnapshot after, boolean descriptionChanged) {
+        if (before == null && after == null) {
+            throw new IllegalArgumentException("before and after cannot both be null");
+        }
+        this.before = before;
+        this.after = after;
+        this.descriptionChanged = descriptionChanged;
+    }
+
+    public static ProductChangedEvent created(ProductSnapshot after) {
+        return new ProductChangedEvent(null, after);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot before, ProductSnapshot after) {
+        return new ProductChangedEvent(before, after);
+    }
+
+    public static ProductChangedEvent updated(ProductSnapshot before, ProductSnapshot after, boolean descriptionChanged) {
+        return new ProductChangedEvent(before, after, descriptionChanged);
+    }
+
+    public static ProductChangedEvent deleted(ProductSnapshot before) {
+        return new ProductChangedEvent(before, null);
+    }
+
+    public ProductSnapshot getBefore() { return before; }
+
+    public ProductSnapshot getAfter() { return after; }
+
+    public UUID getUserId() {
+        return after != null ? after.userId() : before.userId();
+    }
+
+    public UUID getProductId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+
+    /** Nama, kategori atau deskripsi berubah (selalu true untuk produk baru dan yang dihapus). */
+    public boolean isTextChanged() {
+        return before == null || after == null || descriptionChanged
+                || !Objects.equals(before.productName(), after.productName())
+                || !Objects.equals(before.category(), after.category());
+    }
+}
@@ -0,0 +1,53 @@
+package com.bakery.event;
+
+import com.bakery.entity.Product;
+import com.bakery.util.ConstUtil;
+
+import java.util.UUID;
+
+/**
+ * Salinan immutable dari field produk pada satu titik waktu, dipakai oleh
+ * {@link ProductChangedEvent} agar listener tidak bergantung pada entity yang masih managed.
+ */
+public record ProductSnapshot(
+        UUID id,
+        UUID userId,
+        String productName,
+        String category,
+        Double price,
+        Integer stock,
+        Boolean isAvailable,
+        Integer soldCount,
+        Integer lowStockThreshold) {
+
+    public ProductSnapshot(UUID id, UUID userId, String productName, String category, Double price,
+            Integer stock, Boolean isAvailable, Integer soldCount) {
+        this(id, userId, productName, category, price, stock, isAvailable, soldCount, ConstUtil.LOW_STOCK_THRESHOLD);
+    }
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getUserId(),
+                product.getProductName(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getStock(),
+                product.getIsAvailable(),
+                product.getSoldCount(),
+                product.getLowStockThreshold());
+    }
+
+    public boolean available() {
+        return Boolean.TRUE.equals(isAvailable);
+    }
+
+    public boolean lowStock() {
+        int threshold = lowStockThreshold != null ? lowStockThreshold : ConstUtil.LOW_STOCK_THRESHOLD;
+        return stock != null && stock <= threshold;
+    }
+
+    public int soldOrZero() {
+        return soldCount != null ? soldCount : 0;
+    }
+}
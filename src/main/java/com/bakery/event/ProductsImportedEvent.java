@@ -0,0 +1,15 @@
+package com.bakery.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dipublikasikan sekali per batch import CSV, menggantikan satu {@link ProductChangedEvent} per baris
+ * agar ribuan produk baru tidak memicu ribuan update ringkasan dan notifikasi.
+ */
+public record ProductsImportedEvent(UUID userId, List<UUID> productIds) {
+
+    public int count() {
+        return productIds.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bakery.event;
+
+/**
+ * Selisih counter dashboard (jumlah produk, tersedia, stok rendah, terjual) akibat satu perubahan produk.
+ */
+public record SummaryDelta(long products, long available, long lowStock, long sold) {
+
+    public static SummaryDelta of(ProductChangedEvent event) {
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+        return new SummaryDelta(
+                count(after != null) - count(before != null),
+                count(after != null && after.available()) - count(before != null && before.available()),
+                count(after != null && after.lowStock()) - count(before != null && before.lowStock()),
+                (after != null ? after.soldOrZero() : 0) - (before != null ? before.soldOrZero() : 0));
+    }
+
+    public boolean isEmpty() {
+        return products == 0 && available == 0 && lowStock == 0 && sold == 0;
+    }
+
+    private static long count(boolean condition) {
+        return condition ? 1 : 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bakery.repository;
+
+import com.bakery.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Short> {
+    Optional<Category> findByName(String name);
+
+    @Query("SELECT MAX(c.code) FROM Category c")
+    Short findMaxCode();
+}
@@ -0,0 +1,25 @@
+package com.bakery.repository;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+/**
+ * Query filter produk dari {@link ProductSpecifications}, diimplementasikan dengan Criteria API di
+ * {@link ProductFilterRepositoryImpl} dan digabung ke {@link ProductRepository} oleh Spring Data.
+ */
+public interface ProductFilterRepository {
+
+    /** Halaman produk yang cocok sebagai ProductListItem, jadi description (CLOB) tidak ikut dibaca. */
+    Page<ProductListItem> findListItems(Specification<Product> spec, Pageable pageable);
+
+    /** Jumlah produk yang cocok per kode kategori (key null untuk produk tanpa kode). */
+    Map<Short, Long> countByCategoryCode(Specification<Product> spec);
+
+    /** Jumlah produk yang cocok per nilai is_available (key null untuk produk tanpa nilai). */
+    Map<Boolean, Long> countByAvailability(Specification<Product> spec);
+}
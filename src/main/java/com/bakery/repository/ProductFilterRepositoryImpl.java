@@ -0,0 +1,95 @@
+package com.bakery.repository;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    private final EntityManager entityManager;
+
+    public ProductFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Kolom sama dengan ProductRepository.LIST_ITEM; urutan dari Pageable (lihat ProductSort)
+    @Override
+    public Page<ProductListItem> findListItems(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductListItem> query = cb.createQuery(ProductListItem.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductListItem.class, root.get("id"), root.get("productName"),
+                root.get("category"), root.get("price"), root.get("stock"), root.get("isAvailable"),
+                root.get("soldCount"), root.get("imageUrl"), root.get("lowStock"), root.get("lowStockThreshold"),
+                root.get("createdAt")));
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<ProductListItem> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        // COUNT dilewati bila halaman pertama sudah memuat semua hasil
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Map<Short, Long> countByCategoryCode(Specification<Product> spec) {
+        return countBy(spec, "categoryCode", Short.class);
+    }
+
+    @Override
+    public Map<Boolean, Long> countByAvailability(Specification<Product> spec) {
+        return countBy(spec, "isAvailable", Boolean.class);
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.count(cb.literal(1)));
+        where(query, root, cb, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // SELECT kolom, COUNT(*) ... GROUP BY kolom; dengan index yang memuat semua kolom filter dan kolom
+    // facet, H2 menjawabnya dari index saja tanpa membaca baris tabel
+    private <K> Map<K, Long> countBy(Specification<Product> spec, String attribute, Class<K> type) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<K> key = root.get(attribute);
+        query.multiselect(key, cb.count(cb.literal(1))).groupBy(key);
+        where(query, root, cb, spec);
+
+        Map<K, Long> counts = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, type), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Product> root, CriteriaBuilder cb,
+            Specification<Product> spec) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
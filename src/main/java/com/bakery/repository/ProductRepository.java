@@ -1,15 +1,155 @@
 package com.bakery.repository;
 
+import com.bakery.dto.CategoryTotals;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSearchDocument;
+import com.bakery.dto.ProductSuggestion;
 import com.bakery.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductFilterRepository {
     List<Product> findByUserId(UUID userId);
-    List<Product> findByCategory(String category);
-    List<Product> findByIsAvailable(Boolean isAvailable);
-    List<Product> findByStockLessThan(Integer stock);
-}
\ No newline at end of file
+
+    // Kolom untuk daftar/dashboard tanpa description (CLOB), lihat ProductListItem
+    String LIST_ITEM = "SELECT new com.bakery.dto.ProductListItem(p.id, p.productName, p.category, p.price, " +
+            "p.stock, p.isAvailable, p.soldCount, p.imageUrl, p.lowStock, p.lowStockThreshold, p.createdAt) " +
+            "FROM Product p ";
+
+    // Daftar produk per halaman; urutan dari Pageable (lihat ProductSort)
+    @Query(value = LIST_ITEM + "WHERE p.userId = :userId",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.userId = :userId")
+    Page<ProductListItem> findByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    // Mode keyset: halaman pertama dan halaman setelah posisi (createdAt, id), lewat index (user_id, created_at, id)
+    @Query(LIST_ITEM + "WHERE p.userId = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductListItem> findByUserIdOrderByCreatedAtDescIdDesc(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(LIST_ITEM + "WHERE p.userId = :userId AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductListItem> findByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id, Pageable pageable);
+
+    // Baris yang diambil driver JDBC per round-trip untuk query Stream (export, indeks pencarian)
+    String STREAM_FETCH_SIZE = "500";
+
+    // Export: dibaca bertahap lewat cursor JDBC, urut index (user_id, created_at, id); harus dipakai di dalam
+    // transaksi dan ditutup. Read-only dan tanpa second-level cache agar export tidak menggusur isi cache.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Product p WHERE p.userId = :userId ORDER BY p.createdAt, p.id")
+    Stream<Product> streamByUserId(@Param("userId") UUID userId);
+
+    // Hasil pencarian teks: produk untuk id yang ditemukan indeks, tetap dibatasi milik user
+    @Query(LIST_ITEM + "WHERE p.userId = :userId AND p.id IN :ids")
+    List<ProductListItem> findListItemsByUserIdAndIdIn(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    String SEARCH_DOCUMENT = "SELECT new com.bakery.dto.ProductSearchDocument(p.id, p.userId, p.productName, " +
+            "p.category, p.description) FROM Product p ";
+
+    // Membangun ulang indeks pencarian saat startup; projection, jadi persistence context tidak terisi
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SEARCH_DOCUMENT + "ORDER BY p.id")
+    Stream<ProductSearchDocument> streamSearchDocuments();
+
+    @Query(SEARCH_DOCUMENT + "WHERE p.id IN :ids")
+    List<ProductSearchDocument> findSearchDocuments(@Param("ids") Collection<UUID> ids);
+
+    // Memuat indeks saran nama produk satu user
+    @Query("SELECT new com.bakery.dto.ProductSuggestion(p.id, p.productName, p.category, p.price, p.isAvailable) " +
+            "FROM Product p WHERE p.userId = :userId")
+    List<ProductSuggestion> findSuggestionsByUserId(@Param("userId") UUID userId);
+
+    List<Product> findByUserIdAndCategoryCode(UUID userId, Short categoryCode);
+
+    // Statistik dashboard dihitung di database, bukan dari seluruh produk
+    long countByUserId(UUID userId);
+
+    long countByUserIdAndIsAvailableTrue(UUID userId);
+
+    // Memakai flag is_low_stock (stock <= batas produk masing-masing) lewat index (user_id, is_low_stock)
+    long countByUserIdAndLowStockTrue(UUID userId);
+
+    @Query("SELECT COALESCE(SUM(p.soldCount), 0) FROM Product p WHERE p.userId = :userId")
+    Long sumSoldCountByUserId(@Param("userId") UUID userId);
+
+    // Top-N produk terlaris, jumlah baris dibatasi lewat Pageable
+    @Query(LIST_ITEM + "WHERE p.userId = :userId " +
+           "ORDER BY COALESCE(p.soldCount, 0) DESC, p.productName ASC")
+    List<ProductListItem> findBestSellingByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    // Produk terbaru, jumlah baris dibatasi lewat Pageable
+    @Query(LIST_ITEM + "WHERE p.userId = :userId ORDER BY p.createdAt DESC")
+    List<ProductListItem> findByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId, Pageable pageable);
+
+    // Produk di bawah batasnya sendiri, paling mendesak (stok relatif terhadap batas paling kecil) lebih dulu
+    @Query(value = LIST_ITEM + "WHERE p.userId = :userId AND p.lowStock = true " +
+                   "ORDER BY (p.stock + 0.0) / (p.lowStockThreshold + 1) ASC, p.stock ASC, p.productName ASC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.userId = :userId AND p.lowStock = true")
+    Page<ProductListItem> findLowStockByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    // Rincian per kategori dalam satu query, dikelompokkan berdasarkan kode kategori (index idx_products_user_category)
+    @Query("SELECT new com.bakery.dto.CategoryTotals(p.categoryCode, COUNT(p), SUM(COALESCE(p.soldCount, 0)), " +
+           "SUM(p.stock), SUM(p.price * COALESCE(p.soldCount, 0))) " +
+           "FROM Product p WHERE p.userId = :userId GROUP BY p.categoryCode")
+    List<CategoryTotals> sumByCategoryCode(@Param("userId") UUID userId);
+
+    @Query("SELECT DISTINCT p.category FROM Product p WHERE p.categoryCode IS NULL")
+    List<String> findCategoriesWithoutCode();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.categoryCode = :code WHERE p.category = :category AND p.categoryCode IS NULL")
+    int assignCategoryCode(@Param("category") String category, @Param("code") short code);
+
+    // Checkout: mengunci baris produk keranjang, selalu urut id agar dua checkout tidak saling menunggu (deadlock)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    // Mencatat penjualan dalam satu statement: gagal (0 baris) bila produk tidak ada atau stok kurang.
+    // Ruas kanan SET membaca nilai lama baris, jadi is_low_stock dihitung dari stok setelah dikurangi.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET " +
+           "p.soldCount = COALESCE(p.soldCount, 0) + :quantity, " +
+           "p.stock = p.stock - :quantity, " +
+           "p.lowStock = CASE WHEN p.stock - :quantity <= p.lowStockThreshold THEN true ELSE false END, " +
+           "p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.stock >= :quantity")
+    int recordSale(@Param("id") UUID id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    // User yang flag is_low_stock produknya akan diubah oleh markLowStock/unmarkLowStock
+    @Query("SELECT DISTINCT p.userId FROM Product p WHERE " +
+           "(p.lowStock = false AND p.stock <= p.lowStockThreshold) OR " +
+           "(p.lowStock = true AND p.stock > p.lowStockThreshold)")
+    List<UUID> findUserIdsWithStaleLowStock();
+
+    // Menyelaraskan flag is_low_stock untuk baris yang ditulis sebelum kolom ini ada
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = true WHERE p.lowStock = false AND p.stock <= p.lowStockThreshold")
+    int markLowStock();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = false WHERE p.lowStock = true AND p.stock > p.lowStockThreshold")
+    int unmarkLowStock();
+}
@@ -0,0 +1,79 @@
+package com.bakery.repository;
+
+import com.bakery.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Kondisi filter produk yang bisa digabung dengan {@link Specification#and}. Kondisi tanpa nilai
+ * (null) tidak menghasilkan predicate, jadi hanya filter yang diisi yang masuk ke WHERE. Semua
+ * kondisi berupa kesamaan atau rentang pada kolom index (user_id, category_code/is_available, ...).
+ */
+public class ProductSpecifications {
+
+    private ProductSpecifications() {
+        // Utility class, prevent instantiation
+    }
+
+    public static Specification<Product> ownedBy(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Product> inCategory(Short categoryCode) {
+        return (root, query, cb) -> categoryCode == null ? null : cb.equal(root.get("categoryCode"), categoryCode);
+    }
+
+    /** Untuk kategori yang tidak terdaftar: tidak ada produk yang cocok. */
+    public static Specification<Product> none() {
+        return (root, query, cb) -> cb.disjunction();
+    }
+
+    // is_available null dihitung tidak tersedia, sama seperti countByUserIdAndIsAvailableTrue
+    public static Specification<Product> available(Boolean available) {
+        return (root, query, cb) -> {
+            if (available == null) {
+                return null;
+            }
+            Path<Boolean> column = root.get("isAvailable");
+            return available ? cb.isTrue(column) : cb.or(cb.isFalse(column), cb.isNull(column));
+        };
+    }
+
+    public static Specification<Product> priceBetween(Double min, Double max) {
+        return (root, query, cb) -> range(cb, root.get("price"), min, max);
+    }
+
+    public static Specification<Product> stockBetween(Integer min, Integer max) {
+        return (root, query, cb) -> range(cb, root.get("stock"), min, max);
+    }
+
+    // sold_count null berarti belum terjual (0). IS NULL hanya ditambahkan bila 0 ada di rentang,
+    // bukan COALESCE(sold_count, 0), agar kondisinya tetap bisa dicari lewat index
+    public static Specification<Product> soldBetween(Integer min, Integer max) {
+        return (root, query, cb) -> {
+            Path<Integer> column = root.get("soldCount");
+            Predicate predicate = range(cb, column, min, max);
+            boolean zeroInRange = (min == null || min <= 0) && (max == null || max >= 0);
+            return predicate != null && zeroInRange ? cb.or(predicate, cb.isNull(column)) : predicate;
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate range(CriteriaBuilder cb, Expression<T> column,
+            T min, T max) {
+        if (min != null && max != null) {
+            return cb.between(column, min, max);
+        }
+        if (min != null) {
+            return cb.greaterThanOrEqualTo(column, min);
+        }
+        if (max != null) {
+            return cb.lessThanOrEqualTo(column, max);
+        }
+        return null;
+    }
+}
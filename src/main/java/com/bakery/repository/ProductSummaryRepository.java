@@ -0,0 +1,45 @@
+package com.bakery.repository;
+
+import com.bakery.entity.ProductSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ProductSummaryRepository extends JpaRepository<ProductSummary, UUID> {
+
+    // Menambahkan delta ke ringkasan; mengembalikan 0 jika baris ringkasan belum ada
+    @Modifying
+    @Query("UPDATE ProductSummary s SET " +
+           "s.totalProducts = s.totalProducts + :products, " +
+           "s.availableProducts = s.availableProducts + :available, " +
+           "s.lowStockProducts = s.lowStockProducts + :lowStock, " +
+           "s.totalSold = s.totalSold + :sold, " +
+           "s.updatedAt = :now " +
+           "WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("products") long products,
+                   @Param("available") long available,
+                   @Param("lowStock") long lowStock,
+                   @Param("sold") long sold,
+                   @Param("now") LocalDateTime now);
+
+    // Menyimpan ringkasan dengan satu MERGE (H2) sehingga dua transaksi yang sama-sama membuat
+    // ringkasan user baru tidak gagal karena duplikat primary key. Query space dideklarasikan agar
+    // Hibernate hanya menginvalidasi product_summaries, bukan seluruh second-level cache.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_summaries"))
+    @Query(value = "MERGE INTO product_summaries (user_id, total_products, available_products, " +
+           "low_stock_products, total_sold, updated_at) KEY (user_id) " +
+           "VALUES (:#{#summary.userId}, :#{#summary.totalProducts}, :#{#summary.availableProducts}, " +
+           ":#{#summary.lowStockProducts}, :#{#summary.totalSold}, :#{#summary.updatedAt})",
+           nativeQuery = true)
+    int upsert(@Param("summary") ProductSummary summary);
+}
@@ -0,0 +1,22 @@
+package com.bakery.repository;
+
+import com.bakery.entity.SalesEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SalesEventRepository extends JpaRepository<SalesEvent, UUID> {
+
+    List<SalesEvent> findByProductIdOrderByOccurredAtAsc(UUID productId);
+
+    // Bulk delete, tidak memuat entity satu per satu
+    @Modifying
+    @Query("DELETE FROM SalesEvent e WHERE e.occurredAt < :before")
+    int deleteOccurredBefore(@Param("before") LocalDateTime before);
+}
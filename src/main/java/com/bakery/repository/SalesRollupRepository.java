@@ -0,0 +1,54 @@
+package com.bakery.repository;
+
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.SalesBucket;
+import com.bakery.entity.SalesGranularity;
+import com.bakery.entity.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, UUID> {
+
+    // Menambahkan jumlah ke bucket; mengembalikan 0 jika bucket belum ada
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.quantity = r.quantity + :quantity " +
+           "WHERE r.productId = :productId AND r.granularity = :granularity AND r.bucketStart = :bucketStart")
+    int addQuantity(@Param("productId") UUID productId,
+                    @Param("granularity") SalesGranularity granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("quantity") long quantity);
+
+    // Mengunci baris produk sampai commit agar pembuatan bucket baru untuk produk yang sama berurutan
+    @Query(value = "SELECT 1 FROM products WHERE id = :productId FOR UPDATE", nativeQuery = true)
+    List<Integer> lockProduct(@Param("productId") UUID productId);
+
+    @Query("SELECT new com.bakery.dto.SalesBucket(r.bucketStart, SUM(r.quantity)) FROM SalesRollup r " +
+           "WHERE r.userId = :userId AND r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<SalesBucket> sumByBucket(@Param("userId") UUID userId,
+                                  @Param("granularity") SalesGranularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.bakery.dto.CategorySales(r.category, SUM(r.quantity)) FROM SalesRollup r " +
+           "WHERE r.userId = :userId AND r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.category ORDER BY SUM(r.quantity) DESC, r.category")
+    List<CategorySales> sumByCategory(@Param("userId") UUID userId,
+                                      @Param("granularity") SalesGranularity granularity,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteBucketsBefore(@Param("granularity") SalesGranularity granularity,
+                            @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,131 @@
+package com.bakery.service;
+
+import com.bakery.entity.Category;
+import com.bakery.repository.CategoryRepository;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memetakan nama kategori ke kode kecil di tabel categories. Daftar kategori sangat kecil dan
+ * jarang berubah, jadi pemetaan disimpan di memori setelah dibaca pertama kali.
+ *
+ * Kategori baru dibuat di transaksi sendiri (REQUIRES_NEW) yang langsung di-commit, jadi pemetaan
+ * di memori hanya berisi baris yang sudah tersimpan walaupun transaksi pemanggil di-rollback.
+ * Dua transaksi (atau dua instance aplikasi) yang membuat kategori bersamaan bisa memilih kode yang
+ * sama; yang kalah gagal di primary key / unique name lalu mencoba lagi dan membaca hasil pemenang.
+ */
+@Service
+public class CategoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
+    static final int REGISTER_ATTEMPTS = 5;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, Short> codesByName = new ConcurrentHashMap<>();
+    private final Map<Short, String> namesByCode = new ConcurrentHashMap<>();
+
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+            PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Mendaftarkan kategori bawaan (kode 1..n sesuai urutan di ConstUtil) dan mengisi
+     * category_code pada produk yang belum punya.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        for (String name : ConstUtil.PRODUCT_CATEGORIES) {
+            codeOf(name);
+        }
+        int updated = 0;
+        for (String name : productRepository.findCategoriesWithoutCode()) {
+            if (name != null) {
+                updated += productRepository.assignCategoryCode(name, codeOf(name));
+            }
+        }
+        if (updated > 0) {
+            logger.info("Assigned category codes to {} products", updated);
+        }
+    }
+
+    /** Kode kategori; kategori yang belum terdaftar dibuat dengan kode berikutnya. */
+    @Transactional
+    public Short codeOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        Short cached = codesByName.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        return register(name);
+    }
+
+    /** Kode kategori tanpa membuat kategori baru. */
+    public Optional<Short> findCode(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Short cached = codesByName.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return categoryRepository.findByName(name).map(this::remember);
+    }
+
+    public String nameOf(Short code) {
+        if (code == null) {
+            return null;
+        }
+        return namesByCode.computeIfAbsent(code,
+                key -> categoryRepository.findById(key).map(Category::getName).orElse(null));
+    }
+
+    private short register(String name) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Category category = newTransaction.execute(status -> categoryRepository.findByName(name)
+                        .orElseGet(() -> {
+                            Short max = categoryRepository.findMaxCode();
+                            short next = (short) (max != null ? max + 1 : 1);
+                            return categoryRepository.saveAndFlush(new Category(next, name));
+                        }));
+                // Sudah di-commit oleh REQUIRES_NEW
+                return remember(category);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= REGISTER_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Category {} registered concurrently, retrying", name);
+            }
+        }
+    }
+
+    private short remember(Category category) {
+        codesByName.put(category.getName(), category.getCode());
+        namesByCode.put(category.getCode(), category.getName());
+        return category.getCode();
+    }
+}
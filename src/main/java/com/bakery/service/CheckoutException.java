@@ -0,0 +1,18 @@
+package com.bakery.service;
+
+import java.util.List;
+
+/** Checkout ditolak karena produk tidak ditemukan, tidak tersedia, atau stoknya tidak mencukupi. */
+public class CheckoutException extends RuntimeException {
+
+    private final List<String> problems;
+
+    public CheckoutException(List<String> problems) {
+        super("Checkout ditolak: " + String.join("; ", problems));
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bakery.service;
+
+import com.bakery.dto.CheckoutLine;
+import com.bakery.dto.Receipt;
+import com.bakery.dto.ReceiptLine;
+import com.bakery.entity.Product;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checkout keranjang kasir dalam satu transaksi: semua baris berhasil atau tidak ada yang dicatat.
+ *
+ * Baris produk dikunci sekaligus dalam urutan id (lihat {@link ProductRepository#findAllByIdForUpdate}),
+ * stok divalidasi pada baris yang sudah terkunci, lalu semua perubahan di-flush bersama sehingga
+ * UPDATE-nya dikirim sebagai satu JDBC batch (hibernate.jdbc.batch_size).
+ */
+@Service
+public class CheckoutService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CheckoutService(ProductRepository productRepository, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public Receipt checkout(UUID userId, List<CheckoutLine> lines) {
+        Map<UUID, Integer> quantities = mergeLines(lines);
+
+        List<Product> products = productRepository.findAllByIdForUpdate(quantities.keySet());
+        Map<UUID, Product> byId = new HashMap<>();
+        for (Product product : products) {
+            byId.put(product.getId(), product);
+        }
+        validate(userId, quantities, byId);
+
+        // Semua baris diubah dulu lalu di-flush sekali, event dipublikasikan setelahnya
+        List<ProductSnapshot> before = new ArrayList<>();
+        for (Product product : products) {
+            int quantity = quantities.get(product.getId());
+            before.add(ProductSnapshot.of(product));
+            product.setStock(product.getStock() - quantity);
+            product.setSoldCount((product.getSoldCount() != null ? product.getSoldCount() : 0) + quantity);
+        }
+        productRepository.saveAllAndFlush(products);
+        for (int i = 0; i < products.size(); i++) {
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before.get(i), ProductSnapshot.of(products.get(i))));
+        }
+
+        return receipt(quantities, byId);
+    }
+
+    // Produk yang muncul di beberapa baris digabung; urutan keranjang dipertahankan untuk struk
+    private Map<UUID, Integer> mergeLines(List<CheckoutLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Keranjang kosong");
+        }
+        if (lines.size() > ConstUtil.CHECKOUT_MAX_LINES) {
+            throw new IllegalArgumentException("Keranjang maksimal " + ConstUtil.CHECKOUT_MAX_LINES + " baris");
+        }
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutLine line : lines) {
+            if (line == null || line.productId() == null) {
+                throw new IllegalArgumentException("Produk wajib diisi");
+            }
+            if (line.quantity() == null || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Jumlah harus lebih dari 0");
+            }
+            try {
+                quantities.merge(line.productId(), line.quantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                // Jumlah gabungan melewati batas int: ditolak sebagai baris tidak valid, bukan error 500
+                throw new IllegalArgumentException("Jumlah terlalu besar");
+            }
+        }
+        return quantities;
+    }
+
+    private void validate(UUID userId, Map<UUID, Integer> quantities, Map<UUID, Product> products) {
+        List<String> problems = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null || !userId.equals(product.getUserId())) {
+                problems.add("Produk " + productId + " tidak ditemukan");
+            } else if (!Boolean.TRUE.equals(product.getIsAvailable())) {
+                problems.add(product.getProductName() + " tidak tersedia");
+            } else if (product.getStock() < quantity) {
+                problems.add(product.getProductName() + ": stok " + product.getStock() + ", diminta " + quantity);
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new CheckoutException(problems);
+        }
+    }
+
+    private Receipt receipt(Map<UUID, Integer> quantities, Map<UUID, Product> products) {
+        List<ReceiptLine> lines = new ArrayList<>();
+        int totalQuantity = 0;
+        double total = 0.0;
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            int quantity = entry.getValue();
+            double subtotal = product.getPrice() * quantity;
+            lines.add(new ReceiptLine(product.getId(), product.getProductName(), quantity, product.getPrice(), subtotal));
+            totalQuantity += quantity;
+            total += subtotal;
+        }
+        return new Receipt(lines, totalQuantity, total, LocalDateTime.now());
+    }
+}
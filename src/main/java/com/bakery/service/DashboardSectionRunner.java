@@ -0,0 +1,224 @@
+package com.bakery.service;
+
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.SectionStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Menjalankan bagian-bagian dashboard secara paralel, masing-masing dengan batas waktu sendiri.
+ *
+ * Bagian yang belum selesai saat budget-nya habis diganti placeholder sehingga halaman tidak
+ * menunggu query paling lambat. Query yang terlambat tetap dibiarkan selesai di background
+ * (tidak di-interrupt) dan waktunya tetap tercatat di metrik.
+ */
+@Service
+public class DashboardSectionRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSectionRunner.class);
+
+    static final String THREAD_PREFIX = "dashboard-section-";
+
+    private final Executor executor;
+    private final long budgetNanos;
+    private final Map<DashboardSection, Timing> timings = new EnumMap<>(DashboardSection.class);
+
+    @Autowired
+    public DashboardSectionRunner(
+            @Value("${bakery.dashboard.section.budget-ms:1000}") long budgetMillis,
+            @Value("${bakery.dashboard.section.threads:8}") int threads,
+            @Value("${bakery.dashboard.section.queue-capacity:100}") int queueCapacity) {
+        this(newExecutor(threads, queueCapacity), budgetMillis);
+    }
+
+    public DashboardSectionRunner(Executor executor, long budgetMillis) {
+        this.executor = executor;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        for (DashboardSection section : DashboardSection.values()) {
+            timings.put(section, new Timing());
+        }
+    }
+
+    /**
+     * Jumlah thread dan antrean dibatasi sehingga lonjakan request tidak membuka koneksi database
+     * tanpa batas; bila antrean penuh, bagian tersebut langsung tampil sebagai placeholder.
+     */
+    static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Virtual thread bila JDK mendukung (21+), selain itu platform thread daemon biasa
+    static ThreadFactory threadFactory() {
+        ThreadFactory virtual = virtualThreadFactory();
+        if (virtual != null) {
+            return virtual;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Lewat refleksi karena proyek dikompilasi untuk Java 17
+    static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_PREFIX, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /** Memulai satu kali penyusunan dashboard. */
+    public Batch begin() {
+        return new Batch();
+    }
+
+    public List<SectionStats> getStats() {
+        List<SectionStats> stats = new ArrayList<>();
+        timings.forEach((section, timing) -> stats.add(timing.toStats(section)));
+        return stats;
+    }
+
+    private <T> T timed(DashboardSection section, Supplier<T> loader) {
+        Timing timing = timings.get(section);
+        long startedAt = System.nanoTime();
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            timing.failures.increment();
+            throw e;
+        } finally {
+            timing.record(System.nanoTime() - startedAt);
+        }
+    }
+
+    /** Bagian-bagian yang dimuat untuk satu halaman; dipakai oleh satu thread saja. */
+    public final class Batch {
+
+        private final Set<DashboardSection> missed = EnumSet.noneOf(DashboardSection.class);
+
+        private Batch() {
+        }
+
+        public <T> Pending<T> submit(DashboardSection section, Supplier<T> loader) {
+            long submittedAt = System.nanoTime();
+            try {
+                return new Pending<>(this, section, submittedAt,
+                        CompletableFuture.supplyAsync(() -> timed(section, loader), executor));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Dashboard section {} rejected: executor is saturated", section.key());
+                return new Pending<>(this, section, submittedAt, null);
+            }
+        }
+
+        /** Bagian yang tampil sebagai placeholder. */
+        public Set<DashboardSection> missed() {
+            return Collections.unmodifiableSet(EnumSet.copyOf(missed));
+        }
+    }
+
+    /** Hasil satu bagian yang sedang dimuat. */
+    public final class Pending<T> {
+
+        private final Batch batch;
+        private final DashboardSection section;
+        private final long submittedAt;
+        private final CompletableFuture<T> future;
+
+        private Pending(Batch batch, DashboardSection section, long submittedAt, CompletableFuture<T> future) {
+            this.batch = batch;
+            this.section = section;
+            this.submittedAt = submittedAt;
+            this.future = future;
+        }
+
+        /** Hasil bagian ini, atau {@code placeholder} bila gagal atau melewati budget. */
+        public T orElse(T placeholder) {
+            if (future == null) {
+                return miss(placeholder);
+            }
+            long remaining = budgetNanos - (System.nanoTime() - submittedAt);
+            try {
+                return future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                timings.get(section).timeouts.increment();
+                logger.warn("Dashboard section {} exceeded its budget of {} ms", section.key(),
+                        TimeUnit.NANOSECONDS.toMillis(budgetNanos));
+                return miss(placeholder);
+            } catch (ExecutionException e) {
+                logger.warn("Dashboard section {} failed", section.key(), e.getCause());
+                return miss(placeholder);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return miss(placeholder);
+            }
+        }
+
+        private T miss(T placeholder) {
+            batch.missed.add(section);
+            return placeholder;
+        }
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private SectionStats toStats(DashboardSection section) {
+            long n = count.sum();
+            double average = n == 0 ? 0.0 : totalNanos.sum() / (double) n / 1_000_000.0;
+            return new SectionStats(section.key(), n, timeouts.sum(), failures.sum(),
+                    average, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bakery.service;
+
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.ChartSeries;
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.DashboardSnapshot;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.entity.ProductSummary;
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.service.DashboardSectionRunner.Pending;
+import com.bakery.util.ConstUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Menyusun data dashboard dan, bila snapshot mode aktif, menyimpannya sebagai
+ * {@link DashboardSnapshot} per user yang diperbarui di background.
+ *
+ * Snapshot hanya dipakai untuk tampilan default (top 5, penjualan hari ini) dan tidak pernah
+ * lebih tua dari staleness budget: bila refresher terlambat, request berikutnya membangun ulang
+ * secara sinkron. Setelah user menulis data, nomor generasi entry-nya naik sehingga snapshot yang
+ * dibangun sebelum tulisan itu tidak dipakai lagi dan user tersebut langsung melihat perubahannya
+ * sendiri. Refresh terjadwal dan refresh dari request bisa berjalan bersamaan; snapshot hanya
+ * dipasang bila tidak lebih lama dari yang sudah terpasang, jadi build lambat yang mulai sebelum
+ * tulisan tidak menimpa hasil yang lebih baru. Hanya user yang membuka dashboard dalam jendela aktif
+ * yang di-refresh; user lain dilepas dari memori.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private final ProductService productService;
+    private final DashboardSummaryService dashboardSummaryService;
+    private final SalesHistoryService salesHistoryService;
+    private final DashboardSectionRunner sectionRunner;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long stalenessMillis;
+    private final long activeWindowMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public DashboardSnapshotService(ProductService productService, DashboardSummaryService dashboardSummaryService,
+            SalesHistoryService salesHistoryService, DashboardSectionRunner sectionRunner,
+            @Value("${bakery.dashboard.snapshot.enabled:false}") boolean enabled,
+            @Value("${bakery.dashboard.snapshot.staleness-ms:30000}") long stalenessMillis,
+            @Value("${bakery.dashboard.snapshot.active-window-ms:900000}") long activeWindowMillis) {
+        this(productService, dashboardSummaryService, salesHistoryService, sectionRunner, enabled,
+                stalenessMillis, activeWindowMillis, System::currentTimeMillis);
+    }
+
+    DashboardSnapshotService(ProductService productService, DashboardSummaryService dashboardSummaryService,
+            SalesHistoryService salesHistoryService, DashboardSectionRunner sectionRunner, boolean enabled,
+            long stalenessMillis, long activeWindowMillis, LongSupplier clock) {
+        this.productService = productService;
+        this.dashboardSummaryService = dashboardSummaryService;
+        this.salesHistoryService = salesHistoryService;
+        this.sectionRunner = sectionRunner;
+        this.enabled = enabled;
+        this.stalenessMillis = stalenessMillis;
+        this.activeWindowMillis = activeWindowMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Data dashboard user; dari snapshot bila snapshot mode aktif dan parameter tampilan default,
+     * selain itu dihitung langsung.
+     */
+    public DashboardSnapshot getSnapshot(UUID userId, int topLimit, SalesPeriod period) {
+        if (!enabled || topLimit != ConstUtil.DASHBOARD_TOP_LIMIT || period != SalesPeriod.TODAY) {
+            return build(userId, topLimit, period);
+        }
+
+        long now = clock.getAsLong();
+        Entry entry = entries.computeIfAbsent(userId, id -> new Entry());
+        entry.lastSeen = now;
+        Built built = entry.built.get();
+        if (built == null || !built.isCurrent(entry.generation.get()) || now - built.startedAt() > stalenessMillis) {
+            return refresh(userId, entry);
+        }
+        return built.snapshot();
+    }
+
+    public int getActiveUserCount() {
+        return entries.size();
+    }
+
+    /**
+     * Menghitung data dashboard langsung dari database. Setiap bagian dimuat paralel lewat
+     * {@link DashboardSectionRunner}; bagian yang melewati budget-nya tampil sebagai placeholder.
+     */
+    public DashboardSnapshot build(UUID userId, int topLimit, SalesPeriod period) {
+        DashboardSectionRunner.Batch batch = sectionRunner.begin();
+        Pending<ProductSummary> summary = batch.submit(DashboardSection.SUMMARY,
+                () -> dashboardSummaryService.getSummary(userId));
+        Pending<List<ProductListItem>> bestSelling = batch.submit(DashboardSection.BEST_SELLING,
+                () -> productService.getBestSellingProducts(userId, topLimit));
+        Pending<List<ProductListItem>> lowStock = batch.submit(DashboardSection.LOW_STOCK,
+                () -> productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT));
+        Pending<SalesSeries> salesSeries = batch.submit(DashboardSection.SALES_HISTORY,
+                () -> salesHistoryService.getSeries(userId, period));
+        Pending<List<CategorySales>> salesCategories = batch.submit(DashboardSection.SALES_CATEGORIES,
+                () -> salesHistoryService.getCategoryTotals(userId, period));
+        Pending<List<CategoryBreakdown>> categoryBreakdown = batch.submit(DashboardSection.CATEGORY_BREAKDOWN,
+                () -> productService.getCategoryBreakdown(userId));
+        Pending<List<ProductListItem>> recentProducts = batch.submit(DashboardSection.RECENT_PRODUCTS,
+                () -> productService.getRecentProducts(userId, ConstUtil.DASHBOARD_RECENT_LIMIT));
+
+        ProductSummary totals = summary.orElse(new ProductSummary());
+        List<ProductListItem> bestSellingList = bestSelling.orElse(List.of());
+        List<ProductListItem> lowStockList = lowStock.orElse(List.of());
+
+        return new DashboardSnapshot(userId, LocalDateTime.now(),
+                totals.getTotalProducts(), totals.getAvailableProducts(),
+                totals.getLowStockProducts(), totals.getTotalSold(),
+                topLimit, bestSellingList,
+                ChartSeries.of(bestSellingList, p -> p.soldCount() != null ? p.soldCount() : 0),
+                ConstUtil.DASHBOARD_LOW_STOCK_LIMIT, lowStockList, ChartSeries.of(lowStockList, ProductListItem::stock),
+                salesSeries.orElse(new SalesSeries(period, List.of(), List.of())),
+                salesCategories.orElse(List.of()),
+                categoryBreakdown.orElse(List.of()),
+                recentProducts.orElse(List.of()),
+                batch.missed());
+    }
+
+    // Setelah commit: tulisan user memaksa snapshot-nya dibangun ulang pada request berikutnya
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        markDirty(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        markDirty(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowStockFlagsRefreshed(LowStockFlagsRefreshedEvent event) {
+        event.userIds().forEach(this::markDirty);
+    }
+
+    private void markDirty(UUID userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            entry.generation.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.dashboard.snapshot.refresh-ms:10000}")
+    public void refreshActive() {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.forEach((userId, entry) -> {
+            if (now - entry.lastSeen > activeWindowMillis) {
+                entries.remove(userId, entry);
+                return;
+            }
+            try {
+                refresh(userId, entry);
+            } catch (RuntimeException e) {
+                // Snapshot lama tetap dipakai sampai melewati staleness budget
+                logger.warn("Failed to refresh dashboard snapshot for user {}", userId, e);
+            }
+        });
+    }
+
+    // Generasi dibaca sebelum membangun: tulisan yang masuk selama build menaikkannya lagi sehingga
+    // snapshot ini langsung dianggap usang. Snapshot dipasang lewat CAS hanya bila tidak lebih lama
+    // (generasi, lalu waktu mulai) dari yang sudah terpasang; yang dikembalikan selalu yang terbaru.
+    private DashboardSnapshot refresh(UUID userId, Entry entry) {
+        long generation = entry.generation.get();
+        long startedAt = clock.getAsLong();
+        DashboardSnapshot snapshot = build(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.TODAY);
+        Built built = new Built(snapshot, generation, startedAt);
+        while (true) {
+            Built current = entry.built.get();
+            if (current != null && !built.isNewerThan(current)) {
+                return current.snapshot();
+            }
+            if (entry.built.compareAndSet(current, built)) {
+                return snapshot;
+            }
+        }
+    }
+
+    // Snapshot berisi placeholder tetap ditampilkan, tetapi dibangun ulang pada request berikutnya
+    private record Built(DashboardSnapshot snapshot, long generation, long startedAt) {
+
+        boolean isCurrent(long latestGeneration) {
+            return generation == latestGeneration && snapshot.isComplete();
+        }
+
+        boolean isNewerThan(Built other) {
+            return generation != other.generation ? generation > other.generation : startedAt >= other.startedAt;
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicReference<Built> built = new AtomicReference<>();
+        private final AtomicLong generation = new AtomicLong();
+        private volatile long lastSeen;
+    }
+}
@@ -0,0 +1,368 @@
+package com.bakery.service;
+
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.SummaryDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mengirim perubahan dashboard (delta kecil) ke browser lewat Server-Sent Events.
+ *
+ * Setiap koneksi punya buffer sendiri berukuran tetap. Pengiriman dilakukan oleh thread pool kecil,
+ * bukan thread Tomcat; koneksi yang buffernya penuh (klien lambat) diputus.
+ *
+ * {@code send} ke klien yang macet (half-open, jendela TCP penuh) bisa memblokir thread pengirim
+ * sampai write timeout Tomcat. Pengiriman yang melewati {@code send-timeout-ms} memutus klien
+ * tersebut, dan selama thread-nya masih tertahan pool diberi satu thread tambahan sehingga klien
+ * lain tetap menerima event. Thread tambahan dibatasi {@code max-stalled-threads}; setelah jatah itu
+ * habis klien yang macet tetap diputus, tetapi pool tidak diperbesar lagi.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Executor sender;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int maxConnections;
+    private final long sendTimeoutNanos;
+    private final int maxStalledThreads;
+    private final AtomicInteger stalledThreads = new AtomicInteger();
+
+    @Autowired
+    public DashboardStreamService(
+            @Value("${bakery.dashboard.stream.buffer-size:32}") int bufferSize,
+            @Value("${bakery.dashboard.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${bakery.dashboard.stream.max-connections:500}") int maxConnections,
+            @Value("${bakery.dashboard.stream.sender-threads:2}") int senderThreads,
+            @Value("${bakery.dashboard.stream.send-timeout-ms:5000}") long sendTimeoutMillis,
+            @Value("${bakery.dashboard.stream.max-stalled-threads:4}") int maxStalledThreads) {
+        this(bufferSize, timeoutMillis, maxConnections, sendTimeoutMillis, maxStalledThreads,
+                newSenderPool(senderThreads));
+    }
+
+    DashboardStreamService(int bufferSize, long timeoutMillis, int maxConnections, Executor sender) {
+        this(bufferSize, timeoutMillis, maxConnections, 5000, sender);
+    }
+
+    DashboardStreamService(int bufferSize, long timeoutMillis, int maxConnections, long sendTimeoutMillis,
+            Executor sender) {
+        this(bufferSize, timeoutMillis, maxConnections, sendTimeoutMillis, 4, sender);
+    }
+
+    DashboardStreamService(int bufferSize, long timeoutMillis, int maxConnections, long sendTimeoutMillis,
+            int maxStalledThreads, Executor sender) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnections = maxConnections;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.maxStalledThreads = maxStalledThreads;
+        this.sender = sender;
+    }
+
+    static ThreadPoolExecutor newSenderPool(int senderThreads) {
+        return new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-sse");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Mendaftarkan koneksi SSE baru untuk user.
+     *
+     * @return emitter, atau empty jika jumlah koneksi sudah mencapai batas
+     */
+    public Optional<SseEmitter> subscribe(UUID userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        enqueue(subscriber, SseEmitter.event().name("ready").data("ok"));
+        return Optional.of(emitter);
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Dikirim setelah commit agar klien tidak melihat perubahan yang di-rollback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getUserId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        List<SseEmitter.SseEventBuilder> events = toEvents(event);
+        for (Subscriber subscriber : targets) {
+            for (SseEmitter.SseEventBuilder sseEvent : events) {
+                if (!enqueue(subscriber, sseEvent)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // Komentar SSE berkala agar koneksi yang sudah mati terdeteksi dan dibersihkan
+    @Scheduled(fixedDelayString = "${bakery.dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(
+                subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // Memutus klien yang send-nya macet lebih lama dari send-timeout-ms
+    @Scheduled(fixedDelayString = "${bakery.dashboard.stream.stall-check-ms:1000}")
+    public void dropStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            long deadline = subscriber.sendDeadline.get();
+            if (deadline == IDLE || deadline == STALLED || now - deadline <= 0) {
+                return;
+            }
+            // Pool diperbesar sebelum send yang macet bisa melihat STALLED dan mengecilkannya lagi
+            boolean extraThread = acquireStalledThread();
+            subscriber.extraThread.set(extraThread);
+            if (subscriber.sendDeadline.compareAndSet(deadline, STALLED)) {
+                logger.debug("Dropping stalled dashboard stream client for user {}{}", subscriber.userId,
+                        extraThread ? "" : " (no extra sender thread left)");
+                close(subscriber);
+            } else if (subscriber.extraThread.getAndSet(false)) {
+                releaseStalledThread();
+            }
+        }));
+    }
+
+    int getStalledThreadCount() {
+        return stalledThreads.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    List<SseEmitter.SseEventBuilder> toEvents(ProductChangedEvent event) {
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+
+        if (event.isCreated()) {
+            events.add(jsonEvent("product-added", product(after)));
+        } else if (event.isDeleted()) {
+            events.add(jsonEvent("product-removed", product(before)));
+        } else {
+            if (before.soldOrZero() != after.soldOrZero()) {
+                Map<String, Object> data = product(after);
+                data.put("delta", after.soldOrZero() - before.soldOrZero());
+                events.add(jsonEvent("sold", data));
+            }
+            boolean stockChanged = !Objects.equals(before.stock(), after.stock());
+            if (before.lowStock() != after.lowStock() || (after.lowStock() && stockChanged)) {
+                events.add(jsonEvent("low-stock", product(after)));
+            }
+        }
+
+        SummaryDelta delta = SummaryDelta.of(event);
+        if (!delta.isEmpty()) {
+            events.add(jsonEvent("counters", delta));
+        }
+        return events;
+    }
+
+    private static Map<String, Object> product(ProductSnapshot snapshot) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", snapshot.id());
+        data.put("name", snapshot.productName());
+        data.put("stock", snapshot.stock());
+        data.put("soldCount", snapshot.soldOrZero());
+        data.put("lowStock", snapshot.lowStock());
+        return data;
+    }
+
+    private static SseEmitter.SseEventBuilder jsonEvent(String name, Object data) {
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            logger.debug("Dropping slow dashboard stream client for user {}", subscriber.userId);
+            close(subscriber);
+            return false;
+        }
+        schedule(subscriber);
+        return true;
+    }
+
+    // Emitter hanya disentuh oleh drain milik subscriber: send dan complete pada SseEmitter saling
+    // mengunci, jadi menutup dari thread lain bisa ikut tertahan di belakang send yang macet
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        if (subscriber.closed.compareAndSet(false, true)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                if (!send(subscriber, event)) {
+                    // Sudah diputus oleh dropStalledSends; thread tambahan (bila ada) dilepas lagi
+                    if (subscriber.extraThread.getAndSet(false)) {
+                        releaseStalledThread();
+                    }
+                    close(subscriber);
+                    break;
+                }
+            }
+            if (subscriber.closed.get() && subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.closed.set(true);
+            if (subscriber.completed.compareAndSet(false, true)) {
+                subscriber.emitter.completeWithError(e);
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Event atau penutupan yang masuk setelah pemeriksaan terakhir tetapi sebelum flag dilepas
+        boolean pending = subscriber.closed.get() ? !subscriber.completed.get() : !subscriber.queue.isEmpty();
+        if (pending) {
+            schedule(subscriber);
+        }
+    }
+
+    // false bila send ini ditandai macet selama berjalan
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        long deadline = System.nanoTime() + sendTimeoutNanos;
+        if (deadline == IDLE || deadline == STALLED) {
+            deadline++;
+        }
+        subscriber.sendDeadline.set(deadline);
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            if (subscriber.sendDeadline.compareAndSet(deadline, IDLE)) {
+                throw e;
+            }
+            return false;
+        }
+        return subscriber.sendDeadline.compareAndSet(deadline, IDLE);
+    }
+
+    // Satu thread tambahan dari jatah max-stalled-threads; false bila jatah sudah habis
+    private boolean acquireStalledThread() {
+        int current;
+        do {
+            current = stalledThreads.get();
+            if (current >= maxStalledThreads) {
+                return false;
+            }
+        } while (!stalledThreads.compareAndSet(current, current + 1));
+        resizeSenderPool(1);
+        return true;
+    }
+
+    private void releaseStalledThread() {
+        resizeSenderPool(-1);
+        stalledThreads.decrementAndGet();
+    }
+
+    private void resizeSenderPool(int delta) {
+        if (sender instanceof ThreadPoolExecutor pool) {
+            synchronized (pool) {
+                if (delta > 0) {
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                } else {
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                }
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            removed.set(set.remove(subscriber));
+            return set.isEmpty() ? null : set;
+        });
+        if (removed.get()) {
+            connectionCount.decrementAndGet();
+            subscriber.queue.clear();
+        }
+    }
+
+    // Nilai khusus Subscriber.sendDeadline: tidak sedang mengirim / send ditandai macet
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    private static final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // Pool mendapat thread tambahan selama send yang macet milik subscriber ini masih tertahan
+        private final AtomicBoolean extraThread = new AtomicBoolean();
+        // Batas waktu (System.nanoTime) send yang sedang berjalan
+        private final AtomicLong sendDeadline = new AtomicLong(IDLE);
+
+        private Subscriber(UUID userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
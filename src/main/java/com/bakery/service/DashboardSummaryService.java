@@ -0,0 +1,102 @@
+package com.bakery.service;
+
+import com.bakery.entity.ProductSummary;
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.event.SummaryDelta;
+import com.bakery.repository.ProductRepository;
+import com.bakery.repository.ProductSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Menjaga ringkasan dashboard per user (product_summaries) sebagai delta di dalam transaksi
+ * yang sama dengan perubahan produk, sehingga membaca counter dashboard selalu O(1).
+ */
+@Service
+public class DashboardSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSummaryService.class);
+
+    private final ProductSummaryRepository summaryRepository;
+    private final ProductRepository productRepository;
+
+    public DashboardSummaryService(ProductSummaryRepository summaryRepository, ProductRepository productRepository) {
+        this.summaryRepository = summaryRepository;
+        this.productRepository = productRepository;
+    }
+
+    @Transactional
+    public ProductSummary getSummary(UUID userId) {
+        return summaryRepository.findById(userId).orElseGet(() -> rebuild(userId));
+    }
+
+    // Listener sinkron: berjalan di transaksi ProductService yang mempublikasikan event
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        SummaryDelta delta = SummaryDelta.of(event);
+        int updated = summaryRepository.applyDelta(event.getUserId(), delta.products(), delta.available(),
+                delta.lowStock(), delta.sold(), LocalDateTime.now());
+        if (updated == 0) {
+            // Belum ada ringkasan: bangun dari tabel products (sudah termasuk perubahan ini)
+            rebuild(event.getUserId());
+        }
+    }
+
+    // Import CSV: satu rebuild per batch, di transaksi batch tersebut
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        rebuild(event.userId());
+    }
+
+    // Flag low stock yang diselaraskan saat startup, di transaksi UPDATE massal tersebut
+    @EventListener
+    public void onLowStockFlagsRefreshed(LowStockFlagsRefreshedEvent event) {
+        event.userIds().forEach(this::rebuild);
+    }
+
+    /** Menghitung ulang ringkasan user dari tabel products dan menyimpannya (upsert). */
+    @Transactional
+    public ProductSummary rebuild(UUID userId) {
+        ProductSummary summary = computeFromProducts(userId);
+        summaryRepository.upsert(summary);
+        return summary;
+    }
+
+    /**
+     * Pemeriksa konsistensi: membandingkan ringkasan tersimpan dengan tabel products
+     * dan membangunnya ulang bila berbeda.
+     *
+     * @return true jika ringkasan sudah konsisten
+     */
+    @Transactional
+    public boolean verifyAndRepair(UUID userId) {
+        ProductSummary expected = computeFromProducts(userId);
+        ProductSummary stored = summaryRepository.findById(userId).orElse(null);
+        if (expected.sameCountersAs(stored)) {
+            return true;
+        }
+        logger.warn("Dashboard summary for user {} drifted from products table, rebuilding", userId);
+        summaryRepository.upsert(expected);
+        return false;
+    }
+
+    private ProductSummary computeFromProducts(UUID userId) {
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(productRepository.countByUserId(userId));
+        summary.setAvailableProducts(productRepository.countByUserIdAndIsAvailableTrue(userId));
+        summary.setLowStockProducts(productRepository.countByUserIdAndLowStockTrue(userId));
+        Long totalSold = productRepository.sumSoldCountByUserId(userId);
+        summary.setTotalSold(totalSold != null ? totalSold : 0L);
+        summary.setUpdatedAt(LocalDateTime.now());
+        return summary;
+    }
+}
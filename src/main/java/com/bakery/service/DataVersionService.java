@@ -0,0 +1,65 @@
+package com.bakery.service;
+
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductsImportedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versi data produk per user, naik setiap kali produk user berubah. Dipakai sebagai ETag
+ * sehingga polling yang datanya belum berubah bisa dijawab 304 tanpa menyentuh database.
+ *
+ * Versi disimpan di memori; epoch saat aplikasi start ikut dimasukkan ke ETag agar
+ * ETag lama tidak pernah cocok lagi setelah restart.
+ */
+@Service
+public class DataVersionService {
+
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final long epoch;
+
+    public DataVersionService() {
+        this(System.currentTimeMillis());
+    }
+
+    // Epoch tetap agar ETag bisa diprediksi, mis. di test
+    public DataVersionService(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getVersion(UUID userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    public long bump(UUID userId) {
+        return versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /** Strong ETag untuk data user; {@code variant} membedakan representasi (mis. parameter query). */
+    public String etag(UUID userId, String variant) {
+        return "\"" + Long.toString(epoch, 36) + "-" + getVersion(userId) + "-" + variant + "\"";
+    }
+
+    // Naik setelah commit: ETag dibaca sebelum data, jadi data lama tidak pernah tersimpan dengan versi baru
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        bump(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowStockFlagsRefreshed(LowStockFlagsRefreshedEvent event) {
+        event.userIds().forEach(this::bump);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bakery.service;
+
+import com.bakery.dto.CacheRegionStats;
+import com.bakery.entity.Product;
+import com.bakery.entity.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Akses ke second-level cache Hibernate (lihat {@link com.bakery.config.SecondLevelCacheConfig}):
+ * statistik hit/miss per region dan eviksi untuk baris yang diubah di luar Hibernate.
+ */
+@Service
+public class EntityCacheService {
+
+    static final String QUERY_REGION = "query";
+
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(Product.class, User.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<CacheRegionStats> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (Class<?> entity : CACHED_ENTITIES) {
+            EntityStatistics entityStats = statistics.getEntityStatistics(entity.getName());
+            regions.add(CacheRegionStats.of(entity.getName(), count(entityStats.getCacheHitCount()),
+                    count(entityStats.getCacheMissCount()), count(entityStats.getCachePutCount())));
+        }
+        regions.add(CacheRegionStats.of(QUERY_REGION, statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        return regions;
+    }
+
+    // Hibernate melaporkan Long.MIN_VALUE untuk entitas tanpa region (cache dimatikan)
+    private static long count(long value) {
+        return Math.max(0L, value);
+    }
+
+    /** Dipanggil setelah UPDATE JDBC langsung ke tabel products, yang tidak terlihat oleh Hibernate. */
+    public void evictProducts(Collection<UUID> productIds) {
+        Cache cache = entityManagerFactory.getCache();
+        for (UUID productId : productIds) {
+            cache.evict(Product.class, productId);
+        }
+    }
+}
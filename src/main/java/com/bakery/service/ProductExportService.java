@@ -0,0 +1,91 @@
+package com.bakery.service;
+
+import com.bakery.entity.Product;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Export katalog dan angka penjualan produk ke CSV untuk pembukuan.
+ *
+ * Produk dibaca lewat {@link ProductRepository#streamByUserId} (cursor JDBC dengan fetch size) dan
+ * langsung ditulis ke {@link Writer}; persistence context dikosongkan tiap
+ * {@link ConstUtil#EXPORT_CLEAR_INTERVAL} baris, jadi memori tidak tumbuh mengikuti jumlah produk.
+ * Nama kolom sama dengan import CSV sehingga hasil export bisa diimport kembali.
+ *
+ * Jumlah terjual termasuk penjualan write-behind yang belum di-flush ({@link SalesCounterService}),
+ * sama dengan yang tampil di aplikasi. Teks dari user di-escape terhadap formula injection.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    static final String[] HEADER = {
+            "id", "product_name", "category", "price", "stock", "is_available", "sold_count", "revenue",
+            "low_stock_threshold", "description", "created_at", "updated_at"
+    };
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final SalesCounterService salesCounterService;
+
+    public ProductExportService(ProductRepository productRepository, EntityManager entityManager,
+            SalesCounterService salesCounterService) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.salesCounterService = salesCounterService;
+    }
+
+    /**
+     * Menulis semua produk milik {@code userId}, urut waktu dibuat. Writer tidak ditutup.
+     *
+     * @return jumlah produk yang ditulis
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(UUID userId, Writer writer) throws IOException {
+        long started = System.nanoTime();
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow((Object[]) HEADER);
+        long rows = 0;
+        try (Stream<Product> products = productRepository.streamByUserId(userId)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writeProduct(csv, iterator.next());
+                if (++rows % ConstUtil.EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        csv.flush();
+        logger.info("Exported {} products for user {} in {} ms", rows, userId, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private void writeProduct(CsvWriter csv, Product product) throws IOException {
+        int sold = salesCounterService.soldCount(product);
+        csv.writeRow(product.getId(), CsvWriter.escapeFormula(product.getProductName()),
+                CsvWriter.escapeFormula(product.getCategory()), plain(product.getPrice()),
+                product.getStock(), product.getIsAvailable(), sold, plain(product.getPrice() * sold),
+                product.getLowStockThreshold(), CsvWriter.escapeFormula(product.getDescription()),
+                product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+
+    // Tanpa notasi ilmiah (1.5E7), agar angka terbaca apa adanya di spreadsheet
+    private static String plain(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,386 @@
+package com.bakery.service;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.dto.ImportRowError;
+import com.bakery.dto.ImportStatus;
+import com.bakery.entity.Product;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Import produk dari CSV untuk onboarding toko baru.
+ *
+ * File dibaca per record lewat {@link CsvReader}; setiap baris divalidasi (aturan yang sama dengan
+ * form produk) dan baris yang valid dikumpulkan per {@code chunk-size}. Satu chunk = satu transaksi:
+ * INSERT dikirim sebagai JDBC batch ({@code batch-size}, id UUIDv7 dibuat di aplikasi sehingga batch
+ * tidak terputus), lalu persistence context dikosongkan. Ringkasan dashboard diperbarui sekali per
+ * chunk lewat {@link ProductsImportedEvent}, bukan per produk.
+ *
+ * Import berjalan di satu thread background; progresnya dibaca lewat {@link #progress}.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    static final String THREAD_NAME = "product-import";
+
+    /** Kolom CSV; urutan di file bebas, kolom lain diabaikan. */
+    enum Column {
+        PRODUCT_NAME("product_name", true),
+        CATEGORY("category", true),
+        PRICE("price", true),
+        STOCK("stock", true),
+        DESCRIPTION("description", false),
+        IS_AVAILABLE("is_available", false),
+        SOLD_COUNT("sold_count", false),
+        LOW_STOCK_THRESHOLD("low_stock_threshold", false);
+
+        final String header;
+        final boolean required;
+
+        Column(String header, boolean required) {
+            this.header = header;
+            this.required = required;
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryService categoryService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor executor;
+    private final int batchSize;
+    private final int chunkSize;
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductImportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+            CategoryService categoryService, Validator validator, ApplicationEventPublisher eventPublisher,
+            @Value("${bakery.products.import.batch-size:50}") int batchSize,
+            @Value("${bakery.products.import.chunk-size:1000}") int chunkSize) {
+        this(entityManager, transactionManager, categoryService, validator, eventPublisher,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME);
+                    thread.setDaemon(true);
+                    return thread;
+                }), batchSize, chunkSize);
+    }
+
+    ProductImportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+            CategoryService categoryService, Validator validator, ApplicationEventPublisher eventPublisher,
+            Executor executor, int batchSize, int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryService = categoryService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Menjalankan import file CSV (UTF-8) di background. File dihapus setelah import selesai.
+     *
+     * @return progres awal; id-nya dipakai untuk {@link #progress}
+     */
+    public ImportProgress start(UUID userId, Path file) {
+        purgeFinished(LocalDateTime.now().minusMinutes(ConstUtil.IMPORT_JOB_RETENTION_MINUTES));
+        Job job = register(userId);
+        executor.execute(() -> {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                run(job, reader);
+            } catch (IOException e) {
+                job.fail(e.getMessage());
+            } finally {
+                deleteQuietly(file);
+            }
+        });
+        return job.snapshot();
+    }
+
+    /** Import sinkron di thread pemanggil. */
+    public ImportProgress importCsv(UUID userId, Reader reader) {
+        Job job = register(userId);
+        run(job, reader);
+        return job.snapshot();
+    }
+
+    /** Progres import milik {@code userId}; kosong untuk id yang tidak dikenal atau milik user lain. */
+    public Optional<ImportProgress> progress(UUID jobId, UUID userId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.snapshot());
+    }
+
+    // Progres import yang sudah selesai disimpan sementara agar halaman sempat membacanya
+    void purgeFinished(LocalDateTime cutoff) {
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private Job register(UUID userId) {
+        Job job = new Job(UUID.randomUUID(), userId);
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    private void run(Job job, Reader input) {
+        long started = System.nanoTime();
+        try (CsvReader csv = new CsvReader(input)) {
+            Map<Column, Integer> columns = columns(csv.next());
+            List<Product> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                job.rowsRead++;
+                Product product = parse(record, columns, csv.recordLine(), job);
+                if (product != null) {
+                    chunk.add(product);
+                    if (chunk.size() >= chunkSize) {
+                        save(job, chunk);
+                    }
+                }
+            }
+            save(job, chunk);
+            job.complete();
+            logger.info("Imported {} products for user {} ({} rejected) in {} ms", job.imported, job.userId,
+                    job.rejected, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Product import {} stopped after {} rows: {}", job.id, job.imported, e.getMessage());
+            job.fail(e.getMessage());
+        }
+    }
+
+    private static Map<Column, Integer> columns(List<String> header) throws IOException {
+        if (header == null) {
+            throw new IOException("File CSV kosong");
+        }
+        Map<Column, Integer> columns = new EnumMap<>(Column.class);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            for (Column column : Column.values()) {
+                if (column.header.equals(name)) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (Column column : Column.values()) {
+            if (column.required && !columns.containsKey(column)) {
+                missing.add(column.header);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IOException("Kolom wajib tidak ada: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    // null bila baris ditolak; alasannya dicatat di job
+    private Product parse(List<String> record, Map<Column, Integer> columns, long line, Job job) {
+        Product product = new Product();
+        try {
+            product.setProductName(text(record, columns, Column.PRODUCT_NAME));
+            product.setCategory(text(record, columns, Column.CATEGORY));
+            product.setPrice(parseDouble(value(record, columns, Column.PRICE), "price"));
+            product.setStock(parseInt(value(record, columns, Column.STOCK), "stock"));
+            product.setDescription(text(record, columns, Column.DESCRIPTION));
+            String available = value(record, columns, Column.IS_AVAILABLE);
+            product.setIsAvailable(available.isBlank() || parseBoolean(available));
+            Integer soldCount = parseInt(value(record, columns, Column.SOLD_COUNT), "sold_count");
+            product.setSoldCount(soldCount == null ? 0 : soldCount);
+            Integer threshold = parseInt(value(record, columns, Column.LOW_STOCK_THRESHOLD), "low_stock_threshold");
+            if (threshold != null) {
+                product.setLowStockThreshold(threshold);
+            }
+        } catch (IllegalArgumentException e) {
+            job.reject(line, e.getMessage());
+            return null;
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            job.reject(line, violations.stream().map(ConstraintViolation::getMessage).sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return product;
+    }
+
+    private void save(Job job, List<Product> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            // Produk hasil import tidak perlu memenuhi second-level cache
+            session.setCacheMode(CacheMode.IGNORE);
+            // Kode kategori dicari sekali per nama, bukan per baris
+            Map<String, Short> categoryCodes = new HashMap<>();
+            for (Product product : chunk) {
+                product.setUserId(job.userId);
+                product.setCategoryCode(categoryCodes.computeIfAbsent(product.getCategory(), categoryService::codeOf));
+                entityManager.persist(product);
+            }
+            session.flush();
+            session.clear();
+            eventPublisher.publishEvent(new ProductsImportedEvent(job.userId,
+                    chunk.stream().map(Product::getId).toList()));
+        });
+        job.imported += chunk.size();
+        chunk.clear();
+        logger.debug("Product import {}: {} rows read, {} imported", job.id, job.rowsRead, job.imported);
+    }
+
+    private static String value(List<String> record, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    // Teks hasil export diberi awalan ' bila diawali karakter formula (lihat CsvWriter#escapeFormula)
+    private static String text(List<String> record, Map<Column, Integer> columns, Column column) {
+        return CsvReader.unescapeFormula(blankToNull(value(record, columns, column)));
+    }
+
+    private static String blankToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double parseDouble(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (!Double.isFinite(parsed) || parsed < 0) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " bukan angka yang valid: " + value);
+        }
+    }
+
+    private static Integer parseInt(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " bukan bilangan bulat yang valid: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "ya" -> true;
+            case "false", "0", "tidak" -> false;
+            default -> throw new IllegalArgumentException("is_available harus true/false: " + value);
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    /** Status import yang sedang berjalan; ditulis oleh satu thread, dibaca oleh request progres. */
+    private static final class Job {
+        private final UUID id;
+        private final UUID userId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<ImportRowError> errors = new CopyOnWriteArrayList<>();
+        private volatile ImportStatus status = ImportStatus.RUNNING;
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile String failure;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(UUID id, UUID userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < ConstUtil.IMPORT_MAX_ERRORS) {
+                errors.add(new ImportRowError(line, message));
+            }
+        }
+
+        private void complete() {
+            finishedAt = LocalDateTime.now();
+            status = ImportStatus.COMPLETED;
+        }
+
+        private void fail(String message) {
+            failure = message;
+            finishedAt = LocalDateTime.now();
+            status = ImportStatus.FAILED;
+        }
+
+        private ImportProgress snapshot() {
+            return new ImportProgress(id, status, rowsRead, imported, rejected, errors, failure, startedAt,
+                    finishedAt);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.bakery.service;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSearchDocument;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pencarian teks produk (nama, kategori, deskripsi) dengan prefix dan urutan relevansi.
+ *
+ * Setiap user punya {@link InvertedIndex} sendiri di memori, jadi hasil selalu terbatas pada produk
+ * user tersebut. Indeks dibangun dari tabel products saat aplikasi siap dan diperbarui setelah commit
+ * dari event ProductService dan import CSV. Indeks hanya menghasilkan id; data yang ditampilkan
+ * dibaca dari database untuk satu halaman saja.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    // Bobot field: nama produk paling menentukan, lalu kategori, lalu deskripsi
+    static final float NAME_BOOST = 3f;
+    static final float CATEGORY_BOOST = 2f;
+    static final float DESCRIPTION_BOOST = 1f;
+
+    private final ProductRepository productRepository;
+    private volatile Map<UUID, InvertedIndex> indexes = new ConcurrentHashMap<>();
+
+    // Produk (id -> userId) yang berubah selama rebuild berjalan; null bila tidak sedang rebuild
+    private final Object rebuildLock = new Object();
+    private Map<UUID, UUID> changedDuringRebuild;
+
+    public ProductSearchService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /** Produk milik {@code userId} yang cocok dengan semua kata {@code query}, paling relevan lebih dulu. */
+    public Page<ProductListItem> search(UUID userId, String query, Pageable pageable) {
+        InvertedIndex index = indexes.get(userId);
+        if (index == null) {
+            return Page.empty(pageable);
+        }
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+        InvertedIndex.Hits hits = index.search(query, offset + pageable.getPageSize());
+        List<UUID> pageIds = hits.ids().subList(Math.min(offset, hits.ids().size()), hits.ids().size());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        Map<UUID, ProductListItem> items = productRepository.findListItemsByUserIdAndIdIn(userId, pageIds).stream()
+                .collect(Collectors.toMap(ProductListItem::id, Function.identity()));
+        // Urutan relevansi dari indeks; produk yang baru saja dihapus dilewati
+        List<ProductListItem> content = pageIds.stream().map(items::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    /**
+     * Membangun ulang seluruh indeks dari tabel products; indeks lama dipakai sampai yang baru siap.
+     * Produk yang berubah selama pembacaan dicatat lalu dibaca ulang ke indeks baru setelah dipasang,
+     * karena stream bisa saja sudah melewati baris tersebut.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        synchronized (rebuildLock) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        Map<UUID, InvertedIndex> rebuilt = new ConcurrentHashMap<>();
+        long count = 0;
+        try (Stream<ProductSearchDocument> documents = productRepository.streamSearchDocuments()) {
+            Iterator<ProductSearchDocument> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                index(rebuilt, iterator.next());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            // Indeks lama tetap dipakai; pencatatan dihentikan
+            synchronized (rebuildLock) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+        Map<UUID, UUID> changed;
+        synchronized (rebuildLock) {
+            // Pencatatan berhenti bersamaan dengan pemasangan, jadi setiap perubahan tercatat atau langsung
+            // diterapkan ke indeks baru
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            indexes = rebuilt;
+        }
+        replay(rebuilt, changed);
+        logger.info("Search index rebuilt: {} products for {} users in {} ms", count, rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Setelah commit, agar indeks tidak memuat perubahan yang di-rollback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            InvertedIndex index = target(Map.of(event.getProductId(), event.getUserId())).get(event.getUserId());
+            if (index != null) {
+                index.remove(event.getProductId());
+            }
+            return;
+        }
+        // Penjualan, stok dan harga tidak mengubah teks yang diindeks, jadi dokumen tidak dibaca ulang
+        if (!event.isTextChanged()) {
+            return;
+        }
+        // Snapshot event tidak memuat deskripsi, jadi dokumen dibaca ulang dari database
+        reindex(Map.of(event.getProductId(), event.getUserId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        reindex(event.productIds().stream().collect(Collectors.toMap(Function.identity(), id -> event.userId(),
+                (first, second) -> first)));
+    }
+
+    private void reindex(Map<UUID, UUID> products) {
+        Map<UUID, InvertedIndex> current = target(products);
+        productRepository.findSearchDocuments(products.keySet()).forEach(document -> index(current, document));
+    }
+
+    // Indeks yang sedang dipakai; selama rebuild produknya juga dicatat untuk dibaca ulang ke indeks baru
+    private Map<UUID, InvertedIndex> target(Map<UUID, UUID> products) {
+        synchronized (rebuildLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.putAll(products);
+            }
+            return indexes;
+        }
+    }
+
+    // Produk yang dihapus selama rebuild tidak ditemukan lagi, jadi dokumennya dilepas dulu lalu dibaca ulang
+    private void replay(Map<UUID, InvertedIndex> rebuilt, Map<UUID, UUID> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        changed.forEach((productId, userId) -> {
+            InvertedIndex index = rebuilt.get(userId);
+            if (index != null) {
+                index.remove(productId);
+            }
+        });
+        productRepository.findSearchDocuments(changed.keySet()).forEach(document -> index(rebuilt, document));
+    }
+
+    private static void index(Map<UUID, InvertedIndex> indexes, ProductSearchDocument document) {
+        indexes.computeIfAbsent(document.userId(),
+                        userId -> new InvertedIndex(NAME_BOOST, CATEGORY_BOOST, DESCRIPTION_BOOST))
+                .put(document.id(), document.productName(), document.category(), document.description());
+    }
+}
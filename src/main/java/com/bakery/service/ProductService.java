@@ -1,58 +1,132 @@
 package com.bakery.service;
 
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.CategoryTotals;
+import com.bakery.dto.ProductFilter;
+import com.bakery.dto.ProductFilterResult;
+import com.bakery.dto.ProductCursor;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSort;
 import com.bakery.entity.Product;
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
 import com.bakery.repository.ProductRepository;
+import com.bakery.repository.ProductSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ProductService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+
     private final ProductRepository productRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryService categoryService;
+    private final SalesCounterService salesCounterService;
 
-    public ProductService(ProductRepository productRepository, FileStorageService fileStorageService) {
+    public ProductService(ProductRepository productRepository, FileStorageService fileStorageService,
+            ApplicationEventPublisher eventPublisher, CategoryService categoryService,
+            SalesCounterService salesCounterService) {
         this.productRepository = productRepository;
         this.fileStorageService = fileStorageService;
+        this.eventPublisher = eventPublisher;
+        this.categoryService = categoryService;
+        this.salesCounterService = salesCounterService;
     }
 
     public List<Product> getProductsByUserId(UUID userId) {
         return productRepository.findByUserId(userId);
     }
 
+    // Daftar dan dashboard memakai ProductListItem (tanpa description); entitas lengkap lewat getProductById
+    public Page<ProductListItem> getProductsPage(UUID userId, int page, int size, ProductSort sort) {
+        return productRepository.findByUserId(userId, PageRequest.of(page, size, sort.sort()));
+    }
+
+    /** Mode keyset: produk terbaru setelah {@code cursor}, atau halaman pertama bila cursor null. */
+    public Slice<ProductListItem> getProductsAfter(UUID userId, ProductCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size);
+        if (cursor == null) {
+            return productRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit);
+        }
+        return productRepository.findByUserIdAfter(userId, cursor.createdAt(), cursor.id(), limit);
+    }
+
     public Optional<Product> getProductById(UUID id) {
         return productRepository.findById(id);
     }
 
+    @Transactional
     public Product createProduct(Product product, UUID userId) {
         product.setUserId(userId);
-        return productRepository.save(product);
+        product.setCategoryCode(categoryService.codeOf(product.getCategory()));
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(ProductSnapshot.of(savedProduct)));
+        return savedProduct;
     }
 
+    @Transactional
     public Product updateProduct(UUID id, Product product) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductSnapshot before = ProductSnapshot.of(existingProduct);
+        boolean descriptionChanged = !Objects.equals(existingProduct.getDescription(), product.getDescription());
 
         existingProduct.setProductName(product.getProductName());
         existingProduct.setCategory(product.getCategory());
+        existingProduct.setCategoryCode(categoryService.codeOf(product.getCategory()));
         existingProduct.setPrice(product.getPrice());
         existingProduct.setStock(product.getStock());
         existingProduct.setDescription(product.getDescription());
         existingProduct.setIsAvailable(product.getIsAvailable());
         existingProduct.setSoldCount(product.getSoldCount());
+        if (product.getLowStockThreshold() != null) {
+            existingProduct.setLowStockThreshold(product.getLowStockThreshold());
+        }
 
-        return productRepository.save(existingProduct);
+        // Nilai dari form sudah termasuk penjualan write-behind yang belum di-flush
+        salesCounterService.discard(id);
+        Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.of(savedProduct),
+                descriptionChanged));
+        return savedProduct;
     }
 
+    @Transactional
     public void deleteProduct(UUID id) {
-        productRepository.deleteById(id);
+        productRepository.findById(id).ifPresent(product -> {
+            productRepository.delete(product);
+            // Penjualan write-behind yang belum di-flush ikut terhapus bersama produknya
+            salesCounterService.forget(id);
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(ProductSnapshot.of(product)));
+        });
     }
 
+    @Transactional
     public void updateProductImage(UUID id, MultipartFile imageFile) throws IOException {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -62,28 +136,172 @@ public class ProductService {
                 fileStorageService.deleteFile(product.getImageUrl());
             }
 
+            ProductSnapshot before = ProductSnapshot.of(product);
             String storageFileName = fileStorageService.storeFile(imageFile);
             product.setImageUrl(storageFileName);
             productRepository.save(product);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.of(product)));
+        }
+    }
+
+    // Filter lewat kode kategori; nama yang tidak terdaftar berarti tidak ada produknya
+    public List<Product> findByCategory(UUID userId, String category) {
+        return categoryService.findCode(category)
+                .map(code -> productRepository.findByUserIdAndCategoryCode(userId, code))
+                .orElse(List.of());
+    }
+
+    /** Jumlah produk, unit terjual, stok dan pendapatan per kategori, terbesar pendapatannya lebih dulu. */
+    public List<CategoryBreakdown> getCategoryBreakdown(UUID userId) {
+        return productRepository.sumByCategoryCode(userId).stream()
+                .map(this::toBreakdown)
+                .sorted(Comparator.comparingDouble(CategoryBreakdown::revenue).reversed()
+                        .thenComparing(CategoryBreakdown::category))
+                .toList();
+    }
+
+    private CategoryBreakdown toBreakdown(CategoryTotals totals) {
+        String name = categoryService.nameOf(totals.categoryCode());
+        return new CategoryBreakdown(name != null ? name : "Lainnya",
+                totals.products() != null ? totals.products() : 0L,
+                totals.unitsSold() != null ? totals.unitsSold() : 0L,
+                totals.stockOnHand() != null ? totals.stockOnHand() : 0L,
+                totals.revenue() != null ? totals.revenue() : 0.0);
+    }
+
+    /**
+     * Produk user yang cocok dengan semua filter per halaman, beserta facet kategori dan ketersediaan
+     * (lihat {@link ProductFilterResult}): query halaman, COUNT bila perlu, dan dua GROUP BY facet,
+     * semuanya dibatasi user_id.
+     */
+    @Transactional(readOnly = true)
+    public ProductFilterResult filterProducts(UUID userId, ProductFilter filter, int page, int size, ProductSort sort) {
+        // Kode kategori di-resolve sekali lalu dipakai untuk query halaman dan facet ketersediaan
+        Specification<Product> inCategory = filter.hasCategory()
+                ? categoryService.findCode(filter.category())
+                        .map(ProductSpecifications::inCategory)
+                        .orElseGet(ProductSpecifications::none)
+                : null;
+        Page<ProductListItem> products = productRepository.findListItems(specification(userId, filter, inCategory),
+                PageRequest.of(page, size, sort.sort()));
+
+        // Produk yang kode kategorinya belum diisi (sebelum backfill) tidak punya pilihan facet
+        Map<String, Long> categories = new LinkedHashMap<>();
+        productRepository.countByCategoryCode(specification(userId, filter.withoutCategory(), null)).entrySet().stream()
+                .filter(e -> categoryService.nameOf(e.getKey()) != null)
+                .map(e -> Map.entry(categoryService.nameOf(e.getKey()), e.getValue()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> categories.put(e.getKey(), e.getValue()));
+
+        // is_available null dihitung tidak tersedia, sama seperti ProductSpecifications.available(false)
+        long available = 0;
+        long unavailable = 0;
+        for (Map.Entry<Boolean, Long> entry : productRepository.countByAvailability(
+                specification(userId, filter.withoutAvailable(), inCategory)).entrySet()) {
+            if (Boolean.TRUE.equals(entry.getKey())) {
+                available += entry.getValue();
+            } else {
+                unavailable += entry.getValue();
+            }
         }
+        return new ProductFilterResult(products, categories, available, unavailable);
+    }
+
+    private Specification<Product> specification(UUID userId, ProductFilter filter,
+            Specification<Product> inCategory) {
+        Specification<Product> spec = ProductSpecifications.ownedBy(userId)
+                .and(ProductSpecifications.available(filter.available()))
+                .and(ProductSpecifications.priceBetween(filter.minPrice(), filter.maxPrice()))
+                .and(ProductSpecifications.stockBetween(filter.minStock(), filter.maxStock()))
+                .and(ProductSpecifications.soldBetween(filter.minSold(), filter.maxSold()));
+        return filter.hasCategory() ? spec.and(inCategory) : spec;
+    }
+
+    public long countProductsByUserId(UUID userId) {
+        return productRepository.countByUserId(userId);
+    }
+
+    public long countAvailableProductsByUserId(UUID userId) {
+        return productRepository.countByUserIdAndIsAvailableTrue(userId);
+    }
+
+    public long countLowStockProductsByUserId(UUID userId) {
+        return productRepository.countByUserIdAndLowStockTrue(userId);
+    }
+
+    public long getTotalSoldByUserId(UUID userId) {
+        Long totalSold = productRepository.sumSoldCountByUserId(userId);
+        return totalSold != null ? totalSold : 0L;
+    }
+
+    public List<ProductListItem> getBestSellingProducts(UUID userId, int limit) {
+        return productRepository.findBestSellingByUserId(userId, PageRequest.of(0, limit));
+    }
+
+    public List<ProductListItem> getRecentProducts(UUID userId, int limit) {
+        return productRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, limit));
+    }
+
+    public List<ProductListItem> getLowStockProducts(UUID userId, int limit) {
+        return getLowStockProductsPage(userId, 0, limit).getContent();
     }
 
-    public List<Product> findByCategory(String category) {
-        return productRepository.findByCategory(category);
+    public Page<ProductListItem> getLowStockProductsPage(UUID userId, int page, int size) {
+        return productRepository.findLowStockByUserId(userId, PageRequest.of(page, size));
     }
 
-    public List<Product> findByIsAvailable(Boolean isAvailable) {
-        return productRepository.findByIsAvailable(isAvailable);
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void refreshLowStockFlags() {
+        List<UUID> userIds = productRepository.findUserIdsWithStaleLowStock();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        int changed = productRepository.markLowStock() + productRepository.unmarkLowStock();
+        logger.info("Refreshed low-stock flag on {} products for {} users", changed, userIds.size());
+        // UPDATE massal tidak mempublikasikan ProductChangedEvent; ringkasan user tersebut dihitung ulang
+        eventPublisher.publishEvent(new LowStockFlagsRefreshedEvent(Set.copyOf(userIds)));
     }
 
-    public List<Product> findByStockLessThan(Integer stock) {
-        return productRepository.findByStockLessThan(stock);
+    /**
+     * Mencatat penjualan {@code quantity} unit: stok berkurang dan jumlah terjual bertambah dalam satu
+     * UPDATE bersyarat, sehingga dua kasir yang mencatat bersamaan tidak saling menimpa.
+     *
+     * @return false bila jumlah tidak valid, produk tidak ada, atau stok tidak mencukupi
+     */
+    @Transactional
+    public boolean recordSale(UUID productId, int quantity) {
+        if (quantity <= 0 || productRepository.recordSale(productId, quantity, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        // Baris sudah dikunci oleh UPDATE di atas, jadi keadaan sebelumnya dapat dihitung dari hasilnya
+        productRepository.findById(productId).ifPresent(product -> {
+            ProductSnapshot after = ProductSnapshot.of(product);
+            ProductSnapshot before = new ProductSnapshot(after.id(), after.userId(), after.productName(),
+                    after.category(), after.price(), after.stock() + quantity, after.isAvailable(),
+                    after.soldOrZero() - quantity, after.lowStockThreshold());
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before, after));
+        });
+        return true;
     }
 
+    /** Jumlah terjual produk termasuk penjualan write-behind yang belum disimpan. */
+    public int getSoldCount(Product product) {
+        return salesCounterService.soldCount(product);
+    }
+
+    @Transactional
     public void updateSales(UUID productId, int soldCount) {
         Product existingProduct = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        if (salesCounterService.isEnabled()) {
+            // Write-behind: hanya selisihnya yang dicatat, disimpan oleh flush berikutnya
+            salesCounterService.setSoldCount(productId, soldCount);
+            return;
+        }
+        ProductSnapshot before = ProductSnapshot.of(existingProduct);
         existingProduct.setSoldCount(soldCount);
         productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(before, ProductSnapshot.of(existingProduct)));
     }
-}
\ No newline at end of file
+}
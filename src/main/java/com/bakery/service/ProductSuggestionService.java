@@ -0,0 +1,119 @@
+package com.bakery.service;
+
+import com.bakery.dto.ProductSuggestion;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.PrefixIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Saran nama produk saat mengetik, dari {@link PrefixIndex} per user di memori.
+ *
+ * Indeks user dimuat dari database pada permintaan pertamanya, lalu diperbarui dari event produk
+ * setelah commit tanpa query tambahan. User yang tidak meminta saran dalam jendela aktif dilepas
+ * dari memori, dan bila jumlah user melewati max-users yang paling lama tidak aktif dilepas lebih
+ * dulu; indeksnya dimuat ulang saat dibutuhkan lagi.
+ */
+@Service
+public class ProductSuggestionService {
+
+    private final ProductRepository productRepository;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final long activeWindowMillis;
+    private final int maxUsers;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ProductSuggestionService(ProductRepository productRepository,
+            @Value("${bakery.products.suggest.active-window-ms:1800000}") long activeWindowMillis,
+            @Value("${bakery.products.suggest.max-users:1000}") int maxUsers) {
+        this(productRepository, activeWindowMillis, maxUsers, System::currentTimeMillis);
+    }
+
+    ProductSuggestionService(ProductRepository productRepository, long activeWindowMillis, int maxUsers,
+            LongSupplier clock) {
+        this.productRepository = productRepository;
+        this.activeWindowMillis = activeWindowMillis;
+        this.maxUsers = maxUsers;
+        this.clock = clock;
+    }
+
+    /** Produk milik user yang namanya cocok dengan prefix {@code query}, paling banyak {@code limit}. */
+    public List<ProductSuggestion> suggest(UUID userId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        Entry entry = entries.computeIfAbsent(userId, this::load);
+        entry.lastSeen = clock.getAsLong();
+        return entry.index.suggest(query, limit);
+    }
+
+    public int getActiveUserCount() {
+        return entries.size();
+    }
+
+    // computeIfPresent menunggu load yang sedang berjalan untuk user yang sama, jadi perubahan yang
+    // commit selama indeks dimuat tetap diterapkan sesudahnya
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        entries.computeIfPresent(event.getUserId(), (userId, entry) -> {
+            if (event.isDeleted()) {
+                entry.index.remove(event.getProductId());
+            } else {
+                entry.index.put(event.getProductId(), event.getAfter().productName(),
+                        ProductSuggestion.of(event.getAfter()));
+            }
+            return entry;
+        });
+    }
+
+    // Import bisa berisi ribuan produk: indeks user dibuang dan dimuat ulang pada permintaan berikutnya
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        entries.remove(event.userId());
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.products.suggest.sweep-ms:60000}")
+    public void evictInactive() {
+        long now = clock.getAsLong();
+        entries.forEach((userId, entry) -> {
+            if (now - entry.lastSeen > activeWindowMillis) {
+                entries.remove(userId, entry);
+            }
+        });
+        int excess = entries.size() - maxUsers;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastSeen))
+                    .limit(excess)
+                    .toList()
+                    .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private Entry load(UUID userId) {
+        return new Entry(PrefixIndex.of(productRepository.findSuggestionsByUserId(userId),
+                ProductSuggestion::id, ProductSuggestion::productName));
+    }
+
+    private static final class Entry {
+        private final PrefixIndex<ProductSuggestion> index;
+        private volatile long lastSeen;
+
+        private Entry(PrefixIndex<ProductSuggestion> index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.bakery.service;
+
+import com.bakery.entity.Product;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PreDestroy;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mode write-behind untuk jumlah terjual (opsional, {@code bakery.sales.write-behind.enabled}).
+ *
+ * Perubahan dari {@link ProductService#updateSales} hanya ditambahkan ke {@link LongAdder} per produk
+ * di memori, lalu disimpan setiap {@code flush-ms} sebagai satu batch UPDATE JDBC dan sekali lagi saat
+ * aplikasi berhenti (ContextClosedEvent, lalu @PreDestroy). Event {@link ProductChangedEvent}
+ * dipublikasikan saat flush, sehingga ringkasan dashboard dan riwayat penjualan tertinggal paling lama
+ * satu interval flush.
+ *
+ * Jendela kehilangan data: bila proses mati tanpa shutdown normal (crash, kill -9, listrik padam),
+ * penjualan yang dicatat sejak flush terakhir hilang, yaitu paling banyak {@code flush-ms}
+ * ditambah lama satu flush. Flush yang gagal mengembalikan delta ke counter untuk dicoba lagi.
+ *
+ * UPDATE JDBC tidak melewati Hibernate, jadi produk yang di-flush di-evict dari second-level cache
+ * sebelum dibaca ulang dan sekali lagi setelah commit (pembaca lain bisa mengisi ulang nilai lama di antaranya).
+ *
+ * Nilai absolut dari {@link #setSoldCount} dan {@link #discard} dihitung terhadap delta yang belum
+ * di-flush. Keduanya memegang kunci per produk sampai transaksi pemanggil selesai, dan flush memegang
+ * kunci yang sama dari mengambil delta sampai commit, sehingga delta yang sedang ditulis tidak pernah
+ * terhitung dua kali atau terhapus. Flush melewati produk yang kuncinya sedang dipegang; deltanya ikut
+ * flush berikutnya.
+ *
+ * Counter yang sudah nol dilepas dari memori oleh flush selagi kuncinya dipegang, dan counter produk
+ * yang dihapus dilepas lewat {@link #forget} setelah commit, jadi jumlah counter mengikuti produk yang
+ * benar-benar sedang terjual, bukan semua produk yang pernah terjual.
+ *
+ * Hanya halaman detail dan export yang menggabungkan delta tertunda ({@link #soldCount}). Daftar produk,
+ * dashboard dan best seller membaca sold_count dari database, jadi tertinggal paling lama satu interval
+ * flush.
+ */
+@Service
+public class SalesCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesCounterService.class);
+
+    static final String FLUSH_SQL = "UPDATE products SET sold_count = COALESCE(sold_count, 0) + ?, "
+            + "updated_at = ? WHERE id = ?";
+
+    static final String SOLD_COUNT_SQL = "SELECT COALESCE(sold_count, 0) FROM products WHERE id = ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCacheService entityCacheService;
+    private final boolean enabled;
+    private final Map<UUID, Counter> pending = new ConcurrentHashMap<>();
+
+    public SalesCounterService(ProductRepository productRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+            EntityCacheService entityCacheService, @Value("${bakery.sales.write-behind.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.entityCacheService = entityCacheService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Menambahkan delta jumlah terjual yang belum disimpan. */
+    public void add(UUID productId, long delta) {
+        if (delta != 0) {
+            // Lewat compute agar tidak bertabrakan dengan flush yang melepas counter nol
+            pending.compute(productId, (id, counter) -> {
+                Counter target = counter != null ? counter : new Counter();
+                target.delta.add(delta);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Mencatat jumlah terjual absolut sebagai delta terhadap nilai tersimpan terbaru ditambah delta
+     * yang tertunda. Bila transaksi pemanggil di-rollback, delta tersebut dibatalkan.
+     */
+    public void setSoldCount(UUID productId, int soldCount) {
+        Counter counter = lockCounter(productId);
+        long delta;
+        try {
+            List<Integer> persisted = jdbcTemplate.queryForList(SOLD_COUNT_SQL, Integer.class, productId);
+            delta = soldCount - (persisted.isEmpty() ? 0L : persisted.get(0)) - counter.delta.sum();
+            counter.delta.add(delta);
+        } catch (RuntimeException e) {
+            counter.lock.unlock();
+            throw e;
+        }
+        releaseAfterTransaction(productId, counter, -delta, false);
+    }
+
+    /**
+     * Membuang delta yang tertunda, dipakai saat jumlah terjual ditimpa dengan nilai absolut lewat
+     * entity. Bila transaksi pemanggil di-rollback, delta tersebut dikembalikan.
+     */
+    public void discard(UUID productId) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = lockCounter(productId);
+        releaseAfterTransaction(productId, counter, counter.delta.sumThenReset(), false);
+    }
+
+    /**
+     * Membuang delta yang tertunda untuk produk yang dihapus dan melepas counternya setelah commit.
+     * Bila transaksi pemanggil di-rollback, delta tersebut dikembalikan.
+     */
+    public void forget(UUID productId) {
+        if (!enabled) {
+            return;
+        }
+        Counter counter = lockCounter(productId);
+        releaseAfterTransaction(productId, counter, counter.delta.sumThenReset(), true);
+    }
+
+    int getCounterCount() {
+        return pending.size();
+    }
+
+    public long pending(UUID productId) {
+        Counter counter = pending.get(productId);
+        return counter != null ? counter.delta.sum() : 0L;
+    }
+
+    /** Jumlah terjual yang tersimpan ditambah delta yang belum di-flush. */
+    public int soldCount(Product product) {
+        int persisted = product.getSoldCount() != null ? product.getSoldCount() : 0;
+        return (int) (persisted + pending(product.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${bakery.sales.write-behind.flush-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    // Flush terakhir selagi listener event (ringkasan, riwayat penjualan) masih hidup
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        flush();
+    }
+
+    /**
+     * Jaring pengaman untuk penjualan yang masuk setelah {@link ContextClosedEvent}. Bean listener
+     * mungkin sudah dihancurkan, jadi delta hanya disimpan ke tabel products tanpa event; ringkasan
+     * dashboard dapat diselaraskan lewat /dashboard/summary/rebuild.
+     */
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush(false);
+        if (flushed > 0) {
+            logger.info("Flushed pending sales for {} products on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Menyimpan semua delta yang tertunda dalam satu transaksi.
+     *
+     * @return jumlah produk yang diperbarui
+     */
+    public int flush() {
+        return flush(true);
+    }
+
+    private int flush(boolean publishEvents) {
+        Map<UUID, Counter> locked = new HashMap<>();
+        try {
+            Map<UUID, Long> deltas = drain(locked);
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(deltas, publishEvents));
+                entityCacheService.evictProducts(deltas.keySet());
+                return deltas.size();
+            } catch (RuntimeException e) {
+                // Dikembalikan agar tidak hilang; flush berikutnya mencoba lagi
+                deltas.forEach(this::add);
+                logger.warn("Failed to flush pending sales for {} products", deltas.size(), e);
+                return 0;
+            }
+        } finally {
+            locked.forEach((productId, counter) -> {
+                // Masih di bawah kunci, jadi tidak ada setSoldCount/discard yang sedang memakai counter ini
+                pending.computeIfPresent(productId,
+                        (id, current) -> current == counter && current.delta.sum() == 0 ? null : current);
+                counter.lock.unlock();
+            });
+        }
+    }
+
+    // sumThenReset tidak kehilangan increment yang terjadi bersamaan: increment tersebut ikut flush berikutnya.
+    // Kunci produk yang diambil tetap dipegang sampai flush selesai (lihat dokumentasi kelas); counter yang
+    // sudah nol ikut dikunci agar bisa dilepas setelahnya.
+    private Map<UUID, Long> drain(Map<UUID, Counter> locked) {
+        Map<UUID, Long> deltas = new HashMap<>();
+        pending.forEach((productId, counter) -> {
+            if (!counter.lock.tryLock()) {
+                return;
+            }
+            locked.put(productId, counter);
+            long delta = counter.delta.sumThenReset();
+            if (delta != 0) {
+                deltas.put(productId, delta);
+            }
+        });
+        return deltas;
+    }
+
+    // Counter yang dilepas flush selagi menunggu kunci tidak dipakai lagi; ambil counter yang terpasang
+    private Counter lockCounter(UUID productId) {
+        while (true) {
+            Counter counter = pending.computeIfAbsent(productId, id -> new Counter());
+            counter.lock.lock();
+            if (pending.get(productId) == counter) {
+                return counter;
+            }
+            counter.lock.unlock();
+        }
+    }
+
+    // Kunci dilepas setelah commit/rollback transaksi pemanggil; saat rollback, undo ditambahkan ke delta.
+    // Dengan remove, counter dilepas dari memori setelah commit selagi kuncinya masih dipegang.
+    private void releaseAfterTransaction(UUID productId, Counter counter, long undo, boolean remove) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(productId, counter, remove);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counter.delta.add(undo);
+                    counter.lock.unlock();
+                    return;
+                }
+                release(productId, counter, remove);
+            }
+        });
+    }
+
+    private void release(UUID productId, Counter counter, boolean remove) {
+        try {
+            if (remove) {
+                pending.remove(productId, counter);
+            }
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+
+    private void write(Map<UUID, Long> deltas, boolean publishEvents) {
+        List<Map.Entry<UUID, Long>> rows = new ArrayList<>(deltas.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(FLUSH_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.getValue());
+            statement.setTimestamp(2, now);
+            statement.setObject(3, row.getKey());
+        });
+        entityCacheService.evictProducts(deltas.keySet());
+        if (!publishEvents) {
+            return;
+        }
+
+        // Produk yang sudah dihapus tidak ikut; delta-nya dibuang bersama barisnya
+        for (Product product : productRepository.findAllById(deltas.keySet())) {
+            ProductSnapshot after = ProductSnapshot.of(product);
+            ProductSnapshot before = new ProductSnapshot(after.id(), after.userId(), after.productName(),
+                    after.category(), after.price(), after.stock(), after.isAvailable(),
+                    (int) (after.soldOrZero() - deltas.get(product.getId())), after.lowStockThreshold());
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before, after));
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder delta = new LongAdder();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
@@ -0,0 +1,141 @@
+package com.bakery.service;
+
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.SalesBucket;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.entity.SalesEvent;
+import com.bakery.entity.SalesGranularity;
+import com.bakery.entity.SalesRollup;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.repository.SalesEventRepository;
+import com.bakery.repository.SalesRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Riwayat penjualan: setiap perubahan jumlah terjual dicatat sebagai sales event dan langsung
+ * ditambahkan ke bucket per jam dan per hari (sales_rollups) di transaksi yang sama.
+ *
+ * Chart hanya membaca rollup, jadi biayanya sebanding dengan jumlah bucket di periode yang
+ * ditampilkan, bukan dengan panjang riwayat. Event mentah dan bucket per jam yang sudah lama
+ * dihapus oleh {@link #compact()}; bucket harian disimpan seterusnya.
+ */
+@Service
+public class SalesHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesHistoryService.class);
+
+    private final SalesEventRepository eventRepository;
+    private final SalesRollupRepository rollupRepository;
+    private final int eventRetentionDays;
+    private final int hourlyRetentionDays;
+
+    public SalesHistoryService(SalesEventRepository eventRepository, SalesRollupRepository rollupRepository,
+            @Value("${bakery.sales.event-retention-days:90}") int eventRetentionDays,
+            @Value("${bakery.sales.hourly-retention-days:35}") int hourlyRetentionDays) {
+        this.eventRepository = eventRepository;
+        this.rollupRepository = rollupRepository;
+        this.eventRetentionDays = eventRetentionDays;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    // Listener sinkron: event dan rollup ikut di-commit/rollback bersama perubahan produk
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isCreated() || event.isDeleted()) {
+            // Jumlah terjual awal bukan penjualan baru; riwayat produk yang dihapus tetap disimpan
+            return;
+        }
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+        int quantity = after.soldOrZero() - before.soldOrZero();
+        if (quantity != 0) {
+            recordSale(after, quantity, LocalDateTime.now());
+        }
+    }
+
+    void recordSale(ProductSnapshot product, int quantity, LocalDateTime occurredAt) {
+        SalesEvent salesEvent = new SalesEvent();
+        salesEvent.setUserId(product.userId());
+        salesEvent.setProductId(product.id());
+        salesEvent.setCategory(product.category());
+        salesEvent.setQuantity(quantity);
+        salesEvent.setOccurredAt(occurredAt);
+        eventRepository.save(salesEvent);
+
+        for (SalesGranularity granularity : SalesGranularity.values()) {
+            LocalDateTime bucketStart = granularity.bucketOf(occurredAt);
+            if (rollupRepository.addQuantity(product.id(), granularity, bucketStart, quantity) > 0) {
+                continue;
+            }
+            // Bucket belum ada: dua transaksi bisa sama-sama sampai di sini dan melanggar
+            // uk_sales_rollups_bucket. Setelah baris produk dikunci, transaksi kedua menunggu
+            // commit yang pertama lalu UPDATE ulang menemukan bucket yang sudah dibuat.
+            rollupRepository.lockProduct(product.id());
+            if (rollupRepository.addQuantity(product.id(), granularity, bucketStart, quantity) == 0) {
+                SalesRollup rollup = new SalesRollup();
+                rollup.setUserId(product.userId());
+                rollup.setProductId(product.id());
+                rollup.setCategory(product.category());
+                rollup.setGranularity(granularity);
+                rollup.setBucketStart(bucketStart);
+                rollup.setQuantity(quantity);
+                rollupRepository.save(rollup);
+            }
+        }
+    }
+
+    public SalesSeries getSeries(UUID userId, SalesPeriod period) {
+        return getSeries(userId, period, LocalDateTime.now());
+    }
+
+    SalesSeries getSeries(UUID userId, SalesPeriod period, LocalDateTime now) {
+        SalesGranularity granularity = period.getGranularity();
+        LocalDateTime from = period.start(now);
+        LocalDateTime to = period.end(now);
+
+        Map<LocalDateTime, Long> totals = new HashMap<>();
+        for (SalesBucket bucket : rollupRepository.sumByBucket(userId, granularity, from, to)) {
+            totals.put(bucket.bucketStart(), bucket.quantity());
+        }
+
+        // Bucket tanpa penjualan tetap ditampilkan sebagai 0
+        List<String> labels = new ArrayList<>();
+        List<Long> data = new ArrayList<>();
+        for (LocalDateTime bucket = from; bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            labels.add(period.label(bucket));
+            data.add(totals.getOrDefault(bucket, 0L));
+        }
+        return new SalesSeries(period, labels, data);
+    }
+
+    public List<CategorySales> getCategoryTotals(UUID userId, SalesPeriod period) {
+        return getCategoryTotals(userId, period, LocalDateTime.now());
+    }
+
+    List<CategorySales> getCategoryTotals(UUID userId, SalesPeriod period, LocalDateTime now) {
+        return rollupRepository.sumByCategory(userId, period.getGranularity(), period.start(now), period.end(now));
+    }
+
+    @Scheduled(cron = "${bakery.sales.compaction-cron:0 15 3 * * *}")
+    @Transactional
+    public void compact() {
+        compact(LocalDateTime.now());
+    }
+
+    void compact(LocalDateTime now) {
+        int events = eventRepository.deleteOccurredBefore(now.minusDays(eventRetentionDays));
+        int hourly = rollupRepository.deleteBucketsBefore(SalesGranularity.HOUR, now.minusDays(hourlyRetentionDays));
+        logger.info("Sales history compaction removed {} events and {} hourly buckets", events, hourly);
+    }
+}
@@ -20,6 +20,28 @@ public class ConstUtil {
     
     // Pagination
     public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    // Dashboard
+    public static final int LOW_STOCK_THRESHOLD = 10;
+    public static final int DASHBOARD_TOP_LIMIT = 5;
+    public static final int[] DASHBOARD_TOP_OPTIONS = { 5, 10, 20 };
+    public static final int DASHBOARD_LOW_STOCK_LIMIT = 10;
+    public static final int DASHBOARD_RECENT_LIMIT = 5;
+    
+    // Checkout
+    public static final int CHECKOUT_MAX_LINES = 100;
+    
+    // Import produk (CSV)
+    public static final int IMPORT_MAX_ERRORS = 100;
+    public static final int IMPORT_JOB_RETENTION_MINUTES = 60;
+    
+    // Export produk (CSV): persistence context dikosongkan tiap sekian baris
+    public static final int EXPORT_CLEAR_INTERVAL = 1000;
+    
+    // Saran nama produk (type-ahead)
+    public static final int SUGGEST_DEFAULT_LIMIT = 8;
+    public static final int SUGGEST_MAX_LIMIT = 20;
     
     // Validation messages
     public static final String REQUIRED_FIELD = "Field ini wajib diisi";
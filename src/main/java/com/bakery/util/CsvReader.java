@@ -0,0 +1,109 @@
+package com.bakery.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membaca CSV (RFC 4180, pemisah koma) satu record per panggilan {@link #next()}, jadi file
+ * sebesar apa pun dibaca dengan memori sebesar satu baris.
+ *
+ * Field bertanda kutip boleh berisi koma, baris baru dan kutip ganda ({@code ""}). BOM UTF-8 di
+ * awal file dilewati. Panjang satu field dibatasi {@link #MAX_FIELD_LENGTH} agar file rusak
+ * (mis. kutip yang tidak ditutup) tidak menghabiskan memori.
+ */
+public class CsvReader implements Closeable {
+
+    public static final int MAX_FIELD_LENGTH = 65_536;
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.reader.mark(1);
+        if (this.reader.read() != BOM) {
+            this.reader.reset();
+        }
+    }
+
+    /**
+     * @return field pada record berikutnya, atau null di akhir input
+     * @throws IOException bila input tidak bisa dibaca atau formatnya rusak
+     */
+    public List<String> next() throws IOException {
+        recordLine = line;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Tanda kutip tidak ditutup (baris " + recordLine + ")");
+                }
+                if (c == QUOTE) {
+                    c = reader.read();
+                    if (c != QUOTE) {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(field, c);
+            } else if (c == QUOTE && field.length() == 0) {
+                quoted = true;
+            } else if (c == DELIMITER) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /** Membuang awalan {@code '} yang ditambahkan {@link CsvWriter#escapeFormula(String)}. */
+    public static String unescapeFormula(String value) {
+        if (value != null && value.length() > 1 && value.charAt(0) == '\''
+                && CsvWriter.FORMULA_PREFIXES.indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    /** Nomor baris (mulai 1) tempat record terakhir dari {@link #next()} dimulai. */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field melebihi " + MAX_FIELD_LENGTH + " karakter (baris " + recordLine + ")");
+        }
+        field.append((char) c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
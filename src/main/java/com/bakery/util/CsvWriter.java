@@ -0,0 +1,81 @@
+package com.bakery.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Menulis CSV (RFC 4180, pemisah koma, akhir baris CRLF) satu record per panggilan
+ * {@link #writeRow(Object...)}; pasangan dari {@link CsvReader}.
+ *
+ * Field yang berisi koma, kutip atau baris baru diberi tanda kutip; null ditulis sebagai field kosong.
+ * Teks bebas dari user sebaiknya dilewatkan ke {@link #escapeFormula(String)} lebih dulu.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_END = "\r\n";
+    // Karakter awal yang membuat Excel/LibreOffice/Sheets membaca sel sebagai formula
+    static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRow(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(DELIMITER);
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write(LINE_END);
+    }
+
+    /**
+     * Mencegah formula injection: teks yang diawali karakter formula diberi awalan {@code '} sehingga
+     * spreadsheet menampilkannya sebagai teks. Kebalikannya {@link CsvReader#unescapeFormula(String)}.
+     */
+    public static String escapeFormula(String value) {
+        if (value == null || value.isEmpty() || FORMULA_PREFIXES.indexOf(value.charAt(0)) < 0) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        writer.write(value.replace("\"", "\"\""));
+        writer.write(QUOTE);
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == DELIMITER || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,254 @@
+package com.bakery.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indeks teks terbalik (inverted index) di memori untuk pencarian dengan urutan relevansi.
+ *
+ * Dokumen terdiri dari beberapa field dengan bobot masing-masing (mis. nama lebih penting dari
+ * deskripsi). Skor memakai TF-IDF seperti Lucene klasik: sqrt(frekuensi kata) x idf, dibagi
+ * sqrt(panjang field). Setiap kata query cocok sebagai prefix ("crois" menemukan "croissant"),
+ * kecocokan kata utuh diberi skor lebih tinggi, dan dokumen harus cocok dengan semua kata query.
+ *
+ * Daftar kata disimpan terurut (TreeMap) sehingga prefix dicari lewat rentang, dan posting tiap kata
+ * disimpan sebagai array nomor dokumen + bobot. Dokumen yang dihapus atau diganti hanya ditandai;
+ * posting-nya dibersihkan saat jumlah dokumen mati melebihi jumlah dokumen hidup.
+ *
+ * Aman dipakai banyak thread: pencarian berjalan paralel, perubahan bergantian.
+ */
+public class InvertedIndex {
+
+    /** Bobot kecocokan prefix dibanding kata utuh. */
+    static final float PREFIX_WEIGHT = 0.5f;
+
+    /** Batas jumlah kata di indeks yang diperiksa untuk satu prefix (seperti max clause Lucene). */
+    static final int MAX_EXPANSIONS = 1024;
+
+    // Pembersihan tidak dijalankan untuk indeks kecil
+    static final int MIN_COMPACT = 64;
+
+    /** Hasil pencarian: jumlah dokumen yang cocok dan id dokumen teratas, paling relevan lebih dulu. */
+    public record Hits(int total, List<UUID> ids) {
+        public static final Hits EMPTY = new Hits(0, List.of());
+    }
+
+    private final float[] fieldBoosts;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Nomor dokumen -> id; null untuk dokumen yang sudah dihapus
+    private final List<UUID> ids = new ArrayList<>();
+    // Id -> nomor dokumen yang masih berlaku
+    private final Map<UUID, Integer> docs = new HashMap<>();
+
+    public InvertedIndex(float... fieldBoosts) {
+        this.fieldBoosts = fieldBoosts.clone();
+    }
+
+    /** Menambah dokumen, atau mengganti isi dokumen dengan id yang sama. Field null dianggap kosong. */
+    public void put(UUID id, String... fields) {
+        if (fields.length != fieldBoosts.length) {
+            throw new IllegalArgumentException("Expected " + fieldBoosts.length + " fields, got " + fields.length);
+        }
+        Map<String, Float> weights = weigh(fields);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int doc = ids.size();
+            ids.add(id);
+            docs.put(id, doc);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, key -> new Postings()).add(doc, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return false bila dokumen tidak ada di indeks */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param limit jumlah id maksimum yang dikembalikan; {@link Hits#total()} tetap menghitung semua yang cocok
+     */
+    public Hits search(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(SearchText.tokens(query)));
+        if (words.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            float[] total = score(words.get(0));
+            for (int i = 1; i < words.size(); i++) {
+                float[] scores = score(words.get(i));
+                for (int doc = 0; doc < total.length; doc++) {
+                    total[doc] = total[doc] > 0 && scores[doc] > 0 ? total[doc] + scores[doc] : 0;
+                }
+            }
+            return top(total, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Skor satu kata query per nomor dokumen; untuk prefix yang cocok dengan beberapa kata diambil yang terbaik
+    private float[] score(String word) {
+        float[] scores = new float[ids.size()];
+        int expansions = 0;
+        for (Map.Entry<String, Postings> entry : terms.tailMap(word, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(word) || ++expansions > MAX_EXPANSIONS) {
+                break;
+            }
+            Postings postings = entry.getValue();
+            float factor = idf(postings.size) * (term.length() == word.length() ? 1f : PREFIX_WEIGHT);
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                scores[doc] = Math.max(scores[doc], postings.weights[i] * factor);
+            }
+        }
+        return scores;
+    }
+
+    // Posting masih memuat dokumen mati sampai dibersihkan, jadi df dibatasi jumlah dokumen hidup
+    private float idf(int documentFrequency) {
+        int live = docs.size();
+        return (float) (1 + Math.log((live + 1.0) / (Math.min(documentFrequency, live) + 1.0)));
+    }
+
+    private Hits top(float[] scores, int limit) {
+        // Min-heap berukuran limit: skor terendah (lalu id terlama) dibuang lebih dulu
+        Comparator<Integer> ascending = Comparator.<Integer>comparingDouble(doc -> scores[doc])
+                .thenComparing(ids::get);
+        PriorityQueue<Integer> best = new PriorityQueue<>(ascending);
+        int matches = 0;
+        // Dari dokumen terbaru: skor seri jarang menggeser isi heap, dan skor di bawah batas tidak dibandingkan
+        for (int doc = scores.length - 1; doc >= 0; doc--) {
+            if (scores[doc] <= 0 || ids.get(doc) == null) {
+                continue;
+            }
+            matches++;
+            if (best.size() < limit) {
+                best.add(doc);
+            } else if (limit > 0 && scores[doc] >= scores[best.peek()] && ascending.compare(doc, best.peek()) > 0) {
+                best.poll();
+                best.add(doc);
+            }
+        }
+        List<UUID> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(ids.get(best.poll()));
+        }
+        Collections.reverse(result);
+        return new Hits(matches, result);
+    }
+
+    private boolean removeLocked(UUID id) {
+        Integer doc = docs.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        ids.set(doc, null);
+        int dead = ids.size() - docs.size();
+        if (dead > MIN_COMPACT && dead > docs.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    // Menghapus dokumen mati dari posting dan menomori ulang dokumen hidup (urutan tetap)
+    private void compact() {
+        int[] renumber = new int[ids.size()];
+        List<UUID> live = new ArrayList<>(docs.size());
+        for (int doc = 0; doc < ids.size(); doc++) {
+            UUID id = ids.get(doc);
+            renumber[doc] = id == null ? -1 : live.size();
+            if (id != null) {
+                live.add(id);
+            }
+        }
+        Iterator<Postings> postings = terms.values().iterator();
+        while (postings.hasNext()) {
+            Postings entry = postings.next();
+            entry.retain(renumber);
+            if (entry.size == 0) {
+                postings.remove();
+            }
+        }
+        ids.clear();
+        ids.addAll(live);
+        docs.replaceAll((id, doc) -> renumber[doc]);
+    }
+
+    // Bobot tiap kata dokumen: jumlah dari semua field, boost x sqrt(frekuensi) / sqrt(panjang field)
+    private Map<String, Float> weigh(String[] fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (int field = 0; field < fields.length; field++) {
+            List<String> tokens = SearchText.tokens(fields[field]);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            float norm = (float) (fieldBoosts[field] / Math.sqrt(tokens.size()));
+            frequencies.forEach((term, frequency) ->
+                    weights.merge(term, (float) Math.sqrt(frequency) * norm, Float::sum));
+        }
+        return weights;
+    }
+
+    /** Nomor dokumen (naik) dan bobot untuk satu kata. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        private void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void retain(int[] renumber) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumber[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
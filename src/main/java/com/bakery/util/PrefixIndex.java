@@ -0,0 +1,170 @@
+package com.bakery.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Indeks prefix di memori untuk saran ketik (type-ahead): teks dinormalisasi seperti
+ * {@link SearchText} dan disimpan sebagai key terurut, sehingga satu prefix dicari dengan binary
+ * search lalu dibaca berurutan sampai batas hasil, tanpa memindai seluruh isi.
+ *
+ * Kecocokan dari awal teks ("roti k" untuk "Roti Keju") didahulukan, baru kecocokan dari awal kata
+ * berikutnya ("keju" untuk "Roti Keju"). Di dalam masing-masing kelompok urutannya alfabetis, dan key
+ * yang sama diurutkan menurut teks lengkapnya ("Kue Keju" sebelum "Roti Keju").
+ *
+ * Aman dipakai banyak thread: pencarian berjalan paralel, perubahan bergantian.
+ */
+public class PrefixIndex<T> {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::text).thenComparing(Key::full)
+            .thenComparing(Key::id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Key teks lengkap dan key mulai dari kata kedua dst., masing-masing terurut (key, teks lengkap, lalu id)
+    private final List<Key> starts = new ArrayList<>();
+    private final List<Key> words = new ArrayList<>();
+    private final Map<UUID, Document<T>> documents = new HashMap<>();
+
+    /** Indeks berisi semua {@code values} sekaligus; key diurutkan sekali, bukan disisipkan satu per satu. */
+    public static <T> PrefixIndex<T> of(Collection<T> values, Function<T, UUID> idOf, Function<T, String> textOf) {
+        PrefixIndex<T> index = new PrefixIndex<>();
+        for (T value : values) {
+            UUID id = idOf.apply(value);
+            Document<T> document = document(textOf.apply(value), value);
+            if (index.documents.put(id, document) != null) {
+                throw new IllegalArgumentException("Duplicate id " + id);
+            }
+            if (document.start() != null) {
+                index.starts.add(new Key(document.start(), document.start(), id));
+            }
+            document.words().forEach(word -> index.words.add(new Key(word, document.start(), id)));
+        }
+        index.starts.sort(KEY_ORDER);
+        index.words.sort(KEY_ORDER);
+        return index;
+    }
+
+    /** Menambah entri, atau mengganti teks dan nilai entri dengan id yang sama. */
+    public void put(UUID id, String text, T value) {
+        Document<T> document = document(text, value);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, document);
+            if (document.start() != null) {
+                insert(starts, new Key(document.start(), document.start(), id));
+            }
+            document.words().forEach(word -> insert(words, new Key(word, document.start(), id)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return false bila id tidak ada di indeks */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Paling banyak {@code limit} nilai yang teksnya cocok dengan prefix; prefix kosong tidak menghasilkan apa-apa. */
+    public List<T> suggest(String prefix, int limit) {
+        String key = String.join(" ", SearchText.tokens(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<UUID, T> found = new LinkedHashMap<>();
+            collect(starts, key, limit, found);
+            collect(words, key, limit, found);
+            return new ArrayList<>(found.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(List<Key> keys, String prefix, int limit, Map<UUID, T> found) {
+        for (int i = lowerBound(keys, new Key(prefix, null, null)); i < keys.size() && found.size() < limit; i++) {
+            Key key = keys.get(i);
+            if (!key.text().startsWith(prefix)) {
+                return;
+            }
+            found.putIfAbsent(key.id(), documents.get(key.id()).value());
+        }
+    }
+
+    private boolean removeLocked(UUID id) {
+        Document<T> document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        if (document.start() != null) {
+            starts.remove(lowerBound(starts, new Key(document.start(), document.start(), id)));
+        }
+        document.words().forEach(word -> words.remove(lowerBound(words, new Key(word, document.start(), id))));
+        return true;
+    }
+
+    // Key teks lengkap, dan satu key untuk sisa teks mulai dari setiap kata berikutnya
+    private static <T> Document<T> document(String text, T value) {
+        List<String> tokens = SearchText.tokens(text);
+        Document<T> document = new Document<>(value, tokens.isEmpty() ? null : String.join(" ", tokens),
+                new ArrayList<>(tokens.size()));
+        for (int i = 1; i < tokens.size(); i++) {
+            document.words().add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return document;
+    }
+
+    private static void insert(List<Key> keys, Key key) {
+        keys.add(lowerBound(keys, key), key);
+    }
+
+    // Posisi pertama yang tidak lebih kecil dari probe; full null berarti sebelum semua key dengan teks yang sama
+    private static int lowerBound(List<Key> keys, Key probe) {
+        int low = 0;
+        int high = keys.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Key key = keys.get(mid);
+            int cmp = key.text().compareTo(probe.text());
+            if (cmp == 0 && probe.full() != null) {
+                cmp = KEY_ORDER.compare(key, probe);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // full: teks lengkap dokumen, pengurut kedua untuk key yang sama
+    private record Key(String text, String full, UUID id) {
+    }
+
+    private record Document<T>(T value, String start, List<String> words) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.bakery.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisasi teks untuk pencarian: huruf kecil tanpa diakritik, dipecah menjadi kata
+ * (deretan huruf/angka), sehingga "Crème Brûlée" dan "creme brulee" dianggap sama.
+ */
+public class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {
+        // Utility class, prevent instantiation
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        if (isAscii(text)) {
+            // Sebagian besar nama produk: tidak ada diakritik yang perlu dilepas
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Kata-kata dari teks yang sudah dinormalisasi, urut kemunculan (boleh berulang). */
+    public static List<String> tokens(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,21 @@
+-- Tabel kode kategori dan products.category_code (filter dan facet memakai kode, bukan nama).
+
+CREATE TABLE IF NOT EXISTS categories (
+    code  SMALLINT     NOT NULL,
+    name  VARCHAR(50)  NOT NULL UNIQUE,
+    PRIMARY KEY (code)
+);
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS category_code SMALLINT;
+
+-- Backfill: kategori yang sudah ada diberi kode berurutan menurut nama. Nama lebih dari 50 karakter
+-- dilewati dan tetap tanpa kode, sama seperti produk yang belum di-backfill CategoryService.
+INSERT INTO categories (code, name)
+SELECT CAST(ROW_NUMBER() OVER (ORDER BY category) AS SMALLINT), category
+FROM (SELECT DISTINCT category FROM products WHERE CHAR_LENGTH(category) <= 50) existing;
+
+UPDATE products p
+SET category_code = (SELECT c.code FROM categories c WHERE c.name = p.category)
+WHERE category_code IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_products_user_category ON products (user_id, category_code);
@@ -0,0 +1,11 @@
+-- Batas stok minimum per produk dan flag is_low_stock (stock <= low_stock_threshold) yang disimpan
+-- agar query stok rendah memakai index (user_id, is_low_stock).
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS low_stock_threshold
+    INTEGER DEFAULT 10 NOT NULL CHECK (low_stock_threshold >= 0);
+ALTER TABLE products ADD COLUMN IF NOT EXISTS is_low_stock BOOLEAN DEFAULT FALSE NOT NULL;
+
+-- Backfill: produk lama memakai batas bawaan 10
+UPDATE products SET is_low_stock = (stock <= low_stock_threshold);
+
+CREATE INDEX IF NOT EXISTS idx_products_user_low_stock ON products (user_id, is_low_stock);
@@ -0,0 +1,12 @@
+-- Ringkasan dashboard per user. Baris dibuat ulang dari tabel products saat pertama kali dibaca
+-- (DashboardSummaryService), jadi tidak perlu backfill di sini.
+
+CREATE TABLE IF NOT EXISTS product_summaries (
+    user_id             UUID    NOT NULL,
+    total_products      BIGINT  NOT NULL,
+    available_products  BIGINT  NOT NULL,
+    low_stock_products  BIGINT  NOT NULL,
+    total_sold          BIGINT  NOT NULL,
+    updated_at          TIMESTAMP(6),
+    PRIMARY KEY (user_id)
+);
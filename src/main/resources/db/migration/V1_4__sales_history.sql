@@ -0,0 +1,27 @@
+-- Riwayat penjualan: event mentah dan rollup per jam/hari. Penjualan sebelum migrasi ini tidak
+-- tercatat per waktu, jadi tidak ada backfill.
+
+CREATE TABLE IF NOT EXISTS sales_events (
+    id           UUID         NOT NULL,
+    product_id   UUID         NOT NULL,
+    user_id      UUID         NOT NULL,
+    category     VARCHAR(255) NOT NULL,
+    quantity     INTEGER      NOT NULL,
+    occurred_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS sales_rollups (
+    id            UUID         NOT NULL,
+    product_id    UUID         NOT NULL,
+    user_id       UUID         NOT NULL,
+    category      VARCHAR(255) NOT NULL,
+    granularity   VARCHAR(8)   NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    bucket_start  TIMESTAMP(6) NOT NULL,
+    quantity      BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sales_rollups_bucket UNIQUE (product_id, granularity, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sales_events_occurred_at ON sales_events (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_sales_rollups_user_bucket ON sales_rollups (user_id, granularity, bucket_start);
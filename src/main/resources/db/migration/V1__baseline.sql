@@ -0,0 +1,39 @@
+-- Skema awal, sama persis dengan yang dibuat Hibernate (ddl-auto=update) sebelum Flyway dipakai,
+-- termasuk database bawaan data/db_bakery_pbo. Database lama ditandai sebagai versi 1 lewat
+-- spring.flyway.baseline-on-migrate, jadi skrip ini hanya berjalan pada database kosong.
+-- Tabel dan kolom yang ditambahkan setelahnya ada di migrasi V1_x berikutnya.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID         NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS auth_tokens (
+    id          UUID         NOT NULL,
+    user_id     UUID         NOT NULL,
+    token       VARCHAR(255) NOT NULL UNIQUE,
+    created_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- description dari columnDefinition "TEXT", yang di H2 2.x menjadi VARCHAR; diubah ke CLOB di V3
+CREATE TABLE IF NOT EXISTS products (
+    id            UUID         NOT NULL,
+    user_id       UUID         NOT NULL,
+    product_name  VARCHAR(255) NOT NULL,
+    category      VARCHAR(255) NOT NULL,
+    price         FLOAT(53)    NOT NULL,
+    stock         INTEGER      NOT NULL,
+    description   VARCHAR(1000000000),
+    image_url     VARCHAR(255),
+    is_available  BOOLEAN,
+    sold_count    INTEGER,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
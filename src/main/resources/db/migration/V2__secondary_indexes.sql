@@ -0,0 +1,22 @@
+-- Index untuk jalur akses yang sebelumnya selalu table scan.
+
+-- ProductRepository.findByCategory dan backfill category_code (category = ? AND category_code IS NULL)
+CREATE INDEX IF NOT EXISTS idx_products_category ON products (category, category_code);
+
+-- ProductRepository.findByCategoryCode
+CREATE INDEX IF NOT EXISTS idx_products_category_code ON products (category_code, user_id);
+
+-- ProductRepository.findByIsAvailable
+CREATE INDEX IF NOT EXISTS idx_products_available ON products (is_available, user_id);
+
+-- ProductRepository.findByStockLessThan
+CREATE INDEX IF NOT EXISTS idx_products_stock ON products (stock);
+
+-- AuthTokenRepository.deleteByUserId
+CREATE INDEX IF NOT EXISTS idx_auth_tokens_user ON auth_tokens (user_id);
+
+-- SalesEventRepository.findByProductIdOrderByOccurredAtAsc
+CREATE INDEX IF NOT EXISTS idx_sales_events_product ON sales_events (product_id, occurred_at);
+
+-- ProductRepository.findByUserId dan paginasi keyset (user_id, created_at, id)
+CREATE INDEX IF NOT EXISTS idx_products_user_created ON products (user_id, created_at, id);
@@ -0,0 +1,3 @@
+-- Database lama dibuat Hibernate dengan columnDefinition "TEXT", yang di H2 2.x menjadi VARCHAR,
+-- sedangkan Product.description dipetakan sebagai @Lob (CLOB). Diselaraskan agar ddl-auto=validate lolos.
+ALTER TABLE products ALTER COLUMN description SET DATA TYPE CLOB;
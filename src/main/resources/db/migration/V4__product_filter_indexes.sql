@@ -0,0 +1,17 @@
+-- Index untuk filter produk (ProductFilterRepository): setiap index memuat semua kolom filter dan
+-- kolom facet, jadi COUNT dan GROUP BY category_code / is_available dijawab dari index saja.
+
+-- Filter dengan kategori dan facet ketersediaan; juga sumByCategoryCode (category_code, stock, sold_count, price)
+DROP INDEX IF EXISTS idx_products_user_category;
+CREATE INDEX IF NOT EXISTS idx_products_user_category
+    ON products (user_id, category_code, is_available, price, stock, sold_count);
+
+-- Filter ketersediaan (+ rentang harga) tanpa kategori dan facet kategori
+CREATE INDEX IF NOT EXISTS idx_products_user_available
+    ON products (user_id, is_available, price, stock, sold_count, category_code);
+
+-- Finder lama tanpa user_id (findByCategoryCode, findByIsAvailable, findByStockLessThan) sudah dihapus;
+-- index-nya hanya menambah biaya tulis
+DROP INDEX IF EXISTS idx_products_category_code;
+DROP INDEX IF EXISTS idx_products_available;
+DROP INDEX IF EXISTS idx_products_stock;
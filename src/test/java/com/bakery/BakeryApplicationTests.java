@@ -4,7 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+// Skema dibuat Flyway; validate memastikan migrasi sesuai dengan entity
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
 class BakeryApplicationTest {
 
     @Test
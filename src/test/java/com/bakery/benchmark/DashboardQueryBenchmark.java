@@ -0,0 +1,130 @@
+package com.bakery.benchmark;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.entity.Product;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Membandingkan statistik dashboard lama (muat semua produk lalu hitung di Java)
+ * dengan aggregate query di database pada 100k produk.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=DashboardQueryBenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+class DashboardQueryBenchmark {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seed() {
+        userId = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            rows.add(new Object[] {
+                    UUID.randomUUID(), userId, "Produk " + i, "Kue", 10000.0 + i, i % 50,
+                    "Deskripsi resep yang cukup panjang untuk produk " + i, i % 3 != 0, i % 997,
+                    ConstUtil.LOW_STOCK_THRESHOLD, i % 50 <= ConstUtil.LOW_STOCK_THRESHOLD, now, now
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void compareDashboardPaths() {
+        long[] loadAll = measure(this::loadAllPath);
+        long[] aggregate = measure(this::aggregatePath);
+
+        assertEquals(loadAll[1], aggregate[1], "Kedua jalur harus menghasilkan statistik yang sama");
+
+        System.out.printf("%n[benchmark] dashboard @ %,d produk%n", PRODUCT_COUNT);
+        System.out.printf("[benchmark]   load-all + stream : %8.2f ms/op%n", loadAll[0] / 1_000_000.0);
+        System.out.printf("[benchmark]   aggregate queries : %8.2f ms/op%n", aggregate[0] / 1_000_000.0);
+    }
+
+    /** Jalur sebelum perubahan: seluruh katalog dimuat lalu dihitung dengan stream. */
+    private Long loadAllPath() {
+        List<Product> products = productRepository.findByUserId(userId);
+        long available = products.stream().filter(p -> Boolean.TRUE.equals(p.getIsAvailable())).count();
+        long lowStock = products.stream()
+                .filter(p -> p.getStock() != null && p.getStock() <= ConstUtil.LOW_STOCK_THRESHOLD).count();
+        long totalSold = products.stream().mapToLong(p -> p.getSoldCount() != null ? p.getSoldCount() : 0).sum();
+        List<Product> top = products.stream()
+                .sorted(Comparator.comparing((Product p) -> p.getSoldCount() != null ? p.getSoldCount() : 0)
+                        .reversed())
+                .limit(ConstUtil.DASHBOARD_TOP_LIMIT)
+                .collect(Collectors.toList());
+        List<Product> low = products.stream()
+                .filter(p -> p.getStock() != null && p.getStock() <= ConstUtil.LOW_STOCK_THRESHOLD)
+                .sorted(Comparator.comparing(Product::getStock))
+                .limit(ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)
+                .collect(Collectors.toList());
+        return products.size() + available + lowStock + totalSold + top.size() + low.size();
+    }
+
+    /** Jalur baru: hanya angka agregat dan baris yang ditampilkan yang dibaca. */
+    private Long aggregatePath() {
+        long total = productRepository.countByUserId(userId);
+        long available = productRepository.countByUserIdAndIsAvailableTrue(userId);
+        long lowStock = productRepository.countByUserIdAndLowStockTrue(userId);
+        long totalSold = productRepository.sumSoldCountByUserId(userId);
+        List<ProductListItem> top = productRepository.findBestSellingByUserId(userId,
+                PageRequest.of(0, ConstUtil.DASHBOARD_TOP_LIMIT));
+        List<ProductListItem> low = productRepository.findLowStockByUserId(userId,
+                PageRequest.of(0, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).getContent();
+        return total + available + lowStock + totalSold + top.size() + low.size();
+    }
+
+    /** @return {rata-rata nanodetik per operasi, hasil terakhir} */
+    private long[] measure(Supplier<Long> operation) {
+        long result = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = operation.get();
+            entityManager.clear();
+        }
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            result = operation.get();
+            elapsed += System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return new long[] { elapsed / MEASURED_ROUNDS, result };
+    }
+}
@@ -0,0 +1,120 @@
+package com.bakery.benchmark;
+
+import com.bakery.service.ProductExportService;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Export CSV satu juta produk: heap yang terpakai (setelah GC) dicatat tiap 100.000 baris dan harus
+ * tetap datar, tidak tumbuh mengikuti jumlah baris yang sudah ditulis.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=ProductExportBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-benchmark",
+        "bakery.cache.enabled=false"
+})
+class ProductExportBenchmark {
+
+    private static final int PRODUCT_COUNT = 1_000_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportMillionRows() throws IOException {
+        UUID userId = UUID.randomUUID();
+        seed(userId);
+        HeapSampler sampler = new HeapSampler();
+
+        long start = System.nanoTime();
+        long rows = productExportService.writeCsv(userId, sampler);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(PRODUCT_COUNT, rows);
+        LongSummaryStatistics heap = sampler.samples.stream().mapToLong(Long::longValue).summaryStatistics();
+        System.out.printf("%n[benchmark] export CSV %,d produk: %.1f s, %,.0f baris/s, %,d MB ditulis%n",
+                rows, seconds, rows / seconds, sampler.chars / (1024 * 1024));
+        System.out.printf("[benchmark]   heap setelah GC tiap %,d baris (MB): %s%n", SAMPLE_EVERY,
+                sampler.samples.stream().map(bytes -> bytes / (1024 * 1024)).toList());
+        assertTrue(heap.getMax() - heap.getMin() < MAX_HEAP_GROWTH,
+                "heap tumbuh " + (heap.getMax() - heap.getMin()) / (1024 * 1024) + " MB selama export");
+    }
+
+    private void seed(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(PRODUCT_COUNT - i));
+            rows.add(new Object[] {
+                    UuidV7.generate(), userId, "Produk " + i, "Kue", 10000.0 + i, i % 50, "Resep, varian " + i,
+                    true, i % 997, ConstUtil.LOW_STOCK_THRESHOLD, i % 50 <= ConstUtil.LOW_STOCK_THRESHOLD,
+                    createdAt, createdAt
+            });
+            if (rows.size() == SEED_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    /** Writer yang membuang isi CSV dan mencatat heap terpakai tiap {@link #SAMPLE_EVERY} baris. */
+    private static final class HeapSampler extends Writer {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final List<Long> samples = new ArrayList<>();
+        private long chars;
+        private long lines;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            chars += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                    System.gc();
+                    samples.add(memory.getHeapMemoryUsage().getUsed());
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bakery.benchmark;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.dto.ImportStatus;
+import com.bakery.entity.Product;
+import com.bakery.service.ProductImportService;
+import com.bakery.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput import CSV (chunk per transaksi, INSERT per JDBC batch) dibandingkan dengan
+ * menyimpan produk satu per satu lewat {@link ProductService#createProduct}.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=ProductImportBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:import-benchmark")
+class ProductImportBenchmark {
+
+    private static final int IMPORT_ROWS = 50_000;
+    private static final int SINGLE_ROWS = 5_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void compareImportPaths() {
+        // Pemanasan JIT untuk kedua jalur
+        importRows(UUID.randomUUID(), 2_000);
+        createRows(UUID.randomUUID(), 500);
+
+        long start = System.nanoTime();
+        createRows(UUID.randomUUID(), SINGLE_ROWS);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        ImportProgress progress = importRows(UUID.randomUUID(), IMPORT_ROWS);
+        double importSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(ImportStatus.COMPLETED, progress.status());
+        assertEquals(IMPORT_ROWS, progress.imported());
+
+        System.out.printf("%n[benchmark] import produk%n");
+        System.out.printf("[benchmark]   createProduct per baris : %,8d baris %8.2f s %,10.0f baris/s%n",
+                SINGLE_ROWS, singleSeconds, SINGLE_ROWS / singleSeconds);
+        System.out.printf("[benchmark]   import CSV (batch)      : %,8d baris %8.2f s %,10.0f baris/s%n",
+                IMPORT_ROWS, importSeconds, IMPORT_ROWS / importSeconds);
+    }
+
+    private ImportProgress importRows(UUID userId, int rows) {
+        StringBuilder csv = new StringBuilder("product_name,category,price,stock,description\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Produk ").append(i).append(",Kue ").append(i % 20).append(',').append(10000 + i)
+                    .append(',').append(i % 50).append(",\"Resep, varian ").append(i).append("\"\n");
+        }
+        return productImportService.importCsv(userId, new StringReader(csv.toString()));
+    }
+
+    private void createRows(UUID userId, int rows) {
+        for (int i = 0; i < rows; i++) {
+            Product product = new Product();
+            product.setProductName("Produk " + i);
+            product.setCategory("Kue " + (i % 20));
+            product.setPrice(10000.0 + i);
+            product.setStock(i % 50);
+            product.setDescription("Resep, varian " + i);
+            product.setSoldCount(0);
+            productService.createProduct(product, userId);
+        }
+    }
+}
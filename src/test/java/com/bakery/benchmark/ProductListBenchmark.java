@@ -0,0 +1,124 @@
+package com.bakery.benchmark;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.entity.Product;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Membandingkan satu halaman daftar produk sebagai entitas (ikut membaca description CLOB)
+ * dengan projection {@link ProductListItem}, untuk produk dengan deskripsi resep panjang.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=ProductListBenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+class ProductListBenchmark {
+
+    private static final int PRODUCT_COUNT = 20_000;
+    private static final int DESCRIPTION_LENGTH = 8_000;
+    private static final int PAGE_SIZE = ConstUtil.MAX_PAGE_SIZE;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seed() {
+        userId = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String description = "Resep: tepung, mentega, gula. ".repeat(DESCRIPTION_LENGTH / 30);
+        List<Object[]> rows = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            rows.add(new Object[] {
+                    UUID.randomUUID(), userId, "Produk " + i, "Kue", 10000.0 + i, i % 50, description,
+                    true, i % 997, ConstUtil.LOW_STOCK_THRESHOLD, i % 50 <= ConstUtil.LOW_STOCK_THRESHOLD,
+                    Timestamp.valueOf(now.toLocalDateTime().minusSeconds(i)), now
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void compareListPaths() {
+        long[] entities = measure(this::entityPage);
+        long[] items = measure(this::listItemPage);
+
+        assertEquals(PAGE_SIZE, entities[2]);
+        assertEquals(PAGE_SIZE, items[2]);
+
+        System.out.printf("%n[benchmark] daftar produk, %d baris/halaman, deskripsi %,d karakter%n",
+                PAGE_SIZE, DESCRIPTION_LENGTH);
+        System.out.printf("[benchmark]   entitas Product  : %8.2f ms/op %,12d byte/op%n",
+                entities[0] / 1_000_000.0, entities[1]);
+        System.out.printf("[benchmark]   ProductListItem  : %8.2f ms/op %,12d byte/op%n",
+                items[0] / 1_000_000.0, items[1]);
+    }
+
+    /** Jalur lama: entitas lengkap, termasuk description. */
+    private Long entityPage() {
+        List<Product> products = entityManager.createQuery(
+                "SELECT p FROM Product p WHERE p.userId = :userId ORDER BY p.createdAt DESC", Product.class)
+                .setParameter("userId", userId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        // Template membaca nama tiap produk; description ikut dimuat walau tidak ditampilkan
+        return products.stream().filter(p -> p.getProductName() != null).count();
+    }
+
+    private Long listItemPage() {
+        return (long) productRepository.findByUserId(userId,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))).getNumberOfElements();
+    }
+
+    /** @return {rata-rata nanodetik per operasi, rata-rata byte dialokasikan per operasi, hasil terakhir} */
+    private long[] measure(Supplier<Long> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long result = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = operation.get();
+            entityManager.clear();
+        }
+        long elapsed = 0;
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = operation.get();
+            elapsed += System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            entityManager.clear();
+        }
+        return new long[] { elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS, result };
+    }
+}
@@ -0,0 +1,115 @@
+package com.bakery.benchmark;
+
+import com.bakery.service.ProductSearchService;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latensi pencarian teks untuk satu user dengan 100.000 produk: waktu membangun indeks dari tabel,
+ * lalu median dan p99 per jenis query (kata utuh, prefix pendek, beberapa kata, halaman jauh).
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=ProductSearchBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-benchmark",
+        "bakery.cache.enabled=false"
+})
+class ProductSearchBenchmark {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final int ROUNDS = 200;
+    private static final double MAX_MEDIAN_MS = 10;
+
+    private static final String[] KINDS = { "Roti", "Kue", "Bolu", "Donat", "Croissant", "Pie", "Lapis",
+            "Brownies", "Cookies", "Tart", "Muffin", "Bagel" };
+    private static final String[] FLAVORS = { "Keju", "Coklat", "Pandan", "Stroberi", "Susu", "Mentega",
+            "Kacang", "Pisang", "Abon", "Sosis", "Blueberry", "Kismis", "Wijen", "Karamel" };
+    private static final String[] CATEGORIES = { "Roti", "Kue", "Pastry", "Kering", "Tart" };
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchHundredThousandProducts() {
+        UUID userId = UUID.randomUUID();
+        seed(userId);
+
+        long start = System.nanoTime();
+        productSearchService.rebuild();
+        System.out.printf("%n[benchmark] indeks %,d produk dibangun dalam %,d ms%n", PRODUCT_COUNT,
+                (System.nanoTime() - start) / 1_000_000);
+
+        measure(userId, "keju", 0);
+        measure(userId, "c", 0);
+        measure(userId, "roti coklat", 0);
+        measure(userId, "kue susu wij", 0);
+        measure(userId, "karamel", 100);
+    }
+
+    private void measure(UUID userId, String query, int page) {
+        PageRequest pageable = PageRequest.of(page, ConstUtil.DEFAULT_PAGE_SIZE);
+        for (int i = 0; i < ROUNDS; i++) {
+            productSearchService.search(userId, query, pageable);
+        }
+        double[] millis = new double[ROUNDS];
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            total = productSearchService.search(userId, query, pageable).getTotalElements();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[ROUNDS / 2];
+        System.out.printf("[benchmark]   %-16s halaman %3d: %,7d cocok, median %6.2f ms, p99 %6.2f ms%n",
+                '"' + query + '"', page, total, median, millis[ROUNDS * 99 / 100]);
+        assertTrue(median < MAX_MEDIAN_MS, "median " + median + " ms untuk \"" + query + "\"");
+    }
+
+    private void seed(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String kind = KINDS[i % KINDS.length];
+            String flavor = FLAVORS[(i / KINDS.length) % FLAVORS.length];
+            String extra = FLAVORS[(i * 7 + 3) % FLAVORS.length];
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(PRODUCT_COUNT - i));
+            rows.add(new Object[] {
+                    UuidV7.generate(), userId, kind + " " + flavor + " " + i, CATEGORIES[i % CATEGORIES.length],
+                    10000.0 + i, i % 50, "Resep varian " + i + " dengan taburan " + extra.toLowerCase(),
+                    true, i % 997, ConstUtil.LOW_STOCK_THRESHOLD, i % 50 <= ConstUtil.LOW_STOCK_THRESHOLD,
+                    createdAt, createdAt
+            });
+            if (rows.size() == SEED_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bakery.benchmark;
+
+import com.bakery.service.ProductSuggestionService;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latensi saran nama produk per ketikan untuk satu user dengan 100.000 produk: prefix satu huruf
+ * sampai beberapa kata, termasuk prefix yang tidak cocok dengan apa pun. Waktu memuat indeks dari
+ * database (sekali per user aktif) dicatat terpisah.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=ProductSuggestionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:suggest-benchmark",
+        "bakery.cache.enabled=false"
+})
+class ProductSuggestionBenchmark {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final int WARMUP = 20_000;
+    private static final int SAMPLES = 50_000;
+    private static final double MAX_P99_MS = 2;
+
+    private static final String[] KINDS = { "Roti", "Kue", "Bolu", "Donat", "Croissant", "Pie", "Lapis",
+            "Brownies", "Cookies", "Tart", "Muffin", "Bagel" };
+    private static final String[] FLAVORS = { "Keju", "Coklat", "Pandan", "Stroberi", "Susu", "Mentega",
+            "Kacang", "Pisang", "Abon", "Sosis", "Blueberry", "Kismis", "Wijen", "Karamel" };
+    private static final String[] QUERIES = { "r", "ro", "rot", "roti", "roti k", "k", "ke", "kej", "keju 1",
+            "c", "cr", "croi", "9", "12", "b", "bl", "blue", "zz" };
+
+    @Autowired
+    private ProductSuggestionService productSuggestionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void suggestHundredThousandProducts() {
+        UUID userId = UUID.randomUUID();
+        seed(userId);
+
+        long start = System.nanoTime();
+        productSuggestionService.suggest(userId, "roti", ConstUtil.SUGGEST_DEFAULT_LIMIT);
+        System.out.printf("%n[benchmark] indeks saran %,d produk dimuat dalam %,d ms%n", PRODUCT_COUNT,
+                (System.nanoTime() - start) / 1_000_000);
+
+        for (int i = 0; i < WARMUP; i++) {
+            productSuggestionService.suggest(userId, QUERIES[i % QUERIES.length], ConstUtil.SUGGEST_DEFAULT_LIMIT);
+        }
+        double[] millis = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            start = System.nanoTime();
+            productSuggestionService.suggest(userId, QUERIES[i % QUERIES.length], ConstUtil.SUGGEST_DEFAULT_LIMIT);
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double p99 = millis[SAMPLES * 99 / 100];
+        System.out.printf("[benchmark]   %,d saran: median %.4f ms, p99 %.4f ms, p99.9 %.4f ms%n", SAMPLES,
+                millis[SAMPLES / 2], p99, millis[SAMPLES * 999 / 1000]);
+        assertTrue(p99 < MAX_P99_MS, "p99 " + p99 + " ms");
+    }
+
+    private void seed(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String name = KINDS[i % KINDS.length] + " " + FLAVORS[(i / KINDS.length) % FLAVORS.length] + " " + i;
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(PRODUCT_COUNT - i));
+            rows.add(new Object[] {
+                    UuidV7.generate(), userId, name, "Kue", 10000.0 + i, i % 50, null, true, 0,
+                    ConstUtil.LOW_STOCK_THRESHOLD, i % 50 <= ConstUtil.LOW_STOCK_THRESHOLD, createdAt, createdAt
+            });
+            if (rows.size() == SEED_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package com.bakery.benchmark;
+
+import com.bakery.util.UuidV7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Membandingkan throughput INSERT dengan primary key UUID v4 (acak) dan UUID v7 (urut waktu)
+ * pada database H2 file (MVStore) dengan cache yang lebih kecil dari index-nya.
+ *
+ * Jalankan dengan: mvn test -Pbenchmark -Dtest=UuidInsertBenchmark
+ */
+@Tag("benchmark")
+class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COMMIT_EVERY = 10_000;
+    // Dalam KB; sengaja kecil agar perbedaan lokalitas page B-tree terlihat
+    private static final int CACHE_SIZE_KB = 16_384;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1_000_000, 3_000_000 })
+    void compareInsertThroughput(int rows) throws SQLException {
+        System.out.printf("%n[benchmark] insert %,d baris dengan primary key UUID%n", rows);
+        report("v4 acak   ", rows, insert("random-" + rows, rows, UUID::randomUUID));
+        report("v7 urut   ", rows, insert("ordered-" + rows, rows, UuidV7::generate));
+    }
+
+    private long insert(String name, int rows, Supplier<UUID> ids) throws SQLException {
+        String url = "jdbc:h2:file:" + directory.resolve(name) + ";CACHE_SIZE=" + CACHE_SIZE_KB;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE items (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                        + "name VARCHAR(100) NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+
+            UUID userId = UUID.randomUUID();
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO items (id, user_id, name) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setObject(2, userId);
+                    insert.setString(3, "Produk " + i);
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                    if (i % COMMIT_EVERY == 0) {
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            try (Statement statement = connection.createStatement();
+                    ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+                count.next();
+                assertEquals(rows, count.getInt(1));
+            }
+            return elapsed;
+        }
+    }
+
+    private static void report(String label, int rows, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("[benchmark]   %s : %8.2f s | %,12.0f baris/s%n", label, seconds, rows / seconds);
+    }
+}
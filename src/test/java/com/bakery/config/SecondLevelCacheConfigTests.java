@@ -0,0 +1,62 @@
+package com.bakery.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondLevelCacheConfigTest {
+
+    @Test
+    void testEnabled() {
+        SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+        try (CacheManager cacheManager = config.secondLevelCacheManager()) {
+            Map<String, Object> properties = new HashMap<>();
+            config.secondLevelCacheCustomizer(true, cacheManager).customize(properties);
+
+            assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+            assertEquals(true, properties.get(AvailableSettings.USE_QUERY_CACHE));
+            assertEquals(true, properties.get(AvailableSettings.GENERATE_STATISTICS));
+            assertEquals("jcache", properties.get(AvailableSettings.CACHE_REGION_FACTORY));
+            assertSame(cacheManager, properties.get("hibernate.javax.cache.cache_manager"));
+            assertEquals("fail", properties.get("hibernate.javax.cache.missing_cache_strategy"));
+        }
+    }
+
+    @Test
+    void testRegionsAreConfigured() {
+        try (CacheManager cacheManager = new SecondLevelCacheConfig().secondLevelCacheManager()) {
+            for (String region : new String[] { "products", "users", "default-query-results-region",
+                    "default-update-timestamps-region" }) {
+                assertNotNull(cacheManager.getCache(region), region);
+            }
+        }
+    }
+
+    @Test
+    void testCacheManagerPerContext() {
+        SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+        try (CacheManager first = config.secondLevelCacheManager();
+                CacheManager second = config.secondLevelCacheManager()) {
+            assertNotSame(first, second);
+            assertNotSame(first.getCache("products"), second.getCache("products"));
+            first.close();
+            assertFalse(second.isClosed());
+            assertNotNull(second.getCache("products"));
+        }
+    }
+
+    @Test
+    void testDisabled() {
+        Map<String, Object> properties = new HashMap<>();
+        SecondLevelCacheConfig.apply(properties, false, null);
+
+        assertEquals(false, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(false, properties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertFalse(properties.containsKey(AvailableSettings.CACHE_REGION_FACTORY));
+    }
+}
@@ -0,0 +1,58 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CacheRegionStats;
+import com.bakery.service.EntityCacheService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheApiControllerTest {
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @Mock
+    private HttpSession session;
+
+    private CacheApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new CacheApiController(entityCacheService);
+    }
+
+    @Test
+    void testGetStats_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<List<CacheRegionStats>> response = controller.getStats(session);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(entityCacheService);
+    }
+
+    @Test
+    void testGetStats_Success() {
+        when(session.getAttribute("userId")).thenReturn(UUID.randomUUID());
+        List<CacheRegionStats> stats = List.of(CacheRegionStats.of("com.bakery.entity.Product", 3, 1, 1));
+        when(entityCacheService.stats()).thenReturn(stats);
+
+        ResponseEntity<List<CacheRegionStats>> response = controller.getStats(session);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+        assertEquals(0.75, response.getBody().get(0).hitRatio());
+    }
+}
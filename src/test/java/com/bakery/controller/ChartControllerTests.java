@@ -1,7 +1,18 @@
 package com.bakery.controller;
 
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
 import com.bakery.entity.Product;
+import com.bakery.entity.ProductSummary;
+import com.bakery.service.DashboardSectionRunner;
+import com.bakery.service.DashboardSnapshotService;
+import com.bakery.service.DashboardSummaryService;
 import com.bakery.service.ProductService;
+import com.bakery.service.SalesHistoryService;
+import com.bakery.util.ConstUtil;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +22,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ui.Model;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +32,12 @@ class ChartControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private SalesHistoryService salesHistoryService;
+
     @Mock
     private Model model;
 
@@ -30,293 +46,217 @@ class ChartControllerTest {
 
     private ChartController chartController;
     private UUID userId;
-    private List<Product> mockProducts;
 
     @BeforeEach
     void setUp() {
-        chartController = new ChartController(productService);
+        // Snapshot mode nonaktif: setiap request dihitung langsung dari service yang di-mock
+        DashboardSnapshotService snapshotService = new DashboardSnapshotService(productService,
+                dashboardSummaryService, salesHistoryService, new DashboardSectionRunner(Runnable::run, 1_000L),
+                false, 30_000L, 900_000L);
+        chartController = new ChartController(snapshotService, dashboardSummaryService);
         userId = UUID.randomUUID();
+    }
+
+    private ProductListItem product(String name, Integer stock, Integer soldCount) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setProductName(name);
+        product.setStock(stock);
+        product.setSoldCount(soldCount);
+        product.setIsAvailable(true);
+        return ProductListItem.of(product);
+    }
+
+    private void stubStatistics(long total, long available, long lowStock, long totalSold) {
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(total);
+        summary.setAvailableProducts(available);
+        summary.setLowStockProducts(lowStock);
+        summary.setTotalSold(totalSold);
+        when(dashboardSummaryService.getSummary(userId)).thenReturn(summary);
+        stubSalesHistory(SalesPeriod.TODAY);
+    }
 
-        mockProducts = new ArrayList<>();
-        for (int i = 1; i <= 10; i++) {
-            Product product = new Product();
-            product.setId(UUID.randomUUID());
-            product.setProductName("Product " + i);
-            product.setPrice(1000.0 * i);
-            product.setStock(i * 5);
-            product.setSoldCount(i * 2);
-            product.setIsAvailable(true);
-            mockProducts.add(product);
-        }
+    private void stubSalesHistory(SalesPeriod period) {
+        when(salesHistoryService.getSeries(userId, period))
+                .thenReturn(new SalesSeries(period, List.of("08:00", "09:00"), List.of(0L, 4L)));
+        when(salesHistoryService.getCategoryTotals(userId, period))
+                .thenReturn(List.of(new CategorySales("Kue", 4L)));
     }
 
     @Test
     void testShowDashboard_NoSession_RedirectsToLogin() {
         when(session.getAttribute("userId")).thenReturn(null);
 
-        String viewName = chartController.showDashboard(model, session);
+        String viewName = chartController.showDashboard(model, session, null, null);
 
         assertEquals("redirect:/login", viewName);
-        verify(productService, never()).getProductsByUserId(any());
+        verifyNoInteractions(productService, dashboardSummaryService, salesHistoryService);
     }
 
     @Test
     void testShowDashboard_WithSession() {
         when(session.getAttribute("userId")).thenReturn(userId);
-        when(productService.getProductsByUserId(userId)).thenReturn(mockProducts);
+        stubStatistics(10L, 8L, 2L, 110L);
 
-        String viewName = chartController.showDashboard(model, session);
+        List<ProductListItem> bestSelling = List.of(product("P10", 50, 20), product("P9", 45, 18));
+        List<ProductListItem> lowStock = List.of(product("P1", 5, 2), product("P2", 10, 4));
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT)).thenReturn(bestSelling);
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(lowStock);
 
-        assertEquals("dashboard", viewName);
+        String viewName = chartController.showDashboard(model, session, null, null);
 
-        // Verify statistics
+        assertEquals("dashboard", viewName);
         verify(model).addAttribute("totalProducts", 10L);
-        verify(model).addAttribute("availableProducts", 10L);
-        verify(model).addAttribute(eq("totalSold"), anyInt());
-
-        // Verify best selling products
-        List<Product> bestSelling = mockProducts.stream()
-                .sorted((p1, p2) -> Integer.compare(
-                        p2.getSoldCount() != null ? p2.getSoldCount() : 0,
-                        p1.getSoldCount() != null ? p1.getSoldCount() : 0))
-                .limit(5)
-                .collect(Collectors.toList());
+        verify(model).addAttribute("availableProducts", 8L);
+        verify(model).addAttribute("lowStockProducts", 2L);
+        verify(model).addAttribute("totalSold", 110L);
 
+        verify(model).addAttribute("bestSellingLimit", ConstUtil.DASHBOARD_TOP_LIMIT);
         verify(model).addAttribute("bestSellingProducts", bestSelling);
+        verify(model).addAttribute("bestSellingLabels", List.of("P10", "P9"));
+        verify(model).addAttribute("bestSellingData", List.of(20, 18));
 
-        // Verify low stock products
-        List<Product> lowStock = mockProducts.stream()
-                .filter(p -> p.getStock() != null && p.getStock() <= 10)
-                .collect(Collectors.toList());
-
+        verify(model).addAttribute("lowStockLimit", ConstUtil.DASHBOARD_LOW_STOCK_LIMIT);
         verify(model).addAttribute("lowStockProductsList", lowStock);
+        verify(model).addAttribute("lowStockLabels", List.of("P1", "P2"));
+        verify(model).addAttribute("lowStockData", List.of(5, 10));
+
+        verify(productService, never()).getProductsByUserId(any());
     }
 
     @Test
     void testShowDashboard_EmptyProducts() {
         when(session.getAttribute("userId")).thenReturn(userId);
-        when(productService.getProductsByUserId(userId)).thenReturn(Collections.emptyList());
+        stubStatistics(0L, 0L, 0L, 0L);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenReturn(Collections.emptyList());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
 
-        String viewName = chartController.showDashboard(model, session);
+        String viewName = chartController.showDashboard(model, session, null, null);
 
         assertEquals("dashboard", viewName);
         verify(model).addAttribute("totalProducts", 0L);
         verify(model).addAttribute("availableProducts", 0L);
         verify(model).addAttribute("lowStockProducts", 0L);
-        verify(model).addAttribute("totalSold", 0);
-
-        verify(model).addAttribute(eq("bestSellingProducts"), any(List.class));
-        verify(model).addAttribute(eq("lowStockProductsList"), any(List.class));
+        verify(model).addAttribute("totalSold", 0L);
+        verify(model).addAttribute("bestSellingLabels", Collections.emptyList());
+        verify(model).addAttribute("lowStockLabels", Collections.emptyList());
     }
 
     @Test
-    void testShowDashboard_WithNullValues() {
+    void testShowDashboard_NullSoldCountMappedToZero() {
         when(session.getAttribute("userId")).thenReturn(userId);
+        stubStatistics(1L, 1L, 0L, 0L);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenReturn(List.of(product("P1", 20, null)));
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
 
-        List<Product> productsWithNulls = new ArrayList<>();
-        Product product1 = new Product();
-        product1.setProductName("Product 1");
-        product1.setStock(null);
-        product1.setSoldCount(null);
-        product1.setIsAvailable(null);
-        productsWithNulls.add(product1);
-
-        when(productService.getProductsByUserId(userId)).thenReturn(productsWithNulls);
+        chartController.showDashboard(model, session, null, null);
 
-        String viewName = chartController.showDashboard(model, session);
-
-        assertEquals("dashboard", viewName);
-        verify(model).addAttribute("totalProducts", 1L);
-        verify(model).addAttribute("availableProducts", 0L); // null considered as not available
-        verify(model).addAttribute("lowStockProducts", 0L); // null stock not considered low
-        verify(model).addAttribute("totalSold", 0);
+        verify(model).addAttribute("bestSellingData", List.of(0));
     }
 
     @Test
-    void testShowDashboard_WithMixedNullSoldCounts() {
+    void testShowDashboard_TopParameter() {
         when(session.getAttribute("userId")).thenReturn(userId);
+        stubStatistics(0L, 0L, 0L, 0L);
+        when(productService.getBestSellingProducts(userId, 20)).thenReturn(Collections.emptyList());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
 
-        List<Product> products = new ArrayList<>();
-
-        // Product with null soldCount
-        Product product1 = new Product();
-        product1.setProductName("Product 1");
-        product1.setSoldCount(null);
-        product1.setStock(20);
-        product1.setIsAvailable(true);
-        products.add(product1);
-
-        // Product with non-null soldCount
-        Product product2 = new Product();
-        product2.setProductName("Product 2");
-        product2.setSoldCount(10);
-        product2.setStock(20);
-        product2.setIsAvailable(true);
-        products.add(product2);
-
-        when(productService.getProductsByUserId(userId)).thenReturn(products);
+        chartController.showDashboard(model, session, 20, null);
 
-        String viewName = chartController.showDashboard(model, session);
-
-        assertEquals("dashboard", viewName);
-        verify(model).addAttribute("totalProducts", 2L);
-        verify(model).addAttribute("totalSold", 10); // Only product2's soldCount
+        verify(model).addAttribute("bestSellingLimit", 20);
+        verify(model).addAttribute("bestSellingLimitOptions", ConstUtil.DASHBOARD_TOP_OPTIONS);
     }
 
     @Test
-    void testShowDashboard_WithMixedNullStocks() {
+    void testShowDashboard_SalesHistory() {
         when(session.getAttribute("userId")).thenReturn(userId);
+        ProductSummary summary = new ProductSummary();
+        when(dashboardSummaryService.getSummary(userId)).thenReturn(summary);
+        stubSalesHistory(SalesPeriod.WEEK);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenReturn(Collections.emptyList());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
+
+        chartController.showDashboard(model, session, null, "week");
+
+        verify(model).addAttribute("salesPeriod", "week");
+        verify(model).addAttribute("salesLabels", List.of("08:00", "09:00"));
+        verify(model).addAttribute("salesData", List.of(0L, 4L));
+        verify(model).addAttribute("salesCategories", List.of(new CategorySales("Kue", 4L)));
+    }
 
-        List<Product> products = new ArrayList<>();
-
-        // Product with null stock
-        Product product1 = new Product();
-        product1.setProductName("Product 1");
-        product1.setSoldCount(5);
-        product1.setStock(null);
-        product1.setIsAvailable(true);
-        products.add(product1);
-
-        // Product with low stock
-        Product product2 = new Product();
-        product2.setProductName("Product 2");
-        product2.setSoldCount(10);
-        product2.setStock(5); // Low stock <= 10
-        product2.setIsAvailable(true);
-        products.add(product2);
+    @Test
+    void testShowDashboard_CategoryBreakdown() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+        stubSalesHistory(SalesPeriod.TODAY);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenReturn(Collections.emptyList());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
+        List<CategoryBreakdown> breakdown = List.of(
+                new CategoryBreakdown("Roti", 2, 30, 15, 450000.0),
+                new CategoryBreakdown("Kue", 3, 10, 40, 150000.0));
+        when(productService.getCategoryBreakdown(userId)).thenReturn(breakdown);
+
+        chartController.showDashboard(model, session, null, null);
+
+        verify(model).addAttribute("categoryBreakdown", breakdown);
+    }
 
-        when(productService.getProductsByUserId(userId)).thenReturn(products);
+    @Test
+    void testShowDashboard_RecentProductsAndPlaceholders() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        stubStatistics(2, 2, 0, 0);
+        ProductListItem recent = product("Croissant", 20, 0);
+        when(productService.getRecentProducts(userId, ConstUtil.DASHBOARD_RECENT_LIMIT)).thenReturn(List.of(recent));
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenThrow(new IllegalStateException("query timeout"));
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(Collections.emptyList());
 
-        String viewName = chartController.showDashboard(model, session);
+        String viewName = chartController.showDashboard(model, session, null, null);
 
         assertEquals("dashboard", viewName);
-        verify(model).addAttribute("lowStockProducts", 1L); // Only product2 has low stock
+        verify(model).addAttribute("recentProducts", List.of(recent));
+        verify(model).addAttribute("unavailableSections", Set.of("best-selling"));
+        verify(model).addAttribute("bestSellingLabels", Collections.emptyList());
+        verify(model).addAttribute("totalProducts", 2L);
     }
 
     @Test
-    void testShowDashboard_CoverageAllBranches() {
-        when(session.getAttribute("userId")).thenReturn(userId);
-
-        List<Product> products = new ArrayList<>();
-
-        // 1. Available=False | Stock=20 | Sold=Null
-        Product p1 = new Product();
-        p1.setProductName("P1");
-        p1.setIsAvailable(false);
-        p1.setStock(20);
-        p1.setSoldCount(null);
-        products.add(p1);
-
-        // 2. Available=True | Stock=10 (Boundary Low) | Sold=5
-        Product p2 = new Product();
-        p2.setProductName("P2");
-        p2.setIsAvailable(true);
-        p2.setStock(10);
-        p2.setSoldCount(5);
-        products.add(p2);
-
-        // 3. Available=True | Stock=11 (Boundary High) | Sold=10
-        Product p3 = new Product();
-        p3.setProductName("P3");
-        p3.setIsAvailable(true);
-        p3.setStock(11);
-        p3.setSoldCount(10);
-        products.add(p3);
-
-        // 4. Available=Null | Stock=Null | Sold=Null
-        Product p4 = new Product();
-        p4.setProductName("P4");
-        p4.setIsAvailable(null);
-        p4.setStock(null);
-        p4.setSoldCount(null);
-        products.add(p4);
-
-        // 5. Available=True | Stock=5 | Sold=Null
-        Product p5 = new Product();
-        p5.setProductName("P5");
-        p5.setIsAvailable(true);
-        p5.setStock(5);
-        p5.setSoldCount(null);
-        products.add(p5);
-
-        when(productService.getProductsByUserId(userId)).thenReturn(products);
-
-        String viewName = chartController.showDashboard(model, session);
+    void testResolveTopLimit() {
+        assertEquals(5, ChartController.resolveTopLimit(null));
+        assertEquals(5, ChartController.resolveTopLimit(5));
+        assertEquals(10, ChartController.resolveTopLimit(10));
+        assertEquals(20, ChartController.resolveTopLimit(20));
+        assertEquals(ConstUtil.DASHBOARD_TOP_LIMIT, ChartController.resolveTopLimit(7));
+        assertEquals(ConstUtil.DASHBOARD_TOP_LIMIT, ChartController.resolveTopLimit(1000));
+    }
 
-        assertEquals("dashboard", viewName);
+    @Test
+    void testRebuildSummary_NoSession_RedirectsToLogin() {
+        when(session.getAttribute("userId")).thenReturn(null);
 
-        // Assertions to ensure calculation logic runs
-        verify(model).addAttribute(eq("totalProducts"), eq(5L));
-        // Available: P2, P3, P5 (P1 false, P4 null) -> 3
-        verify(model).addAttribute(eq("availableProducts"), eq(3L));
-        // Low Stock (<=10): P2(10), P5(5) (P1 20, P3 11, P4 null) -> 2
-        verify(model).addAttribute(eq("lowStockProducts"), eq(2L));
-        // Total Sold: 5 + 10 = 15
-        verify(model).addAttribute(eq("totalSold"), eq(15));
+        assertEquals("redirect:/login", chartController.rebuildSummary(session));
+        verifyNoInteractions(dashboardSummaryService);
     }
 
     @Test
-    void testShowDashboard_DetailedComparatorAndFilterCoverage() {
+    void testRebuildSummary_Consistent() {
         when(session.getAttribute("userId")).thenReturn(userId);
+        when(dashboardSummaryService.verifyAndRepair(userId)).thenReturn(true);
 
-        List<Product> products = new ArrayList<>();
-
-        // 1. Base Product
-        Product p1 = new Product();
-        p1.setProductName("P1");
-        p1.setSoldCount(10);
-        p1.setStock(5);
-        p1.setIsAvailable(true);
-        products.add(p1);
-
-        // 2. Exact Duplicate Values for Comparator EQUALITY Check (Sold=10, Stock=5)
-        Product p2 = new Product();
-        p2.setProductName("P2");
-        p2.setSoldCount(10);
-        p2.setStock(5);
-        p2.setIsAvailable(true);
-        products.add(p2);
-
-        // 3. Different Sold, Same Stock (Sold=5, Stock=5) - Tests Stock Equality
-        Product p3 = new Product();
-        p3.setProductName("P3");
-        p3.setSoldCount(5);
-        p3.setStock(5);
-        p3.setIsAvailable(true);
-        products.add(p3);
-
-        // 4. Null Values - Tests Null Handling in Comparators/Maps
-        Product p4 = new Product();
-        p4.setProductName("P4");
-        p4.setSoldCount(null);
-        p4.setStock(null);
-        p4.setIsAvailable(true);
-        products.add(p4);
-
-        // 5. Zero Values
-        Product p5 = new Product();
-        p5.setProductName("P5");
-        p5.setSoldCount(0);
-        p5.setStock(0);
-        p5.setIsAvailable(true);
-        products.add(p5);
-
-        // 6. High Stock (Not Low Stock)
-        Product p6 = new Product();
-        p6.setProductName("P6");
-        p6.setSoldCount(20);
-        p6.setStock(20);
-        p6.setIsAvailable(true);
-        products.add(p6);
-
-        when(productService.getProductsByUserId(userId)).thenReturn(products);
-
-        String viewName = chartController.showDashboard(model, session);
+        assertEquals("redirect:/dashboard", chartController.rebuildSummary(session));
+    }
 
-        assertEquals("dashboard", viewName);
+    @Test
+    void testRebuildSummary_Repaired() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(dashboardSummaryService.verifyAndRepair(userId)).thenReturn(false);
 
-        // Verify the logic ran without exceptions and attributes are present
-        verify(model).addAttribute(eq("bestSellingProducts"), any(List.class));
-        verify(model).addAttribute(eq("lowStockProductsList"), any(List.class));
+        assertEquals("redirect:/dashboard?summaryRebuilt=true", chartController.rebuildSummary(session));
     }
 }
@@ -0,0 +1,99 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CheckoutLine;
+import com.bakery.dto.CheckoutRequest;
+import com.bakery.dto.Receipt;
+import com.bakery.dto.ReceiptLine;
+import com.bakery.service.CheckoutException;
+import com.bakery.service.CheckoutService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutApiControllerTest {
+
+    @Mock
+    private CheckoutService checkoutService;
+
+    @Mock
+    private HttpSession session;
+
+    private CheckoutApiController controller;
+    private UUID userId;
+    private CheckoutRequest request;
+
+    @BeforeEach
+    void setUp() {
+        controller = new CheckoutApiController(checkoutService);
+        userId = UUID.randomUUID();
+        request = new CheckoutRequest(List.of(new CheckoutLine(UUID.randomUUID(), 2)));
+    }
+
+    @Test
+    void testCheckout_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<Object> response = controller.checkout(request, session);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void testCheckout_Success() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        UUID productId = request.lines().get(0).productId();
+        Receipt receipt = new Receipt(List.of(new ReceiptLine(productId, "Roti", 2, 15000.0, 30000.0)),
+                2, 30000.0, LocalDateTime.now());
+        when(checkoutService.checkout(userId, request.lines())).thenReturn(receipt);
+
+        ResponseEntity<Object> response = controller.checkout(request, session);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(receipt, response.getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckout_InvalidBasket() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(checkoutService.checkout(userId, request.lines()))
+                .thenThrow(new IllegalArgumentException("Keranjang kosong"));
+
+        ResponseEntity<Object> response = controller.checkout(request, session);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        assertEquals("Keranjang kosong", body.get("error"));
+        assertEquals(List.of(), body.get("problems"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckout_Rejected() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(checkoutService.checkout(userId, request.lines()))
+                .thenThrow(new CheckoutException(List.of("Roti: stok 1, diminta 2")));
+
+        ResponseEntity<Object> response = controller.checkout(request, session);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        assertEquals("Checkout ditolak: Roti: stok 1, diminta 2", body.get("error"));
+        assertEquals(List.of("Roti: stok 1, diminta 2"), body.get("problems"));
+    }
+}
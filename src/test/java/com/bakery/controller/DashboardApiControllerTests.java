@@ -0,0 +1,251 @@
+package com.bakery.controller;
+
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.dto.SectionStats;
+import com.bakery.service.DashboardSectionRunner;
+import com.bakery.service.DataVersionService;
+import com.bakery.service.ProductService;
+import com.bakery.service.SalesHistoryService;
+import com.bakery.util.ConstUtil;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardApiControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private SalesHistoryService salesHistoryService;
+
+    @Mock
+    private HttpSession session;
+
+    private DataVersionService dataVersionService;
+    private DashboardSectionRunner sectionRunner;
+    private DashboardApiController controller;
+    private UUID userId;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(1L);
+        sectionRunner = new DashboardSectionRunner(Runnable::run, 1_000L);
+        controller = new DashboardApiController(productService, dataVersionService, salesHistoryService,
+                sectionRunner);
+        userId = UUID.randomUUID();
+        servletRequest = new MockHttpServletRequest("GET", "/api/dashboard/charts");
+        servletResponse = new MockHttpServletResponse();
+    }
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(servletRequest, servletResponse);
+    }
+
+    private ProductListItem product(String name, Integer stock, Integer sold) {
+        return product(name, stock, sold, ConstUtil.LOW_STOCK_THRESHOLD);
+    }
+
+    private ProductListItem product(String name, Integer stock, Integer sold, Integer lowStockThreshold) {
+        return new ProductListItem(UUID.randomUUID(), name, "Kue", 10000.0, stock, true, sold, null,
+                stock <= lowStockThreshold, lowStockThreshold, LocalDateTime.of(2024, 5, 1, 8, 0));
+    }
+
+    @Test
+    void testGetChartData_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<Map<String, Object>> response = controller.getChartData(session, webRequest(), null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetChartData_ReturnsSeriesWithEtag() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT))
+                .thenReturn(List.of(product("Bolu", 30, 12), product("Pie", 30, null)));
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(List.of(product("Tart", 2, 1)));
+
+        ResponseEntity<Map<String, Object>> response = controller.getChartData(session, webRequest(), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(dataVersionService.etag(userId, "charts-top5"), response.getHeaders().getETag());
+        assertEquals(List.of("Bolu", "Pie"), response.getBody().get("bestSellingLabels"));
+        assertEquals(List.of(12, 0), response.getBody().get("bestSellingData"));
+        assertEquals(List.of("Tart"), response.getBody().get("lowStockLabels"));
+        assertEquals(List.of(2), response.getBody().get("lowStockData"));
+    }
+
+    @Test
+    void testGetChartData_TopParameterHasOwnEtag() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        servletRequest.addHeader("If-None-Match", dataVersionService.etag(userId, "charts-top5"));
+        when(productService.getBestSellingProducts(userId, 10)).thenReturn(List.of());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(List.of());
+
+        ResponseEntity<Map<String, Object>> response = controller.getChartData(session, webRequest(), 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(dataVersionService.etag(userId, "charts-top10"), response.getHeaders().getETag());
+        assertEquals(10, response.getBody().get("bestSellingLimit"));
+    }
+
+    @Test
+    void testGetChartData_NotModifiedSkipsDatabase() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        servletRequest.addHeader("If-None-Match", dataVersionService.etag(userId, "charts-top5"));
+
+        ResponseEntity<Map<String, Object>> response = controller.getChartData(session, webRequest(), null);
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetChartData_StaleEtagAfterWrite() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        servletRequest.addHeader("If-None-Match", dataVersionService.etag(userId, "charts-top5"));
+        dataVersionService.bump(userId);
+        when(productService.getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT)).thenReturn(List.of());
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(List.of());
+
+        ResponseEntity<Map<String, Object>> response = controller.getChartData(session, webRequest(), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testGetSalesData_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<Map<String, Object>> response = controller.getSalesData(session, webRequest(), "week");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(salesHistoryService);
+    }
+
+    @Test
+    void testGetSalesData() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(salesHistoryService.getSeries(userId, SalesPeriod.WEEK))
+                .thenReturn(new SalesSeries(SalesPeriod.WEEK, List.of("06/05", "07/05"), List.of(3L, 0L)));
+        when(salesHistoryService.getCategoryTotals(userId, SalesPeriod.WEEK))
+                .thenReturn(List.of(new CategorySales("Roti", 3L)));
+
+        ResponseEntity<Map<String, Object>> response = controller.getSalesData(session, webRequest(), "week");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(dataVersionService.etag(userId, "sales-week-" + LocalDate.now()),
+                response.getHeaders().getETag());
+        assertEquals("week", response.getBody().get("period"));
+        assertEquals(List.of(3L, 0L), response.getBody().get("data"));
+        assertEquals(List.of(new CategorySales("Roti", 3L)), response.getBody().get("categories"));
+    }
+
+    @Test
+    void testGetSalesData_NotModified() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        servletRequest.addHeader("If-None-Match", dataVersionService.etag(userId, "sales-today-" + LocalDate.now()));
+
+        assertNull(controller.getSalesData(session, webRequest(), null));
+        assertEquals(304, servletResponse.getStatus());
+        verifyNoInteractions(salesHistoryService);
+    }
+
+    @Test
+    void testGetLowStockProducts() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        ProductListItem croissant = product("Croissant", 12, 0, 40);
+        when(productService.getLowStockProductsPage(userId, 1, 100))
+                .thenReturn(new PageImpl<>(List.of(croissant), PageRequest.of(1, 100), 101));
+
+        ResponseEntity<Map<String, Object>> response = controller.getLowStockProducts(session, 1, 500);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(101L, response.getBody().get("totalElements"));
+        assertEquals(2, response.getBody().get("totalPages"));
+        List<?> items = (List<?>) response.getBody().get("items");
+        assertEquals(40, ((Map<?, ?>) items.get(0)).get("lowStockThreshold"));
+    }
+
+    @Test
+    void testGetLowStockProducts_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.getLowStockProducts(session, 0, 20).getStatusCode());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetCategoryBreakdown() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        List<CategoryBreakdown> breakdown = List.of(new CategoryBreakdown("Kue", 3, 12, 30, 240000.0));
+        when(productService.getCategoryBreakdown(userId)).thenReturn(breakdown);
+
+        ResponseEntity<List<CategoryBreakdown>> response = controller.getCategoryBreakdown(session, webRequest());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(breakdown, response.getBody());
+        assertEquals(dataVersionService.etag(userId, "categories"), response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetCategoryBreakdown_NotModified() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        servletRequest.addHeader("If-None-Match", dataVersionService.etag(userId, "categories"));
+
+        assertNull(controller.getCategoryBreakdown(session, webRequest()));
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetSectionMetrics() {
+        when(session.getAttribute("userId")).thenReturn(userId);
+        sectionRunner.begin().submit(DashboardSection.SUMMARY, () -> 1).orElse(0);
+
+        ResponseEntity<List<SectionStats>> response = controller.getSectionMetrics(session);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(DashboardSection.values().length, response.getBody().size());
+        SectionStats summary = response.getBody().get(0);
+        assertEquals("summary", summary.section());
+        assertEquals(1L, summary.count());
+    }
+
+    @Test
+    void testGetSectionMetrics_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.getSectionMetrics(session).getStatusCode());
+    }
+}
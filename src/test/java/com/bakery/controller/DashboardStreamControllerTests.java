@@ -0,0 +1,69 @@
+package com.bakery.controller;
+
+import com.bakery.service.DashboardStreamService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStreamControllerTest {
+
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+
+    @Mock
+    private HttpSession session;
+
+    private DashboardStreamController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new DashboardStreamController(dashboardStreamService);
+    }
+
+    @Test
+    void testStream_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<SseEmitter> response = controller.stream(session);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(dashboardStreamService);
+    }
+
+    @Test
+    void testStream_Subscribed() {
+        UUID userId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(dashboardStreamService.subscribe(userId)).thenReturn(Optional.of(emitter));
+
+        ResponseEntity<SseEmitter> response = controller.stream(session);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    @Test
+    void testStream_TooManyConnections() {
+        UUID userId = UUID.randomUUID();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(dashboardStreamService.subscribe(userId)).thenReturn(Optional.empty());
+
+        ResponseEntity<SseEmitter> response = controller.stream(session);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+}
@@ -1,19 +1,31 @@
 package com.bakery.controller;
 
+import com.bakery.dto.ProductCursor;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSort;
 import com.bakery.entity.Product;
+import com.bakery.entity.ProductSummary;
+import com.bakery.service.DashboardSummaryService;
+import com.bakery.service.ProductSearchService;
 import com.bakery.service.ProductService;
+import com.bakery.util.ConstUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.ui.ExtendedModelMap;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import jakarta.servlet.ServletException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +47,12 @@ class ProductControllerTest {
         @MockBean
         private ProductService productService;
 
+        @MockBean
+        private DashboardSummaryService dashboardSummaryService;
+
+        @MockBean
+        private ProductSearchService productSearchService;
+
         @Test
         void testListProducts_unauthenticated() throws Exception {
                 mockMvc.perform(get("/products"))
@@ -48,18 +66,133 @@ class ProductControllerTest {
                 MockHttpSession session = new MockHttpSession();
                 session.setAttribute("userId", userId);
 
-                List<Product> products = new ArrayList<>();
+                List<ProductListItem> products = new ArrayList<>();
                 Product productForList = new Product();
-                productForList.setSoldCount(0); // Set soldCount to avoid null pointer in Thymeleaf aggregation
-                products.add(productForList);
-                when(productService.getProductsByUserId(userId)).thenReturn(products);
+                productForList.setSoldCount(0);
+                products.add(ProductListItem.of(productForList));
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productService.getProductsPage(userId, 0, ConstUtil.DEFAULT_PAGE_SIZE, ProductSort.NEWEST))
+                                .thenReturn(new PageImpl<>(products, PageRequest.of(0, ConstUtil.DEFAULT_PAGE_SIZE), 1));
 
                 mockMvc.perform(get("/products").session(session))
                                 .andExpect(status().isOk())
                                 .andExpect(view().name("products/list"))
-                                .andExpect(model().attributeExists("products"));
+                                .andExpect(model().attributeExists("products", "summary"))
+                                .andExpect(model().attribute("listMode", "page"))
+                                .andExpect(model().attribute("sort", "newest"))
+                                .andExpect(model().attribute("totalPages", 1));
+
+                verify(productService, never()).getProductsByUserId(userId);
+        }
+
+        // Template ada di src/test/main/resources dan tidak ada di classpath test, jadi handler dipanggil
+        // langsung dan yang diperiksa hanya nama view dan model (tanpa render)
+        private ExtendedModelMap listProducts(UUID userId, int page, Integer size, String sort, String mode,
+                        String after, String q) {
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute("userId", userId);
+                ExtendedModelMap model = new ExtendedModelMap();
+                ProductController controller = new ProductController(productService, dashboardSummaryService,
+                                productSearchService);
+                assertEquals("products/list", controller.listProducts(model, session, page, size,
+                                sort, mode, after, q));
+                return model;
+        }
+
+        @Test
+        void testListProducts_pageAndSort() {
+                UUID userId = UUID.randomUUID();
+
+                Product product = new Product();
+                product.setSoldCount(3);
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productService.getProductsPage(userId, 2, 20, ProductSort.PRICE_DESC))
+                                .thenReturn(new PageImpl<>(List.of(ProductListItem.of(product)), PageRequest.of(2, 20), 75));
+
+                ExtendedModelMap model = listProducts(userId, 2, 20, "price-desc", null, null, null);
+
+                assertEquals(2, model.get("currentPage"));
+                assertEquals(4, model.get("totalPages"));
+                assertEquals(75L, model.get("totalElements"));
+                assertEquals("price-desc", model.get("sort"));
+        }
+
+        @Test
+        void testListProducts_keysetMode() {
+                UUID userId = UUID.randomUUID();
+
+                Product last = new Product();
+                last.setId(UUID.randomUUID());
+                last.setCreatedAt(LocalDateTime.of(2024, 5, 1, 9, 30));
+                last.setSoldCount(0);
+                ProductListItem lastItem = ProductListItem.of(last);
+                ProductCursor after = new ProductCursor(LocalDateTime.of(2024, 5, 2, 8, 0), UUID.randomUUID());
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productService.getProductsAfter(userId, after, 5))
+                                .thenReturn(new SliceImpl<>(List.of(lastItem), PageRequest.of(0, 5), true));
+
+                ExtendedModelMap model = listProducts(userId, 0, 5, null, "keyset", after.encode(), null);
+
+                assertEquals("keyset", model.get("listMode"));
+                assertEquals(ProductCursor.of(lastItem).encode(), model.get("nextCursor"));
+        }
+
+        @Test
+        void testListProducts_keysetLastPage() {
+                UUID userId = UUID.randomUUID();
+
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productService.getProductsAfter(userId, null, ConstUtil.DEFAULT_PAGE_SIZE))
+                                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, ConstUtil.DEFAULT_PAGE_SIZE), false));
+
+                ExtendedModelMap model = listProducts(userId, 0, null, null, "keyset", "not-a-cursor", null);
+
+                assertTrue(model.containsAttribute("nextCursor"));
+                assertNull(model.get("nextCursor"));
+        }
+
+        @Test
+        void testListProducts_searchQuery() {
+                UUID userId = UUID.randomUUID();
+
+                // Halaman terakhir: 2 dari 12 hasil (PageImpl menghitung ulang total dari isi halaman terakhir)
+                Product product = new Product();
+                product.setSoldCount(0);
+                ProductListItem item = ProductListItem.of(product);
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productSearchService.search(userId, " croissant ", PageRequest.of(1, 10)))
+                                .thenReturn(new PageImpl<>(List.of(item, item), PageRequest.of(1, 10), 12));
+
+                ExtendedModelMap model = listProducts(userId, 1, 10, "price-desc", null, null, " croissant ");
+
+                assertEquals("search", model.get("listMode"));
+                assertEquals("croissant", model.get("query"));
+                assertEquals(1, model.get("currentPage"));
+                assertEquals(2, model.get("totalPages"));
+                assertEquals(12L, model.get("totalElements"));
+                verify(productService, never()).getProductsPage(any(), anyInt(), anyInt(), any());
+        }
+
+        @Test
+        void testListProducts_blankQueryListsAll() {
+                UUID userId = UUID.randomUUID();
+
+                when(dashboardSummaryService.getSummary(userId)).thenReturn(new ProductSummary());
+                when(productService.getProductsPage(userId, 0, ConstUtil.DEFAULT_PAGE_SIZE, ProductSort.NEWEST))
+                                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, ConstUtil.DEFAULT_PAGE_SIZE), 0));
+
+                ExtendedModelMap model = listProducts(userId, 0, null, null, null, null, "  ");
+
+                assertEquals("page", model.get("listMode"));
+                verifyNoInteractions(productSearchService);
+        }
 
-                verify(productService, times(1)).getProductsByUserId(userId);
+    @Test
+        void testResolvePageSize() {
+                assertEquals(ConstUtil.DEFAULT_PAGE_SIZE, ProductController.resolvePageSize(null));
+                assertEquals(1, ProductController.resolvePageSize(0));
+                assertEquals(25, ProductController.resolvePageSize(25));
+                assertEquals(ConstUtil.MAX_PAGE_SIZE, ProductController.resolvePageSize(10_000));
         }
 
         @Test
@@ -448,11 +581,13 @@ class ProductControllerTest {
                 Product product = new Product();
                 product.setId(productId);
                 when(productService.getProductById(productId)).thenReturn(Optional.of(product));
+                when(productService.getSoldCount(product)).thenReturn(7);
 
                 mockMvc.perform(get("/products/update-sales/{id}", productId).session(session))
                                 .andExpect(status().isOk())
                                 .andExpect(view().name("products/update-sales"))
-                                .andExpect(model().attributeExists("product"));
+                                .andExpect(model().attributeExists("product"))
+                                .andExpect(model().attribute("soldCount", 7));
 
                 verify(productService, times(1)).getProductById(productId);
         }
@@ -486,6 +621,48 @@ class ProductControllerTest {
                 verify(productService, times(1)).updateSales(eq(productId), eq(soldCount));
         }
 
+        @Test
+        void testRecordSale_success() throws Exception {
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute("userId", UUID.randomUUID());
+                UUID productId = UUID.randomUUID();
+
+                when(productService.recordSale(productId, 3)).thenReturn(true);
+
+                mockMvc.perform(post("/products/record-sale/{id}", productId)
+                                .session(session)
+                                .param("quantity", "3"))
+                                .andExpect(status().is3xxRedirection())
+                                .andExpect(redirectedUrl("/products?success=true"));
+
+                verify(productService, times(1)).recordSale(productId, 3);
+        }
+
+        @Test
+        void testRecordSale_rejected() throws Exception {
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute("userId", UUID.randomUUID());
+                UUID productId = UUID.randomUUID();
+
+                when(productService.recordSale(productId, 99)).thenReturn(false);
+
+                mockMvc.perform(post("/products/record-sale/{id}", productId)
+                                .session(session)
+                                .param("quantity", "99"))
+                                .andExpect(status().is3xxRedirection())
+                                .andExpect(redirectedUrl("/products/update-sales/" + productId + "?saleRejected=true"));
+        }
+
+        @Test
+        void testRecordSale_unauthenticated() throws Exception {
+                mockMvc.perform(post("/products/record-sale/{id}", UUID.randomUUID())
+                                .param("quantity", "1"))
+                                .andExpect(status().is3xxRedirection())
+                                .andExpect(redirectedUrl("/login"));
+
+                verify(productService, never()).recordSale(any(), anyInt());
+        }
+
         @Test
         void testUpdateProduct_authenticatedAndOtherException() throws Exception {
                 UUID userId = UUID.randomUUID();
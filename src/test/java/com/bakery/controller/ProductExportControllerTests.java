@@ -0,0 +1,54 @@
+package com.bakery.controller;
+
+import com.bakery.service.ProductExportService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportControllerTest {
+
+    @Mock
+    private ProductExportService productExportService;
+
+    @Mock
+    private HttpSession session;
+
+    private ProductExportController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductExportController(productExportService);
+    }
+
+    @Test
+    void testExportProducts_StreamsCsv() throws IOException {
+        UUID userId = UUID.randomUUID();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productExportService.writeCsv(eq(userId), any(Writer.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Writer.class).write("id,product_name\r\n");
+            return 0L;
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportProducts(session, response);
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).matches("attachment; filename=\"produk-\\d{8}\\.csv\""));
+        assertEquals("\uFEFFid,product_name\r\n", response.getContentAsString());
+    }
+}
@@ -0,0 +1,93 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ProductFilter;
+import com.bakery.dto.ProductFilterResult;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSort;
+import com.bakery.service.ProductService;
+import com.bakery.util.ConstUtil;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFilterApiControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private HttpSession session;
+
+    private ProductFilterApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductFilterApiController(productService);
+    }
+
+    @Test
+    void testFilter_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<Map<String, Object>> response = controller.filter(session, ProductFilter.none(), 0, null, null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testFilter_Success() {
+        UUID userId = UUID.randomUUID();
+        ProductFilter filter = new ProductFilter("Kue", true, 10000.0, 50000.0, null, null, 1, null);
+        ProductListItem item = new ProductListItem(UUID.randomUUID(), "Bolu", "Kue", 25000.0, 8, true, 3, null,
+                false, 10, LocalDateTime.now());
+        ProductFilterResult result = new ProductFilterResult(
+                new PageImpl<>(List.of(item), PageRequest.of(2, 5), 11), Map.of("Kue", 11L, "Roti", 4L), 11L, 2L);
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productService.filterProducts(userId, filter, 2, 5, ProductSort.PRICE_ASC)).thenReturn(result);
+
+        ResponseEntity<Map<String, Object>> response = controller.filter(session, filter, 2, 5, "price-asc");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, Object> body = response.getBody();
+        assertEquals(List.of(item), body.get("items"));
+        assertEquals(2, body.get("page"));
+        assertEquals(5, body.get("size"));
+        assertEquals("price-asc", body.get("sort"));
+        assertEquals(11L, body.get("totalElements"));
+        assertEquals(3, body.get("totalPages"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> facets = (Map<String, Object>) body.get("facets");
+        assertEquals(Map.of("Kue", 11L, "Roti", 4L), facets.get("categories"));
+        assertEquals(Map.of("available", 11L, "unavailable", 2L), facets.get("availability"));
+    }
+
+    @Test
+    void testFilter_PageAndSizeClamped() {
+        UUID userId = UUID.randomUUID();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productService.filterProducts(userId, ProductFilter.none(), 0, ConstUtil.MAX_PAGE_SIZE, ProductSort.NEWEST))
+                .thenReturn(new ProductFilterResult(new PageImpl<>(List.of()), Map.of(), 0L, 0L));
+
+        ResponseEntity<Map<String, Object>> response = controller.filter(session, ProductFilter.none(), -3, 1000, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("newest", response.getBody().get("sort"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.dto.ImportStatus;
+import com.bakery.service.ProductImportService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportApiControllerTest {
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private HttpSession session;
+
+    private ProductImportApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductImportApiController(productImportService);
+    }
+
+    @Test
+    void testGetProgress_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<ImportProgress> response = controller.getProgress(UUID.randomUUID(), session);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    void testGetProgress_Success() {
+        UUID userId = UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        ImportProgress progress = new ImportProgress(jobId, ImportStatus.RUNNING, 10, 8, 2, List.of(), null,
+                LocalDateTime.now(), null);
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productImportService.progress(jobId, userId)).thenReturn(Optional.of(progress));
+
+        ResponseEntity<ImportProgress> response = controller.getProgress(jobId, session);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(progress, response.getBody());
+    }
+
+    @Test
+    void testGetProgress_NotFound() {
+        UUID userId = UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productImportService.progress(jobId, userId)).thenReturn(Optional.empty());
+
+        ResponseEntity<ImportProgress> response = controller.getProgress(jobId, session);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ImportProgress;
+import com.bakery.dto.ImportStatus;
+import com.bakery.service.ProductImportService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportControllerTest {
+
+    private static final String CSV = "product_name,category,price,stock\nRoti,Roti,1000,5\n";
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private HttpSession session;
+
+    @TempDir
+    Path tempDir;
+
+    private ProductImportController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductImportController(productImportService);
+    }
+
+    @Test
+    void testShowImportForm() {
+        UUID jobId = UUID.randomUUID();
+        Model model = new ExtendedModelMap();
+
+        assertEquals("products/import", controller.showImportForm(jobId, model));
+        assertEquals(jobId, model.getAttribute("job"));
+    }
+
+    @Test
+    void testImportProducts_StartsBackgroundImport() throws IOException {
+        UUID userId = UUID.randomUUID();
+        UUID jobId = UUID.randomUUID();
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productImportService.start(eq(userId), any(Path.class))).thenReturn(
+                new ImportProgress(jobId, ImportStatus.RUNNING, 0, 0, 0, List.of(), null, LocalDateTime.now(), null));
+        MockMultipartFile file = new MockMultipartFile("file", "produk.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("redirect:/products/import?job=" + jobId, controller.importProducts(file, session));
+
+        ArgumentCaptor<Path> temp = ArgumentCaptor.forClass(Path.class);
+        verify(productImportService).start(eq(userId), temp.capture());
+        assertEquals(CSV, Files.readString(temp.getValue()));
+        Files.delete(temp.getValue());
+    }
+
+    @Test
+    void testImportProducts_EmptyFile() {
+        MockMultipartFile file = new MockMultipartFile("file", "produk.csv", "text/csv", new byte[0]);
+
+        assertEquals("redirect:/products/import?error=empty_file", controller.importProducts(file, session));
+        assertEquals("redirect:/products/import?error=empty_file", controller.importProducts(null, session));
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    void testImportProducts_TempFileFails() {
+        ProductImportController failing = new ProductImportController(productImportService) {
+            @Override
+            protected Path createTempFile() throws IOException {
+                throw new IOException("disk penuh");
+            }
+        };
+        MockMultipartFile file = new MockMultipartFile("file", "produk.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("redirect:/products/import?error=upload_failed", failing.importProducts(file, session));
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    void testImportProducts_TransferFailsDeletesTempFile() throws IOException {
+        Path temp = tempDir.resolve("upload.csv");
+        Files.writeString(temp, "");
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(false);
+        when(file.getInputStream()).thenThrow(new IOException("koneksi terputus"));
+
+        assertEquals("redirect:/products/import?error=upload_failed",
+                withTempFile(temp).importProducts(file, session));
+        assertFalse(Files.exists(temp));
+        verifyNoInteractions(productImportService);
+    }
+
+    @Test
+    void testImportProducts_TempFileCannotBeDeleted() throws IOException {
+        // Direktori berisi file: penyalinan gagal dan direktori tidak bisa dihapus
+        Path directory = Files.createDirectory(tempDir.resolve("upload"));
+        Files.writeString(directory.resolve("isi.txt"), "x");
+        MockMultipartFile file = new MockMultipartFile("file", "produk.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("redirect:/products/import?error=upload_failed",
+                withTempFile(directory).importProducts(file, session));
+        assertTrue(Files.exists(directory));
+    }
+
+    @Test
+    void testCreateTempFile() throws IOException {
+        Path temp = controller.createTempFile();
+
+        assertTrue(Files.exists(temp));
+        assertTrue(temp.getFileName().toString().endsWith(".csv"));
+        Files.delete(temp);
+    }
+
+    private ProductImportController withTempFile(Path temp) {
+        return new ProductImportController(productImportService) {
+            @Override
+            protected Path createTempFile() {
+                return temp;
+            }
+        };
+    }
+}
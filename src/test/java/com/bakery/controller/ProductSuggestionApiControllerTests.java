@@ -0,0 +1,69 @@
+package com.bakery.controller;
+
+import com.bakery.dto.ProductSuggestion;
+import com.bakery.service.ProductSuggestionService;
+import com.bakery.util.ConstUtil;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestionApiControllerTest {
+
+    @Mock
+    private ProductSuggestionService productSuggestionService;
+
+    @Mock
+    private HttpSession session;
+
+    private ProductSuggestionApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ProductSuggestionApiController(productSuggestionService);
+    }
+
+    @Test
+    void testSuggest_NoSession() {
+        when(session.getAttribute("userId")).thenReturn(null);
+
+        ResponseEntity<List<ProductSuggestion>> response = controller.suggest(session, "roti", null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(productSuggestionService);
+    }
+
+    @Test
+    void testSuggest_Success() {
+        UUID userId = UUID.randomUUID();
+        List<ProductSuggestion> suggestions = List.of(
+                new ProductSuggestion(UUID.randomUUID(), "Roti Keju", "Roti", 15000.0, true));
+        when(session.getAttribute("userId")).thenReturn(userId);
+        when(productSuggestionService.suggest(userId, "roti", ConstUtil.SUGGEST_DEFAULT_LIMIT)).thenReturn(suggestions);
+
+        ResponseEntity<List<ProductSuggestion>> response = controller.suggest(session, "roti", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(suggestions, response.getBody());
+        assertEquals("no-store", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testResolveLimit() {
+        assertEquals(ConstUtil.SUGGEST_DEFAULT_LIMIT, ProductSuggestionApiController.resolveLimit(null));
+        assertEquals(1, ProductSuggestionApiController.resolveLimit(0));
+        assertEquals(5, ProductSuggestionApiController.resolveLimit(5));
+        assertEquals(ConstUtil.SUGGEST_MAX_LIMIT, ProductSuggestionApiController.resolveLimit(500));
+    }
+}
@@ -0,0 +1,40 @@
+package com.bakery.dto;
+
+import com.bakery.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChartSeriesTest {
+
+    @Test
+    void testOf() {
+        Product first = new Product();
+        first.setId(UUID.randomUUID());
+        first.setProductName("Bolu");
+        first.setStock(3);
+        Product second = new Product();
+        second.setId(UUID.randomUUID());
+        second.setProductName("Donat");
+        second.setStock(7);
+
+        ChartSeries series = ChartSeries.of(List.of(ProductListItem.of(first), ProductListItem.of(second)),
+                ProductListItem::stock);
+
+        assertEquals(List.of(first.getId(), second.getId()), series.ids());
+        assertEquals(List.of("Bolu", "Donat"), series.labels());
+        assertEquals(List.of(3, 7), series.data());
+    }
+
+    @Test
+    void testOfEmpty() {
+        ChartSeries series = ChartSeries.of(List.of(), ProductListItem::stock);
+
+        assertTrue(series.ids().isEmpty());
+        assertTrue(series.labels().isEmpty());
+        assertTrue(series.data().isEmpty());
+    }
+}
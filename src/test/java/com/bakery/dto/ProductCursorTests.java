@@ -0,0 +1,45 @@
+package com.bakery.dto;
+
+import com.bakery.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2024, 5, 10, 15, 42, 7, 123_456_000),
+                UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, ProductCursor.decode(token));
+    }
+
+    @Test
+    void testOfProduct() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4));
+
+        ProductCursor cursor = ProductCursor.of(ProductListItem.of(product));
+
+        assertEquals(product.getId(), cursor.id());
+        assertEquals(product.getCreatedAt(), cursor.createdAt());
+    }
+
+    @Test
+    void testDecodeInvalidTokens() {
+        assertNull(ProductCursor.decode(null));
+        assertNull(ProductCursor.decode(" "));
+        assertNull(ProductCursor.decode("%%%"));
+        assertNull(ProductCursor.decode(Base64.getUrlEncoder().encodeToString("no-separator".getBytes())));
+        assertNull(ProductCursor.decode(Base64.getUrlEncoder().encodeToString("2024-01-01T00:00|x".getBytes())));
+    }
+}
@@ -0,0 +1,27 @@
+package com.bakery.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterTest {
+
+    private final ProductFilter filter = new ProductFilter("Kue", false, 1000.0, 5000.0, 1, 50, 0, 20);
+
+    @Test
+    void testWithoutCategoryKeepsOtherFilters() {
+        assertEquals(new ProductFilter(null, false, 1000.0, 5000.0, 1, 50, 0, 20), filter.withoutCategory());
+    }
+
+    @Test
+    void testWithoutAvailableKeepsOtherFilters() {
+        assertEquals(new ProductFilter("Kue", null, 1000.0, 5000.0, 1, 50, 0, 20), filter.withoutAvailable());
+    }
+
+    @Test
+    void testHasCategory() {
+        assertTrue(filter.hasCategory());
+        assertFalse(ProductFilter.none().hasCategory());
+        assertFalse(new ProductFilter(" ", null, null, null, null, null, null, null).hasCategory());
+    }
+}
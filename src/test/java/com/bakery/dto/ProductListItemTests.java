@@ -0,0 +1,34 @@
+package com.bakery.dto;
+
+import com.bakery.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductListItemTest {
+
+    @Test
+    void testOfProduct() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setProductName("Bolu");
+        product.setCategory("Kue");
+        product.setPrice(25000.0);
+        product.setStock(4);
+        product.setIsAvailable(true);
+        product.setSoldCount(12);
+        product.setImageUrl("/uploads/bolu.jpg");
+        product.setLowStock(true);
+        product.setLowStockThreshold(5);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4));
+        product.setDescription("Resep panjang yang tidak ikut ke daftar");
+
+        ProductListItem item = ProductListItem.of(product);
+
+        assertEquals(new ProductListItem(product.getId(), "Bolu", "Kue", 25000.0, 4, true, 12,
+                "/uploads/bolu.jpg", true, 5, LocalDateTime.of(2024, 1, 2, 3, 4)), item);
+    }
+}
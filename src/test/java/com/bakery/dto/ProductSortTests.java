@@ -0,0 +1,35 @@
+package com.bakery.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSortTest {
+
+    @Test
+    void testFrom() {
+        assertEquals(ProductSort.NEWEST, ProductSort.from(null));
+        assertEquals(ProductSort.NAME, ProductSort.from("name"));
+        assertEquals(ProductSort.PRICE_DESC, ProductSort.from("PRICE-DESC"));
+        assertEquals(ProductSort.SOLD, ProductSort.from("sold"));
+        assertEquals(ProductSort.NEWEST, ProductSort.from("rating"));
+    }
+
+    @Test
+    void testEverySortEndsWithId() {
+        for (ProductSort option : ProductSort.values()) {
+            Sort.Order last = option.sort().stream().reduce((first, second) -> second).orElseThrow();
+            assertEquals("id", last.getProperty(), option.key());
+        }
+    }
+
+    @Test
+    void testSoldPutsMissingCountsLast() {
+        Sort.Order sold = ProductSort.SOLD.sort().getOrderFor("soldCount");
+
+        assertNotNull(sold);
+        assertTrue(sold.isDescending());
+        assertEquals(Sort.NullHandling.NULLS_LAST, sold.getNullHandling());
+    }
+}
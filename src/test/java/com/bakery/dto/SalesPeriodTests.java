@@ -0,0 +1,39 @@
+package com.bakery.dto;
+
+import com.bakery.entity.SalesGranularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesPeriodTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 10, 15, 42);
+
+    @Test
+    void testFrom() {
+        assertEquals(SalesPeriod.TODAY, SalesPeriod.from(null));
+        assertEquals(SalesPeriod.WEEK, SalesPeriod.from("week"));
+        assertEquals(SalesPeriod.MONTH, SalesPeriod.from("MONTH"));
+        assertEquals(SalesPeriod.TODAY, SalesPeriod.from("year"));
+    }
+
+    @Test
+    void testRanges() {
+        assertEquals(LocalDateTime.of(2024, 5, 10, 0, 0), SalesPeriod.TODAY.start(now));
+        assertEquals(LocalDateTime.of(2024, 5, 11, 0, 0), SalesPeriod.TODAY.end(now));
+        assertEquals(LocalDateTime.of(2024, 5, 6, 0, 0), SalesPeriod.WEEK.start(now));
+        assertEquals(LocalDateTime.of(2024, 5, 13, 0, 0), SalesPeriod.WEEK.end(now));
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0), SalesPeriod.MONTH.start(now));
+        assertEquals(LocalDateTime.of(2024, 6, 1, 0, 0), SalesPeriod.MONTH.end(now));
+    }
+
+    @Test
+    void testGranularityAndLabel() {
+        assertEquals(SalesGranularity.HOUR, SalesPeriod.TODAY.getGranularity());
+        assertEquals(SalesGranularity.DAY, SalesPeriod.WEEK.getGranularity());
+        assertEquals("15:00", SalesPeriod.TODAY.label(now.withMinute(0)));
+        assertEquals("10/05", SalesPeriod.MONTH.label(now));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bakery.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSummaryTest {
+
+    private ProductSummary summary(long total, long available, long lowStock, long sold) {
+        ProductSummary summary = new ProductSummary();
+        summary.setTotalProducts(total);
+        summary.setAvailableProducts(available);
+        summary.setLowStockProducts(lowStock);
+        summary.setTotalSold(sold);
+        return summary;
+    }
+
+    @Test
+    void testGettersAndSetters() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        ProductSummary summary = summary(4, 3, 2, 100);
+        summary.setUserId(userId);
+        summary.setUpdatedAt(now);
+
+        assertEquals(userId, summary.getUserId());
+        assertEquals(4, summary.getTotalProducts());
+        assertEquals(3, summary.getAvailableProducts());
+        assertEquals(2, summary.getLowStockProducts());
+        assertEquals(100, summary.getTotalSold());
+        assertEquals(now, summary.getUpdatedAt());
+    }
+
+    @Test
+    void testSameCountersAs() {
+        ProductSummary summary = summary(4, 3, 2, 100);
+
+        assertTrue(summary.sameCountersAs(summary(4, 3, 2, 100)));
+        assertFalse(summary.sameCountersAs(null));
+        assertFalse(summary.sameCountersAs(summary(5, 3, 2, 100)));
+        assertFalse(summary.sameCountersAs(summary(4, 2, 2, 100)));
+        assertFalse(summary.sameCountersAs(summary(4, 3, 1, 100)));
+        assertFalse(summary.sameCountersAs(summary(4, 3, 2, 99)));
+    }
+}
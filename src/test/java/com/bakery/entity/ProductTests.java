@@ -62,4 +62,23 @@ class ProductTest {
         assertNotNull(product.getUpdatedAt());
         assertTrue(product.getUpdatedAt().isAfter(createdAt));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLowStockFlag() {
+        Product product = new Product();
+        assertEquals(10, product.getLowStockThreshold());
+
+        product.setStock(10);
+        product.onCreate();
+        assertTrue(product.getLowStock());
+
+        product.setLowStockThreshold(5);
+        product.onUpdate();
+        assertFalse(product.getLowStock());
+
+        product.setLowStockThreshold(null);
+        product.onUpdate();
+        assertEquals(10, product.getLowStockThreshold());
+        assertTrue(product.getLowStock());
+    }
+}
@@ -0,0 +1,22 @@
+package com.bakery.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesGranularityTest {
+
+    @Test
+    void testBucketOfAndNext() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 10, 23, 59, 30);
+
+        assertEquals(LocalDateTime.of(2024, 5, 10, 23, 0), SalesGranularity.HOUR.bucketOf(time));
+        assertEquals(LocalDateTime.of(2024, 5, 10, 0, 0), SalesGranularity.DAY.bucketOf(time));
+        assertEquals(LocalDateTime.of(2024, 5, 11, 0, 0),
+                SalesGranularity.HOUR.next(SalesGranularity.HOUR.bucketOf(time)));
+        assertEquals(LocalDateTime.of(2024, 5, 11, 0, 0),
+                SalesGranularity.DAY.next(SalesGranularity.DAY.bucketOf(time)));
+    }
+}
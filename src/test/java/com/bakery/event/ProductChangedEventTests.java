@@ -0,0 +1,118 @@
+package com.bakery.event;
+
+import com.bakery.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangedEventTest {
+
+    private ProductSnapshot snapshot(UUID id, UUID userId, Integer stock, Boolean available, Integer sold) {
+        return new ProductSnapshot(id, userId, "Croissant", "Pastry", 15000.0, stock, available, sold);
+    }
+
+    @Test
+    void testSnapshotOfProduct() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setUserId(UUID.randomUUID());
+        product.setProductName("Croissant");
+        product.setCategory("Pastry");
+        product.setPrice(15000.0);
+        product.setStock(5);
+        product.setIsAvailable(true);
+        product.setSoldCount(7);
+
+        ProductSnapshot snapshot = ProductSnapshot.of(product);
+
+        assertEquals(product.getId(), snapshot.id());
+        assertEquals(product.getUserId(), snapshot.userId());
+        assertEquals("Croissant", snapshot.productName());
+        assertEquals("Pastry", snapshot.category());
+        assertEquals(15000.0, snapshot.price());
+        assertEquals(5, snapshot.stock());
+        assertTrue(snapshot.available());
+        assertTrue(snapshot.lowStock());
+        assertEquals(7, snapshot.soldOrZero());
+    }
+
+    @Test
+    void testSnapshotNullHandling() {
+        ProductSnapshot snapshot = snapshot(UUID.randomUUID(), UUID.randomUUID(), null, null, null);
+
+        assertFalse(snapshot.available());
+        assertFalse(snapshot.lowStock());
+        assertEquals(0, snapshot.soldOrZero());
+        assertFalse(snapshot(null, null, 11, false, 0).lowStock());
+    }
+
+    @Test
+    void testSnapshotUsesProductThreshold() {
+        ProductSnapshot croissant = new ProductSnapshot(UUID.randomUUID(), UUID.randomUUID(), "Croissant",
+                "Pastry", 15000.0, 30, true, 0, 40);
+        ProductSnapshot weddingCake = new ProductSnapshot(UUID.randomUUID(), UUID.randomUUID(), "Kue Pengantin",
+                "Kue", 2500000.0, 3, true, 0, 1);
+
+        assertTrue(croissant.lowStock());
+        assertFalse(weddingCake.lowStock());
+        assertEquals(10, snapshot(null, null, 5, true, 0).lowStockThreshold());
+    }
+
+    @Test
+    void testCreatedEvent() {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ProductChangedEvent event = ProductChangedEvent.created(snapshot(id, userId, 20, true, 0));
+
+        assertTrue(event.isCreated());
+        assertFalse(event.isDeleted());
+        assertNull(event.getBefore());
+        assertEquals(id, event.getProductId());
+        assertEquals(userId, event.getUserId());
+    }
+
+    @Test
+    void testUpdatedEvent() {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ProductChangedEvent event = ProductChangedEvent.updated(
+                snapshot(id, userId, 20, true, 0), snapshot(id, userId, 15, true, 5));
+
+        assertFalse(event.isCreated());
+        assertFalse(event.isDeleted());
+        assertEquals(20, event.getBefore().stock());
+        assertEquals(15, event.getAfter().stock());
+    }
+
+    @Test
+    void testTextChanged() {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ProductSnapshot before = snapshot(id, userId, 20, true, 0);
+        ProductSnapshot after = snapshot(id, userId, 15, true, 5);
+
+        assertTrue(ProductChangedEvent.created(after).isTextChanged());
+        assertTrue(ProductChangedEvent.deleted(before).isTextChanged());
+        assertFalse(ProductChangedEvent.updated(before, after).isTextChanged());
+        assertTrue(ProductChangedEvent.updated(before, after, true).isTextChanged());
+    }
+
+    @Test
+    void testDeletedEvent() {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ProductChangedEvent event = ProductChangedEvent.deleted(snapshot(id, userId, 20, true, 0));
+
+        assertTrue(event.isDeleted());
+        assertNull(event.getAfter());
+        assertEquals(id, event.getProductId());
+        assertEquals(userId, event.getUserId());
+    }
+
+    @Test
+    void testEventRequiresSnapshot() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductChangedEvent(null, null));
+    }
+}
@@ -0,0 +1,57 @@
+package com.bakery.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryDeltaTest {
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    private ProductSnapshot snapshot(Integer stock, Boolean available, Integer sold) {
+        return new ProductSnapshot(id, userId, "Donat", "Donat", 5000.0, stock, available, sold);
+    }
+
+    @Test
+    void testCreated() {
+        SummaryDelta delta = SummaryDelta.of(ProductChangedEvent.created(snapshot(5, true, 2)));
+
+        assertEquals(new SummaryDelta(1, 1, 1, 2), delta);
+        assertFalse(delta.isEmpty());
+    }
+
+    @Test
+    void testUpdated() {
+        SummaryDelta delta = SummaryDelta.of(ProductChangedEvent.updated(
+                snapshot(20, false, 2), snapshot(3, true, 9)));
+
+        assertEquals(new SummaryDelta(0, 1, 1, 7), delta);
+    }
+
+    @Test
+    void testThresholdChangeMovesLowStockCount() {
+        ProductSnapshot before = new ProductSnapshot(id, userId, "Donat", "Donat", 5000.0, 15, true, 0, 10);
+        ProductSnapshot after = new ProductSnapshot(id, userId, "Donat", "Donat", 5000.0, 15, true, 0, 20);
+
+        assertEquals(new SummaryDelta(0, 0, 1, 0), SummaryDelta.of(ProductChangedEvent.updated(before, after)));
+    }
+
+    @Test
+    void testDeleted() {
+        SummaryDelta delta = SummaryDelta.of(ProductChangedEvent.deleted(snapshot(5, true, 4)));
+
+        assertEquals(new SummaryDelta(-1, -1, -1, -4), delta);
+    }
+
+    @Test
+    void testIsEmpty() {
+        assertTrue(SummaryDelta.of(ProductChangedEvent.updated(
+                snapshot(20, true, 2), snapshot(25, true, 2))).isEmpty());
+        assertFalse(new SummaryDelta(0, 0, 1, 0).isEmpty());
+        assertFalse(new SummaryDelta(0, 1, 0, 0).isEmpty());
+        assertFalse(new SummaryDelta(0, 0, 0, 1).isEmpty());
+    }
+}
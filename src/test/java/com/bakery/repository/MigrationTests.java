@@ -0,0 +1,83 @@
+package com.bakery.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Memastikan database lama (data/db_bakery_pbo, dibuat ddl-auto=update sebelum Flyway) yang ditandai
+ * sebagai V1 lewat baseline-on-migrate diperbarui ke skema yang sama dengan database baru.
+ */
+class MigrationTest {
+
+    private static final String COLUMNS = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, IS_NULLABLE, COLUMN_DEFAULT "
+            + "FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME <> 'flyway_schema_history' "
+            + "ORDER BY TABLE_NAME, COLUMN_NAME";
+
+    // Nama constraint UNIQUE dari Hibernate berbeda dengan buatan H2, jadi hanya index bernama yang dibandingkan
+    private static final String INDEXES = "SELECT i.TABLE_NAME, i.INDEX_NAME, c.COLUMN_NAME, c.ORDINAL_POSITION "
+            + "FROM INFORMATION_SCHEMA.INDEXES i JOIN INFORMATION_SCHEMA.INDEX_COLUMNS c "
+            + "ON c.INDEX_SCHEMA = i.INDEX_SCHEMA AND c.INDEX_NAME = i.INDEX_NAME "
+            + "WHERE i.TABLE_SCHEMA = 'PUBLIC' AND i.INDEX_NAME LIKE 'IDX_%' "
+            + "ORDER BY i.INDEX_NAME, c.ORDINAL_POSITION";
+
+    @TempDir
+    Path tempDir;
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private DataSource shippedDatabase() throws Exception {
+        Files.copy(Paths.get("data", "db_bakery_pbo.mv.db"), tempDir.resolve("db_bakery_pbo.mv.db"));
+        return dataSource("jdbc:h2:file:" + tempDir.resolve("db_bakery_pbo").toAbsolutePath());
+    }
+
+    @Test
+    void testShippedDatabaseMigratesToCurrentSchema() throws Exception {
+        DataSource upgraded = shippedDatabase();
+        DataSource fresh = dataSource("jdbc:h2:mem:migration_fresh;DB_CLOSE_DELAY=-1");
+
+        migrate(upgraded);
+        migrate(fresh);
+
+        JdbcTemplate upgradedJdbc = new JdbcTemplate(upgraded);
+        JdbcTemplate freshJdbc = new JdbcTemplate(fresh);
+        assertEquals(freshJdbc.queryForList(COLUMNS), upgradedJdbc.queryForList(COLUMNS));
+        assertEquals(freshJdbc.queryForList(INDEXES), upgradedJdbc.queryForList(INDEXES));
+    }
+
+    @Test
+    void testShippedDatabaseIsBackfilled() throws Exception {
+        DataSource upgraded = shippedDatabase();
+
+        migrate(upgraded);
+
+        JdbcTemplate jdbc = new JdbcTemplate(upgraded);
+        assertEquals(List.of("1:Kue"), jdbc.queryForList("SELECT code || ':' || name FROM categories", String.class));
+        assertEquals(List.of("croissant:1:10:TRUE", "croissantf:1:10:FALSE"), jdbc.queryForList(
+                "SELECT product_name || ':' || category_code || ':' || low_stock_threshold || ':' || is_low_stock "
+                        + "FROM products ORDER BY product_name", String.class));
+    }
+}
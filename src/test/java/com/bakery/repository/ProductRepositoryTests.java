@@ -7,15 +7,34 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.bakery.dto.CategoryTotals;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSearchDocument;
+import com.bakery.dto.ProductSuggestion;
+import com.bakery.dto.ProductSort;
 import com.bakery.entity.Product;
 
 @DataJpaTest
@@ -71,6 +90,31 @@ class ProductRepositoryTest {
         
         Product saved = productRepository.save(newProduct);
         assertNotNull(saved.getId());
+        assertEquals(7, saved.getId().version());
+    }
+
+    @Test
+    void testIdsFollowInsertOrder() {
+        UUID userId = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Product next = new Product();
+            next.setProductName("Kue " + i);
+            next.setPrice(1000.0);
+            next.setStock(5);
+            next.setUserId(userId);
+            next.setCategory("Kue");
+            ids.add(productRepository.save(next).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // H2 mengurutkan UUID secara unsigned, sama dengan urutan pembuatan UUID v7
+        List<UUID> ordered = productRepository.findAll(Sort.by("id")).stream()
+                .map(Product::getId)
+                .filter(ids::contains)
+                .collect(Collectors.toList());
+        assertEquals(ids, ordered);
     }
 
     @Test
@@ -111,4 +155,440 @@ class ProductRepositoryTest {
         assertTrue(updatedProduct.getUpdatedAt().isAfter(oldUpdatedAt), 
                    "UpdatedAt baru harus lebih besar dari yang lama");
     }
-}
\ No newline at end of file
+
+    private Product persistProduct(UUID userId, String name, int stock, Integer soldCount, boolean available) {
+        return persistProduct(userId, name, stock, soldCount, available, 10);
+    }
+
+    private Product persistProduct(UUID userId, String name, int stock, Integer soldCount, boolean available,
+            int lowStockThreshold) {
+        Product p = new Product();
+        p.setLowStockThreshold(lowStockThreshold);
+        p.setUserId(userId);
+        p.setProductName(name);
+        p.setPrice(10000.0);
+        p.setStock(stock);
+        p.setSoldCount(soldCount);
+        p.setIsAvailable(available);
+        p.setCategory("Kue");
+        return entityManager.persist(p);
+    }
+
+    @Test
+    void testDashboardAggregates() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "A", 3, 10, true);
+        persistProduct(userId, "B", 10, null, false);
+        persistProduct(userId, "C", 25, 7, true);
+        persistProduct(UUID.randomUUID(), "Other", 1, 100, true);
+        entityManager.flush();
+
+        assertEquals(3L, productRepository.countByUserId(userId));
+        assertEquals(2L, productRepository.countByUserIdAndIsAvailableTrue(userId));
+        assertEquals(2L, productRepository.countByUserIdAndLowStockTrue(userId));
+        assertEquals(17L, productRepository.sumSoldCountByUserId(userId));
+        assertEquals(0L, productRepository.sumSoldCountByUserId(UUID.randomUUID()));
+    }
+
+    @Test
+    void testFindBestSellingByUserId() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "A", 3, 10, true);
+        persistProduct(userId, "B", 10, null, true);
+        persistProduct(userId, "C", 25, 30, true);
+        entityManager.flush();
+
+        List<ProductListItem> top = productRepository.findBestSellingByUserId(userId, PageRequest.of(0, 2));
+
+        assertEquals(2, top.size());
+        assertEquals("C", top.get(0).productName());
+        assertEquals("A", top.get(1).productName());
+    }
+
+    @Test
+    void testFindByUserIdPaged() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "Croissant", 30, 5, true).setPrice(15000.0);
+        persistProduct(userId, "Bolu", 10, 12, true).setPrice(50000.0);
+        persistProduct(userId, "Donat", 20, null, true).setPrice(8000.0);
+        persistProduct(UUID.randomUUID(), "Other", 1, 100, true);
+        entityManager.flush();
+
+        Page<ProductListItem> byPrice = productRepository.findByUserId(userId,
+                PageRequest.of(0, 2, ProductSort.PRICE_ASC.sort()));
+        assertEquals(3, byPrice.getTotalElements());
+        assertEquals(2, byPrice.getTotalPages());
+        assertEquals(List.of("Donat", "Croissant"), byPrice.map(ProductListItem::productName).getContent());
+
+        Page<ProductListItem> bySold = productRepository.findByUserId(userId, PageRequest.of(0, 3, ProductSort.SOLD.sort()));
+        assertEquals(List.of("Bolu", "Croissant", "Donat"), bySold.map(ProductListItem::productName).getContent());
+
+        Page<ProductListItem> byName = productRepository.findByUserId(userId, PageRequest.of(1, 2, ProductSort.NAME.sort()));
+        assertEquals(List.of("Donat"), byName.map(ProductListItem::productName).getContent());
+    }
+
+    @Test
+    void testListItemsSkipDescription() {
+        UUID userId = UUID.randomUUID();
+        Product product = persistProduct(userId, "Bolu", 4, 12, true, 5);
+        product.setDescription("x".repeat(100_000));
+        product.setImageUrl("/uploads/bolu.jpg");
+        product.setCreatedAt(LocalDateTime.of(2024, 5, 1, 8, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        ProductListItem item = productRepository.findByUserId(userId, PageRequest.of(0, 10)).getContent().get(0);
+
+        assertEquals(ProductListItem.of(product), item);
+        // Constructor expression: tidak ada entitas (beserta CLOB description) yang dimuat ke persistence context
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testKeysetPagination() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 8, 0);
+        for (int i = 0; i < 5; i++) {
+            persistProduct(userId, "P" + i, 5, 0, true).setCreatedAt(base.plusHours(i));
+        }
+        // Dua produk dengan created_at sama: urutan ditentukan id
+        persistProduct(userId, "Kembar", 5, 0, true).setCreatedAt(base.plusHours(2));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> seen = new ArrayList<>();
+        Slice<ProductListItem> slice = productRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, PageRequest.of(0, 2));
+        slice.forEach(p -> seen.add(p.productName()));
+        while (slice.hasNext()) {
+            ProductListItem last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            slice = productRepository.findByUserIdAfter(userId, last.createdAt(), last.id(), PageRequest.of(0, 2));
+            slice.forEach(p -> seen.add(p.productName()));
+        }
+
+        assertEquals(6, seen.size());
+        assertEquals(6, new HashSet<>(seen).size());
+        assertEquals(List.of("P4", "P3"), seen.subList(0, 2));
+        assertEquals(List.of("P1", "P0"), seen.subList(4, 6));
+    }
+
+    @Test
+    void testFindRecentByUserId() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 8, 0);
+        persistProduct(userId, "Lama", 5, 0, true).setCreatedAt(base);
+        persistProduct(userId, "Baru", 5, 0, true).setCreatedAt(base.plusDays(2));
+        persistProduct(userId, "Tengah", 5, 0, true).setCreatedAt(base.plusDays(1));
+        persistProduct(UUID.randomUUID(), "Other", 5, 0, true).setCreatedAt(base.plusDays(3));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProductListItem> recent = productRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 2));
+
+        assertEquals(List.of("Baru", "Tengah"), recent.stream().map(ProductListItem::productName).toList());
+    }
+
+    @Test
+    void testFindLowStockByUserId() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "A", 8, 0, true);
+        persistProduct(userId, "B", 2, 0, true);
+        persistProduct(userId, "C", 25, 0, true);
+        entityManager.flush();
+
+        List<ProductListItem> lowStock = productRepository.findLowStockByUserId(userId, PageRequest.of(0, 10)).getContent();
+
+        assertEquals(2, lowStock.size());
+        assertEquals("B", lowStock.get(0).productName());
+        assertEquals("A", lowStock.get(1).productName());
+    }
+
+    @Test
+    void testLowStockUsesPerProductThreshold() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "Croissant", 30, 0, true, 40);
+        persistProduct(userId, "Kue Pengantin", 1, 0, true, 1);
+        persistProduct(userId, "Kue Ulang Tahun", 3, 0, true, 2);
+        persistProduct(userId, "Roti Tawar", 8, 0, true, 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2L, productRepository.countByUserIdAndLowStockTrue(userId));
+        Page<ProductListItem> page = productRepository.findLowStockByUserId(userId, PageRequest.of(0, 1));
+        assertEquals(2L, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        // 1/(1+1) = 0.5 lebih mendesak dari 30/(40+1) = 0.73
+        assertEquals("Kue Pengantin", page.getContent().get(0).productName());
+        assertEquals("Croissant",
+                productRepository.findLowStockByUserId(userId, PageRequest.of(1, 1)).getContent().get(0).productName());
+    }
+
+    @Test
+    void testLowStockFlagFollowsStockUpdates() {
+        UUID userId = UUID.randomUUID();
+        Product product = persistProduct(userId, "Donat", 4, 0, true);
+        entityManager.flush();
+        assertTrue(product.getLowStock());
+
+        product.setStock(50);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0L, productRepository.countByUserIdAndLowStockTrue(userId));
+    }
+
+    @Test
+    void testRecordSale() {
+        product.setSoldCount(null);
+        product.setLowStockThreshold(5);
+        entityManager.persistAndFlush(product);
+
+        assertEquals(1, productRepository.recordSale(product.getId(), 4, LocalDateTime.now()));
+        Product afterFirst = productRepository.findById(product.getId()).get();
+        assertEquals(6, afterFirst.getStock());
+        assertEquals(4, afterFirst.getSoldCount());
+        assertFalse(afterFirst.getLowStock());
+
+        assertEquals(1, productRepository.recordSale(product.getId(), 2, LocalDateTime.now()));
+        Product afterSecond = productRepository.findById(product.getId()).get();
+        assertEquals(4, afterSecond.getStock());
+        assertEquals(6, afterSecond.getSoldCount());
+        assertTrue(afterSecond.getLowStock());
+    }
+
+    @Test
+    void testRecordSaleRejectsInsufficientStock() {
+        assertEquals(0, productRepository.recordSale(product.getId(), 11, LocalDateTime.now()));
+        assertEquals(0, productRepository.recordSale(UUID.randomUUID(), 1, LocalDateTime.now()));
+
+        Product unchanged = productRepository.findById(product.getId()).get();
+        assertEquals(10, unchanged.getStock());
+        assertEquals(1, productRepository.recordSale(product.getId(), 10, LocalDateTime.now()));
+        assertEquals(0, productRepository.findById(product.getId()).get().getStock());
+    }
+
+    @Test
+    void testFindAllByIdForUpdate() {
+        Product second = new Product();
+        second.setUserId(product.getUserId());
+        second.setProductName("Croissant");
+        second.setPrice(12000.0);
+        second.setStock(4);
+        second.setCategory("Pastry");
+        entityManager.persistAndFlush(second);
+
+        List<Product> locked = productRepository.findAllByIdForUpdate(
+                List.of(second.getId(), product.getId(), UUID.randomUUID()));
+
+        // Selalu urut id (UUID v7: urutan pembuatan), apa pun urutan di keranjang
+        assertEquals(List.of(product.getId(), second.getId()),
+                locked.stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMarkAndUnmarkLowStock() {
+        UUID userId = UUID.randomUUID();
+        Product product = persistProduct(userId, "Pie", 4, 0, true);
+        entityManager.flush();
+        // Meniru baris lama yang ditulis sebelum kolom is_low_stock ada
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE products SET is_low_stock = FALSE WHERE id = :id")
+                .setParameter("id", product.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(List.of(userId), productRepository.findUserIdsWithStaleLowStock());
+        assertEquals(1, productRepository.markLowStock());
+        assertEquals(0, productRepository.unmarkLowStock());
+        assertEquals(1L, productRepository.countByUserIdAndLowStockTrue(userId));        assertTrue(productRepository.findUserIdsWithStaleLowStock().isEmpty());
+    }
+
+    @Test
+    void testSumByCategoryCode() {
+        UUID userId = UUID.randomUUID();
+        Product bolu = persistProduct(userId, "Bolu", 10, 4, true);
+        bolu.setCategoryCode((short) 1);
+        Product tart = persistProduct(userId, "Tart Buah", 6, 2, true);
+        tart.setCategoryCode((short) 1);
+        Product roti = persistProduct(userId, "Roti Manis", 20, null, true);
+        roti.setCategory("Roti");
+        roti.setCategoryCode((short) 2);
+        persistProduct(UUID.randomUUID(), "Other", 1, 100, true).setCategoryCode((short) 1);
+        entityManager.flush();
+
+        List<CategoryTotals> totals = productRepository.sumByCategoryCode(userId);
+
+        assertEquals(2, totals.size());
+        CategoryTotals kue = totals.stream().filter(t -> t.categoryCode() == 1).findFirst().get();
+        assertEquals(2L, kue.products());
+        assertEquals(6L, kue.unitsSold());
+        assertEquals(16L, kue.stockOnHand());
+        assertEquals(60000.0, kue.revenue());
+        CategoryTotals bread = totals.stream().filter(t -> t.categoryCode() == 2).findFirst().get();
+        assertEquals(0L, bread.unitsSold());
+        assertEquals(0.0, bread.revenue());
+    }
+
+    @Test
+    void testCategoryCodeLookupAndBackfill() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "Bolu", 10, 0, true);
+        Product pie = persistProduct(userId, "Pie Apel", 10, 0, true);
+        pie.setCategory("Pie");
+        entityManager.flush();
+
+        // "Roti" berasal dari produk di setUp, yang juga belum punya kode
+        assertEquals(List.of("Kue", "Pie", "Roti"),
+                productRepository.findCategoriesWithoutCode().stream().sorted().toList());
+        assertEquals(1, productRepository.assignCategoryCode("Kue", (short) 1));
+        entityManager.clear();
+
+        List<Product> cakes = productRepository.findByUserIdAndCategoryCode(userId, (short) 1);
+        assertEquals(1, cakes.size());
+        assertEquals("Bolu", cakes.get(0).getProductName());
+        assertEquals(List.of("Pie", "Roti"), productRepository.findCategoriesWithoutCode().stream().sorted().toList());
+    }
+
+    @Test
+    void testStreamByUserIdInCreationOrder() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "Pertama", 5, 1, true);
+        persistProduct(UUID.randomUUID(), "Toko lain", 5, 1, true);
+        persistProduct(userId, "Kedua", 5, 1, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<Product> products = productRepository.streamByUserId(userId)) {
+            assertEquals(List.of("Pertama", "Kedua"), products.map(Product::getProductName).toList());
+        }
+    }
+
+    @Test
+    void testFindListItemsByUserIdAndIdIn() {
+        UUID userId = UUID.randomUUID();
+        Product own = persistProduct(userId, "Milik sendiri", 5, 1, true);
+        Product other = persistProduct(UUID.randomUUID(), "Toko lain", 5, 1, true);
+        persistProduct(userId, "Tidak diminta", 5, 1, true);
+        entityManager.flush();
+
+        List<ProductListItem> items = productRepository.findListItemsByUserIdAndIdIn(userId,
+                List.of(own.getId(), other.getId()));
+
+        assertEquals(List.of("Milik sendiri"), items.stream().map(ProductListItem::productName).toList());
+    }
+
+    @Test
+    void testSearchDocumentsIncludeDescription() {
+        UUID userId = UUID.randomUUID();
+        Product first = persistProduct(userId, "Pertama", 5, 1, true);
+        first.setDescription("Resep nenek");
+        Product second = persistProduct(UUID.randomUUID(), "Kedua", 5, 1, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<ProductSearchDocument> documents = productRepository.streamSearchDocuments()) {
+            assertEquals(Set.of(product.getId(), first.getId(), second.getId()),
+                    documents.map(ProductSearchDocument::id).collect(Collectors.toSet()));
+        }
+        List<ProductSearchDocument> found = productRepository.findSearchDocuments(List.of(first.getId()));
+        assertEquals(List.of(new ProductSearchDocument(first.getId(), userId, "Pertama", "Kue", "Resep nenek")), found);
+    }
+
+    @Test
+    void testFindSuggestionsByUserId() {
+        UUID userId = UUID.randomUUID();
+        Product own = persistProduct(userId, "Roti Keju", 5, 1, false);
+        persistProduct(UUID.randomUUID(), "Toko lain", 5, 1, true);
+        entityManager.flush();
+
+        assertEquals(List.of(new ProductSuggestion(own.getId(), "Roti Keju", "Kue", 10000.0, false)),
+                productRepository.findSuggestionsByUserId(userId));
+    }
+
+    private List<String> filteredNames(Specification<Product> spec) {
+        return productRepository.findListItems(spec, PageRequest.of(0, 50, Sort.by("productName"))).getContent()
+                .stream().map(ProductListItem::productName).toList();
+    }
+
+    @Test
+    void testFindListItemsWithSpecifications() {
+        UUID userId = UUID.randomUUID();
+        Product bolu = persistProduct(userId, "Bolu", 5, 0, true);
+        bolu.setCategoryCode((short) 1);
+        bolu.setPrice(20000.0);
+        Product donat = persistProduct(userId, "Donat", 40, 12, false);
+        donat.setCategoryCode((short) 1);
+        donat.setPrice(8000.0);
+        Product roti = persistProduct(userId, "Roti", 15, null, true);
+        roti.setCategoryCode((short) 2);
+        roti.setIsAvailable(null);
+        persistProduct(UUID.randomUUID(), "Toko lain", 5, 0, true).setCategoryCode((short) 1);
+        entityManager.flush();
+        Specification<Product> own = ProductSpecifications.ownedBy(userId);
+
+        assertEquals(List.of("Bolu", "Donat", "Roti"), filteredNames(own
+                .and(ProductSpecifications.inCategory(null)).and(ProductSpecifications.available(null))
+                .and(ProductSpecifications.priceBetween(null, null)).and(ProductSpecifications.soldBetween(null, null))));
+        assertEquals(List.of("Bolu", "Donat"), filteredNames(own.and(ProductSpecifications.inCategory((short) 1))));
+        assertEquals(List.of("Bolu"), filteredNames(own.and(ProductSpecifications.available(true))));
+        assertEquals(List.of("Donat", "Roti"), filteredNames(own.and(ProductSpecifications.available(false))));
+        assertEquals(List.of("Donat", "Roti"), filteredNames(own.and(ProductSpecifications.priceBetween(8000.0, 10000.0))));
+        assertEquals(List.of("Bolu"), filteredNames(own.and(ProductSpecifications.priceBetween(15000.0, null))));
+        assertEquals(List.of("Bolu", "Roti"), filteredNames(own.and(ProductSpecifications.stockBetween(null, 15))));
+        assertEquals(List.of("Donat"), filteredNames(own.and(ProductSpecifications.stockBetween(16, 40))));
+        assertEquals(List.of(), filteredNames(own.and(ProductSpecifications.none())));
+
+        // sold_count null dihitung 0
+        assertEquals(List.of("Bolu", "Roti"), filteredNames(own.and(ProductSpecifications.soldBetween(null, 5))));
+        assertEquals(List.of("Bolu", "Donat", "Roti"), filteredNames(own.and(ProductSpecifications.soldBetween(0, null))));
+        assertEquals(List.of("Donat"), filteredNames(own.and(ProductSpecifications.soldBetween(1, 20))));
+        assertEquals(List.of(), filteredNames(own.and(ProductSpecifications.soldBetween(null, -1))));
+
+        assertEquals(List.of("Donat"), filteredNames(own.and(ProductSpecifications.inCategory((short) 1))
+                .and(ProductSpecifications.available(false)).and(ProductSpecifications.stockBetween(10, null))));
+    }
+
+    @Test
+    void testFindListItemsPagedAndSorted() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 1; i <= 5; i++) {
+            persistProduct(userId, "Kue " + i, i, i, true).setPrice(1000.0 * i);
+        }
+        persistProduct(UUID.randomUUID(), "Toko lain", 1, 1, true);
+        entityManager.flush();
+
+        Page<ProductListItem> page = productRepository.findListItems(ProductSpecifications.ownedBy(userId),
+                PageRequest.of(1, 2, ProductSort.PRICE_DESC.sort()));
+
+        assertEquals(List.of("Kue 3", "Kue 2"), page.getContent().stream().map(ProductListItem::productName).toList());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(5, productRepository.findListItems(ProductSpecifications.ownedBy(userId),
+                PageRequest.of(0, 10)).getTotalElements());
+        // Spesifikasi tanpa kondisi: tanpa WHERE, semua produk
+        assertTrue(productRepository.findListItems(ProductSpecifications.priceBetween(null, null),
+                Pageable.unpaged()).getTotalElements() >= 6);
+    }
+
+    @Test
+    void testFacetCounts() {
+        UUID userId = UUID.randomUUID();
+        persistProduct(userId, "Bolu", 5, 0, true).setCategoryCode((short) 1);
+        persistProduct(userId, "Donat", 40, 12, false).setCategoryCode((short) 1);
+        persistProduct(userId, "Roti", 15, null, true).setCategoryCode((short) 2);
+        persistProduct(userId, "Lama", 15, null, true).setIsAvailable(null);
+        persistProduct(UUID.randomUUID(), "Toko lain", 5, 0, true).setCategoryCode((short) 1);
+        entityManager.flush();
+        Specification<Product> own = ProductSpecifications.ownedBy(userId);
+
+        Map<Short, Long> categories = productRepository.countByCategoryCode(own);
+        assertEquals(3, categories.size());
+        assertEquals(2L, categories.get((short) 1));
+        assertEquals(1L, categories.get((short) 2));
+        assertEquals(1L, categories.get(null));
+
+        Map<Boolean, Long> availability = productRepository.countByAvailability(
+                own.and(ProductSpecifications.inCategory((short) 1)));
+        assertEquals(Map.of(true, 1L, false, 1L), availability);
+        assertEquals(1L, productRepository.countByAvailability(own).get(null));
+    }
+}
@@ -0,0 +1,73 @@
+package com.bakery.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.bakery.entity.ProductSummary;
+
+@DataJpaTest
+class ProductSummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductSummaryRepository summaryRepository;
+
+    @Test
+    void testApplyDelta() {
+        UUID userId = UUID.randomUUID();
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(2);
+        summary.setAvailableProducts(2);
+        summary.setLowStockProducts(1);
+        summary.setTotalSold(10);
+        entityManager.persistAndFlush(summary);
+        entityManager.clear();
+
+        int updated = summaryRepository.applyDelta(userId, 1, -1, 1, 5, LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        ProductSummary reloaded = summaryRepository.findById(userId).get();
+        assertEquals(3, reloaded.getTotalProducts());
+        assertEquals(1, reloaded.getAvailableProducts());
+        assertEquals(2, reloaded.getLowStockProducts());
+        assertEquals(15, reloaded.getTotalSold());
+    }
+
+    @Test
+    void testUpsert_InsertsThenReplaces() {
+        UUID userId = UUID.randomUUID();
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(4);
+        summary.setAvailableProducts(3);
+        summary.setUpdatedAt(LocalDateTime.now());
+
+        assertEquals(1, summaryRepository.upsert(summary));
+        summary.setTotalProducts(6);
+        summary.setTotalSold(2);
+        assertEquals(1, summaryRepository.upsert(summary));
+        entityManager.clear();
+
+        ProductSummary reloaded = summaryRepository.findById(userId).get();
+        assertEquals(6, reloaded.getTotalProducts());
+        assertEquals(3, reloaded.getAvailableProducts());
+        assertEquals(2, reloaded.getTotalSold());
+        assertEquals(1, summaryRepository.count());
+    }
+
+    @Test
+    void testApplyDelta_MissingSummary() {
+        assertEquals(0, summaryRepository.applyDelta(UUID.randomUUID(), 1, 1, 0, 0, LocalDateTime.now()));
+    }
+}
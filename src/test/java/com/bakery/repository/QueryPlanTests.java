@@ -0,0 +1,73 @@
+package com.bakery.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Memastikan query pencarian dan filter produk memakai index dari migrasi Flyway, bukan table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+class QueryPlanTest {
+
+    private static final String USER_ID = "'123e4567-e89b-12d3-a456-426614174000'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.toLowerCase().contains(index), "Plan tidak memakai " + index + ": " + plan);
+    }
+
+    @Test
+    void testFindByUserIdUsesUserIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM products WHERE user_id = " + USER_ID, String.class).toLowerCase();
+        assertTrue(plan.contains("idx_products_user_"), plan);
+    }
+
+    @Test
+    void testFindByCategoryUsesIndex() {
+        assertUsesIndex("SELECT * FROM products WHERE category = 'Roti'", "idx_products_category");
+    }
+
+    @Test
+    void testCategoryBackfillUsesIndex() {
+        assertUsesIndex("UPDATE products SET category_code = 1 WHERE category = 'Roti' AND category_code IS NULL",
+                "idx_products_category");
+    }
+
+    @Test
+    void testCategoryFilterUsesFilterIndex() {
+        assertUsesIndex("SELECT COUNT(1) FROM products WHERE user_id = " + USER_ID + " AND category_code = 1 " +
+                "AND is_available = TRUE AND price BETWEEN 1000 AND 5000", "idx_products_user_category");
+    }
+
+    @Test
+    void testAvailabilityFacetUsesFilterIndex() {
+        assertUsesIndex("SELECT is_available, COUNT(1) FROM products WHERE user_id = " + USER_ID +
+                " AND category_code = 1 AND stock <= 10 GROUP BY is_available", "idx_products_user_category");
+    }
+
+    @Test
+    void testCategoryFacetUsesAvailableIndex() {
+        assertUsesIndex("SELECT category_code, COUNT(1) FROM products WHERE user_id = " + USER_ID +
+                " AND is_available = TRUE AND price BETWEEN 1000 AND 5000 GROUP BY category_code",
+                "idx_products_user_available");
+    }
+
+    @Test
+    void testDeleteTokensByUserUsesIndex() {
+        assertUsesIndex("DELETE FROM auth_tokens WHERE user_id = " + USER_ID, "idx_auth_tokens_user");
+    }
+
+    @Test
+    void testSalesEventsByProductUsesIndex() {
+        assertUsesIndex("SELECT * FROM sales_events WHERE product_id = " + USER_ID + " ORDER BY occurred_at",
+                "idx_sales_events_product");
+    }
+}
@@ -0,0 +1,155 @@
+package com.bakery.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.SalesBucket;
+import com.bakery.entity.Product;
+import com.bakery.entity.SalesEvent;
+import com.bakery.entity.SalesGranularity;
+import com.bakery.entity.SalesRollup;
+
+@DataJpaTest
+class SalesRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SalesRollupRepository rollupRepository;
+
+    @Autowired
+    private SalesEventRepository eventRepository;
+
+    private UUID userId;
+    private UUID breadId;
+    private UUID cakeId;
+    private final LocalDateTime day = LocalDateTime.of(2024, 5, 10, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        breadId = UUID.randomUUID();
+        cakeId = UUID.randomUUID();
+        rollup(breadId, "Roti", SalesGranularity.HOUR, day.plusHours(8), 3);
+        rollup(cakeId, "Kue", SalesGranularity.HOUR, day.plusHours(8), 2);
+        rollup(cakeId, "Kue", SalesGranularity.HOUR, day.plusHours(10), 6);
+        rollup(breadId, "Roti", SalesGranularity.DAY, day, 3);
+        rollup(cakeId, "Kue", SalesGranularity.DAY, day, 8);
+        rollup(cakeId, "Kue", SalesGranularity.DAY, day.minusDays(1), 1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void rollup(UUID productId, String category, SalesGranularity granularity,
+            LocalDateTime bucketStart, long quantity) {
+        SalesRollup rollup = new SalesRollup();
+        rollup.setUserId(userId);
+        rollup.setProductId(productId);
+        rollup.setCategory(category);
+        rollup.setGranularity(granularity);
+        rollup.setBucketStart(bucketStart);
+        rollup.setQuantity(quantity);
+        entityManager.persist(rollup);
+    }
+
+    @Test
+    void testAddQuantity() {
+        assertEquals(1, rollupRepository.addQuantity(breadId, SalesGranularity.DAY, day, 4));
+        assertEquals(0, rollupRepository.addQuantity(breadId, SalesGranularity.DAY, day.plusDays(1), 4));
+        entityManager.clear();
+
+        List<SalesBucket> buckets = rollupRepository.sumByBucket(userId, SalesGranularity.DAY, day, day.plusDays(1));
+        assertEquals(1, buckets.size());
+        assertEquals(15L, buckets.get(0).quantity());
+    }
+
+    @Test
+    void testLockProduct() {
+        Product product = new Product();
+        product.setUserId(userId);
+        product.setProductName("Roti Tawar");
+        product.setCategory("Roti");
+        product.setPrice(15000.0);
+        product.setStock(10);
+        entityManager.persistAndFlush(product);
+
+        assertEquals(1, rollupRepository.lockProduct(product.getId()).size());
+        assertEquals(0, rollupRepository.lockProduct(UUID.randomUUID()).size());
+    }
+
+    @Test
+    void testSumByBucket() {
+        List<SalesBucket> hourly = rollupRepository.sumByBucket(userId, SalesGranularity.HOUR, day, day.plusDays(1));
+
+        assertEquals(2, hourly.size());
+        assertEquals(day.plusHours(8), hourly.get(0).bucketStart());
+        assertEquals(5L, hourly.get(0).quantity());
+        assertEquals(6L, hourly.get(1).quantity());
+    }
+
+    @Test
+    void testSumByBucket_OtherUser() {
+        assertEquals(0, rollupRepository.sumByBucket(UUID.randomUUID(), SalesGranularity.DAY,
+                day.minusDays(7), day.plusDays(1)).size());
+    }
+
+    @Test
+    void testSumByCategory() {
+        List<CategorySales> totals = rollupRepository.sumByCategory(userId, SalesGranularity.DAY,
+                day.minusDays(1), day.plusDays(1));
+
+        assertEquals(2, totals.size());
+        assertEquals("Kue", totals.get(0).category());
+        assertEquals(9L, totals.get(0).quantity());
+        assertEquals("Roti", totals.get(1).category());
+        assertEquals(3L, totals.get(1).quantity());
+    }
+
+    @Test
+    void testDeleteBucketsBefore() {
+        int deleted = rollupRepository.deleteBucketsBefore(SalesGranularity.HOUR, day.plusHours(9));
+        entityManager.clear();
+
+        assertEquals(2, deleted);
+        assertEquals(1, rollupRepository.sumByBucket(userId, SalesGranularity.HOUR, day, day.plusDays(1)).size());
+        assertEquals(2, rollupRepository.sumByBucket(userId, SalesGranularity.DAY, day.minusDays(1),
+                day.plusDays(1)).size());
+    }
+
+    @Test
+    void testDeleteOccurredBefore() {
+        SalesEvent old = new SalesEvent();
+        old.setUserId(userId);
+        old.setProductId(breadId);
+        old.setCategory("Roti");
+        old.setQuantity(1);
+        old.setOccurredAt(day.minusDays(100));
+        SalesEvent recent = new SalesEvent();
+        recent.setUserId(userId);
+        recent.setProductId(breadId);
+        recent.setCategory("Roti");
+        recent.setQuantity(2);
+        recent.setOccurredAt(day);
+        entityManager.persist(old);
+        entityManager.persist(recent);
+        entityManager.flush();
+
+        assertEquals(1, eventRepository.deleteOccurredBefore(day.minusDays(90)));
+        entityManager.clear();
+
+        List<SalesEvent> remaining = eventRepository.findByProductIdOrderByOccurredAtAsc(breadId);
+        assertEquals(1, remaining.size());
+        assertEquals(2, remaining.get(0).getQuantity());
+    }
+}
@@ -0,0 +1,153 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.bakery.entity.Category;
+import com.bakery.repository.CategoryRepository;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryService(categoryRepository, productRepository, transactionManager);
+    }
+
+    @Test
+    void testCodeOf_ExistingCategoryIsCached() {
+        when(categoryRepository.findByName("Roti")).thenReturn(Optional.of(new Category((short) 2, "Roti")));
+
+        assertEquals((short) 2, categoryService.codeOf("Roti"));
+        assertEquals((short) 2, categoryService.codeOf("Roti"));
+        assertEquals("Roti", categoryService.nameOf((short) 2));
+
+        verify(categoryRepository, times(1)).findByName("Roti");
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCodeOf_NewCategoryGetsNextCode() {
+        when(categoryRepository.findByName("Es Krim")).thenReturn(Optional.empty());
+        when(categoryRepository.findMaxCode()).thenReturn((short) 7);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals((short) 8, categoryService.codeOf("Es Krim"));
+
+        ArgumentCaptor<Category> captor = ArgumentCaptor.forClass(Category.class);
+        verify(categoryRepository).saveAndFlush(captor.capture());
+        assertEquals("Es Krim", captor.getValue().getName());
+        // Dibuat di transaksi sendiri yang di-commit sebelum kode disimpan di memori
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testCodeOf_FirstCategory() {
+        when(categoryRepository.findByName("Kue")).thenReturn(Optional.empty());
+        when(categoryRepository.findMaxCode()).thenReturn(null);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals((short) 1, categoryService.codeOf("Kue"));
+    }
+
+    @Test
+    void testCodeOf_RetriesWhenRegisteredConcurrently() {
+        // Transaksi lain mendaftarkan "Es Krim" dengan kode 8 lebih dulu
+        when(categoryRepository.findByName("Es Krim"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new Category((short) 8, "Es Krim")));
+        when(categoryRepository.findMaxCode()).thenReturn((short) 7);
+        when(categoryRepository.saveAndFlush(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_categories_name"));
+
+        assertEquals((short) 8, categoryService.codeOf("Es Krim"));
+        assertEquals("Es Krim", categoryService.nameOf((short) 8));
+
+        verify(transactionManager).rollback(any());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCodeOf_GivesUpAfterRepeatedConflicts() {
+        when(categoryRepository.findByName("Es Krim")).thenReturn(Optional.empty());
+        when(categoryRepository.saveAndFlush(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("pk_categories"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> categoryService.codeOf("Es Krim"));
+
+        verify(categoryRepository, times(CategoryService.REGISTER_ATTEMPTS)).saveAndFlush(any(Category.class));
+        assertTrue(categoryService.findCode("Es Krim").isEmpty());
+    }
+
+    @Test
+    void testFindCode_DoesNotCreate() {
+        when(categoryRepository.findByName("Es Krim")).thenReturn(Optional.empty());
+
+        assertTrue(categoryService.findCode("Es Krim").isEmpty());
+        assertTrue(categoryService.findCode(null).isEmpty());
+        verify(categoryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testNameOf() {
+        when(categoryRepository.findById((short) 4)).thenReturn(Optional.of(new Category((short) 4, "Cookies")));
+        when(categoryRepository.findById((short) 99)).thenReturn(Optional.empty());
+
+        assertEquals("Cookies", categoryService.nameOf((short) 4));
+        assertNull(categoryService.nameOf((short) 99));
+        assertNull(categoryService.nameOf(null));
+    }
+
+    @Test
+    void testInitialize() {
+        for (int i = 0; i < ConstUtil.PRODUCT_CATEGORIES.length; i++) {
+            String name = ConstUtil.PRODUCT_CATEGORIES[i];
+            when(categoryRepository.findByName(name)).thenReturn(Optional.of(new Category((short) (i + 1), name)));
+        }
+        when(productRepository.findCategoriesWithoutCode()).thenReturn(List.of("Kue", "Tart"));
+        when(productRepository.assignCategoryCode("Kue", (short) 1)).thenReturn(4);
+        when(productRepository.assignCategoryCode("Tart", (short) 7)).thenReturn(1);
+
+        categoryService.initialize();
+
+        verify(productRepository).assignCategoryCode("Kue", (short) 1);
+        verify(productRepository).assignCategoryCode("Tart", (short) 7);
+        verify(categoryRepository, never()).saveAndFlush(any());
+    }
+}
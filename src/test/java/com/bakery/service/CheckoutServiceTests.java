@@ -0,0 +1,154 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.bakery.dto.CheckoutLine;
+import com.bakery.dto.Receipt;
+import com.bakery.entity.Product;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CheckoutService checkoutService;
+    private UUID userId;
+    private Product roti;
+    private Product donat;
+
+    @BeforeEach
+    void setUp() {
+        checkoutService = new CheckoutService(productRepository, eventPublisher);
+        userId = UUID.randomUUID();
+        roti = product("Roti", 15000.0, 10, 4);
+        donat = product("Donat", 5000.0, 3, null);
+    }
+
+    private Product product(String name, double price, int stock, Integer sold) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setUserId(userId);
+        product.setProductName(name);
+        product.setPrice(price);
+        product.setStock(stock);
+        product.setSoldCount(sold);
+        product.setIsAvailable(true);
+        return product;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckout_Success() {
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(roti, donat));
+
+        Receipt receipt = checkoutService.checkout(userId, List.of(
+                new CheckoutLine(donat.getId(), 2),
+                new CheckoutLine(roti.getId(), 1),
+                new CheckoutLine(donat.getId(), 1)));
+
+        // Baris produk yang sama digabung, urutan struk mengikuti keranjang
+        assertEquals(2, receipt.lines().size());
+        assertEquals("Donat", receipt.lines().get(0).productName());
+        assertEquals(3, receipt.lines().get(0).quantity());
+        assertEquals(15000.0, receipt.lines().get(0).subtotal());
+        assertEquals("Roti", receipt.lines().get(1).productName());
+        assertEquals(4, receipt.totalQuantity());
+        assertEquals(30000.0, receipt.total());
+
+        assertEquals(0, donat.getStock());
+        assertEquals(3, donat.getSoldCount());
+        assertEquals(9, roti.getStock());
+        assertEquals(5, roti.getSoldCount());
+
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository).findAllByIdForUpdate(ids.capture());
+        assertEquals(Set.of(roti.getId(), donat.getId()), Set.copyOf(ids.getValue()));
+        verify(productRepository, times(1)).saveAllAndFlush(List.of(roti, donat));
+
+        ArgumentCaptor<ProductChangedEvent> events = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(4, events.getAllValues().get(0).getBefore().soldOrZero());
+        assertEquals(5, events.getAllValues().get(0).getAfter().soldOrZero());
+        assertEquals(3, events.getAllValues().get(1).getAfter().soldOrZero());
+    }
+
+    @Test
+    void testCheckout_InsufficientStockRejectsWholeBasket() {
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(roti, donat));
+
+        CheckoutException exception = assertThrows(CheckoutException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(roti.getId(), 1), new CheckoutLine(donat.getId(), 4))));
+
+        assertEquals(List.of("Donat: stok 3, diminta 4"), exception.getProblems());
+        assertEquals(10, roti.getStock());
+        verify(productRepository, never()).saveAllAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCheckout_UnknownUnavailableAndForeignProducts() {
+        UUID missing = UUID.randomUUID();
+        donat.setIsAvailable(false);
+        Product foreign = product("Tart", 50000.0, 5, 0);
+        foreign.setUserId(UUID.randomUUID());
+        when(productRepository.findAllByIdForUpdate(any())).thenReturn(List.of(donat, foreign));
+
+        CheckoutException exception = assertThrows(CheckoutException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(missing, 1), new CheckoutLine(donat.getId(), 1),
+                        new CheckoutLine(foreign.getId(), 1))));
+
+        assertEquals(List.of("Produk " + missing + " tidak ditemukan", "Donat tidak tersedia",
+                "Produk " + foreign.getId() + " tidak ditemukan"), exception.getProblems());
+        verify(productRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void testCheckout_InvalidBasket() {
+        CheckoutLine valid = new CheckoutLine(roti.getId(), 1);
+        List<CheckoutLine> tooMany = new ArrayList<>(Collections.nCopies(ConstUtil.CHECKOUT_MAX_LINES + 1, valid));
+
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId, null));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId, tooMany));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId,
+                Collections.singletonList(null)));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(null, 1))));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(roti.getId(), null))));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(roti.getId(), 0))));
+        assertThrows(IllegalArgumentException.class, () -> checkoutService.checkout(userId,
+                List.of(new CheckoutLine(roti.getId(), Integer.MAX_VALUE), new CheckoutLine(roti.getId(), 1))));
+
+        verify(productRepository, never()).findAllByIdForUpdate(any());
+    }
+}
@@ -0,0 +1,159 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.SectionStats;
+
+class DashboardSectionRunnerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private SectionStats stats(DashboardSectionRunner runner, DashboardSection section) {
+        return runner.getStats().stream()
+                .filter(s -> s.section().equals(section.key()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testSectionsCompleteWithinBudget() {
+        DashboardSectionRunner runner = new DashboardSectionRunner(executor, 1_000L);
+        DashboardSectionRunner.Batch batch = runner.begin();
+
+        DashboardSectionRunner.Pending<Integer> summary = batch.submit(DashboardSection.SUMMARY, () -> 42);
+        DashboardSectionRunner.Pending<List<String>> recent = batch.submit(DashboardSection.RECENT_PRODUCTS,
+                () -> List.of("Bolu"));
+
+        assertEquals(42, summary.orElse(0));
+        assertEquals(List.of("Bolu"), recent.orElse(List.of()));
+        assertTrue(batch.missed().isEmpty());
+        assertEquals(1L, stats(runner, DashboardSection.SUMMARY).count());
+    }
+
+    @Test
+    void testSlowSectionRendersPlaceholder() throws InterruptedException {
+        DashboardSectionRunner runner = new DashboardSectionRunner(executor, 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        DashboardSectionRunner.Batch batch = runner.begin();
+
+        DashboardSectionRunner.Pending<String> slow = batch.submit(DashboardSection.SALES_HISTORY, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+            return "late";
+        });
+        DashboardSectionRunner.Pending<String> fast = batch.submit(DashboardSection.LOW_STOCK, () -> "ok");
+
+        long startedAt = System.nanoTime();
+        assertEquals("placeholder", slow.orElse("placeholder"));
+        assertEquals("ok", fast.orElse("placeholder"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 1_000L);
+        assertEquals(Set.of(DashboardSection.SALES_HISTORY), batch.missed());
+        assertEquals(1L, stats(runner, DashboardSection.SALES_HISTORY).timeouts());
+
+        // Query yang terlambat tidak di-interrupt dan tetap dibiarkan selesai
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedSectionRendersPlaceholder() {
+        DashboardSectionRunner runner = new DashboardSectionRunner(Runnable::run, 1_000L);
+        DashboardSectionRunner.Batch batch = runner.begin();
+
+        DashboardSectionRunner.Pending<String> failing = batch.submit(DashboardSection.CATEGORY_BREAKDOWN, () -> {
+            throw new IllegalStateException("db down");
+        });
+
+        assertEquals("-", failing.orElse("-"));
+        assertEquals(Set.of(DashboardSection.CATEGORY_BREAKDOWN), batch.missed());
+        SectionStats stats = stats(runner, DashboardSection.CATEGORY_BREAKDOWN);
+        assertEquals(1L, stats.failures());
+        assertEquals(1L, stats.count());
+    }
+
+    @Test
+    void testRejectedSectionRendersPlaceholder() {
+        DashboardSectionRunner runner = new DashboardSectionRunner(command -> {
+            throw new RejectedExecutionException("queue full");
+        }, 1_000L);
+        DashboardSectionRunner.Batch batch = runner.begin();
+
+        assertEquals(0, batch.submit(DashboardSection.SUMMARY, () -> 7).orElse(0));
+        assertEquals(Set.of(DashboardSection.SUMMARY), batch.missed());
+        assertEquals(0L, stats(runner, DashboardSection.SUMMARY).count());
+    }
+
+    @Test
+    void testStatsCoverEverySection() {
+        DashboardSectionRunner runner = new DashboardSectionRunner(Runnable::run, 1_000L);
+
+        List<SectionStats> stats = runner.getStats();
+
+        assertEquals(DashboardSection.values().length, stats.size());
+        assertTrue(stats.stream().allMatch(s -> s.count() == 0 && s.averageMillis() == 0.0));
+    }
+
+    @Test
+    void testExecutorIsBounded() throws InterruptedException {
+        ThreadPoolExecutor pool = DashboardSectionRunner.newExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testThreadFactoryNamesThreads() {
+        Thread thread = DashboardSectionRunner.threadFactory().newThread(() -> { });
+
+        assertTrue(thread.getName().startsWith(DashboardSectionRunner.THREAD_PREFIX));
+        if (DashboardSectionRunner.virtualThreadFactory() == null) {
+            assertTrue(thread.isDaemon());
+        }
+    }
+
+    @Test
+    void testShutdownStopsOwnedExecutor() {
+        ExecutorService owned = Executors.newSingleThreadExecutor();
+        new DashboardSectionRunner(owned, 1_000L).shutdown();
+
+        assertTrue(owned.isShutdown());
+    }
+}
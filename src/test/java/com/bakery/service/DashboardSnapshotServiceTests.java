@@ -0,0 +1,232 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bakery.dto.DashboardSection;
+import com.bakery.dto.DashboardSnapshot;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.entity.Product;
+import com.bakery.entity.ProductSummary;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.util.ConstUtil;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSnapshotServiceTest {
+
+    private static final long STALENESS = 30_000L;
+    private static final long ACTIVE_WINDOW = 900_000L;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+
+    @Mock
+    private SalesHistoryService salesHistoryService;
+
+    // Executor langsung: setiap bagian selesai sebelum submit kembali, jadi test tetap deterministik
+    private final DashboardSectionRunner sectionRunner = new DashboardSectionRunner(Runnable::run, 1_000L);
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private DashboardSnapshotService snapshotService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new DashboardSnapshotService(productService, dashboardSummaryService,
+                salesHistoryService, sectionRunner, true, STALENESS, ACTIVE_WINDOW, clock::get);
+        userId = UUID.randomUUID();
+
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(3);
+        summary.setTotalSold(12);
+        lenient().when(dashboardSummaryService.getSummary(userId)).thenReturn(summary);
+        lenient().when(salesHistoryService.getSeries(userId, SalesPeriod.TODAY))
+                .thenReturn(new SalesSeries(SalesPeriod.TODAY, List.of(), List.of()));
+        lenient().when(salesHistoryService.getSeries(userId, SalesPeriod.MONTH))
+                .thenReturn(new SalesSeries(SalesPeriod.MONTH, List.of(), List.of()));
+    }
+
+    private ProductSummary summary(long totalProducts) {
+        ProductSummary summary = new ProductSummary();
+        summary.setUserId(userId);
+        summary.setTotalProducts(totalProducts);
+        return summary;
+    }
+
+    private DashboardSnapshot defaultView() {
+        return snapshotService.getSnapshot(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.TODAY);
+    }
+
+    @Test
+    void testBuild() {
+        Product product = new Product();
+        product.setProductName("Donat");
+        product.setStock(4);
+        product.setSoldCount(9);
+        ProductListItem item = ProductListItem.of(product);
+        when(productService.getBestSellingProducts(userId, 10)).thenReturn(List.of(item));
+        when(productService.getLowStockProducts(userId, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT)).thenReturn(List.of(item));
+
+        DashboardSnapshot snapshot = snapshotService.build(userId, 10, SalesPeriod.TODAY);
+
+        assertEquals(3L, snapshot.totalProducts());
+        assertEquals(12L, snapshot.totalSold());
+        assertEquals(10, snapshot.bestSellingLimit());
+        assertEquals(List.of(9), snapshot.bestSellingSeries().data());
+        assertEquals(List.of(4), snapshot.lowStockSeries().data());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.bestSellingProducts().clear());
+        assertTrue(snapshot.isComplete());
+    }
+
+    @Test
+    void testFailedSectionRendersPlaceholder() {
+        when(productService.getCategoryBreakdown(userId)).thenThrow(new IllegalStateException("db down"));
+
+        DashboardSnapshot snapshot = snapshotService.build(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.TODAY);
+
+        assertFalse(snapshot.isComplete());
+        assertEquals(Set.of(DashboardSection.CATEGORY_BREAKDOWN), snapshot.unavailableSections());
+        assertTrue(snapshot.categoryBreakdown().isEmpty());
+        assertEquals(3L, snapshot.totalProducts());
+    }
+
+    @Test
+    void testIncompleteSnapshotRebuiltOnNextRequest() {
+        Product product = new Product();
+        product.setProductName("Bolu");
+        when(productService.getRecentProducts(userId, ConstUtil.DASHBOARD_RECENT_LIMIT))
+                .thenThrow(new IllegalStateException("timeout"))
+                .thenReturn(List.of(ProductListItem.of(product)));
+
+        DashboardSnapshot first = defaultView();
+        DashboardSnapshot second = defaultView();
+
+        assertFalse(first.isComplete());
+        assertNotSame(first, second);
+        assertTrue(second.isComplete());
+        assertEquals(List.of(ProductListItem.of(product)), second.recentProducts());
+        assertSame(second, defaultView());
+    }
+
+    @Test
+    void testSnapshotServedWithinStalenessBudget() {
+        DashboardSnapshot first = defaultView();
+        clock.addAndGet(STALENESS - 1);
+
+        assertSame(first, defaultView());
+        verify(dashboardSummaryService, times(1)).getSummary(userId);
+    }
+
+    @Test
+    void testSnapshotRebuiltAfterStalenessBudget() {
+        DashboardSnapshot first = defaultView();
+        clock.addAndGet(STALENESS + 1);
+
+        assertNotSame(first, defaultView());
+        verify(dashboardSummaryService, times(2)).getSummary(userId);
+    }
+
+    @Test
+    void testWriteForcesRefresh() {
+        DashboardSnapshot first = defaultView();
+        ProductSnapshot product = new ProductSnapshot(UUID.randomUUID(), userId, "Pie", "Pie", 1.0, 5, true, 0);
+
+        snapshotService.onProductChanged(ProductChangedEvent.created(product));
+
+        assertNotSame(first, defaultView());
+    }
+
+    @Test
+    void testSlowRefreshStartedBeforeWriteDoesNotOverwriteNewerSnapshot() {
+        defaultView();
+        ProductSnapshot product = new ProductSnapshot(UUID.randomUUID(), userId, "Pie", "Pie", 1.0, 5, true, 0);
+        AtomicReference<DashboardSnapshot> afterWrite = new AtomicReference<>();
+        // Refresh terjadwal sedang membaca ringkasan lama ketika user menulis lalu membuka dashboard
+        when(dashboardSummaryService.getSummary(userId))
+                .thenAnswer(invocation -> {
+                    snapshotService.onProductChanged(ProductChangedEvent.created(product));
+                    afterWrite.set(defaultView());
+                    return summary(3);
+                })
+                .thenReturn(summary(4));
+
+        snapshotService.refreshActive();
+
+        assertEquals(4L, afterWrite.get().totalProducts());
+        assertSame(afterWrite.get(), defaultView());
+        verify(dashboardSummaryService, times(3)).getSummary(userId);
+    }
+
+    @Test
+    void testImportForcesRefresh() {
+        DashboardSnapshot first = defaultView();
+
+        snapshotService.onProductsImported(new ProductsImportedEvent(userId, List.of(UUID.randomUUID())));
+
+        assertNotSame(first, defaultView());
+    }
+
+    @Test
+    void testNonDefaultViewBypassesSnapshot() {
+        snapshotService.getSnapshot(userId, 20, SalesPeriod.TODAY);
+        snapshotService.getSnapshot(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.MONTH);
+
+        assertEquals(0, snapshotService.getActiveUserCount());
+        verify(productService).getBestSellingProducts(userId, 20);
+    }
+
+    @Test
+    void testRefreshActiveSkipsAndEvictsIdleUsers() {
+        defaultView();
+
+        clock.addAndGet(ACTIVE_WINDOW / 2);
+        snapshotService.refreshActive();
+        verify(dashboardSummaryService, times(2)).getSummary(userId);
+        assertEquals(1, snapshotService.getActiveUserCount());
+
+        clock.addAndGet(ACTIVE_WINDOW);
+        snapshotService.refreshActive();
+        verify(dashboardSummaryService, times(2)).getSummary(userId);
+        assertEquals(0, snapshotService.getActiveUserCount());
+    }
+
+    @Test
+    void testDisabledModeAlwaysBuilds() {
+        DashboardSnapshotService disabled = new DashboardSnapshotService(productService, dashboardSummaryService,
+                salesHistoryService, sectionRunner, false, STALENESS, ACTIVE_WINDOW, clock::get);
+
+        disabled.getSnapshot(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.TODAY);
+        disabled.getSnapshot(userId, ConstUtil.DASHBOARD_TOP_LIMIT, SalesPeriod.TODAY);
+        disabled.refreshActive();
+
+        verify(productService, times(2)).getBestSellingProducts(userId, ConstUtil.DASHBOARD_TOP_LIMIT);
+        assertEquals(0, disabled.getActiveUserCount());
+    }
+}
@@ -0,0 +1,282 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+
+class DashboardStreamServiceTest {
+
+    private UUID userId;
+    private UUID productId;
+    private List<Runnable> pendingTasks;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+        pendingTasks = new ArrayList<>();
+    }
+
+    private ProductSnapshot snapshot(String name, Integer stock, Integer sold) {
+        return new ProductSnapshot(productId, userId, name, "Roti", 10000.0, stock, true, sold);
+    }
+
+    private static List<String> eventNames(List<SseEmitter.SseEventBuilder> events) {
+        return events.stream()
+                .map(event -> event.build().iterator().next().getData().toString())
+                .map(text -> text.substring("event:".length(), text.indexOf('\n')))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testSubscribe_RespectsConnectionLimit() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 1, Runnable::run);
+
+        Optional<SseEmitter> first = service.subscribe(userId);
+        Optional<SseEmitter> second = service.subscribe(UUID.randomUUID());
+
+        assertTrue(first.isPresent());
+        assertFalse(second.isPresent());
+        assertEquals(1, service.getConnectionCount());
+    }
+
+    @Test
+    void testOnProductChanged_DeliversToSubscriber() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, pendingTasks::add);
+        service.subscribe(userId);
+        pendingTasks.clear();
+
+        service.onProductChanged(ProductChangedEvent.updated(snapshot("Roti", 20, 1), snapshot("Roti", 20, 4)));
+        pendingTasks.forEach(Runnable::run);
+
+        assertEquals(1, service.getConnectionCount());
+    }
+
+    @Test
+    void testOnProductChanged_NoSubscribers() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, pendingTasks::add);
+
+        service.onProductChanged(ProductChangedEvent.created(snapshot("Roti", 20, 0)));
+
+        assertTrue(pendingTasks.isEmpty());
+    }
+
+    @Test
+    void testSlowClientIsDropped() {
+        // Buffer 1 sudah terisi event "ready" karena sender belum sempat mengirim
+        DashboardStreamService service = new DashboardStreamService(1, 1000, 10, pendingTasks::add);
+        service.subscribe(userId);
+
+        service.onProductChanged(ProductChangedEvent.updated(snapshot("Roti", 20, 1), snapshot("Roti", 20, 4)));
+
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void testHeartbeat() {
+        DashboardStreamService service = new DashboardStreamService(1, 1000, 10, pendingTasks::add);
+        service.subscribe(userId);
+
+        service.heartbeat();
+
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void testFailedSendRemovesSubscriber() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, pendingTasks::add);
+        SseEmitter emitter = service.subscribe(userId).get();
+        emitter.complete();
+
+        pendingTasks.forEach(Runnable::run);
+
+        assertEquals(0, service.getConnectionCount());
+    }
+
+    @Test
+    void testStalledSendDoesNotBlockOtherClients() throws Exception {
+        UUID stalledUser = UUID.randomUUID();
+        CountDownLatch stalledSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseStalledSend = new CountDownLatch(1);
+        CountDownLatch fastClientReceived = new CountDownLatch(1);
+        ThreadPoolExecutor pool = DashboardStreamService.newSenderPool(1);
+        DashboardStreamService service = new DashboardStreamService(8, 60_000, 10, 50, pool) {
+            private int created;
+
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                // Emitter pertama milik klien macet, kedua milik klien normal
+                boolean stalled = created++ == 0;
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        if (stalled) {
+                            stalledSendStarted.countDown();
+                            try {
+                                releaseStalledSend.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        } else {
+                            fastClientReceived.countDown();
+                        }
+                    }
+                };
+            }
+        };
+        try {
+            service.subscribe(stalledUser);
+            assertTrue(stalledSendStarted.await(5, TimeUnit.SECONDS));
+            service.subscribe(userId);
+            Thread.sleep(100);
+
+            service.dropStalledSends();
+
+            assertTrue(fastClientReceived.await(5, TimeUnit.SECONDS));
+            assertEquals(1, service.getConnectionCount());
+            assertEquals(2, pool.getMaximumPoolSize());
+
+            releaseStalledSend.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pool.getMaximumPoolSize() != 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, pool.getMaximumPoolSize());
+        } finally {
+            releaseStalledSend.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testStalledThreadsAreCapped() throws Exception {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch secondSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSends = new CountDownLatch(1);
+        ThreadPoolExecutor pool = DashboardStreamService.newSenderPool(1);
+        DashboardStreamService service = new DashboardStreamService(8, 60_000, 10, 50, 1, pool) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                // Semua klien macet
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        (firstSendStarted.getCount() > 0 ? firstSendStarted : secondSendStarted).countDown();
+                        try {
+                            releaseSends.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+            }
+        };
+        try {
+            service.subscribe(UUID.randomUUID());
+            assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            service.dropStalledSends();
+            assertEquals(2, pool.getMaximumPoolSize());
+
+            // Klien kedua macet di thread tambahan; jatah sudah habis, jadi hanya diputus
+            service.subscribe(userId);
+            assertTrue(secondSendStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            service.dropStalledSends();
+
+            assertEquals(0, service.getConnectionCount());
+            assertEquals(2, pool.getMaximumPoolSize());
+            assertEquals(1, service.getStalledThreadCount());
+
+            releaseSends.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pool.getMaximumPoolSize() != 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, pool.getMaximumPoolSize());
+            assertEquals(0, service.getStalledThreadCount());
+        } finally {
+            releaseSends.countDown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, executor);
+        service.subscribe(userId);
+
+        service.shutdown();
+
+        assertTrue(executor.isShutdown());
+        new DashboardStreamService(8, 1000, 10, Runnable::run).shutdown();
+    }
+
+    @Test
+    void testToEvents_Created() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, Runnable::run);
+
+        List<String> names = eventNames(service.toEvents(ProductChangedEvent.created(snapshot("Roti", 20, 0))));
+
+        assertEquals(List.of("product-added", "counters"), names);
+    }
+
+    @Test
+    void testToEvents_Deleted() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, Runnable::run);
+
+        List<String> names = eventNames(service.toEvents(ProductChangedEvent.deleted(snapshot("Roti", 20, 0))));
+
+        assertEquals(List.of("product-removed", "counters"), names);
+    }
+
+    @Test
+    void testToEvents_SoldAndLowStock() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, Runnable::run);
+
+        List<String> names = eventNames(service.toEvents(
+                ProductChangedEvent.updated(snapshot("Roti", 20, 1), snapshot("Roti", 5, 4))));
+
+        assertEquals(List.of("sold", "low-stock", "counters"), names);
+    }
+
+    @Test
+    void testToEvents_StockChangeWhileLow() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, Runnable::run);
+
+        List<String> names = eventNames(service.toEvents(
+                ProductChangedEvent.updated(snapshot("Roti", 5, 1), snapshot("Roti", 3, 1))));
+
+        assertEquals(List.of("low-stock"), names);
+    }
+
+    @Test
+    void testToEvents_IrrelevantChange() {
+        DashboardStreamService service = new DashboardStreamService(8, 1000, 10, Runnable::run);
+
+        assertTrue(service.toEvents(ProductChangedEvent.updated(
+                snapshot("Roti", 20, 1), snapshot("Roti Manis", 25, 1))).isEmpty());
+        assertTrue(service.toEvents(ProductChangedEvent.updated(
+                snapshot("Roti", 5, 1), snapshot("Roti Manis", 5, 1))).isEmpty());
+    }
+}
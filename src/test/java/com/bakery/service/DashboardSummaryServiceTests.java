@@ -0,0 +1,191 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bakery.entity.ProductSummary;
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+import com.bakery.repository.ProductSummaryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSummaryServiceTest {
+
+    @Mock
+    private ProductSummaryRepository summaryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private DashboardSummaryService summaryService;
+    private UUID userId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new DashboardSummaryService(summaryRepository, productRepository);
+        userId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+    }
+
+    private ProductSnapshot snapshot(Integer stock, Boolean available, Integer sold) {
+        return new ProductSnapshot(productId, userId, "Roti", "Roti", 10000.0, stock, available, sold);
+    }
+
+    private void stubProductAggregates(long total, long available, long lowStock, Long sold) {
+        when(productRepository.countByUserId(userId)).thenReturn(total);
+        when(productRepository.countByUserIdAndIsAvailableTrue(userId)).thenReturn(available);
+        when(productRepository.countByUserIdAndLowStockTrue(userId)).thenReturn(lowStock);
+        when(productRepository.sumSoldCountByUserId(userId)).thenReturn(sold);
+    }
+
+    @Test
+    void testGetSummary_Existing() {
+        ProductSummary summary = new ProductSummary();
+        when(summaryRepository.findById(userId)).thenReturn(Optional.of(summary));
+
+        assertSame(summary, summaryService.getSummary(userId));
+        verify(summaryRepository, never()).upsert(any());
+    }
+
+    @Test
+    void testGetSummary_BuildsWhenMissing() {
+        when(summaryRepository.findById(userId)).thenReturn(Optional.empty());
+        stubProductAggregates(3, 2, 1, null);
+
+        ProductSummary summary = summaryService.getSummary(userId);
+
+        assertEquals(userId, summary.getUserId());
+        assertEquals(3, summary.getTotalProducts());
+        assertEquals(2, summary.getAvailableProducts());
+        assertEquals(1, summary.getLowStockProducts());
+        assertEquals(0, summary.getTotalSold());
+        verify(summaryRepository).upsert(summary);
+    }
+
+    @Test
+    void testOnProductChanged_Created() {
+        when(summaryRepository.applyDelta(eq(userId), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        summaryService.onProductChanged(ProductChangedEvent.created(snapshot(5, true, 3)));
+
+        verify(summaryRepository).applyDelta(eq(userId), eq(1L), eq(1L), eq(1L), eq(3L), any());
+    }
+
+    @Test
+    void testOnProductChanged_Updated() {
+        when(summaryRepository.applyDelta(eq(userId), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        summaryService.onProductChanged(ProductChangedEvent.updated(snapshot(5, true, 3), snapshot(50, false, 10)));
+
+        verify(summaryRepository).applyDelta(eq(userId), eq(0L), eq(-1L), eq(-1L), eq(7L), any());
+    }
+
+    @Test
+    void testOnProductChanged_Deleted() {
+        when(summaryRepository.applyDelta(eq(userId), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+
+        summaryService.onProductChanged(ProductChangedEvent.deleted(snapshot(50, false, null)));
+
+        verify(summaryRepository).applyDelta(eq(userId), eq(-1L), eq(0L), eq(0L), eq(0L), any());
+    }
+
+    @Test
+    void testOnProductChanged_RebuildsWhenSummaryMissing() {
+        when(summaryRepository.applyDelta(eq(userId), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(0);
+        stubProductAggregates(1, 1, 0, 4L);
+
+        summaryService.onProductChanged(ProductChangedEvent.created(snapshot(20, true, 4)));
+
+        ArgumentCaptor<ProductSummary> saved = ArgumentCaptor.forClass(ProductSummary.class);
+        verify(summaryRepository).upsert(saved.capture());
+        assertEquals(1, saved.getValue().getTotalProducts());
+        assertEquals(4, saved.getValue().getTotalSold());
+    }
+
+    @Test
+    void testOnProductsImported_Rebuilds() {
+        stubProductAggregates(1, 1, 0, 0L);
+
+        summaryService.onProductsImported(new ProductsImportedEvent(userId, List.of(UUID.randomUUID())));
+
+        ArgumentCaptor<ProductSummary> saved = ArgumentCaptor.forClass(ProductSummary.class);
+        verify(summaryRepository).upsert(saved.capture());
+        assertEquals(1, saved.getValue().getTotalProducts());
+    }
+
+    @Test
+    void testOnLowStockFlagsRefreshed_Rebuilds() {
+        stubProductAggregates(3, 3, 2, 0L);
+
+        summaryService.onLowStockFlagsRefreshed(new LowStockFlagsRefreshedEvent(Set.of(userId)));
+
+        ArgumentCaptor<ProductSummary> saved = ArgumentCaptor.forClass(ProductSummary.class);
+        verify(summaryRepository).upsert(saved.capture());
+        assertEquals(2, saved.getValue().getLowStockProducts());
+    }
+
+    @Test
+    void testVerifyAndRepair_Consistent() {
+        stubProductAggregates(2, 1, 1, 9L);
+        ProductSummary stored = new ProductSummary();
+        stored.setTotalProducts(2);
+        stored.setAvailableProducts(1);
+        stored.setLowStockProducts(1);
+        stored.setTotalSold(9);
+        when(summaryRepository.findById(userId)).thenReturn(Optional.of(stored));
+
+        assertTrue(summaryService.verifyAndRepair(userId));
+        verify(summaryRepository, never()).upsert(any());
+    }
+
+    @Test
+    void testVerifyAndRepair_Drifted() {
+        stubProductAggregates(2, 1, 1, 9L);
+        ProductSummary stored = new ProductSummary();
+        stored.setTotalProducts(5);
+        when(summaryRepository.findById(userId)).thenReturn(Optional.of(stored));
+
+        assertFalse(summaryService.verifyAndRepair(userId));
+
+        ArgumentCaptor<ProductSummary> saved = ArgumentCaptor.forClass(ProductSummary.class);
+        verify(summaryRepository).upsert(saved.capture());
+        assertEquals(2, saved.getValue().getTotalProducts());
+    }
+
+    @Test
+    void testVerifyAndRepair_Missing() {
+        stubProductAggregates(0, 0, 0, 0L);
+        when(summaryRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertFalse(summaryService.verifyAndRepair(userId));
+        verify(summaryRepository).upsert(any(ProductSummary.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.ProductsImportedEvent;
+
+class DataVersionServiceTest {
+
+    @Test
+    void testVersionStartsAtZeroAndBumps() {
+        DataVersionService service = new DataVersionService(1000L);
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(0L, service.getVersion(userId));
+        assertEquals(1L, service.bump(userId));
+        assertEquals(2L, service.bump(userId));
+        assertEquals(2L, service.getVersion(userId));
+        assertEquals(0L, service.getVersion(UUID.randomUUID()));
+    }
+
+    @Test
+    void testEtag() {
+        DataVersionService service = new DataVersionService(36L);
+        UUID userId = UUID.randomUUID();
+
+        assertEquals("\"10-0-charts\"", service.etag(userId, "charts"));
+        service.bump(userId);
+        assertEquals("\"10-1-charts\"", service.etag(userId, "charts"));
+        assertNotEquals(service.etag(userId, "charts"), service.etag(userId, "other"));
+    }
+
+    @Test
+    void testEtagDiffersAcrossRestarts() {
+        UUID userId = UUID.randomUUID();
+
+        assertNotEquals(new DataVersionService(1L).etag(userId, "charts"),
+                new DataVersionService(2L).etag(userId, "charts"));
+        assertTrue(new DataVersionService().etag(userId, "charts").startsWith("\""));
+    }
+
+    @Test
+    void testOnProductChangedBumpsOwnerVersion() {
+        DataVersionService service = new DataVersionService(1L);
+        UUID userId = UUID.randomUUID();
+        ProductSnapshot snapshot = new ProductSnapshot(UUID.randomUUID(), userId, "Pie", "Pie", 1.0, 1, true, 0);
+
+        service.onProductChanged(ProductChangedEvent.created(snapshot));
+
+        assertEquals(1L, service.getVersion(userId));
+    }
+
+    @Test
+    void testOnProductsImportedBumpsOwnerVersion() {
+        DataVersionService service = new DataVersionService(1L);
+        UUID userId = UUID.randomUUID();
+
+        service.onProductsImported(new ProductsImportedEvent(userId, List.of(UUID.randomUUID())));
+
+        assertEquals(1L, service.getVersion(userId));
+    }
+}
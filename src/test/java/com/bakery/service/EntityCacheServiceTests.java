@@ -0,0 +1,130 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bakery.BakeryApplication;
+import com.bakery.dto.CacheRegionStats;
+import com.bakery.entity.Product;
+import com.bakery.entity.User;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCacheServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private EntityStatistics productStats;
+
+    @Mock
+    private EntityStatistics userStats;
+
+    @Mock
+    private Cache cache;
+
+    @Test
+    void testStats() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getEntityStatistics(Product.class.getName())).thenReturn(productStats);
+        when(statistics.getEntityStatistics(User.class.getName())).thenReturn(userStats);
+        when(productStats.getCacheHitCount()).thenReturn(9L);
+        when(productStats.getCacheMissCount()).thenReturn(1L);
+        when(productStats.getCachePutCount()).thenReturn(1L);
+        when(userStats.getCacheHitCount()).thenReturn(Long.MIN_VALUE); // entitas tanpa region
+        when(statistics.getQueryCacheHitCount()).thenReturn(2L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(2L);
+        when(statistics.getQueryCachePutCount()).thenReturn(2L);
+
+        List<CacheRegionStats> stats = new EntityCacheService(entityManagerFactory).stats();
+
+        assertEquals(List.of(
+                new CacheRegionStats(Product.class.getName(), 9, 1, 1, 0.9),
+                new CacheRegionStats(User.class.getName(), 0, 0, 0, 0.0),
+                new CacheRegionStats(EntityCacheService.QUERY_REGION, 2, 2, 2, 0.5)), stats);
+    }
+
+    @Test
+    void testEvictProducts() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        new EntityCacheService(entityManagerFactory).evictProducts(List.of(first, second));
+
+        verify(cache).evict(Product.class, first);
+        verify(cache).evict(Product.class, second);
+    }
+
+    @Test
+    void testSecondLevelAndQueryCache() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BakeryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:cache-" + UUID.randomUUID())
+                .run();
+        try {
+            ProductService productService = context.getBean(ProductService.class);
+            UserService userService = context.getBean(UserService.class);
+            EntityCacheService entityCacheService = context.getBean(EntityCacheService.class);
+            Cache secondLevel = context.getBean(EntityManagerFactory.class).getCache();
+
+            Product roti = new Product();
+            roti.setProductName("Roti");
+            roti.setCategory("Roti");
+            roti.setPrice(15000.0);
+            roti.setStock(20);
+            UUID productId = productService.createProduct(roti, UUID.randomUUID()).getId();
+            productService.getProductById(productId);
+            productService.getProductById(productId);
+            assertTrue(secondLevel.contains(Product.class, productId));
+
+            // MERGE native ringkasan hanya menyentuh query space product_summaries
+            context.getBean(DashboardSummaryService.class).rebuild(roti.getUserId());
+            assertTrue(secondLevel.contains(Product.class, productId));
+
+            // UPDATE JPQL massal mengosongkan region Product, pembacaan berikutnya tidak basi
+            assertTrue(productService.recordSale(productId, 5));
+            assertEquals(15, productService.getProductById(productId).get().getStock());
+
+            userService.createUser("Ani", "ani@example.com", "rahasia");
+            userService.login("ani@example.com", "rahasia");
+            userService.login("ani@example.com", "rahasia");
+
+            List<CacheRegionStats> stats = entityCacheService.stats();
+            assertTrue(stats.get(0).hits() > 0);
+            assertTrue(stats.get(2).hits() > 0);
+
+            entityCacheService.evictProducts(List.of(productId));
+            assertFalse(secondLevel.contains(Product.class, productId));
+        } finally {
+            context.close();
+        }
+    }
+}
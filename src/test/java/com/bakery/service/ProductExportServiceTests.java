@@ -0,0 +1,155 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bakery.entity.Product;
+import com.bakery.util.ConstUtil;
+import com.bakery.util.CsvReader;
+import com.bakery.util.UuidV7;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@Import({ ProductExportService.class, SalesCounterService.class, EntityCacheService.class })
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalesCounterService salesCounterService;
+
+    private void seed(UUID userId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {
+                    UuidV7.generate(), userId, "Produk " + i, "Kue", 10000.0, 20, "Resep " + i, true, i % 7,
+                    ConstUtil.LOW_STOCK_THRESHOLD, false, now, now
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, user_id, product_name, category, price, stock, "
+                + "description, is_available, sold_count, low_stock_threshold, is_low_stock, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void testWritesCatalogAndSalesFigures() throws IOException {
+        UUID userId = UUID.randomUUID();
+        Product product = new Product();
+        product.setUserId(userId);
+        product.setProductName("Roti, Tawar");
+        product.setCategory("Roti");
+        product.setPrice(15000000.0);
+        product.setStock(4);
+        product.setDescription("Lembut \"sekali\"\nTanpa pengawet");
+        entityManager.persist(product);
+        seed(UUID.randomUUID(), 3);
+        entityManager.flush();
+        StringWriter out = new StringWriter();
+
+        assertEquals(1, productExportService.writeCsv(userId, out));
+
+        try (CsvReader csv = new CsvReader(new StringReader(out.toString()))) {
+            assertEquals(List.of(ProductExportService.HEADER), csv.next());
+            List<String> row = csv.next();
+            assertEquals(product.getId().toString(), row.get(0));
+            assertEquals("Roti, Tawar", row.get(1));
+            assertEquals("15000000", row.get(3));
+            assertEquals("true", row.get(5));
+            assertEquals("0", row.get(6));
+            assertEquals("0", row.get(7));
+            assertEquals("Lembut \"sekali\"\nTanpa pengawet", row.get(9));
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void testIncludesPendingSalesAndEscapesFormulas() throws IOException {
+        UUID userId = UUID.randomUUID();
+        Product product = new Product();
+        product.setUserId(userId);
+        product.setProductName("=HYPERLINK(\"http://contoh.test\")");
+        product.setCategory("@Kue");
+        product.setPrice(2500.0);
+        product.setStock(10);
+        product.setSoldCount(4);
+        product.setDescription("-diskon");
+        entityManager.persist(product);
+        entityManager.flush();
+        salesCounterService.add(product.getId(), 3);
+        StringWriter out = new StringWriter();
+
+        productExportService.writeCsv(userId, out);
+
+        try (CsvReader csv = new CsvReader(new StringReader(out.toString()))) {
+            csv.next();
+            List<String> row = csv.next();
+            assertEquals("'=HYPERLINK(\"http://contoh.test\")", row.get(1));
+            assertEquals("'@Kue", row.get(2));
+            assertEquals("7", row.get(6));
+            assertEquals("17500", row.get(7));
+            assertEquals("'-diskon", row.get(9));
+        }
+    }
+
+    @Test
+    void testPersistenceContextStaysBounded() throws IOException {
+        UUID userId = UUID.randomUUID();
+        int count = ConstUtil.EXPORT_CLEAR_INTERVAL * 5 + 7;
+        seed(userId, count);
+        Session session = entityManager.unwrap(Session.class);
+        long[] maxManaged = { 0 };
+        long[] lines = { 0 };
+        // Jumlah entitas di persistence context diperiksa setiap kali satu baris CSV selesai ditulis
+        Writer probe = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    if (buffer[i] == '\n') {
+                        lines[0]++;
+                        maxManaged[0] = Math.max(maxManaged[0], session.getStatistics().getEntityCount());
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertEquals(count, productExportService.writeCsv(userId, probe));
+        assertEquals(count + 1, lines[0]);
+        assertTrue(maxManaged[0] <= ConstUtil.EXPORT_CLEAR_INTERVAL,
+                "persistence context berisi " + maxManaged[0] + " entitas");
+    }
+}
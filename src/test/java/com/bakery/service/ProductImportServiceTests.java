@@ -0,0 +1,329 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.bakery.BakeryApplication;
+import com.bakery.dto.ImportProgress;
+import com.bakery.dto.ImportRowError;
+import com.bakery.dto.ImportStatus;
+import com.bakery.entity.Product;
+import com.bakery.entity.ProductSummary;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+import com.bakery.util.ConstUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final String HEADER = "product_name,category,price,stock\n";
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path tempDir;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private ProductImportService importService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(entityManager, transactionManager, categoryService, validator,
+                eventPublisher, Runnable::run, 50, 2);
+        userId = UUID.randomUUID();
+    }
+
+    private void stubSession() {
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+    }
+
+    @Test
+    void testImportsValidRowsInChunks() {
+        stubSession();
+        when(categoryService.codeOf("Roti")).thenReturn((short) 1);
+        when(categoryService.codeOf("Kue")).thenReturn((short) 2);
+        String csv = "Stock,PRICE,category,product_name,description,is_available,sold_count,low_stock_threshold,catatan\n"
+                + "5,1000,Roti,Roti Tawar,\"lembut, \"\"segar\"\"\",ya,3,2,x\n"
+                + "\n"
+                + "2,500,Roti,Roti Manis,,0,,,\n"
+                + "7,12000,Kue,Bolu,,\n";
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv));
+
+        assertEquals(ImportStatus.COMPLETED, progress.status());
+        assertEquals(3, progress.rowsRead());
+        assertEquals(3, progress.imported());
+        assertEquals(0, progress.rejected());
+        assertNotNull(progress.finishedAt());
+
+        ArgumentCaptor<Product> persisted = ArgumentCaptor.forClass(Product.class);
+        verify(entityManager, times(3)).persist(persisted.capture());
+        Product first = persisted.getAllValues().get(0);
+        assertEquals("Roti Tawar", first.getProductName());
+        assertEquals("lembut, \"segar\"", first.getDescription());
+        assertEquals(userId, first.getUserId());
+        assertEquals((short) 1, first.getCategoryCode());
+        assertTrue(first.getIsAvailable());
+        assertEquals(3, first.getSoldCount());
+        assertEquals(2, first.getLowStockThreshold());
+        Product second = persisted.getAllValues().get(1);
+        assertFalse(second.getIsAvailable());
+        assertEquals(0, second.getSoldCount());
+        assertNull(second.getDescription());
+        assertEquals(ConstUtil.LOW_STOCK_THRESHOLD, second.getLowStockThreshold());
+        assertTrue(persisted.getAllValues().get(2).getIsAvailable());
+
+        // Dua chunk (2 + 1 baris), kode kategori dicari sekali per nama per chunk
+        verify(categoryService).codeOf("Roti");
+        verify(session, times(2)).setJdbcBatchSize(50);
+        verify(session, times(2)).setCacheMode(CacheMode.IGNORE);
+        verify(session, times(2)).flush();
+        verify(session, times(2)).clear();
+        ArgumentCaptor<ProductsImportedEvent> events = ArgumentCaptor.forClass(ProductsImportedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2, 1), events.getAllValues().stream().map(ProductsImportedEvent::count).toList());
+        assertEquals(userId, events.getValue().userId());
+    }
+
+    @Test
+    void testRejectsInvalidRows() {
+        String csv = HEADER
+                + ",Roti,1000,5\n"
+                + "Roti,Roti,abc,5\n"
+                + "Roti,Roti,-1,5\n"
+                + "Roti,Roti,NaN,5\n"
+                + "Roti,Roti,1000,lima\n"
+                + "Roti,Roti,1000,-5\n"
+                + "Roti,Roti,,5\n"
+                + "Roti,Roti\n"
+                + "Roti\n";
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv));
+
+        assertEquals(ImportStatus.COMPLETED, progress.status());
+        assertEquals(9, progress.rowsRead());
+        assertEquals(0, progress.imported());
+        assertEquals(9, progress.rejected());
+        assertEquals(new ImportRowError(2, "Product name is required"), progress.errors().get(0));
+        assertEquals(new ImportRowError(3, "price bukan angka yang valid: abc"), progress.errors().get(1));
+        assertEquals(new ImportRowError(6, "stock bukan bilangan bulat yang valid: lima"), progress.errors().get(4));
+        assertEquals(new ImportRowError(8, "Price is required"), progress.errors().get(6));
+        assertEquals(new ImportRowError(9, "Price is required; Stock is required"), progress.errors().get(7));
+        assertEquals(new ImportRowError(10, "Category is required; Price is required; Stock is required"),
+                progress.errors().get(8));
+        verify(entityManager, never()).persist(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUnescapesExportedFormulaText() {
+        stubSession();
+        String csv = "product_name,category,price,stock,description\n'=Roti,'@Kue,1000,5,'-diskon\n";
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv));
+
+        assertEquals(1, progress.imported());
+        ArgumentCaptor<Product> persisted = ArgumentCaptor.forClass(Product.class);
+        verify(entityManager).persist(persisted.capture());
+        assertEquals("=Roti", persisted.getValue().getProductName());
+        assertEquals("@Kue", persisted.getValue().getCategory());
+        assertEquals("-diskon", persisted.getValue().getDescription());
+    }
+
+    @Test
+    void testRejectsUnknownAvailability() {
+        String csv = "product_name,category,price,stock,is_available\nRoti,Roti,1000,5,mungkin\n";
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv));
+
+        assertEquals(List.of(new ImportRowError(2, "is_available harus true/false: mungkin")), progress.errors());
+    }
+
+    @Test
+    void testErrorListIsCapped() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < ConstUtil.IMPORT_MAX_ERRORS + 5; i++) {
+            csv.append("Roti,Roti,x,1\n");
+        }
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv.toString()));
+
+        assertEquals(ConstUtil.IMPORT_MAX_ERRORS + 5, progress.rejected());
+        assertEquals(ConstUtil.IMPORT_MAX_ERRORS, progress.errors().size());
+    }
+
+    @Test
+    void testMissingColumnsFail() {
+        ImportProgress progress = importService.importCsv(userId, new StringReader("product_name,price\nRoti,1\n"));
+
+        assertEquals(ImportStatus.FAILED, progress.status());
+        assertEquals("Kolom wajib tidak ada: category, stock", progress.failure());
+        assertEquals(0, progress.rowsRead());
+    }
+
+    @Test
+    void testEmptyFileFails() {
+        ImportProgress progress = importService.importCsv(userId, new StringReader(""));
+
+        assertEquals(ImportStatus.FAILED, progress.status());
+        assertEquals("File CSV kosong", progress.failure());
+    }
+
+    @Test
+    void testDatabaseErrorKeepsCommittedChunks() {
+        stubSession();
+        doNothing().doThrow(new IllegalStateException("disk penuh")).when(session).flush();
+        String csv = HEADER + "A,Roti,1,1\nB,Roti,1,1\nC,Roti,1,1\n";
+
+        ImportProgress progress = importService.importCsv(userId, new StringReader(csv));
+
+        assertEquals(ImportStatus.FAILED, progress.status());
+        assertEquals("disk penuh", progress.failure());
+        assertEquals(2, progress.imported());
+        ArgumentCaptor<ProductsImportedEvent> event = ArgumentCaptor.forClass(ProductsImportedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().count());
+    }
+
+    @Test
+    void testStartImportsFileAndDeletesIt() throws IOException {
+        stubSession();
+        Path file = tempDir.resolve("produk.csv");
+        Files.writeString(file, HEADER + "Roti,Roti,1000,5\n", StandardCharsets.UTF_8);
+
+        ImportProgress started = importService.start(userId, file);
+
+        ImportProgress progress = importService.progress(started.id(), userId).orElseThrow();
+        assertEquals(ImportStatus.COMPLETED, progress.status());
+        assertEquals(1, progress.imported());
+        assertFalse(Files.exists(file));
+        assertTrue(importService.progress(started.id(), UUID.randomUUID()).isEmpty());
+        assertTrue(importService.progress(UUID.randomUUID(), userId).isEmpty());
+    }
+
+    @Test
+    void testStartUnreadableFileFails() throws IOException {
+        // Direktori berisi file: tidak bisa dibaca sebagai CSV dan tidak bisa dihapus
+        Path directory = Files.createDirectory(tempDir.resolve("bukan-file"));
+        Files.writeString(directory.resolve("isi.txt"), "x");
+
+        ImportProgress started = importService.start(userId, directory);
+
+        ImportProgress progress = importService.progress(started.id(), userId).orElseThrow();
+        assertEquals(ImportStatus.FAILED, progress.status());
+        assertTrue(Files.exists(directory));
+    }
+
+    @Test
+    void testPurgeFinished() {
+        ImportProgress finished = importService.importCsv(userId, new StringReader(""));
+        // Executor yang tidak menjalankan tugasnya, agar import tetap berstatus RUNNING
+        Executor idle = command -> { };
+        ProductImportService queued = new ProductImportService(entityManager, transactionManager, categoryService,
+                validator, eventPublisher, idle, 50, 2);
+        ImportProgress pending = queued.start(userId, tempDir.resolve("belum.csv"));
+
+        importService.purgeFinished(LocalDateTime.now().minusMinutes(1));
+        assertTrue(importService.progress(finished.id(), userId).isPresent());
+
+        importService.purgeFinished(LocalDateTime.now().plusMinutes(1));
+        assertTrue(importService.progress(finished.id(), userId).isEmpty());
+
+        queued.purgeFinished(LocalDateTime.now().plusMinutes(1));
+        assertEquals(ImportStatus.RUNNING, queued.progress(pending.id(), userId).orElseThrow().status());
+    }
+
+    @Test
+    void testShutdown() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        new ProductImportService(entityManager, transactionManager, categoryService, validator, eventPublisher,
+                executor, 50, 2).shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+        // Executor biasa tidak perlu dihentikan
+        importService.shutdown();
+    }
+
+    @Test
+    void testImportIntoDatabase() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BakeryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:import-" + UUID.randomUUID(),
+                        "bakery.products.import.chunk-size=2")
+                .run();
+        try {
+            ProductImportService service = context.getBean(ProductImportService.class);
+            String csv = HEADER + "Roti Tawar,Roti,15000,20\nCroissant,Pastry,18000,3\nBolu,Kue,abc,1\nDonat,Kue,8000,8\n";
+
+            ImportProgress progress = service.importCsv(userId, new StringReader(csv));
+
+            assertEquals(3, progress.imported());
+            assertEquals(1, progress.rejected());
+            List<Product> products = context.getBean(ProductRepository.class).findAll();
+            assertEquals(3, products.size());
+            assertTrue(products.stream().allMatch(p -> p.getCategoryCode() != null && p.getCreatedAt() != null));
+            ProductSummary summary = context.getBean(DashboardSummaryService.class).getSummary(userId);
+            assertEquals(3, summary.getTotalProducts());
+            assertEquals(2, summary.getLowStockProducts());
+            assertEquals(2, context.getBean(DataVersionService.class).getVersion(userId));
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSearchDocument;
+import com.bakery.entity.Product;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@Import(ProductSearchService.class)
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product persist(UUID userId, String name, String category, String description) {
+        Product product = new Product();
+        product.setUserId(userId);
+        product.setProductName(name);
+        product.setCategory(category);
+        product.setDescription(description);
+        product.setPrice(10000.0);
+        product.setStock(10);
+        product.setSoldCount(0);
+        entityManager.persist(product);
+        entityManager.flush();
+        return product;
+    }
+
+    private static List<String> names(Page<ProductListItem> page) {
+        return page.getContent().stream().map(ProductListItem::productName).toList();
+    }
+
+    @Test
+    void testRebuildSearchesOnlyOwnProductsByRelevance() {
+        UUID userId = UUID.randomUUID();
+        persist(userId, "Bolu Pandan", "Kue", "Cocok untuk teman croissant");
+        persist(userId, "Croissant Mentega", "Pastry", null);
+        persist(userId, "Roti Tawar", "Roti", "Gandum utuh");
+        persist(UUID.randomUUID(), "Croissant Coklat", "Pastry", null);
+        productSearchService.rebuild();
+
+        Page<ProductListItem> result = productSearchService.search(userId, "crois", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Croissant Mentega", "Bolu Pandan"), names(result));
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void testSearchPaginatesRankedResults() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            persist(userId, "Donat" + " gula".repeat(i + 1), "Kue", null);
+        }
+        productSearchService.rebuild();
+
+        Page<ProductListItem> second = productSearchService.search(userId, "donat", PageRequest.of(1, 2));
+        Page<ProductListItem> beyond = productSearchService.search(userId, "donat", PageRequest.of(5, 2));
+
+        assertEquals(List.of("Donat gula gula gula", "Donat gula gula gula gula"), names(second));
+        assertEquals(3, second.getTotalPages());
+        assertTrue(beyond.getContent().isEmpty());
+        assertEquals(5, beyond.getTotalElements());
+    }
+
+    @Test
+    void testSearchWithoutIndexedProducts() {
+        assertTrue(productSearchService.search(UUID.randomUUID(), "roti", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testProductChangesUpdateIndex() {
+        UUID userId = UUID.randomUUID();
+        Product product = persist(userId, "Roti Keju", "Roti", "Keju cheddar");
+        productSearchService.onProductChanged(ProductChangedEvent.created(ProductSnapshot.of(product)));
+
+        assertEquals(List.of("Roti Keju"), names(productSearchService.search(userId, "cheddar", PageRequest.of(0, 10))));
+
+        ProductSnapshot before = ProductSnapshot.of(product);
+        product.setDescription("Isi coklat lumer");
+        entityManager.flush();
+        productSearchService.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.of(product), true));
+
+        assertTrue(productSearchService.search(userId, "cheddar", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, productSearchService.search(userId, "lumer", PageRequest.of(0, 10)).getTotalElements());
+
+        productSearchService.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.of(product)));
+
+        assertTrue(productSearchService.search(userId, "roti", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testSaleUpdateDoesNotReindex() {
+        UUID userId = UUID.randomUUID();
+        Product product = persist(userId, "Roti Sobek", "Roti", "Pandan wangi");
+        productSearchService.onProductChanged(ProductChangedEvent.created(ProductSnapshot.of(product)));
+
+        // Deskripsi diubah langsung di database; event penjualan tidak boleh membaca ulang dokumen
+        ProductSnapshot before = ProductSnapshot.of(product);
+        product.setDescription("Isi srikaya");
+        product.setSoldCount(3);
+        entityManager.flush();
+        productSearchService.onProductChanged(ProductChangedEvent.updated(before, ProductSnapshot.of(product)));
+
+        assertEquals(1, productSearchService.search(userId, "pandan", PageRequest.of(0, 10)).getTotalElements());
+        assertTrue(productSearchService.search(userId, "srikaya", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreKept() {
+        UUID userId = UUID.randomUUID();
+        ProductSearchDocument kept = new ProductSearchDocument(UUID.randomUUID(), userId, "Roti Gandum", "Roti", null);
+        ProductSearchDocument deleted = new ProductSearchDocument(UUID.randomUUID(), userId, "Roti Tawar", "Roti", null);
+        ProductSearchDocument created = new ProductSearchDocument(UUID.randomUUID(), userId, "Roti Keju", "Roti", null);
+        Map<UUID, ProductSearchDocument> database = new LinkedHashMap<>();
+        database.put(kept.id(), kept);
+        database.put(deleted.id(), deleted);
+
+        ProductRepository repository = mock(ProductRepository.class);
+        ProductSearchService service = new ProductSearchService(repository);
+        when(repository.findSearchDocuments(anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<UUID>>getArgument(0).stream().map(database::get).filter(Objects::nonNull).toList());
+        when(repository.findListItemsByUserIdAndIdIn(eq(userId), anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<UUID>>getArgument(1).stream().map(database::get).filter(Objects::nonNull)
+                .map(document -> new ProductListItem(document.id(), document.productName(), document.category(),
+                        null, null, null, null, null, null, null, null))
+                .toList());
+        // Stream membaca data lama; di tengah pembacaan satu produk dihapus dan satu produk dibuat
+        when(repository.streamSearchDocuments()).thenAnswer(invocation -> List.copyOf(database.values()).stream()
+                .peek(document -> {
+                    if (document == kept) {
+                        database.remove(deleted.id());
+                        service.onProductChanged(ProductChangedEvent.deleted(snapshot(deleted)));
+                        database.put(created.id(), created);
+                        service.onProductChanged(ProductChangedEvent.created(snapshot(created)));
+                    }
+                }));
+
+        service.rebuild();
+
+        assertEquals(List.of("Roti Gandum", "Roti Keju"),
+                names(service.search(userId, "roti", PageRequest.of(0, 10))).stream().sorted().toList());
+        assertEquals(2, service.search(userId, "roti", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private static ProductSnapshot snapshot(ProductSearchDocument document) {
+        return new ProductSnapshot(document.id(), document.userId(), document.productName(), document.category(),
+                10000.0, 10, true, 0);
+    }
+
+    @Test
+    void testDeleteForUnknownUserIsIgnored() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setUserId(UUID.randomUUID());
+        product.setSoldCount(0);
+
+        productSearchService.onProductChanged(ProductChangedEvent.deleted(ProductSnapshot.of(product)));
+
+        assertTrue(productSearchService.search(product.getUserId(), "roti", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testImportedProductsAreIndexed() {
+        UUID userId = UUID.randomUUID();
+        Product first = persist(userId, "Lapis Legit", "Kue", null);
+        Product second = persist(userId, "Lapis Surabaya", "Kue", null);
+
+        productSearchService.onProductsImported(new ProductsImportedEvent(userId, List.of(first.getId(), second.getId())));
+
+        assertEquals(2, productSearchService.search(userId, "lapis", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testProductsMissingFromDatabaseAreSkipped() {
+        UUID userId = UUID.randomUUID();
+        persist(userId, "Pie Susu", "Kue", null);
+        Product removed = persist(userId, "Pie Buah", "Kue", null);
+        productSearchService.rebuild();
+        entityManager.remove(removed);
+        entityManager.flush();
+
+        Page<ProductListItem> result = productSearchService.search(userId, "pie", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Pie Susu"), names(result));
+    }
+}
@@ -4,28 +4,51 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.bakery.dto.CategoryBreakdown;
+import com.bakery.dto.CategoryTotals;
+import com.bakery.dto.ProductCursor;
+import com.bakery.dto.ProductFilter;
+import com.bakery.dto.ProductFilterResult;
+import com.bakery.dto.ProductListItem;
+import com.bakery.dto.ProductSort;
 import com.bakery.entity.Product;
+import com.bakery.event.LowStockFlagsRefreshedEvent;
+import com.bakery.event.ProductChangedEvent;
 import com.bakery.repository.ProductRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +63,15 @@ class ProductServiceTest {
     @Mock
     private MultipartFile imageFile;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private SalesCounterService salesCounterService;
+
     private ProductService productService;
     private UUID userId;
     private UUID productId;
@@ -47,7 +79,8 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
-        productService = new ProductService(productRepository, fileStorageService);
+        productService = new ProductService(productRepository, fileStorageService, eventPublisher, categoryService,
+                salesCounterService);
         userId = UUID.randomUUID();
         productId = UUID.randomUUID();
 
@@ -101,6 +134,11 @@ class ProductServiceTest {
         assertEquals(mockProduct, result);
         assertEquals(userId, result.getUserId());
         verify(productRepository).save(mockProduct);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isCreated());
+        assertEquals(productId, event.getValue().getProductId());
     }
 
     @Test
@@ -118,6 +156,12 @@ class ProductServiceTest {
         assertNotNull(result);
         verify(productRepository).findById(productId);
         verify(productRepository).save(mockProduct);
+        verify(salesCounterService).discard(productId);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(50, event.getValue().getBefore().stock());
+        assertEquals(30, event.getValue().getAfter().stock());
     }
 
     @Test
@@ -132,15 +176,32 @@ class ProductServiceTest {
         assertEquals("Product not found", exception.getMessage());
         verify(productRepository).findById(productId);
         verify(productRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void testDeleteProduct() {
-        doNothing().when(productRepository).deleteById(productId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(mockProduct));
+        doNothing().when(productRepository).delete(mockProduct);
 
         assertDoesNotThrow(() -> productService.deleteProduct(productId));
 
-        verify(productRepository).deleteById(productId);
+        verify(productRepository).delete(mockProduct);
+        verify(salesCounterService).forget(productId);
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isDeleted());
+        assertEquals(userId, event.getValue().getUserId());
+    }
+
+    @Test
+    void testDeleteProduct_NotFound() {
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> productService.deleteProduct(productId));
+
+        verify(productRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -158,6 +219,7 @@ class ProductServiceTest {
         verify(fileStorageService).storeFile(imageFile);
         verify(productRepository).save(mockProduct);
         assertEquals(storedFileName, mockProduct.getImageUrl());
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -184,42 +246,109 @@ class ProductServiceTest {
     }
 
     @Test
-    void testFindByCategory() {
-        String category = "Kue";
-        List<Product> expectedProducts = Arrays.asList(mockProduct);
+    void testFindByCategoryForUser_Unknown() {
+        when(categoryService.findCode("Es Krim")).thenReturn(Optional.empty());
 
-        when(productRepository.findByCategory(category)).thenReturn(expectedProducts);
+        assertTrue(productService.findByCategory(userId, "Es Krim").isEmpty());
+        verify(productRepository, never()).findByUserIdAndCategoryCode(any(), any());
+    }
 
-        List<Product> result = productService.findByCategory(category);
+    @Test
+    void testFindByCategoryForUser() {
+        List<Product> expectedProducts = Arrays.asList(mockProduct);
+        when(categoryService.findCode("Roti")).thenReturn(Optional.of((short) 2));
+        when(productRepository.findByUserIdAndCategoryCode(userId, (short) 2)).thenReturn(expectedProducts);
 
-        assertEquals(expectedProducts, result);
-        verify(productRepository).findByCategory(category);
+        assertEquals(expectedProducts, productService.findByCategory(userId, "Roti"));
     }
 
     @Test
-    void testFindByIsAvailable() {
-        Boolean isAvailable = true;
-        List<Product> expectedProducts = Arrays.asList(mockProduct);
+    void testGetCategoryBreakdown() {
+        when(productRepository.sumByCategoryCode(userId)).thenReturn(Arrays.asList(
+                new CategoryTotals((short) 1, 3L, 10L, 40L, 150000.0),
+                new CategoryTotals((short) 2, 2L, 30L, 15L, 450000.0),
+                new CategoryTotals(null, 1L, null, 5L, null)));
+        when(categoryService.nameOf((short) 1)).thenReturn("Kue");
+        when(categoryService.nameOf((short) 2)).thenReturn("Roti");
+
+        List<CategoryBreakdown> breakdown = productService.getCategoryBreakdown(userId);
+
+        assertEquals(3, breakdown.size());
+        assertEquals(new CategoryBreakdown("Roti", 2L, 30L, 15L, 450000.0), breakdown.get(0));
+        assertEquals(new CategoryBreakdown("Kue", 3L, 10L, 40L, 150000.0), breakdown.get(1));
+        assertEquals(new CategoryBreakdown("Lainnya", 1L, 0L, 5L, 0.0), breakdown.get(2));
+    }
 
-        when(productRepository.findByIsAvailable(isAvailable)).thenReturn(expectedProducts);
+    @Test
+    void testCreateProduct_AssignsCategoryCode() {
+        mockProduct.setCategory("Pastry");
+        when(categoryService.codeOf("Pastry")).thenReturn((short) 3);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        List<Product> result = productService.findByIsAvailable(isAvailable);
+        Product saved = productService.createProduct(mockProduct, userId);
 
-        assertEquals(expectedProducts, result);
-        verify(productRepository).findByIsAvailable(isAvailable);
+        assertEquals((short) 3, saved.getCategoryCode());
     }
 
     @Test
-    void testFindByStockLessThan() {
-        Integer stock = 10;
-        List<Product> expectedProducts = Arrays.asList(mockProduct);
+    void testFilterProducts_PageAndFacets() {
+        Page<ProductListItem> page = new PageImpl<>(List.of());
+        when(productRepository.findListItems(any(), eq(PageRequest.of(1, 20, ProductSort.PRICE_ASC.sort()))))
+                .thenReturn(page);
+        Map<Short, Long> categories = new HashMap<>();
+        categories.put((short) 1, 3L);
+        categories.put((short) 2, 5L);
+        categories.put((short) 3, 3L);
+        categories.put(null, 4L);
+        when(productRepository.countByCategoryCode(any())).thenReturn(categories);
+        Map<Short, String> names = Map.of((short) 1, "Kue", (short) 2, "Roti", (short) 3, "Donat");
+        when(categoryService.nameOf(any())).thenAnswer(invocation -> {
+            Short code = invocation.getArgument(0);
+            return code != null ? names.get(code) : null;
+        });
+        Map<Boolean, Long> availability = new HashMap<>();
+        availability.put(true, 7L);
+        availability.put(false, 2L);
+        availability.put(null, 1L);
+        when(productRepository.countByAvailability(any())).thenReturn(availability);
+        when(categoryService.findCode("Roti")).thenReturn(Optional.of((short) 2));
+
+        ProductFilter filter = new ProductFilter("Roti", true, 5000.0, null, null, 10, 1, null);
+        ProductFilterResult result = productService.filterProducts(userId, filter, 1, 20, ProductSort.PRICE_ASC);
+
+        assertSame(page, result.products());
+        // Terbanyak lebih dulu, lalu nama; kode tanpa nama kategori tidak ditampilkan
+        assertEquals(List.of("Roti", "Donat", "Kue"), List.copyOf(result.categories().keySet()));
+        assertEquals(5L, result.categories().get("Roti"));
+        assertEquals(7L, result.available());
+        assertEquals(3L, result.unavailable());
+    }
+
+    @Test
+    void testFilterProducts_UnknownCategoryAndEmptyFacets() {
+        when(productRepository.findListItems(any(), any())).thenReturn(new PageImpl<>(List.of()));
+        when(productRepository.countByCategoryCode(any())).thenReturn(Map.of());
+        when(productRepository.countByAvailability(any())).thenReturn(Map.of());
+        when(categoryService.findCode("Es Krim")).thenReturn(Optional.empty());
+
+        ProductFilterResult result = productService.filterProducts(userId,
+                new ProductFilter("Es Krim", null, null, null, null, null, null, null), 0, 10, ProductSort.NEWEST);
+
+        assertTrue(result.categories().isEmpty());
+        assertEquals(0L, result.available());
+        assertEquals(0L, result.unavailable());
+        verify(categoryService).findCode("Es Krim");
+    }
 
-        when(productRepository.findByStockLessThan(stock)).thenReturn(expectedProducts);
+    @Test
+    void testFilterProducts_WithoutCategory() {
+        when(productRepository.findListItems(any(), any())).thenReturn(new PageImpl<>(List.of()));
+        when(productRepository.countByCategoryCode(any())).thenReturn(Map.of());
+        when(productRepository.countByAvailability(any())).thenReturn(Map.of());
 
-        List<Product> result = productService.findByStockLessThan(stock);
+        productService.filterProducts(userId, ProductFilter.none(), 0, 10, ProductSort.NEWEST);
 
-        assertEquals(expectedProducts, result);
-        verify(productRepository).findByStockLessThan(stock);
+        verify(categoryService, never()).findCode(any());
     }
 
     @Test
@@ -265,6 +394,80 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
         verify(productRepository).save(mockProduct);
         assertEquals(soldCount, mockProduct.getSoldCount());
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(0, event.getValue().getBefore().soldOrZero());
+        assertEquals(soldCount, event.getValue().getAfter().soldOrZero());
+    }
+
+    @Test
+    void testRecordSale_Success() {
+        // Keadaan setelah UPDATE: stok 50 -> 47, terjual 0 -> 3
+        mockProduct.setStock(47);
+        mockProduct.setSoldCount(3);
+        when(productRepository.recordSale(eq(productId), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(mockProduct));
+
+        assertTrue(productService.recordSale(productId, 3));
+
+        verify(productRepository, never()).save(any());
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(50, event.getValue().getBefore().stock());
+        assertEquals(0, event.getValue().getBefore().soldOrZero());
+        assertEquals(47, event.getValue().getAfter().stock());
+        assertEquals(3, event.getValue().getAfter().soldOrZero());
+    }
+
+    @Test
+    void testRecordSale_InsufficientStockOrMissing() {
+        when(productRepository.recordSale(eq(productId), eq(100), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(productService.recordSale(productId, 100));
+
+        verify(productRepository, never()).findById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testRecordSale_NonPositiveQuantity() {
+        assertFalse(productService.recordSale(productId, 0));
+        assertFalse(productService.recordSale(productId, -2));
+
+        verify(productRepository, never()).recordSale(any(), anyInt(), any());
+    }
+
+    @Test
+    void testRecordSale_DeletedAfterUpdate() {
+        when(productRepository.recordSale(eq(productId), eq(1), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+
+        assertTrue(productService.recordSale(productId, 1));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateSales_WriteBehind() {
+        mockProduct.setSoldCount(40);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(mockProduct));
+        when(salesCounterService.isEnabled()).thenReturn(true);
+
+        productService.updateSales(productId, 50);
+
+        // Selisih dihitung oleh SalesCounterService terhadap nilai tersimpan terbaru
+        verify(salesCounterService).setSoldCount(productId, 50);
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(40, mockProduct.getSoldCount());
+    }
+
+    @Test
+    void testGetSoldCountIncludesPending() {
+        when(salesCounterService.soldCount(mockProduct)).thenReturn(12);
+
+        assertEquals(12, productService.getSoldCount(mockProduct));
     }
 
     @Test
@@ -279,4 +482,123 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
         verify(productRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDashboardStatistics() {
+        when(productRepository.countByUserId(userId)).thenReturn(12L);
+        when(productRepository.countByUserIdAndIsAvailableTrue(userId)).thenReturn(9L);
+        when(productRepository.countByUserIdAndLowStockTrue(userId)).thenReturn(3L);
+        when(productRepository.sumSoldCountByUserId(userId)).thenReturn(250L);
+
+        assertEquals(12L, productService.countProductsByUserId(userId));
+        assertEquals(9L, productService.countAvailableProductsByUserId(userId));
+        assertEquals(3L, productService.countLowStockProductsByUserId(userId));
+        assertEquals(250L, productService.getTotalSoldByUserId(userId));
+    }
+
+    @Test
+    void testGetTotalSoldByUserId_NullSum() {
+        when(productRepository.sumSoldCountByUserId(userId)).thenReturn(null);
+
+        assertEquals(0L, productService.getTotalSoldByUserId(userId));
+    }
+
+    @Test
+    void testGetBestSellingProducts() {
+        List<ProductListItem> expectedProducts = Arrays.asList(ProductListItem.of(mockProduct));
+        when(productRepository.findBestSellingByUserId(eq(userId), eq(PageRequest.of(0, 5))))
+                .thenReturn(expectedProducts);
+
+        assertEquals(expectedProducts, productService.getBestSellingProducts(userId, 5));
+    }
+
+    @Test
+    void testGetLowStockProducts() {
+        List<ProductListItem> expectedProducts = Arrays.asList(ProductListItem.of(mockProduct));
+        when(productRepository.findLowStockByUserId(eq(userId), eq(PageRequest.of(0, 20))))
+                .thenReturn(new PageImpl<>(expectedProducts));
+
+        assertEquals(expectedProducts, productService.getLowStockProducts(userId, 20));
+    }
+
+    @Test
+    void testGetProductsPage() {
+        Page<ProductListItem> page = new PageImpl<>(Arrays.asList(ProductListItem.of(mockProduct)), PageRequest.of(1, 10), 11);
+        when(productRepository.findByUserId(userId, PageRequest.of(1, 10, ProductSort.NAME.sort()))).thenReturn(page);
+
+        assertSame(page, productService.getProductsPage(userId, 1, 10, ProductSort.NAME));
+    }
+
+    @Test
+    void testGetProductsAfter_FirstPage() {
+        Slice<ProductListItem> slice = new SliceImpl<>(Arrays.asList(ProductListItem.of(mockProduct)));
+        when(productRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, PageRequest.of(0, 10))).thenReturn(slice);
+
+        assertSame(slice, productService.getProductsAfter(userId, null, 10));
+    }
+
+    @Test
+    void testGetProductsAfter_Cursor() {
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2024, 5, 1, 8, 0), UUID.randomUUID());
+        Slice<ProductListItem> slice = new SliceImpl<>(Arrays.asList(ProductListItem.of(mockProduct)));
+        when(productRepository.findByUserIdAfter(userId, cursor.createdAt(), cursor.id(), PageRequest.of(0, 10)))
+                .thenReturn(slice);
+
+        assertSame(slice, productService.getProductsAfter(userId, cursor, 10));
+        verify(productRepository, never()).findByUserIdOrderByCreatedAtDescIdDesc(any(), any());
+    }
+
+    @Test
+    void testGetRecentProducts() {
+        List<ProductListItem> expectedProducts = Arrays.asList(ProductListItem.of(mockProduct));
+        when(productRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 5)))
+                .thenReturn(expectedProducts);
+
+        assertEquals(expectedProducts, productService.getRecentProducts(userId, 5));
+    }
+
+    @Test
+    void testGetLowStockProductsPage() {
+        Page<ProductListItem> page = new PageImpl<>(Arrays.asList(ProductListItem.of(mockProduct)), PageRequest.of(2, 5), 11);
+        when(productRepository.findLowStockByUserId(userId, PageRequest.of(2, 5))).thenReturn(page);
+
+        assertSame(page, productService.getLowStockProductsPage(userId, 2, 5));
+    }
+
+    @Test
+    void testUpdateProduct_KeepsThresholdWhenNotProvided() {
+        mockProduct.setLowStockThreshold(40);
+        Product form = new Product();
+        form.setStock(5);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(mockProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        form.setLowStockThreshold(null);
+
+        Product result = productService.updateProduct(productId, form);
+
+        assertEquals(40, result.getLowStockThreshold());
+    }
+
+    @Test
+    void testRefreshLowStockFlags() {
+        when(productRepository.findUserIdsWithStaleLowStock()).thenReturn(List.of(userId));
+        when(productRepository.markLowStock()).thenReturn(2);
+        when(productRepository.unmarkLowStock()).thenReturn(1);
+
+        productService.refreshLowStockFlags();
+
+        verify(productRepository).markLowStock();
+        verify(productRepository).unmarkLowStock();
+        verify(eventPublisher).publishEvent(new LowStockFlagsRefreshedEvent(Set.of(userId)));
+    }
+
+    @Test
+    void testRefreshLowStockFlags_NothingStale() {
+        when(productRepository.findUserIdsWithStaleLowStock()).thenReturn(List.of());
+
+        productService.refreshLowStockFlags();
+
+        verify(productRepository, never()).markLowStock();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
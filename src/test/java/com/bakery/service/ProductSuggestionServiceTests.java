@@ -0,0 +1,150 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bakery.dto.ProductSuggestion;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.event.ProductsImportedEvent;
+import com.bakery.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestionServiceTest {
+
+    private static final long ACTIVE_WINDOW = 1_800_000L;
+    private static final int MAX_USERS = 2;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private ProductSuggestionService suggestionService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new ProductSuggestionService(productRepository, ACTIVE_WINDOW, MAX_USERS, clock::get);
+        userId = UUID.randomUUID();
+    }
+
+    private static ProductSuggestion suggestion(String name) {
+        return new ProductSuggestion(UUID.randomUUID(), name, "Kue", 10000.0, true);
+    }
+
+    private static List<String> names(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::productName).toList();
+    }
+
+    private static ProductSnapshot snapshot(UUID id, UUID userId, String name) {
+        return new ProductSnapshot(id, userId, name, "Roti", 12000.0, 5, true, 0);
+    }
+
+    @Test
+    void testIndexLoadedOnceAndQueriedFromMemory() {
+        when(productRepository.findSuggestionsByUserId(userId))
+                .thenReturn(List.of(suggestion("Roti Keju"), suggestion("Bolu Kukus"), suggestion("Kue Keju")));
+
+        assertEquals(List.of("Kue Keju", "Roti Keju"), names(suggestionService.suggest(userId, "kej", 10)));
+        assertEquals(List.of("Bolu Kukus"), names(suggestionService.suggest(userId, "BOLU", 10)));
+        assertEquals(1, suggestionService.getActiveUserCount());
+        verify(productRepository, times(1)).findSuggestionsByUserId(userId);
+    }
+
+    @Test
+    void testBlankQueryDoesNotLoadIndex() {
+        assertTrue(suggestionService.suggest(userId, "  ", 10).isEmpty());
+        assertTrue(suggestionService.suggest(userId, null, 10).isEmpty());
+
+        verify(productRepository, never()).findSuggestionsByUserId(any());
+        assertEquals(0, suggestionService.getActiveUserCount());
+    }
+
+    @Test
+    void testProductChangesUpdateLoadedIndex() {
+        when(productRepository.findSuggestionsByUserId(userId)).thenReturn(List.of());
+        suggestionService.suggest(userId, "roti", 10);
+        UUID productId = UUID.randomUUID();
+
+        suggestionService.onProductChanged(ProductChangedEvent.created(snapshot(productId, userId, "Roti Abon")));
+        assertEquals(List.of("Roti Abon"), names(suggestionService.suggest(userId, "roti", 10)));
+
+        suggestionService.onProductChanged(ProductChangedEvent.updated(snapshot(productId, userId, "Roti Abon"),
+                snapshot(productId, userId, "Roti Sosis")));
+        List<ProductSuggestion> updated = suggestionService.suggest(userId, "roti", 10);
+        assertEquals(List.of("Roti Sosis"), names(updated));
+        assertEquals(12000.0, updated.get(0).price());
+
+        suggestionService.onProductChanged(ProductChangedEvent.deleted(snapshot(productId, userId, "Roti Sosis")));
+        assertTrue(suggestionService.suggest(userId, "roti", 10).isEmpty());
+        verify(productRepository, times(1)).findSuggestionsByUserId(userId);
+    }
+
+    @Test
+    void testChangesForUnloadedUserAreIgnored() {
+        suggestionService.onProductChanged(ProductChangedEvent.created(snapshot(UUID.randomUUID(), userId, "Roti")));
+
+        assertEquals(0, suggestionService.getActiveUserCount());
+    }
+
+    @Test
+    void testImportReloadsIndex() {
+        when(productRepository.findSuggestionsByUserId(userId))
+                .thenReturn(List.of(suggestion("Lapis Legit")))
+                .thenReturn(List.of(suggestion("Lapis Legit"), suggestion("Lapis Surabaya")));
+        suggestionService.suggest(userId, "lapis", 10);
+
+        suggestionService.onProductsImported(new ProductsImportedEvent(userId, List.of(UUID.randomUUID())));
+
+        assertEquals(List.of("Lapis Legit", "Lapis Surabaya"), names(suggestionService.suggest(userId, "lapis", 10)));
+    }
+
+    @Test
+    void testEvictsInactiveUsers() {
+        UUID idle = UUID.randomUUID();
+        suggestionService.suggest(idle, "roti", 10);
+        clock.addAndGet(ACTIVE_WINDOW);
+        suggestionService.suggest(userId, "roti", 10);
+        clock.addAndGet(1);
+
+        suggestionService.evictInactive();
+
+        assertEquals(1, suggestionService.getActiveUserCount());
+        suggestionService.suggest(idle, "roti", 10);
+        verify(productRepository, times(2)).findSuggestionsByUserId(idle);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyActiveAboveMaxUsers() {
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        suggestionService.suggest(oldest, "roti", 10);
+        clock.addAndGet(1_000);
+        suggestionService.suggest(middle, "roti", 10);
+        clock.addAndGet(1_000);
+        suggestionService.suggest(userId, "roti", 10);
+
+        suggestionService.evictInactive();
+
+        assertEquals(MAX_USERS, suggestionService.getActiveUserCount());
+        suggestionService.suggest(middle, "roti", 10);
+        suggestionService.suggest(oldest, "roti", 10);
+        verify(productRepository, times(1)).findSuggestionsByUserId(middle);
+        verify(productRepository, times(2)).findSuggestionsByUserId(oldest);
+    }
+}
@@ -0,0 +1,402 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.bakery.BakeryApplication;
+import com.bakery.entity.Product;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.repository.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@ExtendWith(MockitoExtension.class)
+class SalesCounterServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    private SalesCounterService counters;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        counters = new SalesCounterService(productRepository, jdbcTemplate, transactionManager, eventPublisher,
+                entityCacheService, true);
+        product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setUserId(UUID.randomUUID());
+        product.setProductName("Roti");
+        product.setSoldCount(10);
+    }
+
+    private static <T> ParameterizedPreparedStatementSetter<T> anySetter() {
+        return any();
+    }
+
+    @Test
+    void testPendingMergedWithPersistedValue() {
+        counters.add(product.getId(), 3);
+        counters.add(product.getId(), 2);
+        counters.add(product.getId(), 0);
+
+        assertEquals(5, counters.pending(product.getId()));
+        assertEquals(15, counters.soldCount(product));
+        assertEquals(0, counters.pending(UUID.randomUUID()));
+
+        product.setSoldCount(null);
+        assertEquals(5, counters.soldCount(product));
+    }
+
+    @Test
+    void testDiscard() {
+        counters.add(product.getId(), 4);
+        counters.discard(product.getId());
+        counters.discard(UUID.randomUUID());
+
+        assertEquals(0, counters.pending(product.getId()));
+        assertEquals(0, counters.flush());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFlushReleasesZeroCounters() {
+        counters.add(product.getId(), 4);
+        counters.discard(product.getId());
+        counters.add(UUID.randomUUID(), 2);
+        assertEquals(2, counters.getCounterCount());
+
+        assertEquals(1, counters.flush());
+
+        assertEquals(0, counters.getCounterCount());
+        counters.add(product.getId(), 1);
+        assertEquals(1, counters.pending(product.getId()));
+    }
+
+    @Test
+    void testForgetReleasesCounterAfterCommit() {
+        counters.add(product.getId(), 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.forget(product.getId());
+            assertEquals(0, counters.pending(product.getId()));
+            assertEquals(1, counters.getCounterCount());
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, counters.getCounterCount());
+        assertEquals(0, counters.flush());
+    }
+
+    @Test
+    void testForgetRolledBackKeepsDelta() {
+        counters.add(product.getId(), 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.forget(product.getId());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(4, counters.pending(product.getId()));
+    }
+
+    @Test
+    void testSetSoldCountRelativeToLatestPersistedValue() {
+        when(jdbcTemplate.queryForList(SalesCounterService.SOLD_COUNT_SQL, Integer.class, product.getId()))
+                .thenReturn(List.of(12));
+        counters.add(product.getId(), 3);
+
+        counters.setSoldCount(product.getId(), 20);
+
+        assertEquals(8, counters.pending(product.getId()));
+    }
+
+    @Test
+    void testSetSoldCountWaitsForFlushInProgress() throws Exception {
+        AtomicInteger persisted = new AtomicInteger(10);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.queryForList(SalesCounterService.SOLD_COUNT_SQL, Integer.class, product.getId()))
+                .thenAnswer(invocation -> List.of(persisted.get()));
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList(), anyInt(), anySetter())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            List<Map.Entry<UUID, Long>> rows = invocation.getArgument(1);
+            rows.forEach(row -> persisted.addAndGet(row.getValue().intValue()));
+            return new int[0][];
+        });
+        counters.add(product.getId(), 5);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> flush = executor.submit(() -> counters.flush());
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            // Delta 5 sudah diambil flush tetapi belum tersimpan; nilai absolut harus menunggu
+            Future<?> update = executor.submit(() -> counters.setSoldCount(product.getId(), 30));
+            Thread.sleep(100);
+            assertFalse(update.isDone());
+
+            release.countDown();
+            assertEquals(1, flush.get(5, TimeUnit.SECONDS));
+            update.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(15, persisted.get());
+        assertEquals(30, persisted.get() + counters.pending(product.getId()));
+    }
+
+    @Test
+    void testRollbackUndoesSetSoldCountAndDiscard() throws Exception {
+        when(jdbcTemplate.queryForList(SalesCounterService.SOLD_COUNT_SQL, Integer.class, product.getId()))
+                .thenReturn(List.of(10));
+        counters.add(product.getId(), 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.setSoldCount(product.getId(), 20);
+            assertEquals(10, counters.pending(product.getId()));
+            // Kunci dipegang sampai transaksi selesai, jadi flush dari thread lain melewati produk ini
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            assertEquals(0, executor.submit(() -> counters.flush()).get(5, TimeUnit.SECONDS));
+            executor.shutdown();
+
+            counters.discard(product.getId());
+            assertEquals(0, counters.pending(product.getId()));
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(4, counters.pending(product.getId()));
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyList(), anyInt(), anySetter());
+        assertEquals(1, counters.flush());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesOneBatchAndPublishesEvents() {
+        UUID deleted = UUID.randomUUID();
+        counters.add(product.getId(), 5);
+        counters.add(deleted, 1);
+        product.setSoldCount(15); // nilai setelah UPDATE
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        assertEquals(2, counters.flush());
+
+        ArgumentCaptor<List<Map.Entry<UUID, Long>>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(SalesCounterService.FLUSH_SQL), rows.capture(), eq(2),
+                anySetter());
+        assertEquals(Map.of(product.getId(), 5L, deleted, 1L),
+                Map.ofEntries(rows.getValue().toArray(new Map.Entry[0])));
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(10, event.getValue().getBefore().soldOrZero());
+        assertEquals(15, event.getValue().getAfter().soldOrZero());
+        assertEquals(0, counters.pending(product.getId()));
+        // Sebelum dibaca ulang dan setelah commit
+        verify(entityCacheService, times(2)).evictProducts(Set.of(product.getId(), deleted));
+    }
+
+    @Test
+    void testFlushWithNothingPending() {
+        assertEquals(0, counters.flush());
+        counters.scheduledFlush();
+
+        verifyNoInteractions(jdbcTemplate, transactionManager, eventPublisher);
+    }
+
+    @Test
+    void testFailedFlushKeepsDeltas() {
+        counters.add(product.getId(), 7);
+        doThrow(new DataAccessResourceFailureException("database down")).when(jdbcTemplate)
+                .batchUpdate(any(String.class), anyList(), anyInt(), anySetter());
+
+        assertEquals(0, counters.flush());
+
+        assertEquals(7, counters.pending(product.getId()));
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(entityCacheService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConcurrentIncrementsAreNeverLost() throws Exception {
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(any(String.class), anyList(), anyInt(),
+                anySetter())).thenAnswer(invocation -> {
+                    List<Map.Entry<UUID, Long>> rows = invocation.getArgument(1);
+                    rows.forEach(row -> flushed.addAndGet(row.getValue()));
+                    return new int[0][];
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                for (int n = 0; n < 10_000; n++) {
+                    counters.add(product.getId(), 1);
+                }
+            }));
+        }
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            counters.flush();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        counters.flush();
+
+        assertEquals(40_000, flushed.get());
+        assertEquals(0, counters.pending(product.getId()));
+    }
+
+    @Test
+    void testShutdownFlushes() throws Exception {
+        counters.add(product.getId(), 2);
+
+        counters.shutdown();
+        counters.shutdown();
+
+        assertNotNull(SalesCounterService.class.getMethod("shutdown").getAnnotation(PreDestroy.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(SalesCounterService.FLUSH_SQL), anyList(), eq(1),
+                anySetter());
+        // Listener mungkin sudah dihancurkan saat @PreDestroy, jadi tidak ada event
+        verifyNoInteractions(productRepository, eventPublisher);
+    }
+
+    @Test
+    void testContextClosedFlushesWithEvents() {
+        counters.add(product.getId(), 2);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        counters.onContextClosed();
+
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+        assertEquals(0, counters.pending(product.getId()));
+    }
+
+    @Test
+    void testPendingSalesArePersistedWhenContextCloses(@TempDir Path directory) throws Exception {
+        String url = "jdbc:h2:file:" + directory.resolve("bakery");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BakeryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + url,
+                        "spring.datasource.username=sa",
+                        "bakery.sales.write-behind.enabled=true",
+                        "bakery.sales.write-behind.flush-ms=3600000")
+                .run();
+        UUID productId;
+        try {
+            ProductService productService = context.getBean(ProductService.class);
+            Product roti = new Product();
+            roti.setProductName("Roti");
+            roti.setCategory("Roti");
+            roti.setPrice(15000.0);
+            roti.setStock(20);
+            roti.setSoldCount(3);
+            productId = productService.createProduct(roti, UUID.randomUUID()).getId();
+
+            productService.updateSales(productId, 8);
+
+            // Belum di-flush: database masih berisi nilai lama, tampilan sudah termasuk delta
+            assertEquals(3, soldCount(url, productId));
+            assertEquals(8, productService.getSoldCount(productService.getProductById(productId).get()));
+        } finally {
+            context.close();
+        }
+
+        assertEquals(8, soldCount(url, productId));
+    }
+
+    private static int soldCount(String url, UUID productId) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT sold_count FROM products WHERE id = ?")) {
+            statement.setObject(1, productId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.bakery.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bakery.dto.CategorySales;
+import com.bakery.dto.SalesBucket;
+import com.bakery.dto.SalesPeriod;
+import com.bakery.dto.SalesSeries;
+import com.bakery.entity.SalesEvent;
+import com.bakery.entity.SalesGranularity;
+import com.bakery.entity.SalesRollup;
+import com.bakery.event.ProductChangedEvent;
+import com.bakery.event.ProductSnapshot;
+import com.bakery.repository.SalesEventRepository;
+import com.bakery.repository.SalesRollupRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SalesHistoryServiceTest {
+
+    @Mock
+    private SalesEventRepository eventRepository;
+
+    @Mock
+    private SalesRollupRepository rollupRepository;
+
+    private SalesHistoryService salesHistoryService;
+    private UUID userId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        salesHistoryService = new SalesHistoryService(eventRepository, rollupRepository, 90, 35);
+        userId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+    }
+
+    private ProductSnapshot snapshot(Integer sold) {
+        return new ProductSnapshot(productId, userId, "Bolu", "Kue", 25000.0, 20, true, sold);
+    }
+
+    @Test
+    void testOnProductChanged_RecordsSaleAndCreatesBuckets() {
+        when(rollupRepository.addQuantity(eq(productId), any(), any(), eq(3L))).thenReturn(0);
+
+        salesHistoryService.onProductChanged(ProductChangedEvent.updated(snapshot(5), snapshot(8)));
+
+        ArgumentCaptor<SalesEvent> eventCaptor = ArgumentCaptor.forClass(SalesEvent.class);
+        verify(eventRepository).save(eventCaptor.capture());
+        assertEquals(3, eventCaptor.getValue().getQuantity());
+        assertEquals("Kue", eventCaptor.getValue().getCategory());
+        assertEquals(userId, eventCaptor.getValue().getUserId());
+
+        ArgumentCaptor<SalesRollup> rollupCaptor = ArgumentCaptor.forClass(SalesRollup.class);
+        verify(rollupRepository, times(2)).save(rollupCaptor.capture());
+        assertEquals(SalesGranularity.HOUR, rollupCaptor.getAllValues().get(0).getGranularity());
+        assertEquals(SalesGranularity.DAY, rollupCaptor.getAllValues().get(1).getGranularity());
+        assertEquals(3L, rollupCaptor.getAllValues().get(1).getQuantity());
+        verify(rollupRepository, times(2)).lockProduct(productId);
+    }
+
+    @Test
+    void testRecordSale_BucketCreatedByConcurrentTransaction() {
+        LocalDateTime occurredAt = LocalDateTime.of(2024, 5, 10, 14, 37);
+        // UPDATE pertama tidak menemukan bucket; setelah kunci didapat bucket sudah dibuat transaksi lain
+        when(rollupRepository.addQuantity(any(), any(), any(), anyLong())).thenReturn(0, 1, 0, 1);
+
+        salesHistoryService.recordSale(snapshot(10), 2, occurredAt);
+
+        verify(rollupRepository, times(2)).lockProduct(productId);
+        verify(rollupRepository, times(4)).addQuantity(eq(productId), any(), any(), eq(2L));
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void testRecordSale_ExistingBucketsUpdatedInPlace() {
+        LocalDateTime occurredAt = LocalDateTime.of(2024, 5, 10, 14, 37);
+        when(rollupRepository.addQuantity(any(), any(), any(), anyLong())).thenReturn(1);
+
+        salesHistoryService.recordSale(snapshot(10), -2, occurredAt);
+
+        verify(rollupRepository).addQuantity(productId, SalesGranularity.HOUR,
+                LocalDateTime.of(2024, 5, 10, 14, 0), -2L);
+        verify(rollupRepository).addQuantity(productId, SalesGranularity.DAY,
+                LocalDateTime.of(2024, 5, 10, 0, 0), -2L);
+        verify(rollupRepository, never()).save(any());
+        verify(rollupRepository, never()).lockProduct(any());
+    }
+
+    @Test
+    void testOnProductChanged_IgnoresUnchangedSoldCount() {
+        salesHistoryService.onProductChanged(ProductChangedEvent.updated(snapshot(4), snapshot(4)));
+
+        verifyNoInteractions(eventRepository, rollupRepository);
+    }
+
+    @Test
+    void testOnProductChanged_IgnoresCreateAndDelete() {
+        salesHistoryService.onProductChanged(ProductChangedEvent.created(snapshot(12)));
+        salesHistoryService.onProductChanged(ProductChangedEvent.deleted(snapshot(12)));
+
+        verifyNoInteractions(eventRepository, rollupRepository);
+    }
+
+    @Test
+    void testGetSeries_TodayFillsEmptyHours() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 15, 5);
+        LocalDateTime day = LocalDateTime.of(2024, 5, 10, 0, 0);
+        when(rollupRepository.sumByBucket(userId, SalesGranularity.HOUR, day, day.plusDays(1)))
+                .thenReturn(List.of(new SalesBucket(day.plusHours(9), 4L), new SalesBucket(day.plusHours(15), 2L)));
+
+        SalesSeries series = salesHistoryService.getSeries(userId, SalesPeriod.TODAY, now);
+
+        assertEquals(24, series.labels().size());
+        assertEquals("09:00", series.labels().get(9));
+        assertEquals(4L, series.data().get(9));
+        assertEquals(2L, series.data().get(15));
+        assertEquals(0L, series.data().get(0));
+    }
+
+    @Test
+    void testGetSeries_MonthUsesDailyBuckets() {
+        LocalDateTime now = LocalDateTime.of(2024, 2, 20, 8, 0);
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(rollupRepository.sumByBucket(userId, SalesGranularity.DAY, from, from.plusMonths(1)))
+                .thenReturn(List.of(new SalesBucket(from.plusDays(19), 11L)));
+
+        SalesSeries series = salesHistoryService.getSeries(userId, SalesPeriod.MONTH, now);
+
+        assertEquals(29, series.data().size());
+        assertEquals("20/02", series.labels().get(19));
+        assertEquals(11L, series.data().get(19));
+    }
+
+    @Test
+    void testGetCategoryTotals() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 15, 5);
+        List<CategorySales> totals = List.of(new CategorySales("Kue", 7L));
+        when(rollupRepository.sumByCategory(userId, SalesGranularity.DAY,
+                LocalDateTime.of(2024, 5, 6, 0, 0), LocalDateTime.of(2024, 5, 13, 0, 0))).thenReturn(totals);
+
+        assertEquals(totals, salesHistoryService.getCategoryTotals(userId, SalesPeriod.WEEK, now));
+    }
+
+    @Test
+    void testCompact() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 10, 3, 15);
+
+        salesHistoryService.compact(now);
+
+        verify(eventRepository).deleteOccurredBefore(now.minusDays(90));
+        verify(rollupRepository).deleteBucketsBefore(SalesGranularity.HOUR, now.minusDays(35));
+        verify(rollupRepository, never()).deleteBucketsBefore(eq(SalesGranularity.DAY), any());
+    }
+}
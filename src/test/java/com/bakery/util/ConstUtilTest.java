@@ -28,6 +28,20 @@ class ConstUtilTest {
         
         // Test pagination
         assertEquals(10, ConstUtil.DEFAULT_PAGE_SIZE);
+        assertEquals(100, ConstUtil.MAX_PAGE_SIZE);
+        
+        // Test dashboard
+        assertEquals(10, ConstUtil.LOW_STOCK_THRESHOLD);
+        assertEquals(5, ConstUtil.DASHBOARD_TOP_LIMIT);
+        assertArrayEquals(new int[] { 5, 10, 20 }, ConstUtil.DASHBOARD_TOP_OPTIONS);
+        assertEquals(10, ConstUtil.DASHBOARD_LOW_STOCK_LIMIT);
+        assertEquals(5, ConstUtil.DASHBOARD_RECENT_LIMIT);
+        assertEquals(100, ConstUtil.CHECKOUT_MAX_LINES);
+        assertEquals(100, ConstUtil.IMPORT_MAX_ERRORS);
+        assertEquals(60, ConstUtil.IMPORT_JOB_RETENTION_MINUTES);
+        assertEquals(1000, ConstUtil.EXPORT_CLEAR_INTERVAL);
+        assertEquals(8, ConstUtil.SUGGEST_DEFAULT_LIMIT);
+        assertEquals(20, ConstUtil.SUGGEST_MAX_LIMIT);
         
         // Test validation messages
         assertEquals("Field ini wajib diisi", ConstUtil.REQUIRED_FIELD);
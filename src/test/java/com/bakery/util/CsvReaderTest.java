@@ -0,0 +1,73 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadsRecordsUntilEnd() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("a,b,c\r\n1,,3\n4,5,6"))) {
+            assertEquals(List.of("a", "b", "c"), csv.next());
+            assertEquals(List.of("1", "", "3"), csv.next());
+            assertEquals(List.of("4", "5", "6"), csv.next());
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        String input = "\"Roti, manis\",\"kata \"\"enak\"\"\",\"baris\nkedua\"\nlagi\n";
+        try (CsvReader csv = new CsvReader(new BufferedReader(new StringReader(input)))) {
+            assertEquals(List.of("Roti, manis", "kata \"enak\"", "baris\nkedua"), csv.next());
+            assertEquals(1, csv.recordLine());
+            assertEquals(List.of("lagi"), csv.next());
+            assertEquals(3, csv.recordLine());
+        }
+    }
+
+    @Test
+    void testQuoteInsideUnquotedFieldIsLiteral() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("5\" loyang,x\n"))) {
+            assertEquals(List.of("5\" loyang", "x"), csv.next());
+        }
+    }
+
+    @Test
+    void testSkipsByteOrderMark() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("\uFEFFproduct_name\n"))) {
+            assertEquals(List.of("product_name"), csv.next());
+        }
+    }
+
+    @Test
+    void testBlankLineIsSingleEmptyField() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("\n"))) {
+            assertEquals(List.of(""), csv.next());
+            assertNull(csv.next());
+        }
+    }
+
+    @Test
+    void testUnterminatedQuoteFails() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("a\n\"tidak ditutup\n"))) {
+            csv.next();
+            IOException e = assertThrows(IOException.class, csv::next);
+            assertTrue(e.getMessage().contains("baris 2"));
+        }
+    }
+
+    @Test
+    void testFieldLengthIsBounded() throws IOException {
+        String input = "x".repeat(CsvReader.MAX_FIELD_LENGTH + 1);
+        try (CsvReader csv = new CsvReader(new StringReader(input))) {
+            assertThrows(IOException.class, csv::next);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void testWritesPlainAndQuotedFields() throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRow("a", 1, null, true);
+            csv.writeRow("Roti, manis", "kata \"enak\"", "baris\nkedua", "cr\r");
+            csv.flush();
+        }
+
+        assertEquals("a,1,,true\r\n\"Roti, manis\",\"kata \"\"enak\"\"\",\"baris\nkedua\",\"cr\r\"\r\n",
+                out.toString());
+    }
+
+    @Test
+    void testRoundTripWithReader() throws IOException {
+        StringWriter out = new StringWriter();
+        List<String> row = List.of("Bolu \"Pandan\"", "Kue, basah", "", "1\n2");
+        new CsvWriter(out).writeRow(row.toArray());
+
+        try (CsvReader reader = new CsvReader(new StringReader(out.toString()))) {
+            assertEquals(row, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testEscapeFormula() {
+        assertEquals("'=HYPERLINK(\"http://x\")", CsvWriter.escapeFormula("=HYPERLINK(\"http://x\")"));
+        assertEquals("'+62 812", CsvWriter.escapeFormula("+62 812"));
+        assertEquals("'-1", CsvWriter.escapeFormula("-1"));
+        assertEquals("'@SUM(A1)", CsvWriter.escapeFormula("@SUM(A1)"));
+        assertEquals("'\tTab", CsvWriter.escapeFormula("\tTab"));
+        assertEquals("Roti = enak", CsvWriter.escapeFormula("Roti = enak"));
+        assertEquals("", CsvWriter.escapeFormula(""));
+        assertNull(CsvWriter.escapeFormula(null));
+
+        assertEquals("=1+1", CsvReader.unescapeFormula(CsvWriter.escapeFormula("=1+1")));
+        assertEquals("'apostrof", CsvReader.unescapeFormula("'apostrof"));
+        assertEquals("'", CsvReader.unescapeFormula("'"));
+    }
+}
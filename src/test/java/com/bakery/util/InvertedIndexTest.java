@@ -0,0 +1,166 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+
+    private static InvertedIndex index() {
+        return new InvertedIndex(3, 2, 1);
+    }
+
+    @Test
+    void testPrefixMatchesAnyField() {
+        InvertedIndex index = index();
+        index.put(id(1), "Croissant Mentega", "Pastry", null);
+        index.put(id(2), "Bolu Pandan", "Kue", "Lembut, cocok dengan croissant");
+        index.put(id(3), "Roti Tawar", "Roti", "Gandum");
+
+        InvertedIndex.Hits hits = index.search("crois", 10);
+
+        assertEquals(2, hits.total());
+        assertEquals(List.of(id(1), id(2)), hits.ids());
+        assertEquals(List.of(id(3)), index.search("gan", 10).ids());
+    }
+
+    @Test
+    void testExactWordRanksAbovePrefix() {
+        InvertedIndex index = index();
+        index.put(id(1), "Rotiboy", null, null);
+        index.put(id(2), "Roti", null, null);
+
+        assertEquals(List.of(id(2), id(1)), index.search("roti", 10).ids());
+    }
+
+    @Test
+    void testRarerWordsAndShorterFieldsScoreHigher() {
+        InvertedIndex index = index();
+        index.put(id(1), "Roti Keju", null, null);
+        index.put(id(2), "Roti Coklat", null, null);
+        index.put(id(3), "Roti Keju Susu Spesial", null, null);
+
+        // "keju" lebih jarang dari "roti"; nama pendek lebih relevan dari nama panjang
+        assertEquals(List.of(id(1), id(3)), index.search("roti keju", 10).ids());
+        assertEquals(id(3), index.search("roti", 10).ids().get(2));
+    }
+
+    @Test
+    void testAllQueryWordsMustMatch() {
+        InvertedIndex index = index();
+        index.put(id(1), "Roti Keju", null, null);
+        index.put(id(2), "Roti Coklat", null, null);
+
+        assertEquals(List.of(id(2)), index.search("coklat roti", 10).ids());
+        assertEquals(InvertedIndex.Hits.EMPTY.ids(), index.search("roti pisang", 10).ids());
+        assertSame(InvertedIndex.Hits.EMPTY, index.search(" -- ", 10));
+    }
+
+    @Test
+    void testFieldBoostOrdersResults() {
+        InvertedIndex index = index();
+        index.put(id(1), "Bolu", null, "Keju");
+        index.put(id(2), "Bolu", "Keju", null);
+        index.put(id(3), "Keju", null, null);
+
+        assertEquals(List.of(id(3), id(2), id(1)), index.search("keju", 10).ids());
+    }
+
+    @Test
+    void testDiacriticsAndCaseAreIgnored() {
+        InvertedIndex index = index();
+        index.put(id(1), "Crème Brûlée", "Dessert", null);
+
+        assertEquals(List.of(id(1)), index.search("CREME brul", 10).ids());
+    }
+
+    @Test
+    void testTiesOrderedByNewestId() {
+        InvertedIndex index = index();
+        index.put(id(0), "Donat Gula Halus", null, null);
+        index.put(id(1), "Donat", null, null);
+        index.put(id(2), "Donat", null, null);
+
+        assertEquals(List.of(id(2), id(1), id(0)), index.search("donat", 10).ids());
+        assertEquals(List.of(id(2)), index.search("donat", 1).ids());
+    }
+
+    @Test
+    void testLimitKeepsTotal() {
+        InvertedIndex index = index();
+        for (int i = 1; i <= 5; i++) {
+            index.put(id(i), "Kue " + "enak ".repeat(i), null, null);
+        }
+
+        InvertedIndex.Hits hits = index.search("kue", 2);
+        assertEquals(5, hits.total());
+        assertEquals(List.of(id(1), id(2)), hits.ids());
+
+        InvertedIndex.Hits none = index.search("kue", 0);
+        assertEquals(5, none.total());
+        assertTrue(none.ids().isEmpty());
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        InvertedIndex index = index();
+        index.put(id(1), "Roti Keju", null, null);
+        index.put(id(1), "Roti Coklat", null, null);
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.search("keju", 10).total());
+        assertEquals(List.of(id(1)), index.search("coklat", 10).ids());
+
+        assertTrue(index.remove(id(1)));
+        assertFalse(index.remove(id(1)));
+        assertEquals(0, index.size());
+        assertEquals(0, index.search("roti", 10).total());
+    }
+
+    @Test
+    void testCompactionKeepsLiveDocuments() {
+        InvertedIndex index = index();
+        List<UUID> live = new ArrayList<>();
+        int count = 4 * InvertedIndex.MIN_COMPACT;
+        for (int i = 0; i < count; i++) {
+            index.put(id(i), "Produk " + i, i % 2 == 0 ? "Genap" : "Ganjil", null);
+        }
+        for (int i = 0; i < count; i++) {
+            if (i % 4 == 0) {
+                live.add(0, id(i));
+            } else {
+                index.remove(id(i));
+            }
+        }
+
+        assertEquals(live.size(), index.size());
+        assertEquals(live, index.search("produk", count).ids());
+        assertEquals(id(8), index.search("8", count).ids().get(0));
+        assertEquals(0, index.search("ganjil", count).total());
+    }
+
+    @Test
+    void testPrefixExpansionIsBounded() {
+        InvertedIndex index = index();
+        for (int i = 0; i < InvertedIndex.MAX_EXPANSIONS + 10; i++) {
+            index.put(id(i), "k" + i, null, null);
+        }
+
+        assertEquals(InvertedIndex.MAX_EXPANSIONS, index.search("k", 1).total());
+    }
+
+    @Test
+    void testRejectsWrongFieldCount() {
+        InvertedIndex index = index();
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(id(1), "Roti"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+
+    private static PrefixIndex<String> index(String... names) {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        for (int i = 0; i < names.length; i++) {
+            index.put(id(i), names[i], names[i]);
+        }
+        return index;
+    }
+
+    @Test
+    void testStartOfNameBeforeLaterWords() {
+        PrefixIndex<String> index = index("Roti Keju", "Kue Keju", "Keju Panggang", "Bolu Pandan");
+
+        assertEquals(List.of("Keju Panggang", "Kue Keju", "Roti Keju"), index.suggest("ke", 10));
+        assertEquals(List.of("Roti Keju"), index.suggest("roti k", 10));
+        assertEquals(List.of("Bolu Pandan"), index.suggest("pandan", 10));
+        assertEquals(List.of(), index.suggest("donat", 10));
+    }
+
+    @Test
+    void testCaseDiacriticsAndSpacingAreNormalized() {
+        PrefixIndex<String> index = index("Crème  Brûlée", "Café-Latte Cake");
+
+        assertEquals(List.of("Crème  Brûlée"), index.suggest("CREME bru", 10));
+        assertEquals(List.of("Café-Latte Cake"), index.suggest("cafe latte", 10));
+        assertEquals(List.of("Café-Latte Cake"), index.suggest("latté", 10));
+    }
+
+    @Test
+    void testLimitAndEmptyPrefix() {
+        PrefixIndex<String> index = index("Donat Gula", "Donat Coklat", "Donat Keju", "Roti Donat");
+
+        assertEquals(List.of("Donat Coklat", "Donat Gula"), index.suggest("donat", 2));
+        assertEquals(4, index.suggest("donat", 10).size());
+        assertEquals(List.of(), index.suggest("donat", 0));
+        assertEquals(List.of(), index.suggest(" - ", 10));
+        assertEquals(List.of(), index.suggest(null, 10));
+    }
+
+    @Test
+    void testMatchingStartAndWordReturnedOnce() {
+        PrefixIndex<String> index = index("Keju Keju", "Keju");
+
+        assertEquals(List.of("Keju", "Keju Keju"), index.suggest("keju", 10));
+    }
+
+    @Test
+    void testSameNameKeepsBothEntries() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(id(2), "Pie Susu", "kedua");
+        index.put(id(1), "Pie Susu", "pertama");
+
+        assertEquals(List.of("pertama", "kedua"), index.suggest("pie", 10));
+        assertTrue(index.remove(id(1)));
+        assertEquals(List.of("kedua"), index.suggest("susu", 10));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        PrefixIndex<String> index = index("Roti Keju");
+        index.put(id(0), "Roti Coklat", "Roti Coklat");
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.suggest("keju", 10));
+        assertEquals(List.of("Roti Coklat"), index.suggest("cok", 10));
+
+        assertTrue(index.remove(id(0)));
+        assertFalse(index.remove(id(0)));
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.suggest("roti", 10));
+    }
+
+    @Test
+    void testBlankTextIsStoredWithoutKeys() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(id(1), null, "tanpa nama");
+
+        assertEquals(1, index.size());
+        assertTrue(index.remove(id(1)));
+    }
+
+    @Test
+    void testBulkLoadMatchesIncrementalPuts() {
+        List<String> names = List.of("Roti Keju", "Bolu Pandan", "Kue Keju", "Keju Panggang", "Pie Susu", "");
+        PrefixIndex<String> bulk = PrefixIndex.of(names, name -> id(names.indexOf(name)), name -> name);
+        PrefixIndex<String> incremental = index(names.toArray(String[]::new));
+
+        for (String prefix : List.of("k", "keju", "p", "roti", "susu", "b")) {
+            assertEquals(incremental.suggest(prefix, 10), bulk.suggest(prefix, 10), prefix);
+        }
+        assertEquals(names.size(), bulk.size());
+
+        bulk.put(id(0), "Roti Abon", "Roti Abon");
+        assertEquals(List.of("Roti Abon"), bulk.suggest("roti", 10));
+    }
+
+    @Test
+    void testBulkLoadRejectsDuplicateIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PrefixIndex.of(List.of("Roti", "Kue"), name -> id(1), name -> name));
+    }
+}
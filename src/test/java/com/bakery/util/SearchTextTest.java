@@ -0,0 +1,23 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTextTest {
+
+    @Test
+    void testNormalizeStripsDiacriticsAndCase() {
+        assertEquals("creme brulee", SearchText.normalize("Crème BRÛLÉE"));
+        assertEquals("", SearchText.normalize(null));
+    }
+
+    @Test
+    void testTokensSplitOnNonLetters() {
+        assertEquals(List.of("roti", "tawar", "500g", "roti"), SearchText.tokens("  Roti-tawar (500g), roti!"));
+        assertEquals(List.of(), SearchText.tokens(" ,.- "));
+        assertEquals(List.of(), SearchText.tokens(null));
+    }
+}
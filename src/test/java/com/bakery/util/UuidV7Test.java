@@ -0,0 +1,70 @@
+package com.bakery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void testVersionAndVariant() {
+        UUID uuid = UuidV7.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testTimestampIsEncoded() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        long timestamp = UuidV7.timestampOf(uuid);
+        assertTrue(timestamp >= before && timestamp <= after, "timestamp " + timestamp);
+    }
+
+    @Test
+    void testMonotonicWithinSameMillisecond() {
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        UUID previous = generator.next(now);
+        // Lebih dari 4096 id dalam 1 ms: counter 12 bit habis lalu waktu dimajukan
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.next(now);
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testClockGoingBackwardsStaysMonotonic() {
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        UUID first = generator.next(now);
+        UUID second = generator.next(now - 5_000);
+
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+        assertEquals(UuidV7.timestampOf(first), UuidV7.timestampOf(second));
+    }
+
+    @Test
+    void testUnique() {
+        UuidV7 generator = new UuidV7();
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(ids.add(generator.next(System.currentTimeMillis())));
+        }
+    }
+
+    @Test
+    void testTimestampOfRejectsOtherVersions() {
+        UUID random = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampOf(random));
+    }
+}
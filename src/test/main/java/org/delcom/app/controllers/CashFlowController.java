@@ -1,5 +1,6 @@
 package org.delcom.app.controllers;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -9,7 +10,9 @@ import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.CashFlow;
 import org.delcom.app.entities.User;
 import org.delcom.app.services.CashFlowService;
+import org.delcom.app.utils.ConstUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -66,10 +69,13 @@ public class CashFlowController {
     }
 
     // Mendapatkan semua cash flow dengan opsi pencarian
+    // Bila page atau size diisi, hasil dikembalikan per halaman beserta total data
     // -------------------------------
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, List<CashFlow>>>> getAllCashFlows(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllCashFlows(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
         
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
@@ -77,11 +83,31 @@ public class CashFlowController {
         }
         User authUser = authContext.getAuthUser();
 
-        List<CashFlow> cashFlows = cashFlowService.getAllCashFlows(authUser.getId(), search);
-        return ResponseEntity.ok(new ApiResponse<>(
-                "success",
-                "Berhasil mengambil data",
-                Map.of("cash_flows", cashFlows)));
+        if (page == null && size == null) {
+            List<CashFlow> cashFlows = cashFlowService.getAllCashFlows(authUser.getId(), search);
+            return ResponseEntity.ok(new ApiResponse<>(
+                    "success",
+                    "Berhasil mengambil data",
+                    Map.of("cash_flows", cashFlows)));
+        }
+
+        // Validasi paginasi
+        if (page != null && page < 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data page tidak valid", null));
+        } else if (size != null && size <= 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data size tidak valid", null));
+        }
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? Math.min(size, ConstUtil.CASHFLOWS_MAX_PAGE_SIZE) : ConstUtil.CASHFLOWS_DEFAULT_PAGE_SIZE;
+
+        Page<CashFlow> result = cashFlowService.getCashFlows(authUser.getId(), search, pageNumber, pageSize);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("cash_flows", result.getContent());
+        data.put("page", result.getNumber());
+        data.put("size", result.getSize());
+        data.put("total_elements", result.getTotalElements());
+        data.put("total_pages", result.getTotalPages());
+        return ResponseEntity.ok(new ApiResponse<>("success", "Berhasil mengambil data", data));
     }
 
     // Mendapatkan cash flow berdasarkan ID
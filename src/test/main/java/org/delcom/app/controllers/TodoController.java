@@ -1,14 +1,17 @@
 package org.delcom.app.controllers;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.dto.TodoSearchResult;
 import org.delcom.app.entities.Todo;
 import org.delcom.app.entities.User;
 import org.delcom.app.services.TodoService;
+import org.delcom.app.utils.ConstUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -58,21 +61,44 @@ public class TodoController {
     }
 
     // Mendapatkan semua todo dengan opsi pencarian
+    // Hasil pencarian dibagi per halaman: kirim next_cursor sebagai cursor untuk halaman berikutnya
     // -------------------------------
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, List<Todo>>>> getAllTodos(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllTodos(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
         User authUser = authContext.getAuthUser();
 
-        List<Todo> todos = todoService.getAllTodos(authUser.getId(), search);
-        return ResponseEntity.ok(new ApiResponse<>(
-                "success",
-                "Daftar todo berhasil diambil",
-                Map.of("todos", todos)));
+        if (search == null || search.trim().isEmpty()) {
+            List<Todo> todos = todoService.getAllTodos(authUser.getId(), search);
+            return ResponseEntity.ok(new ApiResponse<>(
+                    "success",
+                    "Daftar todo berhasil diambil",
+                    Map.of("todos", todos)));
+        }
+
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data limit tidak valid", null));
+        }
+        int pageSize = limit != null ? Math.min(limit, ConstUtil.TODOS_SEARCH_MAX_LIMIT) : ConstUtil.TODOS_SEARCH_DEFAULT_LIMIT;
+
+        TodoSearchResult result;
+        try {
+            result = todoService.searchTodos(authUser.getId(), search, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data cursor tidak valid", null));
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("todos", result.todos());
+        data.put("highlights", result.highlights());
+        data.put("next_cursor", result.nextCursor());
+        return ResponseEntity.ok(new ApiResponse<>("success", "Daftar todo berhasil diambil", data));
     }
 
     // Mendapatkan todo berdasarkan ID
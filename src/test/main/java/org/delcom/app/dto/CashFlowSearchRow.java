@@ -0,0 +1,7 @@
+package org.delcom.app.dto;
+
+import java.util.UUID;
+
+// Kolom teks cash flow untuk membangun index pencarian (tanpa memuat entity lengkap)
+public record CashFlowSearchRow(UUID id, String source, String label, String description) {
+}
@@ -0,0 +1,5 @@
+package org.delcom.app.dto;
+
+// Potongan judul dan deskripsi todo dengan kata yang cocok dibungkus <mark>
+public record TodoHighlight(String title, String description) {
+}
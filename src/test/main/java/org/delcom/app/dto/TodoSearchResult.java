@@ -0,0 +1,11 @@
+package org.delcom.app.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.delcom.app.entities.Todo;
+
+// Satu halaman hasil pencarian todo; nextCursor null bila sudah halaman terakhir
+public record TodoSearchResult(List<Todo> todos, Map<UUID, TodoHighlight> highlights, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package org.delcom.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Kolom todo yang dibutuhkan untuk membangun index pencarian
+public record TodoSearchRow(UUID id, String title, String description, LocalDateTime createdAt) {
+}
@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cashflows")
+// Index untuk daftar per halaman (terbaru lebih dulu) dan untuk memuat index pencarian per user
+@Table(name = "cashflows", indexes = {
+        @Index(name = "idx_cashflows_user_created", columnList = "user_id, created_at, id")
+})
 public class CashFlow {
 
     @Id
@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "todos")
+// Index untuk daftar todo user (terbaru lebih dulu) dan untuk memuat index pencarian per user
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_user_created", columnList = "user_id, created_at")
+})
 public class Todo {
 
     @Id
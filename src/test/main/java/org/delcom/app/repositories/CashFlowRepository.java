@@ -1,11 +1,15 @@
 package org.delcom.app.repositories;
 
+import org.delcom.app.dto.CashFlowSearchRow;
 import org.delcom.app.entities.CashFlow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,12 +23,16 @@ public interface CashFlowRepository extends JpaRepository<CashFlow, UUID> {
     // Mencari cash flow berdasarkan ID dan user ID
     Optional<CashFlow> findByIdAndUserId(UUID id, UUID userId);
 
-    // Mencari cash flow berdasarkan user ID dengan pencarian
-    @Query("SELECT c FROM CashFlow c WHERE c.userId = :userId AND " +
-           "(LOWER(c.source) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.label) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<CashFlow> findByUserIdWithSearch(@Param("userId") UUID userId, @Param("search") String search);
+    // Mencari semua cash flow berdasarkan user ID per halaman
+    Page<CashFlow> findByUserId(UUID userId, Pageable pageable);
+
+    // Mengambil cash flow hasil pencarian berdasarkan ID, tetap dibatasi milik user
+    List<CashFlow> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    // Teks semua cash flow user untuk membangun index pencarian, urut dari yang paling lama
+    @Query("SELECT new org.delcom.app.dto.CashFlowSearchRow(c.id, c.source, c.label, c.description) " +
+           "FROM CashFlow c WHERE c.userId = :userId ORDER BY c.createdAt, c.id")
+    List<CashFlowSearchRow> findSearchRowsByUserId(@Param("userId") UUID userId);
 
     // Mendapatkan semua label unik berdasarkan user ID
     @Query("SELECT DISTINCT c.label FROM CashFlow c WHERE c.userId = :userId ORDER BY c.label")
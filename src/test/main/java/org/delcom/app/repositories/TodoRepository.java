@@ -1,9 +1,11 @@
 package org.delcom.app.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.delcom.app.dto.TodoSearchRow;
 import org.delcom.app.entities.Todo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,9 +13,13 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, UUID> {
-    @Query("SELECT t FROM Todo t WHERE (LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND t.userId = :userId ORDER BY t.createdAt DESC")
-    List<Todo> findByKeyword(UUID userId, String keyword);
+    // Judul dan deskripsi semua todo user untuk membangun index pencarian
+    @Query("SELECT new org.delcom.app.dto.TodoSearchRow(t.id, t.title, t.description, t.createdAt) " +
+            "FROM Todo t WHERE t.userId = :userId")
+    List<TodoSearchRow> findSearchRowsByUserId(UUID userId);
+
+    // Mengambil todo hasil pencarian berdasarkan ID, tetap dibatasi milik user
+    List<Todo> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
 
     @Query("SELECT t FROM Todo t WHERE t.userId = :userId ORDER BY t.createdAt DESC")
     List<Todo> findAllByUserId(UUID userId);
@@ -0,0 +1,52 @@
+package org.delcom.app.services;
+
+import org.delcom.app.dto.CashFlowSearchRow;
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.utils.ConstUtil;
+import org.delcom.app.utils.TrigramIndex;
+import org.delcom.app.utils.UserIndexCache;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class CashFlowSearchService {
+
+    private final CashFlowRepository cashFlowRepository;
+    private final UserIndexCache<TrigramIndex> indexes;
+
+    public CashFlowSearchService(CashFlowRepository cashFlowRepository) {
+        this.cashFlowRepository = cashFlowRepository;
+        this.indexes = new UserIndexCache<>(this::load, TrigramIndex::size, ConstUtil.SEARCH_INDEX_MAX_DOCUMENTS);
+    }
+
+    // Mencari cash flow user yang source, label atau description-nya mengandung kata kunci.
+    // Index user dimuat dari database pada pencarian pertama, setelah itu hanya diperbarui dari
+    // CashFlowService sehingga pencarian berikutnya tidak membaca tabel
+    public TrigramIndex.Hits search(UUID userId, String search, int offset, int limit) {
+        return indexes.get(userId).search(search, offset, limit);
+    }
+
+    // Dipanggil setelah cash flow dibuat atau diperbarui; index berubah setelah commit
+    public void indexCashFlow(CashFlow cashFlow) {
+        UUID id = cashFlow.getId();
+        String source = cashFlow.getSource();
+        String label = cashFlow.getLabel();
+        String description = cashFlow.getDescription();
+        indexes.update(cashFlow.getUserId(), index -> index.put(id, source, label, description));
+    }
+
+    // Dipanggil setelah cash flow dihapus; index berubah setelah commit
+    public void removeCashFlow(UUID userId, UUID id) {
+        indexes.update(userId, index -> index.remove(id));
+    }
+
+    private TrigramIndex load(UUID userId) {
+        TrigramIndex index = new TrigramIndex();
+        for (CashFlowSearchRow row : cashFlowRepository.findSearchRowsByUserId(userId)) {
+            index.put(row.id(), row.source(), row.label(), row.description());
+        }
+        return index;
+    }
+}
@@ -2,6 +2,12 @@ package org.delcom.app.services;
 
 import org.delcom.app.entities.CashFlow;
 import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.utils.SearchResultUtil;
+import org.delcom.app.utils.TrigramIndex;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,25 +18,47 @@ import java.util.UUID;
 public class CashFlowService {
 
     private final CashFlowRepository cashFlowRepository;
+    private final CashFlowSearchService cashFlowSearchService;
 
-    public CashFlowService(CashFlowRepository cashFlowRepository) {
+    public CashFlowService(CashFlowRepository cashFlowRepository, CashFlowSearchService cashFlowSearchService) {
         this.cashFlowRepository = cashFlowRepository;
+        this.cashFlowSearchService = cashFlowSearchService;
     }
 
     // Membuat cash flow baru
     public CashFlow createCashFlow(UUID userId, String type, String source, String label, Long amount, String description) {
-        CashFlow cashFlow = new CashFlow(userId, type, source, label, amount, description);
-        return cashFlowRepository.save(cashFlow);
+        CashFlow cashFlow = cashFlowRepository.save(new CashFlow(userId, type, source, label, amount, description));
+        cashFlowSearchService.indexCashFlow(cashFlow);
+        return cashFlow;
     }
 
     // Mendapatkan semua cash flow berdasarkan user ID dengan opsi pencarian
+    // Hasil pencarian diurutkan dari cash flow terbaru
     public List<CashFlow> getAllCashFlows(UUID userId, String search) {
         if (search != null && !search.isEmpty()) {
-            return cashFlowRepository.findByUserIdWithSearch(userId, search);
+            TrigramIndex.Hits hits = cashFlowSearchService.search(userId, search, 0, Integer.MAX_VALUE);
+            return findInOrder(userId, hits.ids());
         }
         return cashFlowRepository.findByUserId(userId);
     }
 
+    // Mendapatkan cash flow per halaman dengan opsi pencarian, terbaru lebih dulu
+    public Page<CashFlow> getCashFlows(UUID userId, String search, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size,
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        if (search == null || search.isEmpty()) {
+            return cashFlowRepository.findByUserId(userId, pageRequest);
+        }
+        TrigramIndex.Hits hits = cashFlowSearchService.search(userId, search, (int) pageRequest.getOffset(), size);
+        return new PageImpl<>(findInOrder(userId, hits.ids()), pageRequest, hits.total());
+    }
+
+    // Mengambil cash flow hasil index dengan urutan yang sama seperti urutan ID
+    private List<CashFlow> findInOrder(UUID userId, List<UUID> ids) {
+        return SearchResultUtil.findInOrder(ids, chunk -> cashFlowRepository.findByUserIdAndIdIn(userId, chunk),
+                CashFlow::getId);
+    }
+
     // Mendapatkan cash flow berdasarkan ID
     public CashFlow getCashFlowById(UUID userId, UUID id) {
         return cashFlowRepository.findByIdAndUserId(id, userId).orElse(null);
@@ -54,7 +82,9 @@ public class CashFlowService {
         existingCashFlow.setAmount(amount);
         existingCashFlow.setDescription(description);
 
-        return cashFlowRepository.save(existingCashFlow);
+        CashFlow cashFlow = cashFlowRepository.save(existingCashFlow);
+        cashFlowSearchService.indexCashFlow(cashFlow);
+        return cashFlow;
     }
 
     // ==========================
@@ -77,6 +107,7 @@ public class CashFlowService {
         }
 
         cashFlowRepository.deleteByIdAndUserId(id, userId);
+        cashFlowSearchService.removeCashFlow(userId, id);
         return true;
     }
 }
\ No newline at end of file
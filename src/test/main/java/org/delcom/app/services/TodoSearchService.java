@@ -0,0 +1,74 @@
+package org.delcom.app.services;
+
+import org.delcom.app.dto.TodoSearchRow;
+import org.delcom.app.entities.Todo;
+import org.delcom.app.repositories.TodoRepository;
+import org.delcom.app.utils.ConstUtil;
+import org.delcom.app.utils.TodoSearchIndex;
+import org.delcom.app.utils.UserIndexCache;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+public class TodoSearchService {
+
+    private final TodoRepository todoRepository;
+    private final UserIndexCache<TodoSearchIndex> indexes;
+
+    public TodoSearchService(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+        this.indexes = new UserIndexCache<>(this::load, TodoSearchIndex::size, ConstUtil.SEARCH_INDEX_MAX_DOCUMENTS);
+    }
+
+    // Mencari todo user; index user dimuat dari database pada pencarian pertama, setelah itu hanya
+    // diperbarui dari TodoService sehingga pencarian berikutnya tidak membaca tabel
+    public TodoSearchIndex.Page search(UUID userId, String search, TodoSearchIndex.Key after, int limit) {
+        return indexes.get(userId).search(search, after, limit);
+    }
+
+    // Dipanggil setelah todo dibuat atau diperbarui; index berubah setelah commit
+    public void indexTodo(Todo todo) {
+        UUID id = todo.getId();
+        String title = todo.getTitle();
+        String description = todo.getDescription();
+        LocalDateTime createdAt = todo.getCreatedAt();
+        indexes.update(todo.getUserId(), index -> index.put(id, title, description, createdAt));
+    }
+
+    // Dipanggil setelah todo dihapus; index berubah setelah commit
+    public void removeTodo(UUID userId, UUID id) {
+        indexes.update(userId, index -> index.remove(id));
+    }
+
+    // Cursor berisi posisi todo terakhir di halaman sebelumnya: skor|createdAt|id dalam base64 url
+    public static String encodeCursor(TodoSearchIndex.Key key) {
+        String value = key.score() + "|" + key.createdAt() + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoSearchIndex.Key decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor tidak valid");
+            }
+            return new TodoSearchIndex.Key(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor tidak valid", e);
+        }
+    }
+
+    private TodoSearchIndex load(UUID userId) {
+        TodoSearchIndex index = new TodoSearchIndex();
+        for (TodoSearchRow row : todoRepository.findSearchRowsByUserId(userId)) {
+            index.put(row.id(), row.title(), row.description(), row.createdAt());
+        }
+        return index;
+    }
+}
@@ -1,11 +1,19 @@
 package org.delcom.app.services;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.delcom.app.dto.TodoHighlight;
+import org.delcom.app.dto.TodoSearchResult;
 import org.delcom.app.entities.Todo;
 import org.delcom.app.repositories.TodoRepository;
+import org.delcom.app.utils.ConstUtil;
+import org.delcom.app.utils.SearchResultUtil;
+import org.delcom.app.utils.SnippetUtil;
+import org.delcom.app.utils.TodoSearchIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,25 +21,55 @@ import org.springframework.transaction.annotation.Transactional;
 public class TodoService {
     private final TodoRepository todoRepository;
     private final FileStorageService fileStorageService;
+    private final TodoSearchService todoSearchService;
 
-    public TodoService(TodoRepository todoRepository, FileStorageService fileStorageService) {
+    public TodoService(TodoRepository todoRepository, FileStorageService fileStorageService,
+            TodoSearchService todoSearchService) {
         this.todoRepository = todoRepository;
         this.fileStorageService = fileStorageService;
+        this.todoSearchService = todoSearchService;
     }
 
     @Transactional
     public Todo createTodo(UUID userId, String title, String description) {
-        Todo todo = new Todo(userId, title, description, false);
-        return todoRepository.save(todo);
+        Todo todo = todoRepository.save(new Todo(userId, title, description, false));
+        todoSearchService.indexTodo(todo);
+        return todo;
     }
 
+    // Dengan kata kunci, semua hasil diurutkan seperti searchTodos
     public List<Todo> getAllTodos(UUID userId, String search) {
         if (search != null && !search.trim().isEmpty()) {
-            return todoRepository.findByKeyword(userId, search);
+            TodoSearchIndex.Page page = todoSearchService.search(userId, search, null, Integer.MAX_VALUE);
+            return findInOrder(userId, page.ids());
         }
         return todoRepository.findAllByUserId(userId);
     }
 
+    // Satu halaman hasil pencarian: todo yang kata kuncinya ada di judul lebih dulu, lalu yang terbaru.
+    // Cursor null untuk halaman pertama; cursor yang tidak valid menghasilkan IllegalArgumentException
+    public TodoSearchResult searchTodos(UUID userId, String search, String cursor, int limit) {
+        TodoSearchIndex.Key after = cursor == null || cursor.isEmpty() ? null : TodoSearchService.decodeCursor(cursor);
+        TodoSearchIndex.Page page = todoSearchService.search(userId, search, after, limit);
+        List<Todo> todos = findInOrder(userId, page.ids());
+
+        List<String> terms = TodoSearchIndex.terms(search);
+        Map<UUID, TodoHighlight> highlights = new LinkedHashMap<>();
+        for (Todo todo : todos) {
+            highlights.put(todo.getId(), new TodoHighlight(
+                    SnippetUtil.highlight(todo.getTitle(), terms, ConstUtil.TODOS_SNIPPET_LENGTH),
+                    SnippetUtil.highlight(todo.getDescription(), terms, ConstUtil.TODOS_SNIPPET_LENGTH)));
+        }
+        String nextCursor = page.next() == null ? null : TodoSearchService.encodeCursor(page.next());
+        return new TodoSearchResult(todos, highlights, nextCursor);
+    }
+
+    // Mengambil todo hasil index dengan urutan yang sama seperti urutan ID
+    private List<Todo> findInOrder(UUID userId, List<UUID> ids) {
+        return SearchResultUtil.findInOrder(ids, chunk -> todoRepository.findByUserIdAndIdIn(userId, chunk),
+                Todo::getId);
+    }
+
     public Todo getTodoById(UUID userId, UUID id) {
         return todoRepository.findByUserIdAndId(userId, id).orElse(null);
     }
@@ -43,7 +81,9 @@ public class TodoService {
             todo.setTitle(title);
             todo.setDescription(description);
             todo.setFinished(isFinished);
-            return todoRepository.save(todo);
+            Todo updated = todoRepository.save(todo);
+            todoSearchService.indexTodo(updated);
+            return updated;
         }
         return null;
     }
@@ -56,6 +96,7 @@ public class TodoService {
         }
 
         todoRepository.deleteById(id);
+        todoSearchService.removeTodo(userId, id);
         return true;
     }
 
@@ -13,4 +13,16 @@ public class ConstUtil {
     // ====== YANG KURANG ========
     public static final String TEMPLATE_PAGES_TODOS_HOME = "pages/todos/home";
     public static final String TEMPLATE_PAGES_CASHFLOWS_HOME = "pages/cashflows/home";
+
+    // Pencarian dan paginasi cash flow
+    public static final int CASHFLOWS_DEFAULT_PAGE_SIZE = 20;
+    public static final int CASHFLOWS_MAX_PAGE_SIZE = 100;
+    // Batas jumlah dokumen di semua index pencarian di memori, per jenis index (cash flow, todo).
+    // Index trigram 1 juta cash flow memakai sekitar 0,5-1,2 GB heap (CashFlowSearchBenchmark)
+    public static final long SEARCH_INDEX_MAX_DOCUMENTS = 500_000;
+
+    // Pencarian todo
+    public static final int TODOS_SEARCH_DEFAULT_LIMIT = 20;
+    public static final int TODOS_SEARCH_MAX_LIMIT = 100;
+    public static final int TODOS_SNIPPET_LENGTH = 160;
 }
@@ -0,0 +1,41 @@
+package org.delcom.app.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Mengambil entity hasil index pencarian dari database dengan urutan yang sama seperti urutan id dari
+ * index. Id yang entity-nya sudah tidak ada dilewati.
+ */
+public class SearchResultUtil {
+
+    // Batas jumlah ID per query IN saat mengambil hasil pencarian
+    public static final int FETCH_CHUNK_SIZE = 1000;
+
+    private SearchResultUtil() {
+        // Utility class, prevent instantiation
+    }
+
+    public static <T> List<T> findInOrder(List<UUID> ids, Function<List<UUID>, List<T>> fetch,
+            Function<T, UUID> idOf) {
+        Map<UUID, T> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            for (T entity : fetch.apply(chunk)) {
+                byId.put(idOf.apply(entity), entity);
+            }
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
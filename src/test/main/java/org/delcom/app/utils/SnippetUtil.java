@@ -0,0 +1,113 @@
+package org.delcom.app.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Potongan teks hasil pencarian dengan kata yang cocok dibungkus {@code <mark>}. Teks di-escape
+ * sebagai HTML sehingga aman ditampilkan langsung.
+ */
+public class SnippetUtil {
+
+    private static final String ELLIPSIS = "…";
+
+    private SnippetUtil() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Menandai setiap kata yang diawali salah satu {@code terms} (huruf kecil, dari
+     * {@link TodoSearchIndex#terms}). Teks yang lebih panjang dari {@code maxLength} dipotong di
+     * sekitar kata pertama yang cocok.
+     */
+    public static String highlight(String text, List<String> terms, int maxLength) {
+        if (text == null) {
+            return "";
+        }
+        List<int[]> matches = matches(text, terms);
+
+        int start = 0;
+        int end = text.length();
+        if (end > maxLength) {
+            int first = matches.isEmpty() ? 0 : matches.get(0)[0];
+            start = Math.max(0, Math.min(first - maxLength / 4, text.length() - maxLength));
+            // Jangan mulai di tengah kata
+            while (start > 0 && start < first && Character.isLetterOrDigit(text.charAt(start - 1))) {
+                start++;
+            }
+            end = Math.min(text.length(), start + maxLength);
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        int position = start;
+        for (int[] match : matches) {
+            if (match[0] < start || match[0] >= end) {
+                continue;
+            }
+            int matchEnd = Math.min(match[1], end);
+            escape(text, position, match[0], snippet);
+            snippet.append("<mark>");
+            escape(text, match[0], matchEnd, snippet);
+            snippet.append("</mark>");
+            position = matchEnd;
+        }
+        escape(text, position, end, snippet);
+        if (end < text.length()) {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    // Awal dan akhir setiap kata yang cocok, urut posisi
+    private static List<int[]> matches(String text, List<String> terms) {
+        List<int[]> matches = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (startsWithAny(text, start, i, terms)) {
+                    matches.add(new int[] { start, i });
+                }
+                start = -1;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean startsWithAny(String text, int start, int end, List<String> terms) {
+        for (String term : terms) {
+            if (term.length() <= end - start && matchesAt(text, start, term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAt(String text, int start, String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != term.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void escape(String text, int start, int end, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
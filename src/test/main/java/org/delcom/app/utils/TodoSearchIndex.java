@@ -0,0 +1,235 @@
+package org.delcom.app.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index kata pada judul dan deskripsi todo satu user. Setiap kata kunci cocok dengan kata
+ * yang diawali kata kunci tersebut ("rap" cocok dengan "rapat"), dan todo harus mengandung semua kata
+ * kunci. Hasil diurutkan dari todo yang paling banyak kata kuncinya ada di judul, lalu yang terbaru,
+ * dan dibagi per halaman dengan {@link Key} todo terakhir sebagai cursor.
+ */
+public class TodoSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final TreeMap<String, Set<UUID>> postings = new TreeMap<>();
+
+    /** Posisi todo dalam urutan hasil: skor judul (besar dulu), waktu dibuat dan id (terbaru dulu). */
+    public record Key(int score, LocalDateTime createdAt, UUID id) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int result = Integer.compare(other.score, score);
+            if (result == 0) {
+                result = other.createdAt.compareTo(createdAt);
+            }
+            return result != 0 ? result : other.id.compareTo(id);
+        }
+    }
+
+    /** Id todo pada satu halaman; {@code next} null bila tidak ada halaman berikutnya. */
+    public record Page(List<UUID> ids, Key next) {
+    }
+
+    // Kata unik per field, terurut agar prefix bisa dicari dengan binary search
+    private record Document(LocalDateTime createdAt, String[] titleTerms, String[] descriptionTerms) {
+    }
+
+    /** Menambah atau mengganti todo dalam index. */
+    public void put(UUID id, String title, String description, LocalDateTime createdAt) {
+        Document document = new Document(createdAt, sortedTerms(title), sortedTerms(description));
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, document);
+            for (String term : allTerms(document)) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            return removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Paling banyak {@code limit} todo yang cocok dengan {@code query} setelah {@code after} (null = dari awal). */
+    public Page search(String query, Key after, int limit) {
+        List<String> needles = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        if (needles.isEmpty() || limit <= 0) {
+            return new Page(List.of(), null);
+        }
+        // Kunci terburuk di kepala antrean agar yang tersimpan hanya limit + 1 kunci terbaik
+        PriorityQueue<Key> top = new PriorityQueue<>(Comparator.reverseOrder());
+        lock.readLock().lock();
+        try {
+            for (UUID id : candidates(needles)) {
+                Document document = documents.get(id);
+                Key key = new Key(titleScore(document, needles), document.createdAt(), id);
+                if (after != null && key.compareTo(after) <= 0) {
+                    continue;
+                }
+                top.add(key);
+                if (top.size() > limit + 1L) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Key> keys = new ArrayList<>(top);
+        Collections.sort(keys);
+        Key next = null;
+        if (keys.size() > limit) {
+            keys = keys.subList(0, limit);
+            next = keys.get(limit - 1);
+        }
+        List<UUID> ids = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            ids.add(key.id());
+        }
+        return new Page(ids, next);
+    }
+
+    /**
+     * Kata (deretan huruf/angka) dalam huruf kecil, urut kemunculan. Huruf diubah per karakter agar
+     * panjang dan posisi teks tidak berubah, sama seperti yang dipakai {@link SnippetUtil}.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    // Todo yang cocok dengan semua kata kunci. Hanya posting kata kunci dengan todo paling sedikit yang
+    // dibaca; kata kunci lain diperiksa langsung ke kata-kata todo kandidat (jumlahnya kecil)
+    private List<UUID> candidates(List<String> needles) {
+        Collection<Set<UUID>> rarest = null;
+        long rarestSize = Long.MAX_VALUE;
+        for (String needle : needles) {
+            Collection<Set<UUID>> matches = postings.subMap(needle, true, needle + Character.MAX_VALUE, true).values();
+            long size = 0;
+            for (Set<UUID> posting : matches) {
+                size += posting.size();
+            }
+            if (size == 0) {
+                return List.of();
+            }
+            if (size < rarestSize) {
+                rarest = matches;
+                rarestSize = size;
+            }
+        }
+
+        // Satu todo bisa muncul di beberapa posting bila kata kunci cocok dengan beberapa kata
+        Set<UUID> seen = rarest.size() > 1 ? new HashSet<>() : null;
+        List<UUID> result = new ArrayList<>();
+        for (Set<UUID> posting : rarest) {
+            for (UUID id : posting) {
+                if ((seen == null || seen.add(id)) && containsAll(documents.get(id), needles)) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(Document document, List<String> needles) {
+        for (String needle : needles) {
+            if (!hasPrefix(document.titleTerms(), needle) && !hasPrefix(document.descriptionTerms(), needle)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasPrefix(String[] terms, String needle) {
+        int index = Arrays.binarySearch(terms, needle);
+        if (index >= 0) {
+            return true;
+        }
+        // Kata pertama yang lebih besar dari kata kunci adalah satu-satunya yang mungkin diawali kata kunci
+        index = -index - 1;
+        return index < terms.length && terms[index].startsWith(needle);
+    }
+
+    // Jumlah kata kunci yang ditemukan di judul
+    private static int titleScore(Document document, List<String> needles) {
+        int score = 0;
+        for (String needle : needles) {
+            if (hasPrefix(document.titleTerms(), needle)) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    private boolean removeDocument(UUID id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        for (String term : allTerms(document)) {
+            Set<UUID> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> allTerms(Document document) {
+        Set<String> terms = new HashSet<>(Arrays.asList(document.titleTerms()));
+        terms.addAll(Arrays.asList(document.descriptionTerms()));
+        return terms;
+    }
+
+    private static String[] sortedTerms(String text) {
+        return new TreeSet<>(terms(text)).toArray(new String[0]);
+    }
+}
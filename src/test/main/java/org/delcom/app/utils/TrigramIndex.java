@@ -0,0 +1,210 @@
+package org.delcom.app.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index trigram (3 karakter berurutan) untuk pencarian substring tanpa membedakan huruf besar/kecil,
+ * pengganti LOWER(kolom) LIKE '%kata%' yang selalu membaca semua baris.
+ *
+ * Setiap dokumen mendapat nomor urut sesuai urutan masuk; daftar posting per trigram berisi nomor urut
+ * yang terurut sehingga bisa diiris dengan binary search. Pencarian mengambil kandidat dari irisan
+ * posting semua trigram kata kunci, lalu memastikan kata kunci benar-benar ada di teks dokumen. Kata
+ * kunci yang lebih pendek dari 3 karakter diperiksa langsung ke teks semua dokumen (tetap tanpa query
+ * database dan tanpa LOWER per baris). Hasil diurutkan dari dokumen yang terakhir masuk.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    // Pemisah antar-field agar kata kunci tidak cocok melewati batas dua field
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /** Id dokumen yang cocok pada satu halaman dan jumlah seluruh dokumen yang cocok. */
+    public record Hits(List<UUID> ids, int total) {
+    }
+
+    private record Document(UUID id, String text) {
+    }
+
+    /** Menambah atau mengganti teks dokumen; nomor urut dokumen yang sudah ada tidak berubah. */
+    public void put(UUID id, String... fields) {
+        String text = normalize(fields);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = documents.size();
+                ordinals.put(id, ordinal);
+                documents.add(new Document(id, text));
+            } else {
+                for (long gram : grams(documents.get(ordinal).text())) {
+                    removePosting(gram, ordinal);
+                }
+                documents.set(ordinal, new Document(id, text));
+            }
+            for (long gram : grams(text)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return false;
+            }
+            for (long gram : grams(documents.get(ordinal).text())) {
+                removePosting(gram, ordinal);
+            }
+            documents.set(ordinal, null);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Dokumen yang mengandung {@code query}, terbaru lebih dulu, mulai dari {@code offset} sebanyak {@code limit}. */
+    public Hits search(String query, int offset, int limit) {
+        String needle = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        List<UUID> ids = new ArrayList<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            Postings[] lists = candidates(needle);
+            if (lists == null) {
+                return new Hits(ids, 0);
+            }
+            // Tanpa trigram (kata kunci pendek) semua nomor urut adalah kandidat
+            int position = lists.length == 0 ? documents.size() : lists[0].size;
+            while (--position >= 0) {
+                int ordinal = lists.length == 0 ? position : lists[0].values[position];
+                Document document = documents.get(ordinal);
+                if (document == null || !containsInAll(lists, ordinal) || !document.text().contains(needle)) {
+                    continue;
+                }
+                if (total >= offset && ids.size() < limit) {
+                    ids.add(document.id());
+                }
+                total++;
+            }
+            return new Hits(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Posting semua trigram kata kunci, yang terpendek lebih dulu; null bila ada trigram yang tidak
+    // muncul di dokumen mana pun (pasti tidak ada hasil)
+    private Postings[] candidates(String needle) {
+        long[] grams = grams(needle);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        return lists;
+    }
+
+    private static boolean containsInAll(Postings[] lists, int ordinal) {
+        for (int i = 1; i < lists.length; i++) {
+            if (lists[i].indexOf(ordinal) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removePosting(long gram, int ordinal) {
+        Postings list = postings.get(gram);
+        list.remove(ordinal);
+        if (list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private static String normalize(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (text.length() > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            if (field != null) {
+                text.append(field.toLowerCase(Locale.ROOT));
+            }
+        }
+        return text.toString();
+    }
+
+    // Trigram unik dari teks, tiga char dikemas dalam satu long
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int unique = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (unique == 0 || grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    // Nomor urut dokumen terurut naik; dokumen baru hampir selalu ditambahkan di akhir
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            int index = size == 0 || values[size - 1] < ordinal ? size : -indexOf(ordinal) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = indexOf(ordinal);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+
+        int indexOf(int ordinal) {
+            return Arrays.binarySearch(values, 0, size, ordinal);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.delcom.app.utils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Index pencarian per user di memori. Index user dimuat pada pemakaian pertamanya, lalu hanya
+ * diperbarui lewat {@link #update} setelah transaksi yang mengubah datanya di-commit.
+ *
+ * Ukuran dibatasi dengan jumlah dokumen di semua index, bukan jumlah user: bila batas terlewati
+ * setelah sebuah index dimuat, index yang paling lama tidak dipakai dilepas lebih dulu dan dimuat
+ * ulang saat dibutuhkan lagi. Index yang baru dimuat tidak ikut dilepas, jadi satu user yang lebih
+ * besar dari batas tetap bisa mencari.
+ */
+public class UserIndexCache<T> {
+
+    private final Map<UUID, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Function<UUID, T> loader;
+    private final ToIntFunction<T> sizeOf;
+    private final long maxDocuments;
+
+    public UserIndexCache(Function<UUID, T> loader, ToIntFunction<T> sizeOf, long maxDocuments) {
+        this.loader = loader;
+        this.sizeOf = sizeOf;
+        this.maxDocuments = maxDocuments;
+    }
+
+    /** Index milik user, dimuat lebih dulu bila belum ada di memori. */
+    public T get(UUID userId) {
+        Entry<T> entry = entries.get(userId);
+        if (entry == null) {
+            // Load di dalam computeIfAbsent agar update yang commit selama load menunggu lalu ikut
+            // diterapkan; eviction baru dijalankan setelah entry terpasang (tidak boleh mengubah map
+            // dari dalam compute)
+            entry = entries.computeIfAbsent(userId, key -> new Entry<>(loader.apply(key)));
+            evictLeastRecentlyUsed(userId);
+        }
+        entry.lastUsed = System.nanoTime();
+        return entry.index;
+    }
+
+    /**
+     * Menerapkan perubahan ke index user setelah transaksi yang sedang berjalan di-commit (langsung bila
+     * tidak ada transaksi), agar perubahan yang di-rollback tidak masuk index. User yang index-nya belum
+     * dimuat dilewati.
+     */
+    public void update(UUID userId, Consumer<T> change) {
+        afterCommit(() -> entries.computeIfPresent(userId, (key, entry) -> {
+            change.accept(entry.index);
+            return entry;
+        }));
+    }
+
+    public int getUserCount() {
+        return entries.size();
+    }
+
+    // Melepas index yang paling lama tidak dipakai sampai jumlah dokumen kembali di bawah batas
+    private void evictLeastRecentlyUsed(UUID loadedUserId) {
+        long total = 0;
+        for (Entry<T> entry : entries.values()) {
+            total += sizeOf.applyAsInt(entry.index);
+        }
+        if (total <= maxDocuments) {
+            return;
+        }
+        List<Map.Entry<UUID, Entry<T>>> candidates = entries.entrySet().stream()
+                .filter(e -> !e.getKey().equals(loadedUserId))
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastUsed))
+                .toList();
+        for (Map.Entry<UUID, Entry<T>> candidate : candidates) {
+            if (total <= maxDocuments) {
+                return;
+            }
+            if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                total -= sizeOf.applyAsInt(candidate.getValue().index);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Entry<T> {
+        private final T index;
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(T index) {
+            this.index = index;
+        }
+    }
+}
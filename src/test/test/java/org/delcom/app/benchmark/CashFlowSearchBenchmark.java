@@ -0,0 +1,158 @@
+package org.delcom.app.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.delcom.app.utils.TrigramIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pencarian substring cash flow untuk satu user dengan 1 juta baris: query LIKE lama
+ * (LOWER(kolom) LIKE '%kata%' di H2) dibandingkan dengan {@link TrigramIndex}, termasuk waktu dan
+ * heap untuk memuat index.
+ *
+ * Modul ini tidak punya build sendiri; jalankan kelas ini dengan JUnit Platform dan H2 di classpath,
+ * misalnya dari IDE, dengan heap minimal 2 GB.
+ */
+@Tag("benchmark")
+class CashFlowSearchBenchmark {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int LIKE_ROUNDS = 3;
+    private static final int INDEX_ROUNDS = 50;
+    private static final double MAX_INDEX_MEDIAN_MS = 100;
+
+    private static final String[] SOURCES = { "Gaji", "Bonus", "Freelance", "Warung", "Listrik", "Internet",
+            "Sewa Kos", "Transportasi", "Belanja Bulanan", "Kuliah" };
+    private static final String[] LABELS = { "pemasukan-rutin", "kebutuhan", "hiburan", "tabungan",
+            "darurat", "pendidikan" };
+    private static final String[] WORDS = { "bayar", "tagihan", "transfer", "tunai", "cicilan", "makan",
+            "bensin", "pulsa", "buku", "obat", "kopi", "parkir" };
+
+    private static final String LIKE_SQL = "SELECT id FROM cashflows WHERE user_id = ? AND "
+            + "(LOWER(source) LIKE ? OR LOWER(label) LIKE ? OR LOWER(description) LIKE ?) "
+            + "ORDER BY created_at DESC, id DESC";
+
+    @Test
+    void searchOneMillionCashFlows() throws Exception {
+        UUID userId = UUID.randomUUID();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:cashflow-benchmark", "sa", "")) {
+            seed(connection, userId);
+
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            TrigramIndex index = load(connection, userId);
+            System.out.printf("%n[benchmark] index %,d cash flow dimuat dalam %,d ms, heap +%,d MB%n",
+                    index.size(), (System.nanoTime() - start) / 1_000_000, (usedHeap() - heapBefore) >> 20);
+
+            for (String query : new String[] { "kopi", "ta", "cicilan obat", "freelance", "999999" }) {
+                int likeTotal = measureLike(connection, userId, query);
+                int indexTotal = measureIndex(index, query);
+                assertEquals(likeTotal, indexTotal, "jumlah hasil untuk \"" + query + "\"");
+            }
+        }
+    }
+
+    private static int measureLike(Connection connection, UUID userId, String query) throws Exception {
+        String pattern = "%" + query.toLowerCase() + "%";
+        double[] millis = new double[LIKE_ROUNDS];
+        int total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(LIKE_SQL)) {
+            statement.setObject(1, userId);
+            statement.setString(2, pattern);
+            statement.setString(3, pattern);
+            statement.setString(4, pattern);
+            for (int i = 0; i < LIKE_ROUNDS; i++) {
+                long start = System.nanoTime();
+                total = 0;
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        total++;
+                    }
+                }
+                millis[i] = (System.nanoTime() - start) / 1e6;
+            }
+        }
+        Arrays.sort(millis);
+        System.out.printf("[benchmark]   LIKE  %-16s: %,7d cocok, median %8.2f ms%n",
+                '"' + query + '"', total, millis[LIKE_ROUNDS / 2]);
+        return total;
+    }
+
+    private static int measureIndex(TrigramIndex index, String query) {
+        for (int i = 0; i < INDEX_ROUNDS; i++) {
+            index.search(query, 0, PAGE_SIZE);
+        }
+        double[] millis = new double[INDEX_ROUNDS];
+        int total = 0;
+        for (int i = 0; i < INDEX_ROUNDS; i++) {
+            long start = System.nanoTime();
+            total = index.search(query, 0, PAGE_SIZE).total();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[INDEX_ROUNDS / 2];
+        System.out.printf("[benchmark]   index %-16s: %,7d cocok, median %8.2f ms, p99 %8.2f ms%n",
+                '"' + query + '"', total, median, millis[INDEX_ROUNDS * 99 / 100]);
+        assertTrue(median < MAX_INDEX_MEDIAN_MS, "median " + median + " ms untuk \"" + query + "\"");
+        return total;
+    }
+
+    // Sama seperti CashFlowSearchService.load: baris dibaca urut created_at agar yang terbaru masuk terakhir
+    private static TrigramIndex load(Connection connection, UUID userId) throws Exception {
+        TrigramIndex index = new TrigramIndex();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, source, label, description FROM cashflows WHERE user_id = ? ORDER BY created_at, id")) {
+            statement.setObject(1, userId);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    index.put(rows.getObject(1, UUID.class), rows.getString(2), rows.getString(3), rows.getString(4));
+                }
+            }
+        }
+        return index;
+    }
+
+    private static void seed(Connection connection, UUID userId) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE cashflows (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                    + "source VARCHAR(255) NOT NULL, label VARCHAR(255) NOT NULL, description VARCHAR(255) NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_cashflows_user_created ON cashflows (user_id, created_at, id)");
+        }
+        long epochSecond = System.currentTimeMillis() / 1000 - ROW_COUNT;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO cashflows VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                insert.setObject(1, new UUID(epochSecond + i, i));
+                insert.setObject(2, userId);
+                insert.setString(3, SOURCES[i % SOURCES.length] + " " + i);
+                insert.setString(4, LABELS[(i / SOURCES.length) % LABELS.length]);
+                insert.setString(5, WORDS[i % WORDS.length] + " " + WORDS[(i * 7 + 3) % WORDS.length] + " ke-" + i);
+                insert.setTimestamp(6, new java.sql.Timestamp((epochSecond + i) * 1000));
+                insert.addBatch();
+                if ((i + 1) % SEED_BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
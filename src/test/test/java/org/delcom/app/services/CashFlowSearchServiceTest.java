@@ -0,0 +1,131 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.delcom.app.dto.CashFlowSearchRow;
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.utils.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CashFlowSearchServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private CashFlowRepository cashFlowRepository;
+    private CashFlowSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        cashFlowRepository = mock(CashFlowRepository.class);
+        service = new CashFlowSearchService(cashFlowRepository);
+    }
+
+    private static CashFlow cashFlow(UUID id, UUID userId, String source, String description) {
+        CashFlow cashFlow = new CashFlow(userId, "outflow", source, "kebutuhan", 10_000L, description);
+        cashFlow.setId(id);
+        return cashFlow;
+    }
+
+    @Test
+    void testIndexLoadedOncePerUser() {
+        UUID gaji = UUID.randomUUID();
+        UUID warung = UUID.randomUUID();
+        when(cashFlowRepository.findSearchRowsByUserId(userId)).thenReturn(List.of(
+                new CashFlowSearchRow(gaji, "Gaji", "pemasukan-rutin", "Transfer kantor"),
+                new CashFlowSearchRow(warung, "Warung", "kebutuhan", "Makan siang")));
+
+        TrigramIndex.Hits hits = service.search(userId, "KANTOR", 0, 10);
+        service.search(userId, "warung", 0, 10);
+
+        assertEquals(List.of(gaji), hits.ids());
+        assertEquals(List.of(warung, gaji), service.search(userId, "an", 0, 10).ids());
+        verify(cashFlowRepository, times(1)).findSearchRowsByUserId(userId);
+        // User lain punya index sendiri
+        assertEquals(0, service.search(UUID.randomUUID(), "gaji", 0, 10).total());
+    }
+
+    @Test
+    void testIndexAndRemoveUpdateLoadedIndex() {
+        UUID id = UUID.randomUUID();
+        service.search(userId, "listrik", 0, 10);
+
+        service.indexCashFlow(cashFlow(id, userId, "Listrik", "Token bulan Mei"));
+        assertEquals(List.of(id), service.search(userId, "token", 0, 10).ids());
+
+        service.indexCashFlow(cashFlow(id, userId, "Listrik", "Tagihan pascabayar"));
+        assertEquals(0, service.search(userId, "token", 0, 10).total());
+        assertEquals(List.of(id), service.search(userId, "tagihan", 0, 10).ids());
+
+        service.removeCashFlow(userId, id);
+        assertEquals(0, service.search(userId, "listrik", 0, 10).total());
+        verify(cashFlowRepository, times(1)).findSearchRowsByUserId(userId);
+    }
+
+    @Test
+    void testUpdateForUnloadedUserIsSkipped() {
+        service.indexCashFlow(cashFlow(UUID.randomUUID(), userId, "Bonus", null));
+
+        verify(cashFlowRepository, never()).findSearchRowsByUserId(userId);
+        // Dimuat dari database saat dipakai, jadi perubahan di atas sudah ikut di sana
+        assertEquals(0, service.search(userId, "bonus", 0, 10).total());
+    }
+
+    @Test
+    void testChangesAppliedAfterCommitOnly() {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+        service.search(userId, "sewa", 0, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.indexCashFlow(cashFlow(committed, userId, "Sewa Kos", null));
+            assertEquals(0, service.search(userId, "sewa", 0, 10).total());
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.indexCashFlow(cashFlow(rolledBack, userId, "Sewa Parkir", null));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(committed), service.search(userId, "sewa", 0, 10).ids());
+    }
+
+    @Test
+    void testSearchPaginationTotals() {
+        List<CashFlowSearchRow> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            rows.add(new CashFlowSearchRow(new UUID(0, i), "Transportasi", "kebutuhan", "Ojek ke-" + i));
+        }
+        when(cashFlowRepository.findSearchRowsByUserId(userId)).thenReturn(rows);
+
+        TrigramIndex.Hits second = service.search(userId, "ojek", 5, 5);
+        TrigramIndex.Hits last = service.search(userId, "ojek", 10, 5);
+
+        assertEquals(List.of(new UUID(0, 6), new UUID(0, 5), new UUID(0, 4), new UUID(0, 3), new UUID(0, 2)),
+                second.ids());
+        assertEquals(12, second.total());
+        assertEquals(List.of(new UUID(0, 1), new UUID(0, 0)), last.ids());
+        assertEquals(12, last.total());
+    }
+}
@@ -0,0 +1,56 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.delcom.app.utils.TodoSearchIndex;
+import org.junit.jupiter.api.Test;
+
+class TodoSearchServiceTest {
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        TodoSearchIndex.Key key = new TodoSearchIndex.Key(2, LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_456_000),
+                UUID.randomUUID());
+
+        String cursor = TodoSearchService.encodeCursor(key);
+
+        assertEquals(key, TodoSearchService.decodeCursor(cursor));
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"), cursor);
+    }
+
+    @Test
+    void testCursorRoundTripWithoutSeconds() {
+        // LocalDateTime.toString menghilangkan detik nol ("2024-03-01T08:30")
+        TodoSearchIndex.Key key = new TodoSearchIndex.Key(0, LocalDateTime.of(2024, 3, 1, 8, 30), UUID.randomUUID());
+
+        assertEquals(key, TodoSearchService.decodeCursor(TodoSearchService.encodeCursor(key)));
+    }
+
+    @Test
+    void testInvalidCursorRejected() {
+        String id = UUID.randomUUID().toString();
+
+        assertThrows(IllegalArgumentException.class, () -> TodoSearchService.decodeCursor("bukan base64!"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoSearchService.decodeCursor(base64("1|2024-03-01T08:30")));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoSearchService.decodeCursor(base64("x|2024-03-01T08:30|" + id)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoSearchService.decodeCursor(base64("1|kemarin|" + id)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoSearchService.decodeCursor(base64("1|2024-03-01T08:30|bukan-uuid")));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoSearchService.decodeCursor(base64("1|2024-03-01T08:30|" + id + "|lagi")));
+    }
+}
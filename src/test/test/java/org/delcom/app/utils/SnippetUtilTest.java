@@ -0,0 +1,40 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SnippetUtilTest {
+
+    @Test
+    void testHighlightsWordsStartingWithTerm() {
+        assertEquals("<mark>Rapat</mark> tim dan <mark>rapatkan</mark> barisan, bukan prarapat",
+                SnippetUtil.highlight("Rapat tim dan rapatkan barisan, bukan prarapat", List.of("rapat"), 200));
+    }
+
+    @Test
+    void testEscapesHtml() {
+        assertEquals("&lt;script&gt;alert(&quot;x&quot;)&lt;/script&gt; &amp; <mark>kue</mark> &#39;enak&#39;",
+                SnippetUtil.highlight("<script>alert(\"x\")</script> & kue 'enak'", List.of("kue"), 200));
+        assertEquals("&lt;b&gt;<mark>Tebal</mark>&lt;/b&gt;",
+                SnippetUtil.highlight("<b>Tebal</b>", List.of("tebal"), 200));
+    }
+
+    @Test
+    void testLongTextTrimmedAroundFirstMatch() {
+        String text = "awal ".repeat(40) + "rapat penting " + "akhir ".repeat(40);
+
+        // Dimulai seperempat panjang sebelum kata yang cocok, digeser ke awal kata berikutnya
+        assertEquals("…awal awal <mark>rapat</mark> penting akhir akhir akhi…",
+                SnippetUtil.highlight(text, List.of("rapat"), 40));
+    }
+
+    @Test
+    void testWithoutMatchOrText() {
+        assertEquals("Makan siang", SnippetUtil.highlight("Makan siang", List.of("rapat"), 200));
+        assertEquals("", SnippetUtil.highlight(null, List.of("rapat"), 200));
+        assertEquals("Makan…", SnippetUtil.highlight("Makan siang", List.of(), 5));
+    }
+}
@@ -0,0 +1,99 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TodoSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+
+    @Test
+    void testTitleMatchesFirstThenNewest() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.put(id(1), "Belanja", "Rapat dengan tim", NOW.minusDays(1));
+        index.put(id(2), "Rapat mingguan", null, NOW.minusDays(3));
+        index.put(id(3), "Catatan", "rapat evaluasi", NOW);
+        index.put(id(4), "Rapat tim", "Rapat lagi", NOW.minusDays(2));
+        index.put(id(5), "Olahraga", "Lari pagi", NOW);
+
+        TodoSearchIndex.Page page = index.search("rapat", null, 10);
+
+        assertEquals(List.of(id(4), id(2), id(3), id(1)), page.ids());
+        assertNull(page.next());
+    }
+
+    @Test
+    void testScoreCountsQueryTermsInTitle() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.put(id(1), "Rapat", "Tim proyek", NOW);
+        index.put(id(2), "Rapat tim", null, NOW.minusDays(5));
+        index.put(id(3), "Tim", "rapat", NOW.minusDays(1));
+
+        assertEquals(List.of(id(2), id(1), id(3)), index.search("rapat tim", null, 10).ids());
+    }
+
+    @Test
+    void testAllTermsRequiredAndMatchedByPrefix() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.put(id(1), "Rapat Proyek", "Bahas anggaran", NOW);
+        index.put(id(2), "Rapat", "Bahas jadwal", NOW);
+        index.put(id(3), "Makan siang", null, NOW);
+
+        assertEquals(List.of(id(1)), index.search("RAP angg", null, 10).ids());
+        assertEquals(List.of(), index.search("rapat makan", null, 10).ids());
+        assertEquals(List.of(), index.search("  ,. ", null, 10).ids());
+    }
+
+    @Test
+    void testCursorPagesCoverEveryMatchOnce() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        for (int i = 0; i < 25; i++) {
+            // Waktu dibuat sama untuk sebagian todo agar id ikut menentukan urutan
+            index.put(id(i), i % 3 == 0 ? "Laporan" : "Tugas", "laporan ke " + i, NOW.minusHours(i / 2));
+        }
+
+        List<UUID> all = index.search("laporan", null, 100).ids();
+        List<UUID> paged = new ArrayList<>();
+        TodoSearchIndex.Key after = null;
+        do {
+            TodoSearchIndex.Page page = index.search("laporan", after, 4);
+            assertTrue(page.ids().size() <= 4);
+            paged.addAll(page.ids());
+            after = page.next();
+        } while (after != null);
+
+        assertEquals(25, all.size());
+        assertEquals(all, paged);
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.put(id(1), "Rapat", null, NOW);
+        index.put(id(1), "Olahraga", null, NOW);
+
+        assertEquals(List.of(), index.search("rapat", null, 10).ids());
+        assertEquals(List.of(id(1)), index.search("olah", null, 10).ids());
+        assertTrue(index.remove(id(1)));
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.search("olah", null, 10).ids());
+    }
+
+    @Test
+    void testTerms() {
+        assertEquals(List.of("rapat", "tim", "2024"), TodoSearchIndex.terms("Rapat-TIM, 2024!"));
+        assertEquals(List.of(), TodoSearchIndex.terms(null));
+    }
+}
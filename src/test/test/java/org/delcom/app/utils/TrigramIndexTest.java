@@ -0,0 +1,103 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+
+    @Test
+    void testPutReplaceAndRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(id(1), "Gaji", "pemasukan-rutin", "Transfer bulan Maret");
+        index.put(id(2), "Warung", "kebutuhan", "Makan siang");
+
+        assertEquals(List.of(id(1)), index.search("MARET", 0, 10).ids());
+        assertEquals(2, index.size());
+
+        index.put(id(1), "Gaji", "pemasukan-rutin", "Transfer bulan April");
+
+        assertEquals(List.of(), index.search("maret", 0, 10).ids());
+        assertEquals(List.of(id(1)), index.search("april", 0, 10).ids());
+        assertEquals(2, index.size());
+
+        assertTrue(index.remove(id(1)));
+        assertFalse(index.remove(id(1)));
+
+        assertEquals(List.of(), index.search("april", 0, 10).ids());
+        assertEquals(List.of(id(2)), index.search("an", 0, 10).ids());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testNewestFirstAndReplaceKeepsOrder() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(id(1), "Kopi pagi", "hiburan", null);
+        index.put(id(2), "Kopi sore", "hiburan", null);
+        index.put(id(3), "Kopi malam", "hiburan", null);
+
+        // Mengganti teks tidak memindahkan dokumen ke posisi terbaru
+        index.put(id(1), "Kopi susu", "hiburan", null);
+
+        assertEquals(List.of(id(3), id(2), id(1)), index.search("kopi", 0, 10).ids());
+    }
+
+    @Test
+    void testNoMatchAcrossFieldSeparator() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(id(1), "Gaji", "kantor", null);
+
+        assertEquals(List.of(), index.search("gajikantor", 0, 10).ids());
+        assertEquals(List.of(), index.search("jika", 0, 10).ids());
+        assertEquals(List.of(), index.search("ik", 0, 10).ids());
+        assertEquals(List.of(id(1)), index.search("gaji", 0, 10).ids());
+        assertEquals(List.of(id(1)), index.search("kantor", 0, 10).ids());
+    }
+
+    @Test
+    void testShortQueryScansAllDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(id(1), "Bensin", "kebutuhan", null);
+        index.put(id(2), "Pulsa", "kebutuhan", "isi ulang");
+        index.put(id(3), "Parkir", "kebutuhan", null);
+        index.remove(id(3));
+
+        assertEquals(List.of(id(2)), index.search("Ul", 0, 10).ids());
+        assertEquals(List.of(id(2), id(1)), index.search("e", 0, 10).ids());
+        assertEquals(List.of(id(2), id(1)), index.search("", 0, 10).ids());
+        assertEquals(List.of(id(2), id(1)), index.search(null, 0, 10).ids());
+        assertEquals(List.of(), index.search("zz", 0, 10).ids());
+    }
+
+    @Test
+    void testPaginationTotals() {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 1; i <= 25; i++) {
+            index.put(id(i), "Cicilan " + i, "kebutuhan", null);
+        }
+        index.put(id(26), "Bonus", "pemasukan-rutin", null);
+
+        TrigramIndex.Hits last = index.search("cicilan", 20, 10);
+        assertEquals(List.of(id(5), id(4), id(3), id(2), id(1)), last.ids());
+        assertEquals(25, last.total());
+
+        TrigramIndex.Hits beyond = index.search("cicilan", 40, 10);
+        assertEquals(List.of(), beyond.ids());
+        assertEquals(25, beyond.total());
+
+        TrigramIndex.Hits shortQuery = index.search("ci", 0, 3);
+        assertEquals(List.of(id(25), id(24), id(23)), shortQuery.ids());
+        assertEquals(25, shortQuery.total());
+
+        assertEquals(0, index.search("tabungan", 0, 10).total());
+    }
+}